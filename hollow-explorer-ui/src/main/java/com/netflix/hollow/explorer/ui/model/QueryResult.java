@@ -27,6 +27,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 public class QueryResult {
     
@@ -74,7 +75,7 @@ public class QueryResult {
     }
     
     public void augmentQuery(QueryClause clause, HollowReadStateEngine stateEngine) {
-        HollowFieldMatchQuery query = new HollowFieldMatchQuery(stateEngine);
+        HollowFieldMatchQuery query = new HollowFieldMatchQuery(stateEngine, ForkJoinPool.commonPool());
         Map<String, BitSet> clauseMatches = clause.getType() != null ? query.findMatchingRecords(clause.getType(), clause.getField(), clause.getValue()) : query.findMatchingRecords(clause.getField(), clause.getValue());
         TransitiveSetTraverser.addReferencingOutsideClosure(stateEngine, clauseMatches);
                 
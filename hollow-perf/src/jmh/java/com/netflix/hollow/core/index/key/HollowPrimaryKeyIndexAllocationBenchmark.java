@@ -0,0 +1,60 @@
+package com.netflix.hollow.core.index.key;
+
+import com.netflix.hollow.core.index.key.HollowPrimaryKeyIndexBenchmark.AbstractHollowPrimaryKeyIndexBenchmark;
+import java.util.concurrent.ThreadLocalRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Compares the allocation of boxed and primitive single key lookups.  Run with the GC profiler; the
+ * {@code gc.alloc.rate.norm} of the primitive lookups should be zero bytes per operation.
+ */
+public class HollowPrimaryKeyIndexAllocationBenchmark extends AbstractHollowPrimaryKeyIndexBenchmark {
+    private static final int NUM_KEYS = 1024;
+
+    private int[] keys;
+    private int nextKey;
+
+    @Setup
+    public void setupKeys() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        keys = new int[NUM_KEYS];
+        for (int i = 0; i < NUM_KEYS; i++) {
+            keys[i] = getKey(8 * random.nextInt(size));
+        }
+    }
+
+    private int nextKey() {
+        nextKey = (nextKey + 1) & (NUM_KEYS - 1);
+        return keys[nextKey];
+    }
+
+    @Benchmark
+    public int getMatchingOrdinalBoxed() {
+        return nextIndex().getMatchingOrdinal((Object) nextKey());
+    }
+
+    @Benchmark
+    public int getMatchingOrdinalPrimitive() {
+        return nextIndex().getMatchingOrdinal(nextKey());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(HollowPrimaryKeyIndexAllocationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(1)
+                .measurementTime(TimeValue.seconds(3))
+                .forks(1)
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,69 @@
+package com.netflix.hollow.core.index.key;
+
+import com.netflix.hollow.core.index.HollowPrimaryKeyIndex;
+import com.netflix.hollow.core.index.key.HollowPrimaryKeyIndexBenchmark.AbstractHollowPrimaryKeyIndexBenchmark;
+import java.util.concurrent.ThreadLocalRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Compares looking up a batch of single field keys one at a time against a single batch lookup.
+ */
+public class HollowPrimaryKeyIndexBatchBenchmark extends AbstractHollowPrimaryKeyIndexBenchmark {
+    private static final int NUM_BATCHES = 64;
+
+    //@Param( {"1", "16", "256", "4096"})
+    @Param( {"16", "256"})
+    public int batchSize;
+
+    private int[][] batches;
+    private int nextBatch;
+
+    @Setup
+    public void setupBatches() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        batches = new int[NUM_BATCHES][batchSize];
+        for (int i = 0; i < NUM_BATCHES; i++) {
+            for (int j = 0; j < batchSize; j++) {
+                batches[i][j] = getKey(8 * random.nextInt(size));
+            }
+        }
+    }
+
+    private int[] nextBatch() {
+        nextBatch = (nextBatch + 1) % NUM_BATCHES;
+        return batches[nextBatch];
+    }
+
+    @Benchmark
+    public void getMatchingOrdinalPerKey(Blackhole bh) {
+        HollowPrimaryKeyIndex index = nextIndex();
+        for (int key : nextBatch()) {
+            bh.consume(index.getMatchingOrdinal(key));
+        }
+    }
+
+    @Benchmark
+    public int[] getMatchingOrdinalsBatch() {
+        return nextIndex().getMatchingOrdinals(nextBatch());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(HollowPrimaryKeyIndexBatchBenchmark.class.getSimpleName())
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(1)
+                .measurementTime(TimeValue.seconds(3))
+                .forks(1)
+                .build();
+        new Runner(opt).run();
+    }
+}
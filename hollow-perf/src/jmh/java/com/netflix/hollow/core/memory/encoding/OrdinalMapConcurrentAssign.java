@@ -0,0 +1,86 @@
+package com.netflix.hollow.core.memory.encoding;
+
+import com.netflix.hollow.core.memory.ByteArrayOrdinalMap;
+import com.netflix.hollow.core.memory.ByteDataBuffer;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of assigning ordinals to new byte sequences from many threads at once, as happens when
+ * populating a write state engine from multiple threads.  Each thread adds its own distinct sequences to a map
+ * shared by all threads, which is replaced at every iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+public class OrdinalMapConcurrentAssign {
+
+    @Param("32")
+    int contentSize = 32;
+
+    @Param("65536")
+    int sequencesPerThread = 65536;
+
+    ByteArrayOrdinalMap map;
+
+    final AtomicInteger nextThreadId = new AtomicInteger();
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        map = new ByteArrayOrdinalMap();
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadContent {
+        ByteDataBuffer[] content;
+        int next;
+
+        @Setup
+        public void setUp(OrdinalMapConcurrentAssign benchmark) {
+            SplittableRandom r = new SplittableRandom(benchmark.nextThreadId.getAndIncrement());
+
+            content = new ByteDataBuffer[benchmark.sequencesPerThread];
+            for (int i = 0; i < content.length; i++) {
+                ByteDataBuffer buf = new ByteDataBuffer();
+                for (int j = 0; j < benchmark.contentSize; j++) {
+                    buf.write((byte) r.nextInt(0, 256));
+                }
+                content[i] = buf;
+            }
+        }
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            next = 0;
+        }
+    }
+
+    /**
+     * Once a thread has added all of its sequences, subsequent operations find the existing ordinals, so
+     * sequencesPerThread should be large enough to cover an iteration.
+     */
+    @Benchmark
+    public int getOrAssignOrdinal(ThreadContent thread) {
+        ByteDataBuffer[] content = thread.content;
+        int i = thread.next++;
+        return map.getOrAssignOrdinal(content[i < content.length ? i : i % content.length]);
+    }
+}
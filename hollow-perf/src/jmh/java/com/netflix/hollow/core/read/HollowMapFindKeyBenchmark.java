@@ -0,0 +1,134 @@
+package com.netflix.hollow.core.read;
+
+import com.netflix.hollow.api.objects.generic.GenericHollowObject;
+import com.netflix.hollow.core.read.engine.HollowReadStateEngine;
+import com.netflix.hollow.core.read.engine.map.HollowMapTypeReadState;
+import com.netflix.hollow.core.util.StateEngineRoundTripper;
+import com.netflix.hollow.core.write.HollowWriteStateEngine;
+import com.netflix.hollow.core.write.objectmapper.HollowHashKey;
+import com.netflix.hollow.core.write.objectmapper.HollowInline;
+import com.netflix.hollow.core.write.objectmapper.HollowObjectMapper;
+import com.netflix.hollow.core.write.objectmapper.HollowTypeName;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Compares looking up the keys of hashed maps by hash key with and without per-bucket key fingerprints.
+ * <p>
+ * Maps of 91, 134 and 179 entries all have 256 buckets, and so are filled to load factors of about 0.36, 0.52 and
+ * 0.70.  Half of the looked up keys are in the map.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HollowMapFindKeyBenchmark {
+
+    private static final int NUM_MAPS = 1000;
+    private static final int NUM_LOOKUPS = 1024;
+
+    @Param( {"91", "134", "179"})
+    int size;
+
+    @Param( {"false", "true"})
+    boolean fingerprints;
+
+    private HollowMapTypeReadState typeState;
+    private int[] mapOrdinals;
+    private int[] ids;
+    private String[] names;
+    private int lookup;
+
+    @Setup
+    public void setUp() throws IOException {
+        HollowWriteStateEngine writeEngine = new HollowWriteStateEngine();
+        HollowObjectMapper mapper = new HollowObjectMapper(writeEngine);
+        for (int i = 0; i < NUM_MAPS; i++) {
+            TypeWithMap record = new TypeWithMap();
+            for (int j = 0; j < size; j++) {
+                record.map.put(new Key(i * size + j, "key " + (i * size + j)), j);
+            }
+            mapper.add(record);
+        }
+
+        HollowReadStateEngine readEngine = StateEngineRoundTripper.roundTripSnapshot(writeEngine);
+        typeState = (HollowMapTypeReadState) readEngine.getTypeState("MapOfKeys");
+        typeState.setKeyFingerprintsEnabled(fingerprints);
+
+        Random random = new Random(0);
+        mapOrdinals = new int[NUM_LOOKUPS];
+        ids = new int[NUM_LOOKUPS];
+        names = new String[NUM_LOOKUPS];
+        for (int i = 0; i < NUM_LOOKUPS; i++) {
+            int record = random.nextInt(NUM_MAPS);
+            int id = record * size + random.nextInt(size * 2);
+            mapOrdinals[i] = new GenericHollowObject(readEngine, "TypeWithMap", record).getMap("map").getOrdinal();
+            ids[i] = id;
+            names[i] = "key " + id;
+        }
+    }
+
+    @Benchmark
+    public int findKey() {
+        int i = lookup++ & (NUM_LOOKUPS - 1);
+        return typeState.findKey(mapOrdinals[i], ids[i], names[i]);
+    }
+
+    @Benchmark
+    public long findEntry() {
+        int i = lookup++ & (NUM_LOOKUPS - 1);
+        return typeState.findEntry(mapOrdinals[i], ids[i], names[i]);
+    }
+
+    @SuppressWarnings("unused")
+    static class TypeWithMap {
+        @HollowTypeName(name = "MapOfKeys")
+        @HollowHashKey(fields = {"id", "name"})
+        Map<Key, Integer> map = new HashMap<>();
+    }
+
+    @SuppressWarnings("unused")
+    static class Key {
+        int id;
+        @HollowInline
+        String name;
+
+        Key(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(HollowMapFindKeyBenchmark.class.getSimpleName())
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(1)
+                .measurementTime(TimeValue.seconds(3))
+                .forks(1)
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,108 @@
+package com.netflix.hollow.core.write.objectmapper;
+
+import com.netflix.hollow.core.write.HollowWriteStateEngine;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Measures adding POJOs with fields of every kind the object mapper writes: primitives, boxed and inlined values and
+ * references to other records.
+ * <p>
+ * The records repeat after {@value #NUM_RECORDS} adds, so that the write state does not grow without bound; repeated
+ * records are still fully written before they are deduplicated.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HollowObjectMapperAddBenchmark {
+
+    private static final int NUM_RECORDS = 1 << 16;
+
+    private HollowObjectMapper mapper;
+    private Movie[] movies;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        mapper = new HollowObjectMapper(new HollowWriteStateEngine());
+        movies = new Movie[NUM_RECORDS];
+        for (int i = 0; i < NUM_RECORDS; i++) {
+            movies[i] = new Movie(i);
+        }
+    }
+
+    @Benchmark
+    public int add() {
+        return mapper.add(movies[next++ & (NUM_RECORDS - 1)]);
+    }
+
+    @SuppressWarnings("unused")
+    static class Movie {
+        int id;
+        long releaseDate;
+        double score;
+        float weight;
+        boolean available;
+        short runtime;
+        char rating;
+        Integer year;
+        @HollowInline
+        String title;
+        String genre;
+        Review review;
+
+        Movie(int i) {
+            this.id = i;
+            this.releaseDate = 1000L * i;
+            this.score = i / 3.0;
+            this.weight = i / 7f;
+            this.available = (i & 1) == 0;
+            this.runtime = (short) (i % 200);
+            this.rating = (char) ('A' + i % 5);
+            this.year = 1900 + i % 120;
+            this.title = "title " + i;
+            this.genre = "genre " + i % 20;
+            this.review = new Review(i % 5, "source " + i % 3);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    static class Review {
+        int stars;
+        String source;
+
+        Review(int stars, String source) {
+            this.stars = stars;
+            this.source = source;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(HollowObjectMapperAddBenchmark.class.getSimpleName())
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(1)
+                .measurementTime(TimeValue.seconds(3))
+                .forks(1)
+                .build();
+        new Runner(opt).run();
+    }
+}
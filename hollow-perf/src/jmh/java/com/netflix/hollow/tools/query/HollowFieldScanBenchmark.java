@@ -0,0 +1,116 @@
+package com.netflix.hollow.tools.query;
+
+import com.netflix.hollow.core.read.engine.HollowReadStateEngine;
+import com.netflix.hollow.core.read.engine.object.HollowObjectTypeReadState;
+import com.netflix.hollow.core.util.StateEngineRoundTripper;
+import com.netflix.hollow.core.write.HollowWriteStateEngine;
+import com.netflix.hollow.core.write.objectmapper.HollowObjectMapper;
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Compares selecting records with a predicate over two INT fields by reading each field value of each populated
+ * ordinal against column scans with functional and range predicates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HollowFieldScanBenchmark {
+
+    @Param( {"100000", "1000000"})
+    int size;
+
+    private HollowReadStateEngine readEngine;
+    private HollowObjectTypeReadState typeState;
+    private int releaseYearField;
+    private int ratingField;
+
+    @Setup
+    public void setUp() throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        HollowWriteStateEngine writeEngine = new HollowWriteStateEngine();
+        HollowObjectMapper mapper = new HollowObjectMapper(writeEngine);
+        for (int i = 0; i < size; i++) {
+            mapper.add(new Movie(i, 1950 + random.nextInt(70), random.nextInt(6)));
+        }
+
+        readEngine = StateEngineRoundTripper.roundTripSnapshot(writeEngine);
+        typeState = (HollowObjectTypeReadState) readEngine.getTypeState("Movie");
+        releaseYearField = typeState.getSchema().getPosition("releaseYear");
+        ratingField = typeState.getSchema().getPosition("rating");
+    }
+
+    @Benchmark
+    public BitSet readPerOrdinal() {
+        BitSet populated = typeState.getPopulatedOrdinals();
+        BitSet matches = new BitSet(populated.length());
+        for (int ordinal = populated.nextSetBit(0); ordinal != -1; ordinal = populated.nextSetBit(ordinal + 1)) {
+            if (typeState.readInt(ordinal, releaseYearField) > 2015 && typeState.readInt(ordinal, ratingField) >= 4) {
+                matches.set(ordinal);
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public BitSet columnScan() {
+        return new HollowFieldScan(typeState)
+                .whereInt("releaseYear", year -> year > 2015)
+                .whereInt("rating", rating -> rating >= 4)
+                .matches();
+    }
+
+    @Benchmark
+    public BitSet columnScanBetween() {
+        return new HollowFieldScan(typeState)
+                .whereIntBetween("releaseYear", 2016, Integer.MAX_VALUE)
+                .whereIntBetween("rating", 4, Integer.MAX_VALUE)
+                .matches();
+    }
+
+    @SuppressWarnings("unused")
+    static class Movie {
+        int id;
+        int releaseYear;
+        int rating;
+
+        Movie(int id, int releaseYear, int rating) {
+            this.id = id;
+            this.releaseYear = releaseYear;
+            this.rating = rating;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(HollowFieldScanBenchmark.class.getSimpleName())
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(1)
+                .measurementTime(TimeValue.seconds(3))
+                .forks(1)
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -22,6 +22,7 @@ import com.netflix.hollow.core.read.dataaccess.HollowDataAccess;
 import java.lang.reflect.Constructor;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -60,19 +61,33 @@ public interface HollowAPIFactory {
 
         private final Class<T> generatedAPIClass;
         private final Set<String> cachedTypes;
+        private final Map<String, Integer> boundedCachedTypes;
         
         public ForGeneratedAPI(Class<T> generatedAPIClass) {
             this(generatedAPIClass, new String[0]);
         }
         
         public ForGeneratedAPI(Class<T> generatedAPIClass, String... cachedTypes) {
+            this(generatedAPIClass, Collections.<String, Integer>emptyMap(), cachedTypes);
+        }
+
+        /**
+         * @param generatedAPIClass the generated API class
+         * @param boundedCachedTypes the types whose objects are cached lazily, mapped to the maximum number of cached objects of each type
+         * @param cachedTypes the types whose objects are cached for every record
+         */
+        public ForGeneratedAPI(Class<T> generatedAPIClass, Map<String, Integer> boundedCachedTypes, String... cachedTypes) {
             this.generatedAPIClass = generatedAPIClass;
             this.cachedTypes = new HashSet<String>(Arrays.asList(cachedTypes));
+            this.boundedCachedTypes = new HashMap<String, Integer>(boundedCachedTypes);
         }
 
         
         @Override
         public T createAPI(HollowDataAccess dataAccess) {
+            if(!boundedCachedTypes.isEmpty())
+                return createAPI(dataAccess, null);
+
             try {
                 Constructor<T> constructor = generatedAPIClass.getConstructor(HollowDataAccess.class, Set.class);
                 return constructor.newInstance(dataAccess, cachedTypes);
@@ -84,6 +99,11 @@ public interface HollowAPIFactory {
         @Override
         public T createAPI(HollowDataAccess dataAccess, HollowAPI previousCycleAPI) {
             try {
+                if(!boundedCachedTypes.isEmpty()) {
+                    Constructor<T> constructor = generatedAPIClass.getConstructor(HollowDataAccess.class, Set.class, Map.class, Map.class, generatedAPIClass);
+                    return constructor.newInstance(dataAccess, cachedTypes, boundedCachedTypes, Collections.emptyMap(), previousCycleAPI);
+                }
+
                 Constructor<T> constructor = generatedAPIClass.getConstructor(HollowDataAccess.class, Set.class, Map.class, generatedAPIClass);
                 return constructor.newInstance(dataAccess, cachedTypes, Collections.emptyMap(), previousCycleAPI);
             } catch(Exception e) {
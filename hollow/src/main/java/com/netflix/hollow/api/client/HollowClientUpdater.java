@@ -21,7 +21,9 @@ import com.netflix.hollow.api.custom.HollowAPI;
 import com.netflix.hollow.api.metrics.HollowConsumerMetrics;
 import com.netflix.hollow.api.metrics.HollowMetricsCollector;
 import com.netflix.hollow.core.HollowConstants;
+import com.netflix.hollow.core.memory.MemoryMode;
 import com.netflix.hollow.core.memory.pool.ArraySegmentRecycler;
+import com.netflix.hollow.core.memory.pool.WastefulRecycler;
 import com.netflix.hollow.core.read.engine.HollowReadStateEngine;
 import com.netflix.hollow.core.read.filter.HollowFilterConfig;
 import com.netflix.hollow.core.read.filter.TypeFilter;
@@ -29,6 +31,7 @@ import com.netflix.hollow.core.util.HollowObjectHashCodeFinder;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 import java.util.logging.Logger;
 
 /**
@@ -52,8 +55,10 @@ public class HollowClientUpdater {
     private final HollowConsumer.DoubleSnapshotConfig doubleSnapshotConfig;
     private final HollowConsumerMetrics metrics;
     private final HollowMetricsCollector<HollowConsumerMetrics> metricsCollector;
+    private final MemoryMode memoryMode;
 
     private TypeFilter filter;
+    private Executor deltaApplicationExecutor;
 
     public HollowClientUpdater(HollowConsumer.BlobRetriever transitionCreator,
                                List<HollowConsumer.RefreshListener> refreshListeners,
@@ -64,6 +69,20 @@ public class HollowClientUpdater {
                                HollowConsumer.ObjectLongevityDetector objectLongevityDetector,
                                HollowConsumerMetrics metrics,
                                HollowMetricsCollector<HollowConsumerMetrics> metricsCollector) {
+        this(transitionCreator, refreshListeners, apiFactory, doubleSnapshotConfig, hashCodeFinder,
+                objectLongevityConfig, objectLongevityDetector, metrics, metricsCollector, MemoryMode.ON_HEAP);
+    }
+
+    public HollowClientUpdater(HollowConsumer.BlobRetriever transitionCreator,
+                               List<HollowConsumer.RefreshListener> refreshListeners,
+                               HollowAPIFactory apiFactory,
+                               HollowConsumer.DoubleSnapshotConfig doubleSnapshotConfig,
+                               HollowObjectHashCodeFinder hashCodeFinder,
+                               HollowConsumer.ObjectLongevityConfig objectLongevityConfig,
+                               HollowConsumer.ObjectLongevityDetector objectLongevityDetector,
+                               HollowConsumerMetrics metrics,
+                               HollowMetricsCollector<HollowConsumerMetrics> metricsCollector,
+                               MemoryMode memoryMode) {
         this.planner = new HollowUpdatePlanner(transitionCreator, doubleSnapshotConfig);
         this.failedTransitionTracker = new FailedTransitionTracker();
         this.staleReferenceDetector = new StaleHollowReferenceDetector(objectLongevityConfig, objectLongevityDetector);
@@ -77,6 +96,7 @@ public class HollowClientUpdater {
         this.staleReferenceDetector.startMonitoring();
         this.metrics = metrics;
         this.metricsCollector = metricsCollector;
+        this.memoryMode = memoryMode;
         this.initialLoad = new CompletableFuture<>();
     }
 
@@ -218,14 +238,16 @@ public class HollowClientUpdater {
      */
     boolean shouldCreateSnapshotPlan() {
         return getCurrentVersionId() == HollowConstants.VERSION_NONE
-            ||  (forceDoubleSnapshot && doubleSnapshotConfig.allowDoubleSnapshot());
+            ||  (forceDoubleSnapshot && doubleSnapshotConfig.allowDoubleSnapshot())
+            ||  (memoryMode.isSharedMemory() && doubleSnapshotConfig.allowDoubleSnapshot());
     }
 
     private HollowDataHolder newHollowDataHolder() {
         return new HollowDataHolder(newStateEngine(), apiFactory,
                 doubleSnapshotConfig, failedTransitionTracker,
-                staleReferenceDetector, objectLongevityConfig)
-                .setFilter(filter);
+                staleReferenceDetector, objectLongevityConfig, memoryMode)
+                .setFilter(filter)
+                .setDeltaApplicationExecutor(deltaApplicationExecutor);
     }
 
     private HollowReadStateEngine newStateEngine() {
@@ -235,6 +257,11 @@ public class HollowClientUpdater {
                     hollowDataHolderLocal.getStateEngine().getMemoryRecycler();
             return new HollowReadStateEngine(hashCodeFinder, true, existingRecycler);
         }
+        if (objectLongevityConfig.enableLongLivedObjectSupport() && objectLongevityConfig.enablePinnedDataStates()) {
+            // the memory of data replaced by a delta is not reused, so that it is reclaimed by the garbage collector
+            // once no pinned data state which may read it is reachable
+            return new HollowReadStateEngine(hashCodeFinder, true, WastefulRecycler.DEFAULT_INSTANCE);
+        }
         return new HollowReadStateEngine(hashCodeFinder);
     }
 
@@ -260,6 +287,15 @@ public class HollowClientUpdater {
         this.filter = filter;
     }
 
+    /**
+     * Apply deltas by updating independent types concurrently on the provided executor, or serially if null.
+     *
+     * @param deltaApplicationExecutor the executor on which type deltas are applied
+     */
+    public void setDeltaApplicationExecutor(Executor deltaApplicationExecutor) {
+        this.deltaApplicationExecutor = deltaApplicationExecutor;
+    }
+
     /**
      * @return the number of failed snapshot transitions stored in the {@link FailedTransitionTracker}.
      */
@@ -20,6 +20,8 @@ import com.netflix.hollow.api.consumer.HollowConsumer;
 import com.netflix.hollow.api.consumer.HollowConsumer.TransitionAwareRefreshListener;
 import com.netflix.hollow.api.custom.HollowAPI;
 import com.netflix.hollow.core.HollowConstants;
+import com.netflix.hollow.core.memory.MemoryMode;
+import com.netflix.hollow.core.memory.pool.WastefulRecycler;
 import com.netflix.hollow.core.read.dataaccess.HollowDataAccess;
 import com.netflix.hollow.core.read.dataaccess.proxy.HollowProxyDataAccess;
 import com.netflix.hollow.core.read.engine.HollowBlobReader;
@@ -28,9 +30,11 @@ import com.netflix.hollow.core.read.filter.HollowFilterConfig;
 import com.netflix.hollow.core.read.filter.TypeFilter;
 import com.netflix.hollow.tools.history.HollowHistoricalStateCreator;
 import com.netflix.hollow.tools.history.HollowHistoricalStateDataAccess;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.ref.WeakReference;
+import java.util.concurrent.Executor;
 
 /**
  * A class comprising much of the internal state of a {@link HollowConsumer}.  Not intended for external consumption.
@@ -44,8 +48,10 @@ class HollowDataHolder {
     private final FailedTransitionTracker failedTransitionTracker;
     private final StaleHollowReferenceDetector staleReferenceDetector;
     private final HollowConsumer.ObjectLongevityConfig objLongevityConfig;
+    private final MemoryMode memoryMode;
 
     private TypeFilter filter;
+    private Executor deltaApplicationExecutor;
 
     private HollowAPI currentAPI;
 
@@ -58,14 +64,16 @@ class HollowDataHolder {
                             HollowConsumer.DoubleSnapshotConfig doubleSnapshotConfig,
                             FailedTransitionTracker failedTransitionTracker, 
                             StaleHollowReferenceDetector staleReferenceDetector, 
-                            HollowConsumer.ObjectLongevityConfig objLongevityConfig) {
+                            HollowConsumer.ObjectLongevityConfig objLongevityConfig,
+                            MemoryMode memoryMode) {
         this.stateEngine = stateEngine;
         this.apiFactory = apiFactory;
-        this.reader = new HollowBlobReader(stateEngine);
+        this.reader = new HollowBlobReader(stateEngine, memoryMode);
         this.doubleSnapshotConfig = doubleSnapshotConfig;
         this.failedTransitionTracker = failedTransitionTracker;
         this.staleReferenceDetector = staleReferenceDetector;
         this.objLongevityConfig = objLongevityConfig;
+        this.memoryMode = memoryMode;
     }
 
     HollowReadStateEngine getStateEngine() {
@@ -93,6 +101,11 @@ class HollowDataHolder {
         return this;
     }
 
+    HollowDataHolder setDeltaApplicationExecutor(Executor deltaApplicationExecutor) {
+        this.deltaApplicationExecutor = deltaApplicationExecutor;
+        return this;
+    }
+
     void update(HollowUpdatePlan updatePlan, HollowConsumer.RefreshListener[] refreshListeners) throws Throwable {
         // Only fail if double snapshot is configured.
         // This is a short term solution until it is decided to either remove this feature
@@ -132,8 +145,19 @@ class HollowDataHolder {
     }
 
     private void applySnapshotTransition(HollowConsumer.Blob snapshotBlob, HollowConsumer.RefreshListener[] refreshListeners) throws Throwable {
-        try(InputStream is = snapshotBlob.getInputStream()) {
-            applyStateEngineTransition(is, snapshotBlob, refreshListeners);
+        try {
+            if(memoryMode.isSharedMemory()) {
+                // a memory mapped snapshot is read directly from the blob's file rather than its input stream
+                applyStateEngineTransition(snapshotBlob.getFile(), snapshotBlob, refreshListeners);
+            } else if(filter != null && snapshotBlob.supportsRangedReads()) {
+                // only the ranges of the blob holding the selected types are retrieved
+                reader.readSnapshot(snapshotBlob::getInputStream, filter);
+                transitionApplied(snapshotBlob, refreshListeners);
+            } else {
+                try(InputStream is = snapshotBlob.getInputStream()) {
+                    applyStateEngineTransition(is, snapshotBlob, refreshListeners);
+                }
+            }
             initializeAPI();
             
             for(HollowConsumer.RefreshListener refreshListener : refreshListeners) {
@@ -147,7 +171,9 @@ class HollowDataHolder {
     }
 
     private void initializeAPI() {
-        if(objLongevityConfig.enableLongLivedObjectSupport()) {
+        if(isPinningDataStates()) {
+            currentAPI = apiFactory.createAPI(stateEngine.pinCurrentState());
+        } else if(objLongevityConfig.enableLongLivedObjectSupport()) {
             HollowProxyDataAccess dataAccess = new HollowProxyDataAccess();
             dataAccess.setDataAccess(stateEngine);
             currentAPI = apiFactory.createAPI(dataAccess);
@@ -168,7 +194,9 @@ class HollowDataHolder {
         try(InputStream is = blob.getInputStream()) {
             applyStateEngineTransition(is, blob, refreshListeners);
 
-            if(objLongevityConfig.enableLongLivedObjectSupport()) {
+            if(isPinningDataStates()) {
+                currentAPI = apiFactory.createAPI(stateEngine.pinCurrentState(), currentAPI);
+            } else if(objLongevityConfig.enableLongLivedObjectSupport()) {
                 HollowDataAccess previousDataAccess = currentAPI.getDataAccess();
                 HollowHistoricalStateDataAccess priorState = new HollowHistoricalStateCreator(null).createBasedOnNewDelta(currentVersion, stateEngine);
                 HollowProxyDataAccess newDataAccess = new HollowProxyDataAccess();
@@ -202,6 +230,11 @@ class HollowDataHolder {
         }
     }
 
+    private boolean isPinningDataStates() {
+        return objLongevityConfig.enableLongLivedObjectSupport() && objLongevityConfig.enablePinnedDataStates()
+                && stateEngine.getMemoryRecycler() instanceof WastefulRecycler;
+    }
+
     private void wireHistoricalStateChain(HollowHistoricalStateDataAccess nextPriorState) {
         if(priorHistoricalDataAccess != null) {
             HollowHistoricalStateDataAccess dataAccess = priorHistoricalDataAccess.get();
@@ -219,12 +252,27 @@ class HollowDataHolder {
                 reader.readSnapshot(is);
             else
                 reader.readSnapshot(is, filter);
+        } else if(deltaApplicationExecutor != null) {
+            reader.applyDelta(is, deltaApplicationExecutor);
         } else {
             reader.applyDelta(is);
         }
 
+        transitionApplied(transition, refreshListeners);
+    }
+
+    private void applyStateEngineTransition(File snapshotFile, HollowConsumer.Blob transition, HollowConsumer.RefreshListener[] refreshListeners) throws IOException {
+        if(filter == null)
+            reader.readSnapshot(snapshotFile);
+        else
+            reader.readSnapshot(snapshotFile, filter);
+
+        transitionApplied(transition, refreshListeners);
+    }
+
+    private void transitionApplied(HollowConsumer.Blob transition, HollowConsumer.RefreshListener[] refreshListeners) {
         setVersion(transition.getToVersion());
-        
+
         for(HollowConsumer.RefreshListener refreshListener : refreshListeners)
             refreshListener.blobLoaded(transition);
     }
@@ -27,6 +27,7 @@ import com.netflix.hollow.api.custom.HollowAPI;
 import com.netflix.hollow.api.custom.HollowObjectTypeAPI;
 import com.netflix.hollow.core.HollowDataset;
 import com.netflix.hollow.core.read.dataaccess.HollowObjectTypeDataAccess;
+import com.netflix.hollow.core.read.dataaccess.HollowStringView;
 import com.netflix.hollow.core.schema.HollowObjectSchema;
 import com.netflix.hollow.core.write.HollowObjectWriteRecord;
 import java.util.Comparator;
@@ -177,6 +178,13 @@ public class TypeAPIObjectJavaGenerator extends HollowTypeAPIGenerator {
         builder.append("        return getTypeDataAccess().readString(ordinal, fieldIndex[" + fieldNum + "]);\n");
         builder.append("    }\n\n");
 
+        importClasses.add(HollowStringView.class);
+        builder.append("    public boolean get" + uppercase(fieldName) + "(int ordinal, HollowStringView view) {\n");
+        builder.append("        if(fieldIndex[" + fieldNum +"] == -1)\n");
+        builder.append("            return view.set(missingDataHandler().handleString(\"").append(objectSchema.getName()).append("\", ordinal, \"").append(fieldName).append("\"));\n");
+        builder.append("        return getTypeDataAccess().readString(ordinal, fieldIndex[" + fieldNum + "], view);\n");
+        builder.append("    }\n\n");
+
         builder.append("    public boolean is" + uppercase(fieldName) + "Equal(int ordinal, String testValue) {\n");
         builder.append("        if(fieldIndex[" + fieldNum +"] == -1)\n");
         builder.append("            return missingDataHandler().handleStringEquals(\"").append(objectSchema.getName()).append("\", ordinal, \"").append(fieldName).append("\", testValue);\n");
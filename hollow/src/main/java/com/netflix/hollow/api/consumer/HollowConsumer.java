@@ -31,6 +31,7 @@ import com.netflix.hollow.api.custom.HollowAPI;
 import com.netflix.hollow.api.metrics.HollowConsumerMetrics;
 import com.netflix.hollow.api.metrics.HollowMetricsCollector;
 import com.netflix.hollow.core.HollowConstants;
+import com.netflix.hollow.core.memory.MemoryMode;
 import com.netflix.hollow.core.read.engine.HollowReadStateEngine;
 import com.netflix.hollow.core.read.filter.HollowFilterConfig;
 import com.netflix.hollow.core.read.filter.TypeFilter;
@@ -186,8 +187,10 @@ public class HollowConsumer {
                 builder.objectLongevityConfig,
                 builder.objectLongevityDetector,
                 metrics,
-                builder.metricsCollector);
+                builder.metricsCollector,
+                builder.memoryMode);
         updater.setFilter(builder.typeFilter);
+        updater.setDeltaApplicationExecutor(builder.deltaApplicationExecutor);
         this.announcementWatcher = builder.announcementWatcher;
         this.refreshExecutor = builder.refreshExecutor;
         this.refreshLock = new ReentrantReadWriteLock();
@@ -514,6 +517,47 @@ public class HollowConsumer {
          */
         public abstract InputStream getInputStream() throws IOException;
 
+        /**
+         * Implementations may define how to retrieve the blob data for this specific transition as a local file.
+         * <p>
+         * This is required to consume snapshots with {@link MemoryMode#SHARED_MEMORY}, in which case the
+         * returned file is memory mapped and must not be modified or deleted while the data is in use.
+         *
+         * @return the file containing the blob data
+         * @throws IOException if the file could not be obtained
+         * @throws UnsupportedOperationException if this blob is not available as a file
+         */
+        public File getFile() throws IOException {
+            throw new UnsupportedOperationException("Blob is not available as a file: " + getClass().getName());
+        }
+
+        /**
+         * Returns whether this blob's data may be retrieved in byte ranges with {@link #getInputStream(long, long)}.
+         * <p>
+         * A consumer with a {@link TypeFilter} reads a snapshot which supports ranged reads one range at a time,
+         * so that the sections of filtered types need not be retrieved if the producer recorded their lengths.
+         *
+         * @return true if this blob supports ranged reads, false by default
+         */
+        public boolean supportsRangedReads() {
+            return false;
+        }
+
+        /**
+         * Implementations which {@link #supportsRangedReads() support ranged reads} will define how to retrieve a
+         * range of this blob's data from a data store.  If the range extends past the end of the blob, the returned
+         * InputStream ends at the end of the blob.
+         *
+         * @param position the position in the blob of the first byte of the range
+         * @param length the maximum number of bytes in the range
+         * @return the input stream to the range of the blob
+         * @throws IOException if the input stream to the range cannot be obtained
+         * @throws UnsupportedOperationException if this blob does not support ranged reads
+         */
+        public InputStream getInputStream(long position, long length) throws IOException {
+            throw new UnsupportedOperationException("Blob does not support ranged reads: " + getClass().getName());
+        }
+
         /**
          * Blobs can be of types {@code SNAPSHOT}, {@code DELTA} or {@code REVERSE_DELTA}.
          */
@@ -619,6 +663,26 @@ public class HollowConsumer {
          */
         boolean enableLongLivedObjectSupport();
 
+        /**
+         * @return if long-lived object support is enabled, whether Hollow records are backed by a pinned copy of the
+         * data state at the time the reference was created, rather than by a proxy which is redirected to a reserved
+         * copy of the data after an update.
+         * <p>
+         * Records of a pinned data state read directly from that state's data, without an indirection on every access.
+         * The memory of the data replaced by an update is not reused, and is garbage collected once no records of
+         * the data states which included it are reachable, or once their API is detached as stale.  Because entire
+         * data states are retained rather than only the records removed by each update, more memory may be held while
+         * stale references are held.
+         * <p>
+         * Usage of stale references is still detected and flagged by the {@link StaleHollowReferenceDetector}, but
+         * stack traces of expired usage are not recorded.
+         *
+         * @implSpec The default implementation returns false.
+         */
+        default boolean enablePinnedDataStates() {
+            return false;
+        }
+
         boolean enableExpiredUsageStackTraces();
 
         /**
@@ -963,6 +1027,8 @@ public class HollowConsumer {
         protected boolean useExistingStaleSnapshot;
         protected Executor refreshExecutor = null;
         protected HollowMetricsCollector<HollowConsumerMetrics> metricsCollector;
+        protected MemoryMode memoryMode = MemoryMode.ON_HEAP;
+        protected Executor deltaApplicationExecutor = null;
 
         public B withBlobRetriever(HollowConsumer.BlobRetriever blobRetriever) {
             this.blobRetriever = blobRetriever;
@@ -1125,6 +1191,36 @@ public class HollowConsumer {
             return (B)this;
         }
 
+        /**
+         * Specifies where snapshot data will be held.
+         * <p>
+         * With {@link MemoryMode#SHARED_MEMORY}, snapshots are memory mapped from the file provided by
+         * {@link Blob#getFile()} rather than copied onto the heap, and each refresh is performed as a
+         * double snapshot whenever the {@link DoubleSnapshotConfig} allows it.
+         *
+         * @param memoryMode the memory mode
+         * @return this builder
+         */
+        public B withMemoryMode(MemoryMode memoryMode) {
+            this.memoryMode = memoryMode;
+            return (B)this;
+        }
+
+        /**
+         * Applies deltas by updating the types in each delta concurrently on the provided executor.
+         * <p>
+         * Each type is updated as a single task with its own memory pool.  By default, deltas are applied
+         * serially on the refresh thread.  Any {@link com.netflix.hollow.core.read.engine.HollowTypeStateListener}
+         * attached to more than one type must be thread-safe when this is enabled.
+         *
+         * @param deltaApplicationExecutor the executor on which type deltas are applied
+         * @return this builder
+         */
+        public B withDeltaApplicationExecutor(Executor deltaApplicationExecutor) {
+            this.deltaApplicationExecutor = deltaApplicationExecutor;
+            return (B)this;
+        }
+
         public B withMetricsCollector(HollowMetricsCollector<HollowConsumerMetrics> metricsCollector) {
             this.metricsCollector = metricsCollector;
             return (B)this;
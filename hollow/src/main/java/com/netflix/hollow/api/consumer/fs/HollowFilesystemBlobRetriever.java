@@ -21,13 +21,18 @@ import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import com.netflix.hollow.api.consumer.HollowConsumer;
 import com.netflix.hollow.core.HollowConstants;
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.UUID;
 
 public class HollowFilesystemBlobRetriever implements HollowConsumer.BlobRetriever {
@@ -206,6 +211,35 @@ public class HollowFilesystemBlobRetriever implements HollowConsumer.BlobRetriev
         public InputStream getInputStream() throws IOException {
             return new BufferedInputStream(Files.newInputStream(path));
         }
+
+        @Override
+        public File getFile() throws IOException {
+            return path.toFile();
+        }
+
+        @Override
+        public boolean supportsRangedReads() {
+            return true;
+        }
+
+        /**
+         * Read the range with positional reads from the blob's file.
+         */
+        @Override
+        public InputStream getInputStream(long position, long length) throws IOException {
+            try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long bytesInRange = Math.max(0, Math.min(length, channel.size() - position));
+                if(bytesInRange > Integer.MAX_VALUE)
+                    throw new IllegalArgumentException("Range is too large to be read at once: " + length);
+
+                ByteBuffer range = ByteBuffer.allocate((int)bytesInRange);
+                while(range.hasRemaining()) {
+                    if(channel.read(range, position + range.position()) == -1)
+                        throw new EOFException("Blob was truncated while being read: " + path);
+                }
+                return new ByteArrayInputStream(range.array());
+            }
+        }
         
     }
     
@@ -222,7 +256,15 @@ public class HollowFilesystemBlobRetriever implements HollowConsumer.BlobRetriev
 
         @Override
         public InputStream getInputStream() throws IOException {
+            return new BufferedInputStream(Files.newInputStream(retrieveToFilesystem()));
+        }
 
+        @Override
+        public File getFile() throws IOException {
+            return retrieveToFilesystem().toFile();
+        }
+
+        private Path retrieveToFilesystem() throws IOException {
             Path tempPath = path.resolveSibling(path.getName(path.getNameCount()-1) + "-" + UUID.randomUUID().toString());
             try(
                     InputStream is = remoteBlob.getInputStream();
@@ -235,7 +277,7 @@ public class HollowFilesystemBlobRetriever implements HollowConsumer.BlobRetriev
             }
             Files.move(tempPath, path, REPLACE_EXISTING);
 
-            return new BufferedInputStream(Files.newInputStream(path));
+            return path;
         }
     }
 }
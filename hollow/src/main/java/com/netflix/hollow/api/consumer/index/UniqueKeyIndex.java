@@ -29,6 +29,7 @@ import com.netflix.hollow.core.schema.HollowObjectSchema;
 import com.netflix.hollow.core.schema.HollowSchema;
 import com.netflix.hollow.core.write.objectmapper.HollowObjectTypeMapper;
 import com.netflix.hollow.core.write.objectmapper.HollowTypeMapper;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -167,6 +168,50 @@ public class UniqueKeyIndex<T extends HollowObject, Q>
         return uniqueTypeExtractor.extract(api, ordinal);
     }
 
+    /**
+     * Finds the unique objects, instances of the unique type, for the given keys of an index with a single
+     * {@code int} key field.
+     *
+     * @param keys the keys
+     * @return the unique objects, in the order of the keys, with {@code null} for keys that are not present
+     * @throws IllegalArgumentException if the key field is not an {@code int} field
+     */
+    public List<T> findMatches(int[] keys) {
+        return extractAll(hpki.getMatchingOrdinals(keys));
+    }
+
+    /**
+     * Finds the unique objects, instances of the unique type, for the given keys of an index with a single
+     * {@code long} key field.
+     *
+     * @param keys the keys
+     * @return the unique objects, in the order of the keys, with {@code null} for keys that are not present
+     * @throws IllegalArgumentException if the key field is not a {@code long} field
+     */
+    public List<T> findMatches(long[] keys) {
+        return extractAll(hpki.getMatchingOrdinals(keys));
+    }
+
+    /**
+     * Finds the unique objects, instances of the unique type, for the given keys of an index with a single
+     * {@code String} key field.
+     *
+     * @param keys the keys
+     * @return the unique objects, in the order of the keys, with {@code null} for keys that are not present
+     * @throws IllegalArgumentException if the key field is not a {@code String} field
+     */
+    public List<T> findMatches(String[] keys) {
+        return extractAll(hpki.getMatchingOrdinals(keys));
+    }
+
+    private List<T> extractAll(int[] ordinals) {
+        List<T> matches = new ArrayList<>(ordinals.length);
+        for (int ordinal : ordinals) {
+            matches.add(ordinal == -1 ? null : uniqueTypeExtractor.extract(api, ordinal));
+        }
+        return matches;
+    }
+
     // HollowConsumer.RefreshListener
 
     @Override public void refreshStarted(long currentVersion, long requestedVersion) {
@@ -0,0 +1,277 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.api.objects.provider;
+
+import com.netflix.hollow.api.custom.HollowTypeAPI;
+import com.netflix.hollow.api.objects.HollowRecord;
+import com.netflix.hollow.api.objects.delegate.HollowCachedDelegate;
+import com.netflix.hollow.core.memory.encoding.HashCodes;
+import com.netflix.hollow.core.read.dataaccess.HollowTypeDataAccess;
+import com.netflix.hollow.core.read.engine.HollowTypeReadState;
+import com.netflix.hollow.core.read.engine.HollowTypeStateListener;
+import com.netflix.hollow.core.read.engine.PopulatedOrdinalListener;
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A HollowObjectBoundedCacheProvider caches Object representations (presumably {@link HollowRecord}s) of at most a
+ * fixed number of records of a specific type.  In contrast with the {@link HollowObjectCacheProvider}, objects are
+ * created and cached when they are first called for, rather than for every populated ordinal.
+ * <p>
+ * The cache is set associative: each ordinal may be cached in one of the {@value #WAYS} entries of its set, and
+ * the entry to replace is chosen with the CLOCK policy, which gives an entry which was read since the clock hand last
+ * passed it a second chance.  Reading a cached object takes no locks, and caching an object is a compare-and-set of
+ * its entry.
+ * <p>
+ * Cached entries are invalidated per ordinal when the ordinal is added or removed by a delta.  An object created
+ * while a delta is applied is not cached, and an object cached just as a delta begins is uncached again, so that an
+ * object created from the data being replaced is never left in the cache.
+ */
+public class HollowObjectBoundedCacheProvider<T> extends HollowObjectProvider<T> implements HollowTypeStateListener {
+    private static final Logger log = Logger.getLogger(HollowObjectBoundedCacheProvider.class.getName());
+
+    static final int WAYS = 4;
+
+    private final AtomicReferenceArray<Entry<T>> entries;
+    private final int setMask;
+    private final int clockHands[];
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private volatile HollowTypeDataAccess typeDataAccess;
+    private volatile HollowTypeAPI typeAPI;
+    private volatile HollowFactory<T> factory;
+    private HollowTypeReadState typeReadState;
+
+    /// odd while a delta is applied to the type, so that objects created from the data being replaced are not cached
+    private volatile int updateCount;
+
+    public HollowObjectBoundedCacheProvider(HollowTypeDataAccess typeDataAccess, HollowTypeAPI typeAPI, HollowFactory<T> factory, int capacity) {
+        this(typeDataAccess, typeAPI, factory, capacity, null);
+    }
+
+    /**
+     * @param typeDataAccess the data access of the type
+     * @param typeAPI the type API
+     * @param factory the factory which creates the cached objects
+     * @param capacity the maximum number of cached objects, which is rounded up to a power of 2 no less than {@value #WAYS}
+     * @param previous the cache provider of the previous cycle's API, if any, whose cached objects of ordinals which
+     * are populated in both cycles are carried over
+     */
+    public HollowObjectBoundedCacheProvider(HollowTypeDataAccess typeDataAccess, HollowTypeAPI typeAPI, HollowFactory<T> factory, int capacity, HollowObjectBoundedCacheProvider<T> previous) {
+        if(capacity < 1)
+            throw new IllegalArgumentException("Cache capacity must be positive: " + capacity);
+
+        int numSets = capacity <= WAYS ? 1 : (Integer.highestOneBit(capacity - 1) << 1) / WAYS;
+
+        this.entries = new AtomicReferenceArray<Entry<T>>(numSets * WAYS);
+        this.setMask = numSets - 1;
+        this.clockHands = new int[numSets];
+        this.typeDataAccess = typeDataAccess;
+        this.typeAPI = typeAPI;
+        this.factory = factory;
+
+        if(typeDataAccess != null) {
+            if(previous != null)
+                carryOver(typeDataAccess, typeAPI, previous);
+
+            if(typeDataAccess instanceof HollowTypeReadState) {
+                this.typeReadState = (HollowTypeReadState)typeDataAccess;
+                this.typeReadState.addListener(this);
+            }
+        }
+    }
+
+    private void carryOver(HollowTypeDataAccess typeDataAccess, HollowTypeAPI typeAPI, HollowObjectBoundedCacheProvider<T> previous) {
+        PopulatedOrdinalListener listener = typeDataAccess.getTypeState().getListener(PopulatedOrdinalListener.class);
+        BitSet populatedOrdinals = listener.getPopulatedOrdinals();
+        BitSet previousOrdinals = listener.getPreviousOrdinals();
+
+        for(int i=0;i<previous.entries.length();i++) {
+            Entry<T> entry = previous.entries.get(i);
+            if(entry != null && previousOrdinals.get(entry.ordinal) && populatedOrdinals.get(entry.ordinal)) {
+                if(entry.object instanceof HollowRecord)
+                    ((HollowCachedDelegate)((HollowRecord)entry.object).getDelegate()).updateTypeAPI(typeAPI);
+                cache(new Entry<T>(entry.ordinal, entry.object));
+            }
+        }
+    }
+
+    @Override
+    public T getHollowObject(int ordinal) {
+        int set = setOf(ordinal);
+        for(int i=0;i<WAYS;i++) {
+            Entry<T> entry = entries.get(set * WAYS + i);
+            if(entry != null && entry.ordinal == ordinal) {
+                if(!entry.referenced)
+                    entry.referenced = true;
+                hits.increment();
+                return entry.object;
+            }
+        }
+
+        misses.increment();
+
+        HollowFactory<T> factory = this.factory;
+        if(factory == null)
+            return null;
+
+        int updateCount = this.updateCount;
+        T object = instantiateCachedObject(factory, typeDataAccess, typeAPI, ordinal);
+        if(object != null && (updateCount & 1) == 0 && updateCount == this.updateCount) {
+            Entry<T> newEntry = new Entry<T>(ordinal, object);
+            int index = cache(newEntry);
+            /// a delta which began since the object was created may have invalidated the ordinal before it was cached
+            if(index != -1 && updateCount != this.updateCount)
+                entries.compareAndSet(index, newEntry, null);
+        }
+        return object;
+    }
+
+    /**
+     * @return the index of the entry in which the new entry was cached, or -1 if it was not cached
+     */
+    private int cache(Entry<T> newEntry) {
+        int set = setOf(newEntry.ordinal);
+
+        /// the first revolution of the clock hand clears the referenced entries, so the second finds an entry to replace
+        for(int i=0;i<WAYS * 2;i++) {
+            int index = set * WAYS + (clockHands[set]++ & (WAYS - 1));
+            Entry<T> entry = entries.get(index);
+            if(entry == null) {
+                if(entries.compareAndSet(index, null, newEntry))
+                    return index;
+            } else if(entry.ordinal == newEntry.ordinal) {
+                return -1;
+            } else if(entry.referenced) {
+                entry.referenced = false;
+            } else if(entries.compareAndSet(index, entry, newEntry)) {
+                evictions.increment();
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private void invalidate(int ordinal) {
+        int set = setOf(ordinal);
+        for(int i=0;i<WAYS;i++) {
+            int index = set * WAYS + i;
+            Entry<T> entry = entries.get(index);
+            if(entry != null && entry.ordinal == ordinal)
+                entries.compareAndSet(index, entry, null);
+        }
+    }
+
+    private int setOf(int ordinal) {
+        return HashCodes.hashInt(ordinal) & setMask;
+    }
+
+    public void detach() {
+        factory = null;
+        typeDataAccess = null;
+        typeAPI = null;
+        if(typeReadState != null)
+            typeReadState.removeListener(this);
+        typeReadState = null;
+
+        for(int i=0;i<entries.length();i++)
+            entries.set(i, null);
+    }
+
+    /**
+     * @return the maximum number of cached objects
+     */
+    public int getCapacity() {
+        return entries.length();
+    }
+
+    /**
+     * @return the number of calls for objects which were returned from the cache
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of calls for objects which were not in the cache
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of cached objects which were replaced to cache another object
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the fraction of calls for objects which were returned from the cache, or 0 if there were no calls
+     */
+    public double getHitRate() {
+        long hits = getHitCount();
+        long calls = hits + getMissCount();
+        return calls == 0 ? 0d : (double)hits / calls;
+    }
+
+    private T instantiateCachedObject(HollowFactory<T> factory, HollowTypeDataAccess typeDataAccess, HollowTypeAPI typeAPI, int ordinal) {
+        try {
+            return factory.newCachedHollowObject(typeDataAccess, typeAPI, ordinal);
+        } catch(Throwable th) {
+            log.log(Level.SEVERE, "Cached object instantiation failed", th);
+            return null;
+        }
+    }
+
+    @Override
+    public void beginUpdate() {
+        updateCount++;
+    }
+
+    @Override
+    public void addedOrdinal(int ordinal) {
+        invalidate(ordinal);
+    }
+
+    @Override
+    public void removedOrdinal(int ordinal) {
+        invalidate(ordinal);
+    }
+
+    @Override
+    public void endUpdate() {
+        updateCount++;
+    }
+
+    private static class Entry<T> {
+        private final int ordinal;
+        private final T object;
+        private volatile boolean referenced;
+
+        private Entry(int ordinal, T object) {
+            this.ordinal = ordinal;
+            this.object = object;
+        }
+    }
+}
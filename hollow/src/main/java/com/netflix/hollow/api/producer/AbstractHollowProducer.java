@@ -40,13 +40,15 @@ import com.netflix.hollow.core.read.engine.HollowReadStateEngine;
 import com.netflix.hollow.core.schema.HollowSchema;
 import com.netflix.hollow.core.util.HollowObjectHashCodeFinder;
 import com.netflix.hollow.core.util.HollowWriteStateCreator;
+import com.netflix.hollow.core.util.SimultaneousExecutor;
 import com.netflix.hollow.core.write.HollowBlobWriter;
+import com.netflix.hollow.core.write.HollowConcurrentBlobWriter;
 import com.netflix.hollow.core.write.HollowWriteStateEngine;
 import com.netflix.hollow.core.write.objectmapper.HollowObjectMapper;
 import com.netflix.hollow.core.write.objectmapper.RecordPrimaryKey;
-import com.netflix.hollow.tools.checksum.HollowChecksum;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -81,6 +83,8 @@ abstract class AbstractHollowProducer {
     long lastSuccessfulCycle = 0;
     final HollowObjectHashCodeFinder hashCodeFinder;
     final boolean doIntegrityCheck;
+    final boolean concurrentBlobStaging;
+    final IncrementalCycleIndex incrementalCycleIndex;
 
     boolean isInitialized;
 
@@ -93,7 +97,7 @@ abstract class AbstractHollowProducer {
                 new VersionMinterWithCounter(), null, 0,
                 DEFAULT_TARGET_MAX_TYPE_SHARD_SIZE, null,
                 new DummyBlobStorageCleaner(), new BasicSingleProducerEnforcer(),
-                null, true);
+                null, true, false, false);
     }
 
     // The only constructor should be that which accepts a builder
@@ -105,7 +109,7 @@ abstract class AbstractHollowProducer {
                 b.versionMinter, b.snapshotPublishExecutor,
                 b.numStatesBetweenSnapshots, b.targetMaxTypeShardSize,
                 b.metricsCollector, b.blobStorageCleaner, b.singleProducerEnforcer,
-                b.hashCodeFinder, b.doIntegrityCheck);
+                b.hashCodeFinder, b.doIntegrityCheck, b.concurrentBlobStaging, b.indexedIncrementalCycles);
     }
 
     private AbstractHollowProducer(
@@ -121,7 +125,9 @@ abstract class AbstractHollowProducer {
             HollowProducer.BlobStorageCleaner blobStorageCleaner,
             SingleProducerEnforcer singleProducerEnforcer,
             HollowObjectHashCodeFinder hashCodeFinder,
-            boolean doIntegrityCheck) {
+            boolean doIntegrityCheck,
+            boolean concurrentBlobStaging,
+            boolean indexedIncrementalCycles) {
         this.publisher = publisher;
         this.announcer = announcer;
         this.versionMinter = versionMinter;
@@ -131,6 +137,8 @@ abstract class AbstractHollowProducer {
         this.numStatesBetweenSnapshots = numStatesBetweenSnapshots;
         this.hashCodeFinder = hashCodeFinder;
         this.doIntegrityCheck = doIntegrityCheck;
+        this.concurrentBlobStaging = concurrentBlobStaging;
+        this.incrementalCycleIndex = indexedIncrementalCycles ? new IncrementalCycleIndex() : null;
 
         HollowWriteStateEngine writeEngine = hashCodeFinder == null
                 ? new HollowWriteStateEngine()
@@ -529,7 +537,7 @@ abstract class AbstractHollowProducer {
             listeners.fireIncrementalPopulateComplete(incrementalPopulateStatus);
         }
 
-        return new HollowIncrementalCyclePopulator(events, 1.0);
+        return new HollowIncrementalCyclePopulator(events, 1.0, incrementalCycleIndex);
     }
 
     /*
@@ -538,15 +546,26 @@ abstract class AbstractHollowProducer {
     void publish(ProducerListeners listeners, long toVersion, Artifacts artifacts) throws IOException {
         Status.StageBuilder psb = listeners.firePublishStart(toVersion);
         try {
-            if(!readStates.hasCurrent() || doIntegrityCheck || numStatesUntilNextSnapshot <= 0)
-                artifacts.snapshot = stageBlob(listeners, blobStager.openSnapshot(toVersion));
+            boolean stageSnapshot = !readStates.hasCurrent() || doIntegrityCheck || numStatesUntilNextSnapshot <= 0;
 
-            if (readStates.hasCurrent()) {
-                artifacts.delta = stageBlob(listeners,
-                        blobStager.openDelta(readStates.current().getVersion(), toVersion));
-                artifacts.reverseDelta = stageBlob(listeners,
+            if (readStates.hasCurrent() && concurrentBlobStaging) {
+                stageBlobsConcurrently(listeners, artifacts,
+                        stageSnapshot ? blobStager.openSnapshot(toVersion) : null,
+                        blobStager.openDelta(readStates.current().getVersion(), toVersion),
                         blobStager.openReverseDelta(toVersion, readStates.current().getVersion()));
+            } else {
+                if (stageSnapshot)
+                    artifacts.snapshot = stageBlob(listeners, blobStager.openSnapshot(toVersion));
+
+                if (readStates.hasCurrent()) {
+                    artifacts.delta = stageBlob(listeners,
+                            blobStager.openDelta(readStates.current().getVersion(), toVersion));
+                    artifacts.reverseDelta = stageBlob(listeners,
+                            blobStager.openReverseDelta(toVersion, readStates.current().getVersion()));
+                }
+            }
 
+            if (readStates.hasCurrent()) {
                 publishBlob(listeners, artifacts.delta);
                 publishBlob(listeners, artifacts.reverseDelta);
 
@@ -594,6 +613,81 @@ abstract class AbstractHollowProducer {
         }
     }
 
+    /**
+     * Stage the snapshot, if any, delta and reverse delta concurrently with a {@link HollowConcurrentBlobWriter}.
+     * Blob stage events are fired on the calling thread once all blobs have been staged.
+     */
+    private void stageBlobsConcurrently(ProducerListeners listeners, Artifacts artifacts, HollowProducer.Blob snapshot,
+            HollowProducer.Blob delta, HollowProducer.Blob reverseDelta) throws IOException {
+        HollowConcurrentBlobWriter writer = new HollowConcurrentBlobWriter(getWriteEngine(), snapshot != null);
+
+        List<HollowProducer.Blob> blobs = new ArrayList<>();
+        List<HollowConcurrentBlobWriter.Stage> stages = new ArrayList<>();
+        if (snapshot != null) {
+            blobs.add(snapshot);
+            stages.add(HollowConcurrentBlobWriter.Stage.SNAPSHOT);
+        }
+        blobs.add(delta);
+        stages.add(HollowConcurrentBlobWriter.Stage.DELTA);
+        blobs.add(reverseDelta);
+        stages.add(HollowConcurrentBlobWriter.Stage.REVERSE_DELTA);
+
+        SimultaneousExecutor executor = new SimultaneousExecutor(blobs.size(), getClass(), "stage-blobs");
+        List<Status.PublishBuilder> builders = new ArrayList<>();
+        for (int i = 0; i < blobs.size(); i++) {
+            HollowProducer.Blob blob = blobs.get(i);
+            HollowConcurrentBlobWriter.Stage stage = stages.get(i);
+            Status.PublishBuilder builder = new Status.PublishBuilder();
+            builders.add(builder);
+
+            executor.execute(() -> {
+                Throwable failure = null;
+                try {
+                    builder.blob(blob);
+                    blob.write(writer);
+                    builder.success();
+                } catch (Throwable t) {
+                    failure = t;
+                    builder.fail(t);
+                } finally {
+                    writer.endStage(stage, failure != null ? failure
+                            : new IllegalStateException("The " + blob.getType() + " blob did not write its types"));
+                }
+            });
+        }
+        executor.awaitUninterruptibly();
+
+        Throwable failure = null;
+        for (int i = 0; i < blobs.size(); i++) {
+            Status status = builders.get(i).build();
+            if (status.getType() == Status.StatusType.SUCCESS) {
+                switch (stages.get(i)) {
+                    case SNAPSHOT:
+                        artifacts.snapshot = blobs.get(i);
+                        break;
+                    case DELTA:
+                        artifacts.delta = blobs.get(i);
+                        break;
+                    case REVERSE_DELTA:
+                        artifacts.reverseDelta = blobs.get(i);
+                        break;
+                }
+            } else if (failure == null) {
+                failure = status.getCause();
+            }
+            listeners.fireBlobStage(builders.get(i));
+        }
+
+        if (failure instanceof IOException)
+            throw (IOException) failure;
+        if (failure instanceof RuntimeException)
+            throw (RuntimeException) failure;
+        if (failure instanceof Error)
+            throw (Error) failure;
+        if (failure != null)
+            throw new RuntimeException(failure);
+    }
+
     private void publishBlob(ProducerListeners listeners, HollowProducer.Blob blob) {
         Status.PublishBuilder builder = new Status.PublishBuilder();
         try {
@@ -676,47 +770,34 @@ abstract class AbstractHollowProducer {
         try {
             ReadStateHelper result = readStates;
             HollowReadStateEngine pending = readStates.pending().getStateEngine();
-            readSnapshot(artifacts.snapshot, pending);
-
-            if (readStates.hasCurrent()) {
-                HollowReadStateEngine current = readStates.current().getStateEngine();
-
-                log.info("CHECKSUMS");
-                HollowChecksum currentChecksum = HollowChecksum.forStateEngineWithCommonSchemas(current, pending);
-                log.info("  CUR        " + currentChecksum);
-
-                HollowChecksum pendingChecksum = HollowChecksum.forStateEngineWithCommonSchemas(pending, current);
-                log.info("         PND " + pendingChecksum);
 
-                if (artifacts.hasDelta()) {
-                    if (!artifacts.hasReverseDelta()) {
-                        throw new IllegalStateException("Both a delta and reverse delta are required");
-                    }
+            if (!readStates.hasCurrent()) {
+                readSnapshot(artifacts.snapshot, pending);
+            } else {
+                if (artifacts.hasDelta() && !artifacts.hasReverseDelta()) {
+                    throw new IllegalStateException("Both a delta and reverse delta are required");
+                }
 
+                HollowReadStateEngine current = readStates.current().getStateEngine();
+                SimultaneousExecutor executor = new SimultaneousExecutor(getClass(), "integrity-check");
+                try {
+                    IntegrityCheckHelper integrityCheck = new IntegrityCheckHelper(current, pending, executor);
                     // FIXME: timt: future cycles will fail unless both deltas validate
-                    applyDelta(artifacts.delta, current);
-                    HollowChecksum forwardChecksum = HollowChecksum.forStateEngineWithCommonSchemas(current, pending);
-                    //out.format("  CUR => PND %s\n", forwardChecksum);
-                    if (!forwardChecksum.equals(pendingChecksum)) {
-                        throw new HollowProducer.ChecksumValidationException(HollowProducer.Blob.Type.DELTA);
-                    }
-
-                    applyDelta(artifacts.reverseDelta, pending);
-                    HollowChecksum reverseChecksum = HollowChecksum.forStateEngineWithCommonSchemas(pending, current);
-                    //out.format("  CUR <= PND %s\n", reverseChecksum);
-                    if (!reverseChecksum.equals(currentChecksum)) {
-                        throw new HollowProducer.ChecksumValidationException(HollowProducer.Blob.Type.REVERSE_DELTA);
-                    }
-                    if (!schemaChangedFromPriorVersion) {
-                        // optimization - they have identical schemas, so just swap them
-                        log.log(Level.FINE, "current and pending have identical schemas, swapping");
-                        result = readStates.swap();
-                    } else {
-                        // undo the changes we made to the read states
-                        log.log(Level.FINE, "current and pending have non-identical schemas, reverting");
-                        applyDelta(artifacts.reverseDelta, current);
-                        applyDelta(artifacts.delta, pending);
+                    integrityCheck.check(artifacts.snapshot, artifacts.delta, artifacts.reverseDelta);
+
+                    if (artifacts.hasDelta()) {
+                        if (!schemaChangedFromPriorVersion) {
+                            // optimization - they have identical schemas, so just swap them
+                            log.log(Level.FINE, "current and pending have identical schemas, swapping");
+                            result = readStates.swap();
+                        } else {
+                            // undo the changes we made to the read states
+                            log.log(Level.FINE, "current and pending have non-identical schemas, reverting");
+                            integrityCheck.revert(artifacts.delta, artifacts.reverseDelta);
+                        }
                     }
+                } finally {
+                    executor.shutdown();
                 }
             }
             status.success();
@@ -51,11 +51,21 @@ public class HollowIncrementalCyclePopulator implements HollowProducer.Populator
 
     private final double threadsPerCpu;
     private final Map<RecordPrimaryKey, Object> mutations;
+    private final IncrementalCycleIndex index;
     
 
     HollowIncrementalCyclePopulator(Map<RecordPrimaryKey, Object> mutations, double threadsPerCpu) {
+        this(mutations, threadsPerCpu, null);
+    }
+
+    /**
+     * @param index if not null, the index of the prior state used to find the records to remove, which is kept
+     * across cycles
+     */
+    HollowIncrementalCyclePopulator(Map<RecordPrimaryKey, Object> mutations, double threadsPerCpu, IncrementalCycleIndex index) {
         this.mutations = mutations;
         this.threadsPerCpu = threadsPerCpu;
+        this.index = index;
     }
 
     @Override
@@ -66,7 +76,10 @@ public class HollowIncrementalCyclePopulator implements HollowProducer.Populator
     }
 
     private void removeRecords(HollowProducer.WriteState newState) {
-        if (newState.getPriorState() != null) {
+        if (newState.getPriorState() != null && index != null) {
+            Map<String, BitSet> recordsToRemove = markRecordsToRemove(newState.getPriorState().getStateEngine());
+            removeRecordsFromNewState(newState, recordsToRemove);
+        } else if (newState.getPriorState() != null) {
             Collection<String> types = findTypesWithRemovedRecords(newState.getPriorState());
             Map<String, BitSet> recordsToRemove = markRecordsToRemove(newState.getPriorState(), types);
             removeRecordsFromNewState(newState, recordsToRemove);
@@ -100,6 +113,33 @@ public class HollowIncrementalCyclePopulator implements HollowProducer.Populator
         return recordsToRemove;
     }
 
+    /**
+     * Find the records to remove with the index of the prior state, visiting only the mutated records and the
+     * records they reference.
+     */
+    private Map<String, BitSet> markRecordsToRemove(HollowReadStateEngine priorStateEngine) {
+        index.index(priorStateEngine);
+
+        Map<String, BitSet> recordsToRemove = new HashMap<>();
+        for(Map.Entry<RecordPrimaryKey, Object> entry : mutations.entrySet()) {
+            HollowTypeReadState typeState = priorStateEngine.getTypeState(entry.getKey().getType());
+            if(typeState == null || typeState.getSchema().getSchemaType() != HollowSchema.SchemaType.OBJECT)
+                continue;
+
+            int priorOrdinal = index.getMatchingOrdinal(entry.getKey());
+            if(priorOrdinal != -1) {
+                if(entry.getValue() instanceof AddIfAbsent)
+                    ((AddIfAbsent)entry.getValue()).wasFound = true;
+                else
+                    recordsToRemove.computeIfAbsent(entry.getKey().getType(), t -> new BitSet()).set(priorOrdinal);
+            }
+        }
+
+        index.closeRecordsToRemove(recordsToRemove);
+
+        return recordsToRemove;
+    }
+
     private BitSet markTypeRecordsToRemove(HollowReadStateEngine priorStateEngine, final String type) {
         HollowTypeReadState priorReadState = priorStateEngine.getTypeState(type);
         HollowSchema schema = priorReadState.getSchema();
@@ -658,6 +658,8 @@ public class HollowProducer extends AbstractHollowProducer {
         SingleProducerEnforcer singleProducerEnforcer = new BasicSingleProducerEnforcer();
         HollowObjectHashCodeFinder hashCodeFinder = null;
         boolean doIntegrityCheck = true;
+        boolean concurrentBlobStaging = false;
+        boolean indexedIncrementalCycles = false;
 
         public B withBlobStager(HollowProducer.BlobStager stager) {
             this.stager = stager;
@@ -802,11 +804,46 @@ public class HollowProducer extends AbstractHollowProducer {
             return (B) this;
         }
         
+        /**
+         * Do not check the integrity of the blobs produced in each cycle.
+         * <p>
+         * The integrity check reads each cycle's snapshot into a second read state, and applies the delta and reverse
+         * delta to the two read states.  The producer therefore holds two complete copies of the data on the heap,
+         * in addition to the write state.  The check stops as soon as a type does not match, but this does not reduce
+         * the heap it requires.  Disabling the check leaves a single read state, which is updated by applying each
+         * cycle's delta.
+         *
+         * @return this builder
+         */
         public B noIntegrityCheck() {
             this.doIntegrityCheck = false;
             return (B) this;
         }
 
+        /**
+         * Stage the snapshot, delta and reverse delta of a cycle concurrently, in a single pass over the types
+         * of the write state, instead of one after the other.  Each blob is written from its own thread.
+         *
+         * @return this builder
+         */
+        public B withConcurrentBlobStaging() {
+            this.concurrentBlobStaging = true;
+            return (B) this;
+        }
+
+        /**
+         * Keep an index of the prior state across the cycles of an incremental producer, so that the records to
+         * remove in a cycle are found in time proportional to the cycle's changes rather than the size of the
+         * data.  The index is kept up to date with each cycle's delta, at the cost of the memory to hold a primary
+         * key index for each mutated type and a reference count for each referenced record.
+         *
+         * @return this builder
+         */
+        public B withIndexedIncrementalCycles() {
+            this.indexedIncrementalCycles = true;
+            return (B) this;
+        }
+
         protected void checkArguments() {
             if (stager != null && compressor != null) {
                 throw new IllegalArgumentException(
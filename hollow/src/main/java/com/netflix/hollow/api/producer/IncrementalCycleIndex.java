@@ -0,0 +1,298 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.api.producer;
+
+import com.netflix.hollow.core.index.HollowPrimaryKeyIndex;
+import com.netflix.hollow.core.read.engine.HollowCollectionTypeReadState;
+import com.netflix.hollow.core.read.engine.HollowReadStateEngine;
+import com.netflix.hollow.core.read.engine.HollowTypeReadState;
+import com.netflix.hollow.core.read.engine.HollowTypeStateListener;
+import com.netflix.hollow.core.read.engine.PopulatedOrdinalListener;
+import com.netflix.hollow.core.read.engine.map.HollowMapTypeReadState;
+import com.netflix.hollow.core.read.engine.object.HollowObjectTypeReadState;
+import com.netflix.hollow.core.read.iterator.HollowMapEntryOrdinalIterator;
+import com.netflix.hollow.core.read.iterator.HollowOrdinalIterator;
+import com.netflix.hollow.core.schema.HollowMapSchema;
+import com.netflix.hollow.core.schema.HollowObjectSchema;
+import com.netflix.hollow.core.schema.HollowObjectSchema.FieldType;
+import com.netflix.hollow.core.schema.HollowSchema;
+import com.netflix.hollow.core.schema.HollowSchemaSorter;
+import com.netflix.hollow.core.util.IntList;
+import com.netflix.hollow.core.write.objectmapper.RecordPrimaryKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indexes the prior state of an incremental producer across cycles, so that the records to remove for a cycle's
+ * mutations are found by visiting only the mutated records and the records they reference.
+ * <p>
+ * Two indexes are kept: a primary key index for each type with mutations, and the number of references to each
+ * referenced record.  A referenced record is removed along with its referencers only if all of the references to
+ * it are removed.
+ * <p>
+ * Both indexes listen for the deltas applied to the indexed state engine.  The producer applies each cycle's delta
+ * to its current read state engine, so the indexes are kept up to date at a cost proportional to the changes.  If
+ * the producer's current read state engine is replaced, for example after a schema change or a restore, the
+ * indexes are rebuilt in full from the new state engine.
+ * <p>
+ * The indexes are only held in memory.  A restarted producer rebuilds them in full from its restored state engine
+ * on its first incremental cycle.
+ */
+final class IncrementalCycleIndex {
+
+    private HollowReadStateEngine stateEngine;
+    private final Map<String, HollowPrimaryKeyIndex> primaryKeyIndexes = new HashMap<>();
+    private final Map<String, ReferenceCounts> referenceCounts = new HashMap<>();
+    private final List<ReferenceCountListener> referenceCountListeners = new ArrayList<>();
+
+    /**
+     * Index the provided state engine, unless it is already indexed.
+     *
+     * @param stateEngine the prior state of the cycle
+     */
+    void index(HollowReadStateEngine stateEngine) {
+        if(this.stateEngine == stateEngine)
+            return;
+
+        detach();
+        this.stateEngine = stateEngine;
+
+        for(HollowTypeReadState typeState : stateEngine.getTypeStates()) {
+            if(hasReferences(typeState.getSchema())) {
+                ReferenceCountListener listener = new ReferenceCountListener(typeState);
+                listener.countReferences(typeState.getPopulatedOrdinals(), 1);
+                typeState.addListener(listener);
+                referenceCountListeners.add(listener);
+            }
+        }
+    }
+
+    /**
+     * @param key the primary key of a record
+     * @return the ordinal of the record in the indexed state, or -1 if there is no such record
+     */
+    int getMatchingOrdinal(RecordPrimaryKey key) {
+        HollowPrimaryKeyIndex primaryKeyIndex = primaryKeyIndexes.get(key.getType());
+        if(primaryKeyIndex == null) {
+            HollowObjectSchema schema = (HollowObjectSchema)stateEngine.getTypeState(key.getType()).getSchema();
+            primaryKeyIndex = new HollowPrimaryKeyIndex(stateEngine, schema.getPrimaryKey());
+            primaryKeyIndex.listenForDeltaUpdates();
+            primaryKeyIndexes.put(key.getType(), primaryKeyIndex);
+        }
+        return primaryKeyIndex.getMatchingOrdinal(key.getKey());
+    }
+
+    /**
+     * Close the records to remove over the records they reference.  A record is removed only if all of the references
+     * to it are from removed records; otherwise, it is kept along with the records it references.
+     *
+     * @param recordsToRemove the ordinals of the records to remove in the indexed state, by type
+     */
+    void closeRecordsToRemove(Map<String, BitSet> recordsToRemove) {
+        Map<String, Map<Integer, Integer>> removedReferences = new HashMap<>();
+
+        List<HollowSchema> schemas = HollowSchemaSorter.dependencyOrderedSchemaList(stateEngine);
+        /// referencing types precede the types they reference, so all of the removed references to a record are
+        /// counted before the record's own type is visited
+        Collections.reverse(schemas);
+
+        for(HollowSchema schema : schemas) {
+            BitSet ordinals = recordsToRemove.get(schema.getName());
+            if(ordinals == null)
+                continue;
+
+            ReferenceCounts counts = referenceCounts(schema.getName());
+            Map<Integer, Integer> removed = removedReferences.getOrDefault(schema.getName(), Collections.emptyMap());
+            for(int ordinal = ordinals.nextSetBit(0); ordinal != -1; ordinal = ordinals.nextSetBit(ordinal + 1)) {
+                if(counts.get(ordinal) != removed.getOrDefault(ordinal, 0))
+                    ordinals.clear(ordinal);
+            }
+
+            if(!hasReferences(schema))
+                continue;
+
+            HollowTypeReadState typeState = stateEngine.getTypeState(schema.getName());
+            for(int ordinal = ordinals.nextSetBit(0); ordinal != -1; ordinal = ordinals.nextSetBit(ordinal + 1)) {
+                visitReferences(typeState, ordinal, (referencedType, referencedOrdinal) -> {
+                    int removedCount = removedReferences.computeIfAbsent(referencedType, t -> new HashMap<>())
+                            .merge(referencedOrdinal, 1, Integer::sum);
+                    if(removedCount == referenceCounts(referencedType).get(referencedOrdinal))
+                        recordsToRemove.computeIfAbsent(referencedType, t -> new BitSet()).set(referencedOrdinal);
+                });
+            }
+        }
+    }
+
+    /**
+     * Stop listening for the deltas applied to the indexed state engine, and discard the indexes.
+     */
+    void detach() {
+        for(HollowPrimaryKeyIndex primaryKeyIndex : primaryKeyIndexes.values())
+            primaryKeyIndex.detachFromDeltaUpdates();
+        for(ReferenceCountListener listener : referenceCountListeners)
+            listener.typeState.removeListener(listener);
+
+        primaryKeyIndexes.clear();
+        referenceCounts.clear();
+        referenceCountListeners.clear();
+        stateEngine = null;
+    }
+
+    private ReferenceCounts referenceCounts(String type) {
+        synchronized(referenceCounts) {
+            return referenceCounts.computeIfAbsent(type, t -> new ReferenceCounts());
+        }
+    }
+
+    private static boolean hasReferences(HollowSchema schema) {
+        if(schema.getSchemaType() != HollowSchema.SchemaType.OBJECT)
+            return true;
+
+        HollowObjectSchema objectSchema = (HollowObjectSchema)schema;
+        for(int i=0;i<objectSchema.numFields();i++) {
+            if(objectSchema.getFieldType(i) == FieldType.REFERENCE)
+                return true;
+        }
+        return false;
+    }
+
+    private void visitReferences(HollowTypeReadState typeState, int ordinal, ReferenceVisitor visitor) {
+        switch(typeState.getSchema().getSchemaType()) {
+            case OBJECT:
+                HollowObjectTypeReadState objectTypeState = (HollowObjectTypeReadState)typeState;
+                HollowObjectSchema objectSchema = objectTypeState.getSchema();
+                for(int i=0;i<objectSchema.numFields();i++) {
+                    if(objectSchema.getFieldType(i) == FieldType.REFERENCE
+                            && stateEngine.getTypeState(objectSchema.getReferencedType(i)) != null) {
+                        int referencedOrdinal = objectTypeState.readOrdinal(ordinal, i);
+                        if(referencedOrdinal != -1)
+                            visitor.visit(objectSchema.getReferencedType(i), referencedOrdinal);
+                    }
+                }
+                break;
+            case LIST:
+            case SET:
+                HollowCollectionTypeReadState collectionTypeState = (HollowCollectionTypeReadState)typeState;
+                String elementType = collectionTypeState.getSchema().getElementType();
+                HollowOrdinalIterator iter = collectionTypeState.ordinalIterator(ordinal);
+                for(int elementOrdinal = iter.next(); elementOrdinal != HollowOrdinalIterator.NO_MORE_ORDINALS; elementOrdinal = iter.next())
+                    visitor.visit(elementType, elementOrdinal);
+                break;
+            case MAP:
+                HollowMapTypeReadState mapTypeState = (HollowMapTypeReadState)typeState;
+                HollowMapSchema mapSchema = mapTypeState.getSchema();
+                HollowMapEntryOrdinalIterator entryIter = mapTypeState.ordinalIterator(ordinal);
+                while(entryIter.next()) {
+                    visitor.visit(mapSchema.getKeyType(), entryIter.getKey());
+                    visitor.visit(mapSchema.getValueType(), entryIter.getValue());
+                }
+                break;
+        }
+    }
+
+    private interface ReferenceVisitor {
+        void visit(String referencedType, int referencedOrdinal);
+    }
+
+    /**
+     * The number of references to each record of a referenced type.
+     */
+    private static final class ReferenceCounts {
+        private int counts[] = new int[0];
+
+        synchronized void add(int ordinal, int delta) {
+            if(ordinal >= counts.length)
+                counts = Arrays.copyOf(counts, Math.max(ordinal + 1, counts.length * 2));
+            counts[ordinal] += delta;
+        }
+
+        synchronized int get(int ordinal) {
+            return ordinal < counts.length ? counts[ordinal] : 0;
+        }
+    }
+
+    /**
+     * Keeps the reference counts up to date with the deltas applied to a referencing type.  The data of the records
+     * removed by a delta remains readable until the next delta, so their references can be uncounted.
+     * <p>
+     * The added and removed ordinals are collected as they are notified, so that a delta is counted at a cost
+     * proportional to its changes rather than to the number of records of the type.
+     */
+    private final class ReferenceCountListener implements HollowTypeStateListener {
+        private final HollowTypeReadState typeState;
+        private final IntList addedOrdinals = new IntList();
+        private final IntList removedOrdinals = new IntList();
+
+        ReferenceCountListener(HollowTypeReadState typeState) {
+            this.typeState = typeState;
+        }
+
+        void countReferences(BitSet ordinals, int delta) {
+            for(int ordinal = ordinals.nextSetBit(0); ordinal != -1; ordinal = ordinals.nextSetBit(ordinal + 1))
+                countReferences(ordinal, delta);
+        }
+
+        private void countReferences(int ordinal, int delta) {
+            visitReferences(typeState, ordinal, (referencedType, referencedOrdinal) ->
+                    referenceCounts(referencedType).add(referencedOrdinal, delta));
+        }
+
+        @Override
+        public void beginUpdate() {
+            addedOrdinals.clear();
+            removedOrdinals.clear();
+        }
+
+        @Override
+        public void addedOrdinal(int ordinal) {
+            addedOrdinals.add(ordinal);
+        }
+
+        @Override
+        public void removedOrdinal(int ordinal) {
+            removedOrdinals.add(ordinal);
+        }
+
+        @Override
+        public void endUpdate() {
+            PopulatedOrdinalListener listener = typeState.getListener(PopulatedOrdinalListener.class);
+            BitSet populatedOrdinals = listener.getPopulatedOrdinals();
+            BitSet previousOrdinals = listener.getPreviousOrdinals();
+
+            /// an ordinal which is both removed and added by the delta is populated before and after it, and is not counted
+            for(int i=0;i<removedOrdinals.size();i++) {
+                int ordinal = removedOrdinals.get(i);
+                if(!populatedOrdinals.get(ordinal))
+                    countReferences(ordinal, -1);
+            }
+            for(int i=0;i<addedOrdinals.size();i++) {
+                int ordinal = addedOrdinals.get(i);
+                if(!previousOrdinals.get(ordinal))
+                    countReferences(ordinal, 1);
+            }
+
+            addedOrdinals.clear();
+            removedOrdinals.clear();
+        }
+    }
+
+}
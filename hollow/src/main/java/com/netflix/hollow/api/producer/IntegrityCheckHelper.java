@@ -0,0 +1,240 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.api.producer;
+
+import com.netflix.hollow.core.read.engine.HollowBlobHeaderReader;
+import com.netflix.hollow.core.read.engine.HollowBlobReader;
+import com.netflix.hollow.core.read.engine.HollowReadStateEngine;
+import com.netflix.hollow.core.schema.HollowSchema;
+import com.netflix.hollow.tools.checksum.HollowChecksum;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.logging.Logger;
+
+/**
+ * Helper for {@link AbstractHollowProducer} to check the integrity of the blobs produced in a cycle.
+ * <p>
+ * The checksums of the current state are calculated while the snapshot is read into the pending state, and the
+ * delta is applied to the current state while the checksums of the pending state are calculated.  The checksums
+ * after each delta are calculated and compared one type at a time.  Once a type does not match after the delta, the
+ * checksums which have not yet been calculated are skipped and the reverse delta is not applied; once a type does not
+ * match after the reverse delta, the remaining types are skipped.
+ * <p>
+ * Stopping early saves time, not heap.  Both states are held in full throughout the check, since the producer keeps
+ * both of them for the next cycle.
+ */
+final class IntegrityCheckHelper {
+
+    private static final Logger log = Logger.getLogger(IntegrityCheckHelper.class.getName());
+
+    private final HollowReadStateEngine current;
+    private final HollowReadStateEngine pending;
+    private final Executor executor;
+
+    private volatile boolean deltaInvalid;
+    private volatile boolean reverseDeltaInvalid;
+
+    IntegrityCheckHelper(HollowReadStateEngine current, HollowReadStateEngine pending, Executor executor) {
+        this.current = current;
+        this.pending = pending;
+        this.executor = executor;
+    }
+
+    /**
+     * Read the snapshot into the pending state and, if there is a delta, ensure that:
+     *
+     * * S(cur).apply(forwardDelta).checksum == S(pnd).checksum
+     * * S(pnd).apply(reverseDelta).checksum == S(cur).checksum
+     *
+     * Afterwards the current state is at the version of the pending state, and the pending state is at the version
+     * of the current state.
+     *
+     * @param snapshot the snapshot
+     * @param delta the delta, or null
+     * @param reverseDelta the reverse delta, or null if there is no delta
+     * @throws HollowProducer.ChecksumValidationException if a delta is invalid
+     * @throws Exception if a blob cannot be read
+     */
+    void check(HollowProducer.Blob snapshot, HollowProducer.Blob delta, HollowProducer.Blob reverseDelta) throws Exception {
+        Map<String, HollowSchema> currentSchemas = schemasByName(current.getSchemas());
+        Map<String, HollowSchema> pendingSchemas = schemasByName(readHeaderSchemas(snapshot));
+
+        List<String> commonTypes = new ArrayList<>();
+        for(String type : currentSchemas.keySet()) {
+            if(pendingSchemas.containsKey(type))
+                commonTypes.add(type);
+        }
+
+        List<CompletableFuture<?>> stages = new ArrayList<>();
+
+        CompletableFuture<Void> snapshotRead = CompletableFuture.runAsync(() -> readSnapshot(snapshot, pending), executor);
+        stages.add(snapshotRead);
+
+        Map<String, CompletableFuture<HollowChecksum>> currentChecksums = new LinkedHashMap<>();
+        Map<String, CompletableFuture<HollowChecksum>> pendingChecksums = new LinkedHashMap<>();
+        for(String type : commonTypes) {
+            currentChecksums.put(type, CompletableFuture.supplyAsync(
+                    () -> current.getTypeState(type).getChecksum(pendingSchemas.get(type)), executor));
+            pendingChecksums.put(type, snapshotRead.thenApplyAsync(
+                    v -> deltaInvalid ? null : pending.getTypeState(type).getChecksum(currentSchemas.get(type)), executor));
+        }
+        stages.addAll(currentChecksums.values());
+        stages.addAll(pendingChecksums.values());
+        stages.add(allOf(currentChecksums.values(), pendingChecksums.values()).thenRun(() -> {
+            if(deltaInvalid)
+                return;
+            log.info("CHECKSUMS");
+            log.info("  CUR        " + HollowChecksum.forTypeChecksums(joinAll(currentChecksums)));
+            log.info("         PND " + HollowChecksum.forTypeChecksums(joinAll(pendingChecksums)));
+        }));
+
+        if(delta != null) {
+            CompletableFuture<Void> deltaApplied = allOf(currentChecksums.values()).thenRunAsync(
+                    () -> applyDelta(delta, current), executor);
+            stages.add(deltaApplied);
+
+            List<CompletableFuture<Void>> forwardChecks = new ArrayList<>();
+            for(String type : commonTypes) {
+                forwardChecks.add(deltaApplied.thenAcceptBothAsync(pendingChecksums.get(type), (v, expected) -> {
+                    if(deltaInvalid)
+                        return;
+                    HollowChecksum forwardChecksum = current.getTypeState(type).getChecksum(pendingSchemas.get(type));
+                    if(!forwardChecksum.equals(expected)) {
+                        deltaInvalid = true;
+                        throw new HollowProducer.ChecksumValidationException(HollowProducer.Blob.Type.DELTA);
+                    }
+                }, executor));
+            }
+            stages.addAll(forwardChecks);
+
+            // a failed forward check completes this stage exceptionally, so that the reverse delta is not applied
+            CompletableFuture<Void> reverseDeltaApplied = allOf(pendingChecksums.values(), forwardChecks).thenRunAsync(
+                    () -> applyDelta(reverseDelta, pending), executor);
+            stages.add(reverseDeltaApplied);
+
+            for(String type : commonTypes) {
+                stages.add(reverseDeltaApplied.thenAcceptBothAsync(currentChecksums.get(type), (v, expected) -> {
+                    if(reverseDeltaInvalid)
+                        return;
+                    HollowChecksum reverseChecksum = pending.getTypeState(type).getChecksum(currentSchemas.get(type));
+                    if(!reverseChecksum.equals(expected)) {
+                        reverseDeltaInvalid = true;
+                        throw new HollowProducer.ChecksumValidationException(HollowProducer.Blob.Type.REVERSE_DELTA);
+                    }
+                }, executor));
+            }
+        }
+
+        awaitAll(stages);
+    }
+
+    /**
+     * Undo the changes made by a successful {@link #check}, returning the current and pending states to their
+     * own versions.
+     *
+     * @param delta the delta
+     * @param reverseDelta the reverse delta
+     * @throws Exception if a blob cannot be read
+     */
+    void revert(HollowProducer.Blob delta, HollowProducer.Blob reverseDelta) throws Exception {
+        awaitAll(Arrays.asList(
+                CompletableFuture.runAsync(() -> applyDelta(reverseDelta, current), executor),
+                CompletableFuture.runAsync(() -> applyDelta(delta, pending), executor)));
+    }
+
+    private static Map<String, HollowSchema> schemasByName(Collection<HollowSchema> schemas) {
+        Map<String, HollowSchema> schemasByName = new LinkedHashMap<>();
+        for(HollowSchema schema : schemas)
+            schemasByName.put(schema.getName(), schema);
+        return schemasByName;
+    }
+
+    private static List<HollowSchema> readHeaderSchemas(HollowProducer.Blob blob) throws IOException {
+        try (InputStream is = blob.newInputStream()) {
+            return new HollowBlobHeaderReader().readHeader(is).getSchemas();
+        }
+    }
+
+    private static void readSnapshot(HollowProducer.Blob blob, HollowReadStateEngine stateEngine) {
+        try (InputStream is = blob.newInputStream()) {
+            new HollowBlobReader(stateEngine, new HollowBlobHeaderReader()).readSnapshot(is);
+        } catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void applyDelta(HollowProducer.Blob blob, HollowReadStateEngine stateEngine) {
+        try (InputStream is = blob.newInputStream()) {
+            new HollowBlobReader(stateEngine, new HollowBlobHeaderReader()).applyDelta(is);
+        } catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @SafeVarargs
+    private static CompletableFuture<Void> allOf(Collection<? extends CompletableFuture<?>>... futures) {
+        List<CompletableFuture<?>> all = new ArrayList<>();
+        for(Collection<? extends CompletableFuture<?>> f : futures)
+            all.addAll(f);
+        return CompletableFuture.allOf(all.toArray(new CompletableFuture<?>[0]));
+    }
+
+    private static Map<String, HollowChecksum> joinAll(Map<String, CompletableFuture<HollowChecksum>> checksums) {
+        Map<String, HollowChecksum> joined = new HashMap<>();
+        for(Map.Entry<String, CompletableFuture<HollowChecksum>> entry : checksums.entrySet())
+            joined.put(entry.getKey(), entry.getValue().join());
+        return joined;
+    }
+
+    /**
+     * Wait for every stage to complete, so that neither state is changed after returning, then throw the failure of
+     * the earliest failed stage.
+     */
+    private static void awaitAll(List<? extends CompletableFuture<?>> stages) throws Exception {
+        Throwable failure = null;
+        for(CompletableFuture<?> stage : stages) {
+            try {
+                stage.join();
+            } catch(CompletionException e) {
+                if(failure == null)
+                    failure = e.getCause();
+            }
+        }
+
+        while(failure instanceof CompletionException && failure.getCause() != null)
+            failure = failure.getCause();
+        if(failure instanceof UncheckedIOException)
+            throw ((UncheckedIOException) failure).getCause();
+        if(failure instanceof Exception)
+            throw (Exception) failure;
+        if(failure instanceof Error)
+            throw (Error) failure;
+        if(failure != null)
+            throw new RuntimeException(failure);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.api.producer.fs;
+
+import com.netflix.hollow.api.producer.HollowProducer.BlobCompressor;
+import com.netflix.hollow.core.memory.BlockCompressedBlob;
+import com.netflix.hollow.core.memory.BlockCompressedBlobInputStream;
+import com.netflix.hollow.core.memory.BlockCompressedBlobOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.Deflater;
+
+/**
+ * A {@link BlobCompressor} which writes blobs in the {@link BlockCompressedBlob block compressed container}, with
+ * each block compressed independently with Deflate.
+ * <p>
+ * Consumers need no configuration to read these blobs, since {@link com.netflix.hollow.core.read.engine.HollowBlobReader}
+ * recognizes the container.  Blocks are decompressed concurrently when a snapshot is read with an executor, and the
+ * blocks of filtered types are skipped without being decompressed.
+ */
+public class HollowBlockCompressedBlobCompressor implements BlobCompressor {
+
+    private final int blockSize;
+    private final int level;
+
+    public HollowBlockCompressedBlobCompressor() {
+        this(BlockCompressedBlobOutputStream.DEFAULT_BLOCK_SIZE, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * @param blockSize the maximum uncompressed length of a block
+     * @param level the {@link Deflater} compression level
+     */
+    public HollowBlockCompressedBlobCompressor(int blockSize, int level) {
+        if(blockSize <= 0)
+            throw new IllegalArgumentException("blockSize must be positive");
+        this.blockSize = blockSize;
+        this.level = level;
+    }
+
+    @Override
+    public OutputStream compress(OutputStream os) {
+        try {
+            return new BlockCompressedBlobOutputStream(os, blockSize, level);
+        } catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public InputStream decompress(InputStream is) {
+        try {
+            return new BlockCompressedBlobInputStream(is);
+        } catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
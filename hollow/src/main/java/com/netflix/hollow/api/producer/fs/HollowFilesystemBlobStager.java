@@ -25,6 +25,7 @@ import com.netflix.hollow.api.producer.HollowProducer.Blob;
 import com.netflix.hollow.api.producer.HollowProducer.BlobCompressor;
 import com.netflix.hollow.api.producer.HollowProducer.BlobStager;
 import com.netflix.hollow.core.HollowConstants;
+import com.netflix.hollow.core.memory.BlockCompressedBlobOutputStream;
 import com.netflix.hollow.core.write.HollowBlobWriter;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
@@ -140,7 +141,9 @@ public class HollowFilesystemBlobStager implements BlobStager {
                 Files.createFile(path);
 
 
-            try (OutputStream os = new BufferedOutputStream(compressor.compress(Files.newOutputStream(path)))) {
+            OutputStream compressed = compressor.compress(Files.newOutputStream(path));
+            // a block compressed container buffers its blocks, and must be written to directly to end a block per type
+            try (OutputStream os = compressed instanceof BlockCompressedBlobOutputStream ? compressed : new BufferedOutputStream(compressed)) {
                 switch (type) {
                     case SNAPSHOT:
                         writer.writeSnapshot(os);
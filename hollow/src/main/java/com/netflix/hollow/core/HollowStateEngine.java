@@ -47,6 +47,15 @@ public interface HollowStateEngine extends HollowDataset {
      */
     String HEADER_TAG_SCHEMA_CHANGE = "hollow.schema.changedFromPriorVersion";
 
+    /**
+     * A header tag indicating that the blob records the length of each type's data.
+     * <p>
+     * If the header tag is present and the value is "true" (ignoring case) then the forwards compatibility bytes
+     * preceding the number of shards of each type begin with the length in bytes of the type's data, so that readers
+     * may skip a type without reading its data.
+     */
+    String HEADER_TAG_TYPE_SECTION_LENGTHS = "hollow.blob.typeSectionLengths";
+
     @Override
     List<HollowSchema> getSchemas();
 
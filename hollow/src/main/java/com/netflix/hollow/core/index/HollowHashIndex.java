@@ -25,7 +25,10 @@ import com.netflix.hollow.core.read.HollowReadFieldUtils;
 import com.netflix.hollow.core.read.engine.HollowReadStateEngine;
 import com.netflix.hollow.core.read.engine.HollowTypeReadState;
 import com.netflix.hollow.core.read.engine.HollowTypeStateListener;
+import com.netflix.hollow.core.read.engine.PopulatedOrdinalListener;
 import com.netflix.hollow.core.read.engine.object.HollowObjectTypeReadState;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * A HollowHashIndex is used for indexing non-primary-key data.  This type of index can map multiple keys to a single matching record, and/or
@@ -37,6 +40,8 @@ import com.netflix.hollow.core.read.engine.object.HollowObjectTypeReadState;
  */
 public class HollowHashIndex implements HollowTypeStateListener {
 
+    private static final Logger LOG = Logger.getLogger(HollowHashIndex.class.getName());
+
     private volatile HollowHashIndexState hashStateVolatile;
 
     private final HollowReadStateEngine stateEngine;
@@ -45,6 +50,8 @@ public class HollowHashIndex implements HollowTypeStateListener {
     private final String selectField;
     private final String[] matchFields;
 
+    private boolean incrementalDeltaUpdates;
+
     /**
      * Define a {@link HollowHashIndex}.
      *
@@ -193,6 +200,21 @@ public class HollowHashIndex implements HollowTypeStateListener {
         typeState.addListener(this);
     }
 
+    /**
+     * Once called, this HollowHashIndex will be kept up-to-date when deltas are applied to the indexed state engine, by
+     * patching the index with only the records added and removed by each delta.
+     * <p>
+     * The index is rebuilt in full instead when a delta cannot be applied incrementally -- for example if the select field
+     * is not the indexed type itself, if the index tables would need to be resized, or if a delta changes a large proportion
+     * of the records.
+     * <p>
+     * The same considerations as {@link #listenForDeltaUpdates()} apply.
+     */
+    public void listenForIncrementalDeltaUpdates() {
+        incrementalDeltaUpdates = true;
+        listenForDeltaUpdates();
+    }
+
     /**
      * Once called, this HollowHashIndex will no longer be kept up-to-date when deltas are applied to the indexed state engine.
      * <p>
@@ -213,7 +235,21 @@ public class HollowHashIndex implements HollowTypeStateListener {
 
     @Override
     public void endUpdate() {
-       reindexHashIndex();
+        if(incrementalDeltaUpdates) {
+            try {
+                PopulatedOrdinalListener listener = typeState.getListener(PopulatedOrdinalListener.class);
+                HollowHashIndexState updatedState = new HollowHashIndexDeltaUpdater(stateEngine, type, selectField, matchFields, hashStateVolatile)
+                        .update(listener.getPreviousOrdinals(), listener.getPopulatedOrdinals());
+                if(updatedState != null) {
+                    hashStateVolatile = updatedState;
+                    return;
+                }
+            } catch (IllegalStateException e) {
+                LOG.log(Level.SEVERE, "Incremental update of hash index failed.  Performing a full reindex", e);
+            }
+        }
+
+        reindexHashIndex();
     }
 
     public HollowReadStateEngine getStateEngine() {
@@ -245,6 +281,9 @@ public class HollowHashIndex implements HollowTypeStateListener {
         private final int[] offsetPerTraverserField;
         private final int bitsPerSelectTableSize;
         private final int bitsPerSelectTablePointer;
+        private final int matchCount;
+        private final long numSelectBuckets;
+        private final long numWastedSelectBuckets;
 
         public HollowHashIndexState(HollowHashIndexBuilder builder) {
             matchHashTable = builder.getFinalMatchHashTable();
@@ -258,6 +297,27 @@ public class HollowHashIndex implements HollowTypeStateListener {
             bitsPerSelectTableSize = builder.getFinalBitsPerSelectTableSize();
             bitsPerSelectTablePointer = builder.getFinalBitsPerSelectTablePointer();
             bitsPerSelectHashEntry = builder.getBitsPerSelectHashEntry();
+            matchCount = builder.getMatchCount();
+            numSelectBuckets = builder.getFinalNumSelectBuckets();
+            numWastedSelectBuckets = 0;
+        }
+
+        HollowHashIndexState(HollowHashIndexState previous, FixedLengthElementArray matchHashTable, FixedLengthElementArray selectHashArray,
+                int matchCount, long numSelectBuckets, long numWastedSelectBuckets) {
+            this.matchHashTable = matchHashTable;
+            this.selectHashArray = selectHashArray;
+            this.matchFields = previous.matchFields;
+            this.matchHashMask = previous.matchHashMask;
+            this.bitsPerMatchHashKey = previous.bitsPerMatchHashKey;
+            this.bitsPerMatchHashEntry = previous.bitsPerMatchHashEntry;
+            this.bitsPerTraverserField = previous.bitsPerTraverserField;
+            this.offsetPerTraverserField = previous.offsetPerTraverserField;
+            this.bitsPerSelectTableSize = previous.bitsPerSelectTableSize;
+            this.bitsPerSelectTablePointer = previous.bitsPerSelectTablePointer;
+            this.bitsPerSelectHashEntry = previous.bitsPerSelectHashEntry;
+            this.matchCount = matchCount;
+            this.numSelectBuckets = numSelectBuckets;
+            this.numWastedSelectBuckets = numWastedSelectBuckets;
         }
 
         public FixedLengthElementArray getSelectHashArray() {
@@ -303,5 +363,20 @@ public class HollowHashIndex implements HollowTypeStateListener {
         public int getBitsPerSelectTablePointer() {
             return bitsPerSelectTablePointer;
         }
+
+        public int getMatchCount() {
+            return matchCount;
+        }
+
+        public long getNumSelectBuckets() {
+            return numSelectBuckets;
+        }
+
+        /**
+         * @return the number of select buckets belonging to no match, left behind by incremental delta updates
+         */
+        public long getNumWastedSelectBuckets() {
+            return numWastedSelectBuckets;
+        }
     }
 }
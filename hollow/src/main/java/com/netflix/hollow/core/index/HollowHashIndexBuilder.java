@@ -50,6 +50,7 @@ public class HollowHashIndexBuilder {
     private int finalBitsPerMatchHashEntry;
     private int finalBitsPerSelectTableSize;
     private int finalBitsPerSelectTablePointer;
+    private long finalNumSelectBuckets;
 
     private GrowingSegmentedLongArray matchIndexHashAndSizeArray;
     private FixedLengthElementArray intermediateMatchHashTable;
@@ -239,6 +240,7 @@ public class HollowHashIndexBuilder {
         this.finalBitsPerSelectTablePointer = bitsPerFinalSelectBucketPointer;
         this.finalBitsPerSelectTableSize = bitsPerSelectTableSize;
         this.finalMatchHashMask = finalMatchHashMask;
+        this.finalNumSelectBuckets = totalNumberOfSelectBuckets;
     }
 
     private void growIntermediateHashTable() {
@@ -439,6 +441,14 @@ public class HollowHashIndexBuilder {
         return finalSelectHashArray;
     }
 
+    public long getFinalNumSelectBuckets() {
+        return finalNumSelectBuckets;
+    }
+
+    public int getMatchCount() {
+        return matchCount;
+    }
+
     public HollowHashIndexField getSelectField() {
         return preindexer.getSelectFieldSpec();
     }
@@ -0,0 +1,564 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.core.index;
+
+import static com.netflix.hollow.core.memory.encoding.FixedLengthElementArray.bitsRequiredToRepresentValue;
+
+import com.netflix.hollow.core.HollowConstants;
+import com.netflix.hollow.core.index.HollowHashIndex.HollowHashIndexState;
+import com.netflix.hollow.core.index.traversal.HollowIndexerValueTraverser;
+import com.netflix.hollow.core.memory.encoding.FixedLengthElementArray;
+import com.netflix.hollow.core.memory.encoding.HashCodes;
+import com.netflix.hollow.core.memory.pool.ArraySegmentRecycler;
+import com.netflix.hollow.core.memory.pool.WastefulRecycler;
+import com.netflix.hollow.core.read.HollowReadFieldUtils;
+import com.netflix.hollow.core.read.dataaccess.HollowObjectTypeDataAccess;
+import com.netflix.hollow.core.read.engine.HollowReadStateEngine;
+import com.netflix.hollow.core.read.engine.HollowTypeReadState;
+import com.netflix.hollow.core.read.engine.PopulatedOrdinalListener;
+import com.netflix.hollow.core.read.engine.object.HollowObjectTypeReadState;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Derives a new {@link HollowHashIndexState} from the previous one by patching copies of its tables with the records
+ * added and removed by a delta, rather than traversing every populated record.
+ * <p>
+ * Incremental maintenance is only possible when the select field resolves to the records of the indexed type, since each
+ * select ordinal is then contributed by exactly one record.  Otherwise, and whenever the tables would need to be resized
+ * or re-encoded, {@link #update(BitSet, BitSet)} returns null and the caller should rebuild the index.
+ */
+class HollowHashIndexDeltaUpdater {
+
+    /// a delta touching more than this fraction of the records is cheaper to apply with a full rebuild
+    private static final double MAX_CHANGED_RECORDS_RATIO = 0.1d;
+
+    private final HollowHashIndexState state;
+    private final HollowPreindexer preindexer;
+    private final HollowIndexerValueTraverser traverser;
+    private final HollowHashIndexField[] matchFields;
+    private final int numMatchTraverserFields;
+    private final int[] bitsPerTraverserField;
+    private final int[] offsetPerTraverserField;
+    private final int bitsPerMatchHashEntry;
+    private final int bitsPerSelectHashEntry;
+    private final long matchHashMask;
+
+    private final ArraySegmentRecycler memoryRecycler;
+
+    private FixedLengthElementArray matchHashTable;
+    private FixedLengthElementArray selectHashArray;
+
+    HollowHashIndexDeltaUpdater(HollowReadStateEngine stateEngine, String type, String selectField, String[] matchFields, HollowHashIndexState state) {
+        this.state = state;
+        this.preindexer = new HollowPreindexer(stateEngine, type, selectField, matchFields);
+        preindexer.buildFieldSpecifications();
+
+        this.traverser = preindexer.getTraverser();
+        this.matchFields = preindexer.getMatchFieldSpecs();
+        this.numMatchTraverserFields = preindexer.getNumMatchTraverserFields();
+        this.bitsPerTraverserField = state.getBitsPerTraverserField();
+        this.offsetPerTraverserField = state.getOffsetPerTraverserField();
+        this.bitsPerMatchHashEntry = state.getBitsPerMatchHashEntry();
+        this.bitsPerSelectHashEntry = state.getBitsPerSelectHashEntry();
+        this.matchHashMask = state.getMatchHashMask();
+        this.memoryRecycler = WastefulRecycler.DEFAULT_INSTANCE;
+    }
+
+    /**
+     * @param previousOrdinals the populated ordinals of the indexed type prior to the delta
+     * @param populatedOrdinals the populated ordinals of the indexed type after the delta
+     * @return the updated state, or null if the index must be rebuilt
+     * @throws IllegalStateException if the previous state does not contain a removed record
+     */
+    HollowHashIndexState update(BitSet previousOrdinals, BitSet populatedOrdinals) {
+        if(!selectsIndexedRecords() || !traverserFieldWidthsUnchanged())
+            return null;
+
+        BitSet removedOrdinals = (BitSet)previousOrdinals.clone();
+        removedOrdinals.andNot(populatedOrdinals);
+        BitSet addedOrdinals = (BitSet)populatedOrdinals.clone();
+        addedOrdinals.andNot(previousOrdinals);
+
+        int numChangedRecords = removedOrdinals.cardinality() + addedOrdinals.cardinality();
+        if(numChangedRecords == 0)
+            return state;
+        if(numChangedRecords > previousOrdinals.cardinality() * MAX_CHANGED_RECORDS_RATIO)
+            return null;
+
+        Map<Long, KeyChange> existingKeyChanges = new LinkedHashMap<>();
+        Map<Integer, List<KeyChange>> newKeyChanges = new HashMap<>();
+        int numNewKeys = collectChanges(removedOrdinals, addedOrdinals, existingKeyChanges, newKeyChanges);
+
+        /// plan the layout of the select array: regions which no longer fit are abandoned and re-appended at the end
+        FixedLengthElementArray previousMatchHashTable = state.getMatchHashTable();
+        long numSelectBuckets = state.getNumSelectBuckets();
+        long numWastedSelectBuckets = state.getNumWastedSelectBuckets();
+        int matchCount = state.getMatchCount() + numNewKeys;
+        long maxSelectSize = 0;
+
+        for(KeyChange change : existingKeyChanges.values()) {
+            long bucketBit = change.bucket * bitsPerMatchHashEntry;
+            change.previousSize = (int)previousMatchHashTable.getElementValue(bucketBit + state.getBitsPerMatchHashKey(), state.getBitsPerSelectTableSize());
+            change.previousPointer = previousMatchHashTable.getElementValue(bucketBit + state.getBitsPerMatchHashKey() + state.getBitsPerSelectTableSize(), state.getBitsPerSelectTablePointer());
+            change.size = change.previousSize - change.removedSelectOrdinals.size() + change.addedSelectOrdinals.size();
+            if(change.size < 0)
+                throw new IllegalStateException("Removed more select ordinals than are indexed for a match; bucket=" + change.bucket);
+
+            int previousBuckets = HashCodes.hashTableSize(change.previousSize);
+            if(change.size == 0) {
+                numWastedSelectBuckets += previousBuckets;
+                matchCount--;
+            } else if(HashCodes.hashTableSize(change.size) == previousBuckets) {
+                change.pointer = change.previousPointer;
+            } else {
+                numWastedSelectBuckets += previousBuckets;
+                change.pointer = numSelectBuckets;
+                numSelectBuckets += HashCodes.hashTableSize(change.size);
+            }
+            maxSelectSize = Math.max(maxSelectSize, change.size);
+        }
+
+        for(List<KeyChange> changes : newKeyChanges.values()) {
+            for(KeyChange change : changes) {
+                change.size = change.addedSelectOrdinals.size();
+                change.pointer = numSelectBuckets;
+                numSelectBuckets += HashCodes.hashTableSize(change.size);
+                maxSelectSize = Math.max(maxSelectSize, change.size);
+            }
+        }
+
+        long matchHashTableSize = matchHashMask + 1;
+        if(HashCodes.hashTableSize(matchCount) != matchHashTableSize
+                || state.getMatchCount() + numNewKeys >= matchHashTableSize
+                || bitsRequiredToRepresentValue(maxSelectSize) > state.getBitsPerSelectTableSize()
+                || bitsRequiredToRepresentValue(numSelectBuckets) > state.getBitsPerSelectTablePointer()
+                || numWastedSelectBuckets > numSelectBuckets / 2)
+            return null;
+
+        /// copy on write, so that concurrent readers of the previous state are unaffected
+        matchHashTable = new FixedLengthElementArray(memoryRecycler, matchHashTableSize * bitsPerMatchHashEntry);
+        matchHashTable.copyBits(previousMatchHashTable, 0, 0, matchHashTableSize * bitsPerMatchHashEntry);
+        selectHashArray = new FixedLengthElementArray(memoryRecycler, numSelectBuckets * bitsPerSelectHashEntry);
+        if(state.getNumSelectBuckets() > 0)
+            selectHashArray.copyBits(state.getSelectHashArray(), 0, 0, state.getNumSelectBuckets() * bitsPerSelectHashEntry);
+
+        List<int[]> deletedKeys = new ArrayList<>();
+        for(KeyChange change : existingKeyChanges.values()) {
+            if(change.size == 0) {
+                deletedKeys.add(change.keyOrdinals);
+            } else {
+                applyExistingKeyChange(change);
+            }
+        }
+
+        for(List<KeyChange> changes : newKeyChanges.values()) {
+            for(KeyChange change : changes)
+                addNewKey(change);
+        }
+
+        for(int[] keyOrdinals : deletedKeys)
+            deleteKey(keyOrdinals);
+
+        return new HollowHashIndexState(state, matchHashTable, selectHashArray, matchCount, numSelectBuckets, numWastedSelectBuckets);
+    }
+
+    private boolean selectsIndexedRecords() {
+        HollowHashIndexField selectField = preindexer.getSelectFieldSpec();
+        return selectField.getSchemaFieldPositionPath().length == 0
+                && "".equals(traverser.getFieldPath(selectField.getBaseIteratorFieldIdx()));
+    }
+
+    private boolean traverserFieldWidthsUnchanged() {
+        for(int i=0;i<traverser.getNumFieldPaths();i++) {
+            int maxOrdinalForTypeState = ((HollowTypeReadState)traverser.getFieldTypeDataAccess(i)).maxOrdinal();
+            if(bitsRequiredToRepresentValue(maxOrdinalForTypeState + 1) != bitsPerTraverserField[i])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Traverse the removed and added records, grouping their select ordinals by match.
+     *
+     * @return the number of matches which are not yet present in the index
+     */
+    private int collectChanges(BitSet removedOrdinals, BitSet addedOrdinals, Map<Long, KeyChange> existingKeyChanges, Map<Integer, List<KeyChange>> newKeyChanges) {
+        FixedLengthElementArray previousMatchHashTable = state.getMatchHashTable();
+        int selectFieldIdx = preindexer.getSelectFieldSpec().getBaseIteratorFieldIdx();
+
+        /// removed records remain readable until the next delta is applied
+        int ordinal = removedOrdinals.nextSetBit(0);
+        while(ordinal != HollowConstants.ORDINAL_NONE) {
+            traverser.traverse(ordinal);
+            for(int i=0;i<traverser.getNumMatches();i++) {
+                int[] keyOrdinals = matchKeyOrdinals(i);
+                long bucket = findBucket(previousMatchHashTable, keyOrdinals, keyHash(keyOrdinals));
+                if(bucket == -1)
+                    throw new IllegalStateException("Match for removed ordinal not found in hash index; ordinal=" + ordinal);
+
+                existingKeyChanges.computeIfAbsent(bucket, b -> new KeyChange(b, readKeyOrdinals(previousMatchHashTable, b * bitsPerMatchHashEntry)))
+                        .removedSelectOrdinals.add(traverser.getMatchOrdinal(i, selectFieldIdx));
+            }
+            ordinal = removedOrdinals.nextSetBit(ordinal + 1);
+        }
+
+        int numNewKeys = 0;
+
+        ordinal = addedOrdinals.nextSetBit(0);
+        while(ordinal != HollowConstants.ORDINAL_NONE) {
+            traverser.traverse(ordinal);
+            for(int i=0;i<traverser.getNumMatches();i++) {
+                int[] keyOrdinals = matchKeyOrdinals(i);
+                int matchHash = keyHash(keyOrdinals);
+                int selectOrdinal = traverser.getMatchOrdinal(i, selectFieldIdx);
+
+                long bucket = findBucket(previousMatchHashTable, keyOrdinals, matchHash);
+                if(bucket != -1) {
+                    existingKeyChanges.computeIfAbsent(bucket, b -> new KeyChange(b, readKeyOrdinals(previousMatchHashTable, b * bitsPerMatchHashEntry)))
+                            .addedSelectOrdinals.add(selectOrdinal);
+                    continue;
+                }
+
+                List<KeyChange> changes = newKeyChanges.computeIfAbsent(matchHash, h -> new ArrayList<>());
+                KeyChange change = null;
+                for(KeyChange candidate : changes) {
+                    if(keysAreEqual(candidate.keyOrdinals, keyOrdinals)) {
+                        change = candidate;
+                        break;
+                    }
+                }
+
+                if(change == null) {
+                    change = new KeyChange(-1, keyOrdinals);
+                    change.hash = matchHash;
+                    changes.add(change);
+                    numNewKeys++;
+                }
+
+                change.addedSelectOrdinals.add(selectOrdinal);
+            }
+            ordinal = addedOrdinals.nextSetBit(ordinal + 1);
+        }
+
+        return numNewKeys;
+    }
+
+    private void applyExistingKeyChange(KeyChange change) {
+        long bucketBit = change.bucket * bitsPerMatchHashEntry;
+        int buckets = HashCodes.hashTableSize(change.size);
+
+        if(change.pointer == change.previousPointer) {
+            for(int selectOrdinal : change.removedSelectOrdinals)
+                removeSelectOrdinal(change.pointer, buckets, selectOrdinal);
+        } else {
+            long previousPointer = change.previousPointer;
+            long previousBuckets = HashCodes.hashTableSize(change.previousSize);
+            for(long i=previousPointer;i<previousPointer + previousBuckets;i++) {
+                int selectOrdinal = (int)selectHashArray.getElementValue(i * bitsPerSelectHashEntry, bitsPerSelectHashEntry) - 1;
+                if(selectOrdinal != HollowConstants.ORDINAL_NONE && !change.removedSelectOrdinals.contains(selectOrdinal))
+                    addSelectOrdinal(change.pointer, buckets, selectOrdinal);
+            }
+        }
+
+        for(int selectOrdinal : change.addedSelectOrdinals)
+            addSelectOrdinal(change.pointer, buckets, selectOrdinal);
+
+        long sizeBit = bucketBit + state.getBitsPerMatchHashKey();
+        long pointerBit = sizeBit + state.getBitsPerSelectTableSize();
+        matchHashTable.clearElementValue(sizeBit, state.getBitsPerSelectTableSize());
+        matchHashTable.setElementValue(sizeBit, state.getBitsPerSelectTableSize(), change.size);
+        matchHashTable.clearElementValue(pointerBit, state.getBitsPerSelectTablePointer());
+        matchHashTable.setElementValue(pointerBit, state.getBitsPerSelectTablePointer(), change.pointer);
+
+        if(!change.removedSelectOrdinals.isEmpty() && !isPopulated(change.keyOrdinals))
+            repointKey(change, buckets);
+    }
+
+    /**
+     * The ordinals stored for a match identify the records from which its values are read.  If those records were removed,
+     * point the match at the records of a remaining select ordinal before they are overwritten by a subsequent delta.
+     */
+    private void repointKey(KeyChange change, int buckets) {
+        int selectFieldIdx = preindexer.getSelectFieldSpec().getBaseIteratorFieldIdx();
+
+        for(long i=change.pointer;i<change.pointer + buckets;i++) {
+            int selectOrdinal = (int)selectHashArray.getElementValue(i * bitsPerSelectHashEntry, bitsPerSelectHashEntry) - 1;
+            if(selectOrdinal == HollowConstants.ORDINAL_NONE)
+                continue;
+
+            traverser.traverse(selectOrdinal);
+            for(int j=0;j<traverser.getNumMatches();j++) {
+                if(traverser.getMatchOrdinal(j, selectFieldIdx) == selectOrdinal) {
+                    int[] keyOrdinals = matchKeyOrdinals(j);
+                    if(keysAreEqual(change.keyOrdinals, keyOrdinals)) {
+                        writeKeyOrdinals(matchHashTable, change.bucket * bitsPerMatchHashEntry, keyOrdinals);
+                        return;
+                    }
+                }
+            }
+        }
+
+        throw new IllegalStateException("No remaining record found for match in hash index; bucket=" + change.bucket);
+    }
+
+    private void addNewKey(KeyChange change) {
+        int buckets = HashCodes.hashTableSize(change.size);
+        for(int selectOrdinal : change.addedSelectOrdinals)
+            addSelectOrdinal(change.pointer, buckets, selectOrdinal);
+
+        long bucket = change.hash & matchHashMask;
+        while(!isMatchBucketEmpty(bucket))
+            bucket = (bucket + 1) & matchHashMask;
+
+        long bucketBit = bucket * bitsPerMatchHashEntry;
+        writeKeyOrdinals(matchHashTable, bucketBit, change.keyOrdinals);
+        matchHashTable.setElementValue(bucketBit + state.getBitsPerMatchHashKey(), state.getBitsPerSelectTableSize(), change.size);
+        matchHashTable.setElementValue(bucketBit + state.getBitsPerMatchHashKey() + state.getBitsPerSelectTableSize(), state.getBitsPerSelectTablePointer(), change.pointer);
+    }
+
+    private void deleteKey(int[] keyOrdinals) {
+        long bucket = keyHash(keyOrdinals) & matchHashMask;
+        while(!isMatchBucketEmpty(bucket) && !storedKeyOrdinalsEqual(bucket, keyOrdinals))
+            bucket = (bucket + 1) & matchHashMask;
+
+        if(isMatchBucketEmpty(bucket))
+            throw new IllegalStateException("Match to delete not found in hash index");
+
+        clearMatchBucket(bucket);
+
+        /// shift subsequent entries of the probe sequence back into the vacated bucket
+        long emptyBucket = bucket;
+        bucket = (bucket + 1) & matchHashMask;
+        while(!isMatchBucketEmpty(bucket)) {
+            long naturalBucket = keyHash(readKeyOrdinals(matchHashTable, bucket * bitsPerMatchHashEntry)) & matchHashMask;
+            if(((bucket - naturalBucket) & matchHashMask) >= ((bucket - emptyBucket) & matchHashMask)) {
+                moveMatchBucket(bucket, emptyBucket);
+                emptyBucket = bucket;
+            }
+            bucket = (bucket + 1) & matchHashMask;
+        }
+    }
+
+    private void addSelectOrdinal(long pointer, int buckets, int selectOrdinal) {
+        int bucketMask = buckets - 1;
+        int bucket = HashCodes.hashInt(selectOrdinal) & bucketMask;
+        int bucketOrdinal = readSelectOrdinal(pointer + bucket);
+        while(bucketOrdinal != HollowConstants.ORDINAL_NONE) {
+            if(bucketOrdinal == selectOrdinal)
+                return;
+            bucket = (bucket + 1) & bucketMask;
+            bucketOrdinal = readSelectOrdinal(pointer + bucket);
+        }
+
+        selectHashArray.setElementValue((pointer + bucket) * bitsPerSelectHashEntry, bitsPerSelectHashEntry, selectOrdinal + 1);
+    }
+
+    private void removeSelectOrdinal(long pointer, int buckets, int selectOrdinal) {
+        int bucketMask = buckets - 1;
+        int bucket = HashCodes.hashInt(selectOrdinal) & bucketMask;
+        int bucketOrdinal = readSelectOrdinal(pointer + bucket);
+        while(bucketOrdinal != selectOrdinal) {
+            if(bucketOrdinal == HollowConstants.ORDINAL_NONE)
+                throw new IllegalStateException("Removed select ordinal not found in hash index; ordinal=" + selectOrdinal);
+            bucket = (bucket + 1) & bucketMask;
+            bucketOrdinal = readSelectOrdinal(pointer + bucket);
+        }
+
+        selectHashArray.clearElementValue((pointer + bucket) * bitsPerSelectHashEntry, bitsPerSelectHashEntry);
+
+        int emptyBucket = bucket;
+        bucket = (bucket + 1) & bucketMask;
+        bucketOrdinal = readSelectOrdinal(pointer + bucket);
+        while(bucketOrdinal != HollowConstants.ORDINAL_NONE) {
+            int naturalBucket = HashCodes.hashInt(bucketOrdinal) & bucketMask;
+            if(((bucket - naturalBucket) & bucketMask) >= ((bucket - emptyBucket) & bucketMask)) {
+                selectHashArray.clearElementValue((pointer + bucket) * bitsPerSelectHashEntry, bitsPerSelectHashEntry);
+                selectHashArray.setElementValue((pointer + emptyBucket) * bitsPerSelectHashEntry, bitsPerSelectHashEntry, bucketOrdinal + 1);
+                emptyBucket = bucket;
+            }
+            bucket = (bucket + 1) & bucketMask;
+            bucketOrdinal = readSelectOrdinal(pointer + bucket);
+        }
+    }
+
+    private int readSelectOrdinal(long bucket) {
+        return (int)selectHashArray.getElementValue(bucket * bitsPerSelectHashEntry, bitsPerSelectHashEntry) - 1;
+    }
+
+    private boolean isMatchBucketEmpty(long bucket) {
+        return matchHashTable.getElementValue(bucket * bitsPerMatchHashEntry, bitsPerTraverserField[0]) == 0;
+    }
+
+    private boolean storedKeyOrdinalsEqual(long bucket, int[] keyOrdinals) {
+        long bucketBit = bucket * bitsPerMatchHashEntry;
+        for(int i=0;i<numMatchTraverserFields;i++) {
+            if(matchHashTable.getElementValue(bucketBit + offsetPerTraverserField[i], bitsPerTraverserField[i]) - 1 != keyOrdinals[i])
+                return false;
+        }
+        return true;
+    }
+
+    private void clearMatchBucket(long bucket) {
+        long bucketBit = bucket * bitsPerMatchHashEntry;
+        for(int bit=0;bit<bitsPerMatchHashEntry;bit+=56)
+            matchHashTable.clearElementValue(bucketBit + bit, Math.min(56, bitsPerMatchHashEntry - bit));
+    }
+
+    private void moveMatchBucket(long fromBucket, long toBucket) {
+        long fromBit = fromBucket * bitsPerMatchHashEntry;
+        long toBit = toBucket * bitsPerMatchHashEntry;
+        for(int bit=0;bit<bitsPerMatchHashEntry;bit+=56) {
+            int bits = Math.min(56, bitsPerMatchHashEntry - bit);
+            matchHashTable.setElementValue(toBit + bit, bits, matchHashTable.getElementValue(fromBit + bit, bits));
+        }
+        clearMatchBucket(fromBucket);
+    }
+
+    private long findBucket(FixedLengthElementArray table, int[] keyOrdinals, int matchHash) {
+        long bucket = matchHash & matchHashMask;
+        long bucketBit = bucket * bitsPerMatchHashEntry;
+        while(table.getElementValue(bucketBit, bitsPerTraverserField[0]) != 0) {
+            if(keysAreEqual(readKeyOrdinals(table, bucketBit), keyOrdinals))
+                return bucket;
+            bucket = (bucket + 1) & matchHashMask;
+            bucketBit = bucket * bitsPerMatchHashEntry;
+        }
+        return -1;
+    }
+
+    private int[] matchKeyOrdinals(int matchIdx) {
+        int[] keyOrdinals = new int[numMatchTraverserFields];
+        for(int i=0;i<numMatchTraverserFields;i++)
+            keyOrdinals[i] = traverser.getMatchOrdinal(matchIdx, i);
+        return keyOrdinals;
+    }
+
+    private int[] readKeyOrdinals(FixedLengthElementArray table, long bucketBit) {
+        int[] keyOrdinals = new int[numMatchTraverserFields];
+        for(int i=0;i<numMatchTraverserFields;i++)
+            keyOrdinals[i] = (int)table.getElementValue(bucketBit + offsetPerTraverserField[i], bitsPerTraverserField[i]) - 1;
+        return keyOrdinals;
+    }
+
+    private void writeKeyOrdinals(FixedLengthElementArray table, long bucketBit, int[] keyOrdinals) {
+        for(int i=0;i<numMatchTraverserFields;i++) {
+            table.clearElementValue(bucketBit + offsetPerTraverserField[i], bitsPerTraverserField[i]);
+            table.setElementValue(bucketBit + offsetPerTraverserField[i], bitsPerTraverserField[i], keyOrdinals[i] + 1);
+        }
+    }
+
+    private boolean isPopulated(int[] keyOrdinals) {
+        for(int i=0;i<numMatchTraverserFields;i++) {
+            if(keyOrdinals[i] == HollowConstants.ORDINAL_NONE)
+                continue;
+            HollowTypeReadState typeState = (HollowTypeReadState)traverser.getFieldTypeDataAccess(i);
+            if(!typeState.getListener(PopulatedOrdinalListener.class).getPopulatedOrdinals().get(keyOrdinals[i]))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Equivalent to the hash of a traversed match computed by the {@link HollowHashIndexBuilder}.
+     */
+    private int keyHash(int[] keyOrdinals) {
+        int matchHash = 0;
+
+        for(HollowHashIndexField field : matchFields) {
+            int ordinal = keyOrdinals[field.getBaseIteratorFieldIdx()];
+            HollowTypeReadState readState = field.getBaseDataAccess();
+            int[] fieldPath = field.getSchemaFieldPositionPath();
+
+            if(fieldPath.length == 0) {
+                matchHash ^= HashCodes.hashInt(ordinal);
+            } else {
+                for(int j=0;j<fieldPath.length-1;j++) {
+                    HollowObjectTypeReadState objectAccess = (HollowObjectTypeReadState)readState;
+                    readState = objectAccess.getSchema().getReferencedTypeState(fieldPath[j]);
+                    ordinal = objectAccess.readOrdinal(ordinal, fieldPath[j]);
+                    if(ordinal == HollowConstants.ORDINAL_NONE)
+                        break;
+                }
+
+                int fieldHashCode = ordinal == HollowConstants.ORDINAL_NONE ? HollowConstants.ORDINAL_NONE : HollowReadFieldUtils.fieldHashCode((HollowObjectTypeDataAccess) readState, ordinal, fieldPath[fieldPath.length-1]);
+                matchHash ^= HashCodes.hashInt(fieldHashCode);
+            }
+        }
+
+        return matchHash;
+    }
+
+    /**
+     * Equivalent to the comparison of a traversed match against an indexed match performed by the {@link HollowHashIndexBuilder}.
+     */
+    private boolean keysAreEqual(int[] keyOrdinals, int[] otherKeyOrdinals) {
+        for(HollowHashIndexField field : matchFields) {
+            int ordinal = keyOrdinals[field.getBaseIteratorFieldIdx()];
+            int otherOrdinal = otherKeyOrdinals[field.getBaseIteratorFieldIdx()];
+            HollowTypeReadState readState = field.getBaseDataAccess();
+            int[] fieldPath = field.getSchemaFieldPositionPath();
+
+            if(fieldPath.length == 0) {
+                if(ordinal != otherOrdinal)
+                    return false;
+            } else {
+                for(int j=0;j<fieldPath.length-1;j++) {
+                    HollowObjectTypeReadState objectAccess = (HollowObjectTypeReadState)readState;
+                    readState = objectAccess.getSchema().getReferencedTypeState(fieldPath[j]);
+                    if(ordinal != HollowConstants.ORDINAL_NONE)
+                        ordinal = objectAccess.readOrdinal(ordinal, fieldPath[j]);
+                    if(otherOrdinal != HollowConstants.ORDINAL_NONE)
+                        otherOrdinal = objectAccess.readOrdinal(otherOrdinal, fieldPath[j]);
+                }
+
+                if(ordinal != otherOrdinal) {
+                    HollowObjectTypeReadState objectAccess = (HollowObjectTypeReadState)readState;
+                    int fieldIdx = fieldPath[fieldPath.length-1];
+                    if(ordinal == HollowConstants.ORDINAL_NONE || otherOrdinal == HollowConstants.ORDINAL_NONE
+                            || !HollowReadFieldUtils.fieldsAreEqual(objectAccess, ordinal, fieldIdx, objectAccess, otherOrdinal, fieldIdx))
+                        return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private static class KeyChange {
+        private final long bucket;
+        private final int[] keyOrdinals;
+        private final Set<Integer> removedSelectOrdinals = new LinkedHashSet<>();
+        private final Set<Integer> addedSelectOrdinals = new LinkedHashSet<>();
+        private int hash;
+        private int previousSize;
+        private long previousPointer;
+        private int size;
+        private long pointer;
+
+        KeyChange(long bucket, int[] keyOrdinals) {
+            this.bucket = bucket;
+            this.keyOrdinals = keyOrdinals;
+        }
+    }
+}
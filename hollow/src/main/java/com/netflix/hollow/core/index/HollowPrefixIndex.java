@@ -28,6 +28,7 @@ import com.netflix.hollow.core.read.engine.object.HollowObjectTypeReadState;
 import com.netflix.hollow.core.read.iterator.HollowOrdinalIterator;
 import com.netflix.hollow.core.schema.HollowObjectSchema;
 import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -53,6 +54,10 @@ public class HollowPrefixIndex implements HollowTypeStateListener {
     private int maxOrdinalOfType;
 
     private boolean buildIndexOnUpdate;
+    private int numBuilds;
+    private int numPagesCopied;
+    private final BitSet addedOrdinals = new BitSet();
+    private final BitSet removedOrdinals = new BitSet();
 
     /**
      * This constructor defaults the estimatedMaxStringDuplicates to 4. If you expect a large
@@ -159,6 +164,68 @@ public class HollowPrefixIndex implements HollowTypeStateListener {
         // safe to return previous long arrays on next request for long array.
         memoryRecycle.swap();
         buildIndexOnUpdate = false;
+        numBuilds++;
+    }
+
+    // the number of times the tree was built from all populated ordinals, rather than updated
+    int getNumBuilds() {
+        return numBuilds;
+    }
+
+    // the number of pages which the last update copied from the previous tree, rather than shared with it
+    int getNumPagesCopied() {
+        return numPagesCopied;
+    }
+
+    /**
+     * Apply the ordinals added and removed by a delta to a copy of the current tree, rather than building a new tree from
+     * all populated ordinals.  The copy shares its pages of nodes and ordinals with the current tree, and only copies the
+     * pages which the changes modify, so the cost of an update is proportional to the number of changed ordinals.
+     *
+     * @return {@code true} if the index was updated, or {@code false} if the tree must be rebuilt because it has no capacity
+     * for the added keys or ordinals, or because too many of its nodes no longer lead to any ordinal.
+     */
+    private boolean update() {
+        TST current = prefixIndexVolatile;
+        int maxOrdinal = readStateEngine.getTypeState(type).maxOrdinal();
+        if (!current.canReferenceOrdinal(maxOrdinal)) return false;
+
+        TST tst = new TST(current);
+        try {
+            // removed ordinals remain readable until the next delta is applied
+            int ordinal = removedOrdinals.nextSetBit(0);
+            while (ordinal != -1) {
+                for (String key : getKeys(ordinal)) {
+                    tst.remove(key, ordinal);
+                }
+                ordinal = removedOrdinals.nextSetBit(ordinal + 1);
+            }
+
+            ordinal = addedOrdinals.nextSetBit(0);
+            while (ordinal != -1) {
+                for (String key : getKeys(ordinal)) {
+                    tst.insert(key, ordinal);
+                }
+                ordinal = addedOrdinals.nextSetBit(ordinal + 1);
+            }
+        } catch (IllegalStateException e) {
+            // out of nodes
+            tst.recycleOwnedPages();
+            return false;
+        }
+
+        if (tst.needsCompaction()) {
+            tst.recycleOwnedPages();
+            return false;
+        }
+
+        current.recyclePagesReplacedBy(tst);
+        numPagesCopied = tst.numOwnedPages();
+        prefixIndexVolatile = tst;
+        memoryRecycle.swap();
+        maxOrdinalOfType = maxOrdinal;
+        buildIndexOnUpdate = false;
+        return true;
     }
 
     /**
@@ -182,6 +249,10 @@ public class HollowPrefixIndex implements HollowTypeStateListener {
      *     return tokens;
      * }</pre>
      *
+     * <p>
+     * The keys for an ordinal must not change between invocations, since they are also used to remove the ordinal from the
+     * index when a delta is applied.
+     *
      * @param ordinal ordinal of the parent type.
      * @return keys to index.
      */
@@ -240,7 +311,10 @@ public class HollowPrefixIndex implements HollowTypeStateListener {
     /**
      * Use this method to keep the index updated with delta changes on the read state engine.
      * Remember to call detachFromDeltaUpdates to stop the delta changes.
-     * NOTE: Each delta updates creates a new prefix index and swaps the new with current.
+     * NOTE: Each delta update applies the added and removed ordinals to a copy-on-write copy of the current prefix index,
+     * which copies only the parts of the index which the changes modify, and swaps the copy with current. The prefix
+     * index is rebuilt from all populated ordinals instead when it runs out of capacity, or to compact it once many of
+     * its keys have been removed.
      */
     @SuppressWarnings("WeakerAccess")
     public void listenForDeltaUpdates() {
@@ -257,24 +331,26 @@ public class HollowPrefixIndex implements HollowTypeStateListener {
 
     @Override
     public void beginUpdate() {
-        // before delta is applied -> no action to be taken
+        addedOrdinals.clear();
+        removedOrdinals.clear();
     }
 
     @Override
     public void addedOrdinal(int ordinal) {
         buildIndexOnUpdate = true;
+        addedOrdinals.set(ordinal);
     }
 
     @Override
     public void removedOrdinal(int ordinal) {
         buildIndexOnUpdate = true;
+        removedOrdinals.set(ordinal);
     }
 
     @Override
     public void endUpdate() {
-        // pass 1 for delta support - rebuild the tree and swap the new tree with the one that is serving the queries.
-        // next pass -  improve the index build time or add support for remove method.
-        initialize();
+        if (!buildIndexOnUpdate) return;
+        if (!update()) initialize();
     }
 
     private static class TST {
@@ -283,6 +359,14 @@ public class HollowPrefixIndex implements HollowTypeStateListener {
             Left, Right, Middle
         }
 
+        // removed keys leave behind nodes which lead to no ordinals - rebuild once they exceed this proportion of the leaf nodes
+        private static final double COMPACTION_THRESHOLD = 0.25d;
+
+        // the nodes, and the ordinals of the nodes, are stored in pages of this many nodes, which a copy of the tree shares
+        // with its source until the copy modifies them
+        private static final int LOG2_NODES_PER_PAGE = 12;
+        private static final long PAGE_MASK = (1L << LOG2_NODES_PER_PAGE) - 1;
+
         // each node segment can be thought of as 16 bit key and bits to hold index of its children
         private int bitsPerNode;
         private int bitsPerKey;
@@ -296,9 +380,15 @@ public class HollowPrefixIndex implements HollowTypeStateListener {
         private long isLeafNodeFlagOffset;
 
         private long maxNodes;
-        private FixedLengthElementArray nodes;
-        private FixedLengthMultipleOccurrenceElementArray ordinalSet;
+        private ArraySegmentRecycler memoryRecycler;
+        private FixedLengthElementArray[] nodePages;
+        private FixedLengthMultipleOccurrenceElementArray[] ordinalPages;
+        // whether each page was allocated for this tree, rather than shared with the tree this tree was copied from
+        private boolean[] ownedNodePages;
+        private boolean[] ownedOrdinalPages;
         private long indexTracker;
+        private long numLeafNodes;
+        private long numEmptiedLeafNodes;
 
         /**
          * Create new prefix index. Represents a ternary search tree.
@@ -322,9 +412,19 @@ public class HollowPrefixIndex implements HollowTypeStateListener {
             // bits to represent one node
             bitsPerNode = bitsPerKey + (3 * bitsForChildPointer) + 1;
 
-            nodes = new FixedLengthElementArray(memoryRecycler, bitsPerNode * maxNodes);
-            ordinalSet = new FixedLengthMultipleOccurrenceElementArray(memoryRecycler,
-                    maxNodes, bitsPerOrdinal, estimatedMaxStringDuplicates);
+            this.memoryRecycler = memoryRecycler;
+            int numPages = Math.max(1, (int) ((maxNodes + PAGE_MASK) >>> LOG2_NODES_PER_PAGE));
+            nodePages = new FixedLengthElementArray[numPages];
+            ordinalPages = new FixedLengthMultipleOccurrenceElementArray[numPages];
+            for (int page = 0; page < numPages; page++) {
+                nodePages[page] = new FixedLengthElementArray(memoryRecycler, bitsPerNode * numNodesInPage(page));
+                ordinalPages[page] = new FixedLengthMultipleOccurrenceElementArray(memoryRecycler,
+                        numNodesInPage(page), bitsPerOrdinal, estimatedMaxStringDuplicates);
+            }
+            ownedNodePages = new boolean[numPages];
+            ownedOrdinalPages = new boolean[numPages];
+            Arrays.fill(ownedNodePages, true);
+            Arrays.fill(ownedOrdinalPages, true);
             indexTracker = 0;
 
             // initialize offsets
@@ -334,10 +434,103 @@ public class HollowPrefixIndex implements HollowTypeStateListener {
             isLeafNodeFlagOffset = rightChildOffset + bitsForChildPointer;
         }
 
+        /**
+         * Create a copy of the given ternary search tree, which may be modified without affecting the source. The copy
+         * shares all pages with the source, and copies each page only when it first modifies it.
+         *
+         * @param source the tree to copy
+         */
+        private TST(TST source) {
+            maxNodes = source.maxNodes;
+            bitsPerKey = source.bitsPerKey;
+            bitsForChildPointer = source.bitsForChildPointer;
+            bitsPerOrdinal = source.bitsPerOrdinal;
+            bitsPerNode = source.bitsPerNode;
+
+            memoryRecycler = source.memoryRecycler;
+            nodePages = source.nodePages.clone();
+            ordinalPages = source.ordinalPages.clone();
+            ownedNodePages = new boolean[nodePages.length];
+            ownedOrdinalPages = new boolean[ordinalPages.length];
+            indexTracker = source.indexTracker;
+            numLeafNodes = source.numLeafNodes;
+            numEmptiedLeafNodes = source.numEmptiedLeafNodes;
+
+            leftChildOffset = source.leftChildOffset;
+            middleChildOffset = source.middleChildOffset;
+            rightChildOffset = source.rightChildOffset;
+            isLeafNodeFlagOffset = source.isLeafNodeFlagOffset;
+        }
+
         // tell memory recycler to use these long array on next long array request from memory ONLY AFTER swap is called on memory recycler
         private void recycleMemory(ArraySegmentRecycler memoryRecycler) {
-            nodes.destroy(memoryRecycler);
-            ordinalSet.destroy();
+            for (int page = 0; page < nodePages.length; page++) {
+                nodePages[page].destroy(memoryRecycler);
+                ordinalPages[page].destroy();
+            }
+        }
+
+        // recycle the pages of this tree which were allocated for it, when it is discarded in favour of its source
+        private void recycleOwnedPages() {
+            for (int page = 0; page < nodePages.length; page++) {
+                if (ownedNodePages[page]) nodePages[page].destroy(memoryRecycler);
+                if (ownedOrdinalPages[page]) ordinalPages[page].destroy();
+            }
+        }
+
+        // recycle the pages of this tree which the given copy replaced, when this tree is discarded in favour of the copy
+        private void recyclePagesReplacedBy(TST copy) {
+            for (int page = 0; page < nodePages.length; page++) {
+                if (copy.ownedNodePages[page]) nodePages[page].destroy(memoryRecycler);
+                if (copy.ownedOrdinalPages[page]) ordinalPages[page].destroy();
+            }
+        }
+
+        private int numOwnedPages() {
+            int numOwnedPages = 0;
+            for (int page = 0; page < nodePages.length; page++) {
+                if (ownedNodePages[page]) numOwnedPages++;
+                if (ownedOrdinalPages[page]) numOwnedPages++;
+            }
+            return numOwnedPages;
+        }
+
+        private long numNodesInPage(int page) {
+            return Math.min(PAGE_MASK + 1, maxNodes - ((long) page << LOG2_NODES_PER_PAGE));
+        }
+
+        private FixedLengthElementArray nodePage(long nodeIndex) {
+            return nodePages[(int) (nodeIndex >>> LOG2_NODES_PER_PAGE)];
+        }
+
+        // the page of the given node, which is first copied if it is shared with the tree this tree was copied from
+        private FixedLengthElementArray writableNodePage(long nodeIndex) {
+            int page = (int) (nodeIndex >>> LOG2_NODES_PER_PAGE);
+            if (!ownedNodePages[page]) {
+                long numBits = bitsPerNode * numNodesInPage(page);
+                FixedLengthElementArray copy = new FixedLengthElementArray(memoryRecycler, numBits);
+                copy.copyBits(nodePages[page], 0, 0, numBits);
+                nodePages[page] = copy;
+                ownedNodePages[page] = true;
+            }
+            return nodePages[page];
+        }
+
+        private long nodeOffset(long nodeIndex) {
+            return (nodeIndex & PAGE_MASK) * bitsPerNode;
+        }
+
+        private FixedLengthMultipleOccurrenceElementArray ordinalPage(long nodeIndex) {
+            return ordinalPages[(int) (nodeIndex >>> LOG2_NODES_PER_PAGE)];
+        }
+
+        private FixedLengthMultipleOccurrenceElementArray writableOrdinalPage(long nodeIndex) {
+            int page = (int) (nodeIndex >>> LOG2_NODES_PER_PAGE);
+            if (!ownedOrdinalPages[page]) {
+                ordinalPages[page] = ordinalPages[page].copy();
+                ownedOrdinalPages[page] = true;
+            }
+            return ordinalPages[page];
         }
 
         private long getChildOffset(NodeType nodeType) {
@@ -350,33 +543,60 @@ public class HollowPrefixIndex implements HollowTypeStateListener {
 
         private long getChildIndex(long currentNode, NodeType nodeType) {
             long offset = getChildOffset(nodeType);
-            return nodes.getElementValue((currentNode * bitsPerNode) + offset, bitsForChildPointer);
+            return nodePage(currentNode).getElementValue(nodeOffset(currentNode) + offset, bitsForChildPointer);
         }
 
         private void setChildIndex(long currentNode, NodeType nodeType, long indexForNode) {
             long offset = getChildOffset(nodeType);
-            nodes.setElementValue((currentNode * bitsPerNode) + offset, bitsForChildPointer, indexForNode);
+            writableNodePage(currentNode).setElementValue(nodeOffset(currentNode) + offset, bitsForChildPointer, indexForNode);
         }
 
         private void setKey(long index, char ch) {
-            nodes.setElementValue(index * bitsPerNode, bitsPerKey, ch);
+            writableNodePage(index).setElementValue(nodeOffset(index), bitsPerKey, ch);
         }
 
         private long getKey(long nodeIndex) {
-            return nodes.getElementValue(nodeIndex * bitsPerNode, bitsPerKey);
+            return nodePage(nodeIndex).getElementValue(nodeOffset(nodeIndex), bitsPerKey);
         }
 
         private boolean isLeafNode(long nodeIndex) {
-            return nodes.getElementValue((nodeIndex * bitsPerNode) + isLeafNodeFlagOffset, 1) == 1;
+            return nodePage(nodeIndex).getElementValue(nodeOffset(nodeIndex) + isLeafNodeFlagOffset, 1) == 1;
         }
 
+        private boolean hasOrdinals(long nodeIndex) {
+            return isLeafNode(nodeIndex) && !ordinalPage(nodeIndex).isEmpty(nodeIndex & PAGE_MASK);
+        }
+
+        // a leaf node keeps its flag once its last ordinal is removed, so that it is counted as a leaf again if an ordinal is added back
         private void addOrdinal(long nodeIndex, long ordinal) {
-            ordinalSet.addElement(nodeIndex, ordinal);
-            nodes.setElementValue((nodeIndex * bitsPerNode) + isLeafNodeFlagOffset, 1, 1);
+            if (!isLeafNode(nodeIndex)) {
+                numLeafNodes++;
+                writableNodePage(nodeIndex).setElementValue(nodeOffset(nodeIndex) + isLeafNodeFlagOffset, 1, 1);
+            } else if (ordinalPage(nodeIndex).isEmpty(nodeIndex & PAGE_MASK)) {
+                numLeafNodes++;
+                numEmptiedLeafNodes--;
+            }
+            writableOrdinalPage(nodeIndex).addElement(nodeIndex & PAGE_MASK, ordinal);
+        }
+
+        private void removeOrdinal(long nodeIndex, long ordinal) {
+            FixedLengthMultipleOccurrenceElementArray ordinalPage = writableOrdinalPage(nodeIndex);
+            if (ordinalPage.removeElement(nodeIndex & PAGE_MASK, ordinal) && ordinalPage.isEmpty(nodeIndex & PAGE_MASK)) {
+                numLeafNodes--;
+                numEmptiedLeafNodes++;
+            }
+        }
+
+        private boolean canReferenceOrdinal(int ordinal) {
+            return ordinal < (1L << bitsPerOrdinal);
+        }
+
+        private boolean needsCompaction() {
+            return numEmptiedLeafNodes > numLeafNodes * COMPACTION_THRESHOLD;
         }
 
         private Set<Integer> getOrdinals(long nodeIndex) {
-            return ordinalSet.getElements(nodeIndex).stream()
+            return ordinalPage(nodeIndex).getElements(nodeIndex & PAGE_MASK).stream()
                     .map(Long::intValue).collect(Collectors.toSet());
         }
 
@@ -401,20 +621,26 @@ public class HollowPrefixIndex implements HollowTypeStateListener {
                 long keyAtCurrentNode = getKey(currentNodeIndex);
                 if (ch < keyAtCurrentNode) {
                     long leftIndex = getChildIndex(currentNodeIndex, NodeType.Left);
-                    if (leftIndex == 0) leftIndex = indexTracker;
-                    setChildIndex(currentNodeIndex, NodeType.Left, leftIndex);
+                    if (leftIndex == 0) {
+                        leftIndex = indexTracker;
+                        setChildIndex(currentNodeIndex, NodeType.Left, leftIndex);
+                    }
                     currentNodeIndex = leftIndex;
                 } else if (ch > keyAtCurrentNode) {
                     long rightIndex = getChildIndex(currentNodeIndex, NodeType.Right);
-                    if (rightIndex == 0) rightIndex = indexTracker;
-                    setChildIndex(currentNodeIndex, NodeType.Right, rightIndex);
+                    if (rightIndex == 0) {
+                        rightIndex = indexTracker;
+                        setChildIndex(currentNodeIndex, NodeType.Right, rightIndex);
+                    }
                     currentNodeIndex = rightIndex;
                 } else {
                     keyIndex++;
                     if (keyIndex < key.length()) {
                         long midIndex = getChildIndex(currentNodeIndex, NodeType.Middle);
-                        if (midIndex == 0) midIndex = indexTracker;
-                        setChildIndex(currentNodeIndex, NodeType.Middle, midIndex);
+                        if (midIndex == 0) {
+                            midIndex = indexTracker;
+                            setChildIndex(currentNodeIndex, NodeType.Middle, midIndex);
+                        }
                         currentNodeIndex = midIndex;
                     }
                 }
@@ -422,6 +648,16 @@ public class HollowPrefixIndex implements HollowTypeStateListener {
             addOrdinal(currentNodeIndex, ordinal);
         }
 
+        /**
+         * Remove the given ordinal for the given key from the ternary search tree. The nodes of the key are retained,
+         * and are reused if the key is inserted again.
+         */
+        private void remove(String key, int ordinal) {
+            if (key == null) throw new IllegalArgumentException("Null key cannot be indexed");
+            long nodeIndex = key.isEmpty() ? 0 : findNodeWithKey(key);
+            if (nodeIndex >= 0 && isLeafNode(nodeIndex)) removeOrdinal(nodeIndex, ordinal);
+        }
+
         /**
          * This functions checks if the given key exists in the trie.
          *
@@ -455,7 +691,7 @@ public class HollowPrefixIndex implements HollowTypeStateListener {
 
         private boolean contains(String key) {
             long nodeIndex = findNodeWithKey(key);
-            return nodeIndex >= 0 && isLeafNode(nodeIndex);
+            return nodeIndex >= 0 && hasOrdinals(nodeIndex);
         }
 
         /**
@@ -468,7 +704,7 @@ public class HollowPrefixIndex implements HollowTypeStateListener {
 
             if (currentNodeIndex >= 0) {
 
-                if (isLeafNode(currentNodeIndex))
+                if (hasOrdinals(currentNodeIndex))
                     ordinals.addAll(getOrdinals(currentNodeIndex));
 
                 // go to all leaf nodes from current node mid pointer
@@ -482,9 +718,8 @@ public class HollowPrefixIndex implements HollowTypeStateListener {
                         long mid = getChildIndex(nodeIndex, NodeType.Middle);
                         long right = getChildIndex(nodeIndex, NodeType.Right);
 
-                        if (left == 0 && mid == 0 && right == 0) {
-                            if (isLeafNode(nodeIndex)) ordinals.addAll(getOrdinals(nodeIndex));
-                        }
+                        // keys may be prefixes of other keys, and removed keys leave nodes behind, so any node may hold ordinals
+                        if (hasOrdinals(nodeIndex)) ordinals.addAll(getOrdinals(nodeIndex));
                         if (left != 0) queue.add(left);
                         if (mid != 0) queue.add(mid);
                         if (right != 0) queue.add(right);
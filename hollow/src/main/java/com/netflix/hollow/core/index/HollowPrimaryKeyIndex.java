@@ -39,6 +39,8 @@ import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -302,10 +304,339 @@ public class HollowPrimaryKeyIndex implements HollowTypeStateListener {
         return ordinal;
     }
 
+    /**
+     * Query an index with a single specified INT or REFERENCE field, without boxing the key.  The returned value with be
+     * the ordinal of the matching record.
+     * <p>
+     * If the key field is of another type, this behaves as {@link #getMatchingOrdinal(Object)}.
+     *
+     * @param key the field key
+     * @return the matching ordinal for the key, otherwise -1 if the key is not present
+     */
+    public int getMatchingOrdinal(int key) {
+        PrimaryKeyIndexHashTable hashTable = hashTableVolatile;
+        if(fieldPathIndexes.length != 1 || hashTable.bitsPerElement == 0)
+            return -1;
+        if(!isIntKeyField(0))
+            return getMatchingOrdinal((Object)key);
+
+        int hashCode = intKeyHashCode(key, 0);
+
+        int ordinal = -1;
+
+        do {
+            hashTable = this.hashTableVolatile;
+            int bucket = hashCode & hashTable.hashMask;
+            ordinal = readOrdinal(hashTable, bucket);
+            while(ordinal != -1) {
+                if(keyDeriver.keyMatches(key, ordinal, 0))
+                    break;
+
+                bucket++;
+                bucket &= hashTable.hashMask;
+                ordinal = readOrdinal(hashTable, bucket);
+            }
+        } while(hashTableVolatile != hashTable);
+
+        return ordinal;
+    }
+
+    /**
+     * Query an index with a single specified LONG field, without boxing the key.  The returned value with be the
+     * ordinal of the matching record.
+     * <p>
+     * If the key field is of another type, this behaves as {@link #getMatchingOrdinal(Object)}.
+     *
+     * @param key the field key
+     * @return the matching ordinal for the key, otherwise -1 if the key is not present
+     */
+    public int getMatchingOrdinal(long key) {
+        PrimaryKeyIndexHashTable hashTable = hashTableVolatile;
+        if(fieldPathIndexes.length != 1 || hashTable.bitsPerElement == 0)
+            return -1;
+        if(fieldTypes[0] != FieldType.LONG)
+            return getMatchingOrdinal((Object)key);
+
+        int hashCode = longKeyHashCode(key);
+
+        int ordinal = -1;
+
+        do {
+            hashTable = this.hashTableVolatile;
+            int bucket = hashCode & hashTable.hashMask;
+            ordinal = readOrdinal(hashTable, bucket);
+            while(ordinal != -1) {
+                if(keyDeriver.keyMatches(key, ordinal, 0))
+                    break;
+
+                bucket++;
+                bucket &= hashTable.hashMask;
+                ordinal = readOrdinal(hashTable, bucket);
+            }
+        } while(hashTableVolatile != hashTable);
+
+        return ordinal;
+    }
+
+    /**
+     * Query an index with a single specified STRING field, without creating a String from the key.  The returned value
+     * with be the ordinal of the matching record.
+     * <p>
+     * If the key field is of another type, this behaves as {@link #getMatchingOrdinal(Object)}.
+     *
+     * @param key the field key
+     * @return the matching ordinal for the key, otherwise -1 if the key is not present
+     */
+    public int getMatchingOrdinal(CharSequence key) {
+        PrimaryKeyIndexHashTable hashTable = hashTableVolatile;
+        if(fieldPathIndexes.length != 1 || hashTable.bitsPerElement == 0)
+            return -1;
+        if(fieldTypes[0] != FieldType.STRING)
+            return getMatchingOrdinal((Object)key);
+
+        int hashCode = HashCodes.hashCode(key);
+
+        int ordinal = -1;
+
+        do {
+            hashTable = this.hashTableVolatile;
+            int bucket = hashCode & hashTable.hashMask;
+            ordinal = readOrdinal(hashTable, bucket);
+            while(ordinal != -1) {
+                if(keyDeriver.keyMatches(key, ordinal, 0))
+                    break;
+
+                bucket++;
+                bucket &= hashTable.hashMask;
+                ordinal = readOrdinal(hashTable, bucket);
+            }
+        } while(hashTableVolatile != hashTable);
+
+        return ordinal;
+    }
+
+    /**
+     * Query an index with two specified INT or REFERENCE fields, without boxing the keys.  The returned value with be
+     * the ordinal of the matching record.
+     * <p>
+     * If either key field is of another type, this behaves as {@link #getMatchingOrdinal(Object, Object)}.
+     *
+     * @param key1 the first field key
+     * @param key2 the second field key
+     * @return the matching ordinal for the two keys, otherwise -1 if the key is not present
+     */
+    public int getMatchingOrdinal(int key1, int key2) {
+        PrimaryKeyIndexHashTable hashTable = hashTableVolatile;
+        if(fieldPathIndexes.length != 2 || hashTable.bitsPerElement == 0)
+            return -1;
+        if(!isIntKeyField(0) || !isIntKeyField(1))
+            return getMatchingOrdinal((Object)key1, (Object)key2);
+
+        int hashCode = intKeyHashCode(key1, 0);
+        hashCode ^= intKeyHashCode(key2, 1);
+
+        int ordinal = -1;
+
+        do {
+            hashTable = this.hashTableVolatile;
+            int bucket = hashCode & hashTable.hashMask;
+            ordinal = readOrdinal(hashTable, bucket);
+            while(ordinal != -1) {
+                if(keyDeriver.keyMatches(key1, ordinal, 0) && keyDeriver.keyMatches(key2, ordinal, 1))
+                    break;
+
+                bucket++;
+                bucket &= hashTable.hashMask;
+                ordinal = readOrdinal(hashTable, bucket);
+            }
+        } while(hashTableVolatile != hashTable);
+
+        return ordinal;
+    }
+
+    /**
+     * Query an index with a LONG field followed by an INT or REFERENCE field, without boxing the keys.  The returned
+     * value with be the ordinal of the matching record.
+     * <p>
+     * If either key field is of another type, this behaves as {@link #getMatchingOrdinal(Object, Object)}.
+     *
+     * @param key1 the first field key
+     * @param key2 the second field key
+     * @return the matching ordinal for the two keys, otherwise -1 if the key is not present
+     */
+    public int getMatchingOrdinal(long key1, int key2) {
+        PrimaryKeyIndexHashTable hashTable = hashTableVolatile;
+        if(fieldPathIndexes.length != 2 || hashTable.bitsPerElement == 0)
+            return -1;
+        if(fieldTypes[0] != FieldType.LONG || !isIntKeyField(1))
+            return getMatchingOrdinal((Object)key1, (Object)key2);
+
+        int hashCode = longKeyHashCode(key1);
+        hashCode ^= intKeyHashCode(key2, 1);
+
+        int ordinal = -1;
+
+        do {
+            hashTable = this.hashTableVolatile;
+            int bucket = hashCode & hashTable.hashMask;
+            ordinal = readOrdinal(hashTable, bucket);
+            while(ordinal != -1) {
+                if(keyDeriver.keyMatches(key1, ordinal, 0) && keyDeriver.keyMatches(key2, ordinal, 1))
+                    break;
+
+                bucket++;
+                bucket &= hashTable.hashMask;
+                ordinal = readOrdinal(hashTable, bucket);
+            }
+        } while(hashTableVolatile != hashTable);
+
+        return ordinal;
+    }
+
+    /**
+     * Query an index with a single INT or REFERENCE field for each of the specified keys.
+     * <p>
+     * The returned array is parallel to the keys; each element will be the ordinal of the matching record,
+     * otherwise -1 if the key is not present.  The keys are hashed without boxing, and a batch is resolved
+     * against a single version of the index.
+     *
+     * @param keys the field keys
+     * @return the matching ordinals for the keys
+     * @throws IllegalArgumentException if the key field is not an INT or REFERENCE field
+     */
+    public int[] getMatchingOrdinals(int[] keys) {
+        if(fieldPathIndexes.length != 1)
+            return noMatches(keys.length);
+
+        if(!isIntKeyField(0))
+            throw new IllegalArgumentException("Cannot query a " + fieldTypes[0] + " field with int keys");
+
+        int[] hashCodes = new int[keys.length];
+        for(int i=0;i<keys.length;i++)
+            hashCodes[i] = intKeyHashCode(keys[i], 0);
+
+        return getMatchingOrdinals(hashCodes, (i, ordinal) -> keyDeriver.keyMatches(keys[i], ordinal, 0));
+    }
+
+    /**
+     * Query an index with a single LONG field for each of the specified keys.
+     * <p>
+     * The returned array is parallel to the keys; each element will be the ordinal of the matching record,
+     * otherwise -1 if the key is not present.  The keys are hashed without boxing, and a batch is resolved
+     * against a single version of the index.
+     *
+     * @param keys the field keys
+     * @return the matching ordinals for the keys
+     * @throws IllegalArgumentException if the key field is not a LONG field
+     */
+    public int[] getMatchingOrdinals(long[] keys) {
+        if(fieldPathIndexes.length != 1)
+            return noMatches(keys.length);
+        if(fieldTypes[0] != FieldType.LONG)
+            throw new IllegalArgumentException("Cannot query a " + fieldTypes[0] + " field with long keys");
+
+        int[] hashCodes = new int[keys.length];
+        for(int i=0;i<keys.length;i++)
+            hashCodes[i] = longKeyHashCode(keys[i]);
+
+        return getMatchingOrdinals(hashCodes, (i, ordinal) -> keyDeriver.keyMatches(keys[i], ordinal, 0));
+    }
+
+    /**
+     * Query an index with a single STRING field for each of the specified keys.
+     * <p>
+     * The returned array is parallel to the keys; each element will be the ordinal of the matching record,
+     * otherwise -1 if the key is not present.  A batch is resolved against a single version of the index.
+     *
+     * @param keys the field keys
+     * @return the matching ordinals for the keys
+     * @throws IllegalArgumentException if the key field is not a STRING field
+     */
+    public int[] getMatchingOrdinals(String[] keys) {
+        if(fieldPathIndexes.length != 1)
+            return noMatches(keys.length);
+        if(fieldTypes[0] != FieldType.STRING)
+            throw new IllegalArgumentException("Cannot query a " + fieldTypes[0] + " field with String keys");
+
+        int[] hashCodes = new int[keys.length];
+        for(int i=0;i<keys.length;i++)
+            hashCodes[i] = HashCodes.hashCode(keys[i]);
+
+        return getMatchingOrdinals(hashCodes, (i, ordinal) -> keyDeriver.keyMatches(keys[i], ordinal, 0));
+    }
+
+    /**
+     * The number of keys in a batch whose first probe is issued before any of their candidate records are compared,
+     * so that the hash table reads of neighbouring keys are in flight at the same time.
+     */
+    private static final int BATCH_PROBE_GROUP_SIZE = 16;
+
+    private int[] getMatchingOrdinals(int[] hashCodes, BatchKeyMatcher matcher) {
+        int[] ordinals = new int[hashCodes.length];
+        int[] buckets = new int[Math.min(hashCodes.length, BATCH_PROBE_GROUP_SIZE)];
+        PrimaryKeyIndexHashTable hashTable;
+
+        do {
+            hashTable = this.hashTableVolatile;
+            if(hashTable.bitsPerElement == 0)
+                return noMatches(hashCodes.length);
+
+            for(int groupStart=0;groupStart<hashCodes.length;groupStart+=BATCH_PROBE_GROUP_SIZE) {
+                int groupEnd = Math.min(groupStart + BATCH_PROBE_GROUP_SIZE, hashCodes.length);
+
+                for(int i=groupStart;i<groupEnd;i++) {
+                    int bucket = hashCodes[i] & hashTable.hashMask;
+                    buckets[i - groupStart] = bucket;
+                    ordinals[i] = readOrdinal(hashTable, bucket);
+                }
+
+                for(int i=groupStart;i<groupEnd;i++) {
+                    int bucket = buckets[i - groupStart];
+                    int ordinal = ordinals[i];
+                    while(ordinal != -1) {
+                        if(matcher.matches(i, ordinal))
+                            break;
+
+                        bucket++;
+                        bucket &= hashTable.hashMask;
+                        ordinal = readOrdinal(hashTable, bucket);
+                    }
+                    ordinals[i] = ordinal;
+                }
+            }
+        } while(hashTableVolatile != hashTable);
+
+        return ordinals;
+    }
+
+    private static int[] noMatches(int numKeys) {
+        int[] ordinals = new int[numKeys];
+        Arrays.fill(ordinals, -1);
+        return ordinals;
+    }
+
+    private interface BatchKeyMatcher {
+        boolean matches(int keyIdx, int ordinal);
+    }
+
     private int readOrdinal(PrimaryKeyIndexHashTable hashTable, int bucket) {
         return (int)hashTable.hashTable.getElementValue((long)hashTable.bitsPerElement * (long)bucket, hashTable.bitsPerElement) - 1;
     }
 
+    private boolean isIntKeyField(int fieldIdx) {
+        return fieldTypes[fieldIdx] == FieldType.INT || fieldTypes[fieldIdx] == FieldType.REFERENCE;
+    }
+
+    private int intKeyHashCode(int key, int fieldIdx) {
+        if(fieldTypes[fieldIdx] == FieldType.REFERENCE)
+            return HashCodes.hashInt(key);
+        return HashCodes.hashInt(HollowReadFieldUtils.intHashCode(key));
+    }
+
+    private static int longKeyHashCode(long key) {
+        return HashCodes.hashInt(HollowReadFieldUtils.longHashCode(key));
+    }
+
     private int keyHashCode(Object key, int fieldIdx) {
         switch(fieldTypes[fieldIdx]) {
             case BOOLEAN:
@@ -378,8 +709,17 @@ public class HollowPrimaryKeyIndex implements HollowTypeStateListener {
     @Override
     public void removedOrdinal(int ordinal) { }
 
-    private static final boolean ALLOW_DELTA_UPDATE =
-            Boolean.getBoolean("com.netflix.hollow.core.index.HollowPrimaryKeyIndex.allowDeltaUpdate");
+    /**
+     * Delta updates of the index are enabled by default, and may be disabled by setting this property to {@code false}.
+     */
+    private static final boolean ALLOW_DELTA_UPDATE = Boolean.parseBoolean(
+            System.getProperty("com.netflix.hollow.core.index.HollowPrimaryKeyIndex.allowDeltaUpdate", "true"));
+
+    /**
+     * The number of buckets, and of added records, which are verified after each delta update of the index.
+     */
+    private static final int DELTA_UPDATE_VERIFICATION_SAMPLE_SIZE =
+            Integer.getInteger("com.netflix.hollow.core.index.HollowPrimaryKeyIndex.deltaUpdateVerificationSampleSize", 64);
 
     @Override
     public synchronized void endUpdate() {
@@ -392,26 +732,28 @@ public class HollowPrimaryKeyIndex implements HollowTypeStateListener {
         if(ALLOW_DELTA_UPDATE
                 && hashTableSize == hashTable.hashTableSize
                 && bitsPerElement == hashTable.bitsPerElement
-                && shouldPerformDeltaUpdate()) {
+                && shouldPerformDeltaUpdate(hashTable)) {
+            long totalBitsInHashTable = (long)hashTableSize * (long)bitsPerElement;
+            FixedLengthElementArray hashedArray = new FixedLengthElementArray(memoryRecycler, totalBitsInHashTable);
             try {
-                deltaUpdate(hashTableSize, bitsPerElement);
-            } catch (OrdinalNotFoundException e) {
+                hashedArray.copyBits(hashTable.hashTable, 0, 0, totalBitsInHashTable);
+
+                PrimaryKeyIndexHashTable updatedHashTable = deltaUpdate(hashTable, hashedArray, ordinals);
+                if(!isConsistent(updatedHashTable, DELTA_UPDATE_VERIFICATION_SAMPLE_SIZE))
+                    throw new IllegalStateException("Sampled buckets of the index are inconsistent after a delta update");
+
+                setHashTable(updatedHashTable);
+                hashTable.hashTable.destroy(memoryRecycler);
+                memoryRecycler.swap();
+            } catch (IllegalStateException e) {
                 /*
-                It has been observed that delta updates can result in CPU spinning attempting to find
-                a previous ordinal to remove.  It's not clear what the cause of the issue is but it does
-                not appear to be data related (since the failure is not consistent when multiple instances
-                update to the same version) nor concurrency related (since an update occurs in a synchronized
-                block).  A rare possibility is it might be a C2 compiler issue.  Changing the code shape may
-                well fix that.  Attempts to reproduce this locally has so far failed.
-                Given the importance of indexing a full reindex is performed on such a failure.  This, however,
-                will make it more difficult to detect such issues.
-
-                This approach does not protect against the case where the index is corrupt and not yet
-                detected, until a further update.  In such cases it may be possible for clients, in the interim
-                of a forced reindex, to operate on a corrupt index: queries may incorrectly return no match.  As such
-                delta update of the index have been disabled by default.
+                The delta update is applied to a copy of the hash table which is only published once verified, so a
+                failure here leaves the current hash table intact; the copy is returned to the recycler and a full
+                reindex is performed instead.
                  */
                 LOG.log(Level.SEVERE, "Delta update of index failed.  Performing a full reindex", e);
+                if(hashTableVolatile.hashTable != hashedArray)
+                    hashedArray.destroy(memoryRecycler);
                 reindex();
             }
         } else {
@@ -432,11 +774,7 @@ public class HollowPrimaryKeyIndex implements HollowTypeStateListener {
     }
 
     private synchronized void reindex() {
-        PrimaryKeyIndexHashTable hashTable = hashTableVolatile;
-        // Could be null on first reindex
-        if(hashTable != null) {
-            hashTable.hashTable.destroy(memoryRecycler);
-        }
+        PrimaryKeyIndexHashTable previousHashTable = hashTableVolatile;
 
         BitSet ordinals = specificOrdinalsToIndex;
 
@@ -465,78 +803,141 @@ public class HollowPrimaryKeyIndex implements HollowTypeStateListener {
             ordinal = ordinals.nextSetBit(ordinal + 1);
         }
 
-        setHashTable(new PrimaryKeyIndexHashTable(hashedArray, hashTableSize, hashMask, bitsPerElement));
+        setHashTable(new PrimaryKeyIndexHashTable(hashedArray, hashTableSize, hashMask, bitsPerElement, (BitSet)ordinals.clone()));
 
+        // The previous hash table is only recycled once it is no longer published to readers,
+        // and it is not reused until after the swap
+        if(previousHashTable != null)
+            previousHashTable.hashTable.destroy(memoryRecycler);
         memoryRecycler.swap();
     }
 
-    private void deltaUpdate(int hashTableSize, int bitsPerElement) {
-        // For a delta update hashTableVolatile cannot be null
-        PrimaryKeyIndexHashTable hashTable = hashTableVolatile;
-        hashTable.hashTable.destroy(memoryRecycler);
-
-        PopulatedOrdinalListener listener = typeState.getListener(PopulatedOrdinalListener.class);
-        BitSet prevOrdinals = listener.getPreviousOrdinals();
-        BitSet ordinals = listener.getPopulatedOrdinals();
+    /**
+     * Update a copy of the hash table, leaving the current hash table unmodified for concurrent readers.
+     * <p>
+     * The ordinals to remove and add are derived from the ordinals contained in the current hash table, rather than from
+     * the previous populated ordinals of the type state, so that the updated hash table contains exactly the populated ordinals
+     * even if the index and the type state have diverged.
+     */
+    private PrimaryKeyIndexHashTable deltaUpdate(PrimaryKeyIndexHashTable hashTable, FixedLengthElementArray hashedArray, BitSet ordinals) {
+        int hashTableSize = hashTable.hashTableSize;
+        int bitsPerElement = hashTable.bitsPerElement;
 
-        long totalBitsInHashTable = (long)hashTableSize * (long)bitsPerElement;
-        FixedLengthElementArray hashedArray = new FixedLengthElementArray(memoryRecycler, totalBitsInHashTable);
-        hashedArray.copyBits(hashTable.hashTable, 0, 0, totalBitsInHashTable);
+        BitSet removedOrdinals = (BitSet)hashTable.indexedOrdinals.clone();
+        removedOrdinals.andNot(ordinals);
+        BitSet addedOrdinals = (BitSet)ordinals.clone();
+        addedOrdinals.andNot(hashTable.indexedOrdinals);
 
         int hashMask = hashTableSize - 1;
 
-        int prevOrdinal = prevOrdinals.nextSetBit(0);
+        int prevOrdinal = removedOrdinals.nextSetBit(0);
         while(prevOrdinal != ORDINAL_NONE) {
-            if(!ordinals.get(prevOrdinal)) {
-                /// find and remove this ordinal
-                int hashCode = recordHash(prevOrdinal);
-                int bucket = findOrdinalBucket(bitsPerElement, hashedArray, hashCode, hashMask, prevOrdinal);
+            /// find and remove this ordinal
+            int hashCode = recordHash(prevOrdinal);
+            int bucket = findOrdinalBucket(bitsPerElement, hashedArray, hashCode, hashMask, prevOrdinal);
 
-                hashedArray.clearElementValue((long)bucket * (long)bitsPerElement, bitsPerElement);
-                int emptyBucket = bucket;
-                bucket = (bucket + 1) & hashMask;
-                int moveOrdinal = (int)hashedArray.getElementValue((long)bucket * (long)bitsPerElement, bitsPerElement) - 1;
-
-                while(moveOrdinal != ORDINAL_NONE) {
-                    int naturalHash = recordHash(moveOrdinal);
-                    int naturalBucket = naturalHash & hashMask;
-
-                    if(!bucketInRange(emptyBucket, bucket, naturalBucket)) {
-                        hashedArray.setElementValue((long)emptyBucket * (long)bitsPerElement, bitsPerElement, moveOrdinal + 1);
-                        hashedArray.clearElementValue((long)bucket * (long)bitsPerElement, bitsPerElement);
-                        emptyBucket = bucket;
-                    }
+            hashedArray.clearElementValue((long)bucket * (long)bitsPerElement, bitsPerElement);
+            int emptyBucket = bucket;
+            bucket = (bucket + 1) & hashMask;
+            int moveOrdinal = (int)hashedArray.getElementValue((long)bucket * (long)bitsPerElement, bitsPerElement) - 1;
 
+            while(moveOrdinal != ORDINAL_NONE) {
+                int naturalHash = recordHash(moveOrdinal);
+                int naturalBucket = naturalHash & hashMask;
 
-                    bucket = (bucket + 1) & hashMask;
-                    moveOrdinal = (int)hashedArray.getElementValue((long)bucket * (long)bitsPerElement, bitsPerElement) - 1;
+                if(!bucketInRange(emptyBucket, bucket, naturalBucket)) {
+                    hashedArray.setElementValue((long)emptyBucket * (long)bitsPerElement, bitsPerElement, moveOrdinal + 1);
+                    hashedArray.clearElementValue((long)bucket * (long)bitsPerElement, bitsPerElement);
+                    emptyBucket = bucket;
                 }
 
+
+                bucket = (bucket + 1) & hashMask;
+                moveOrdinal = (int)hashedArray.getElementValue((long)bucket * (long)bitsPerElement, bitsPerElement) - 1;
             }
 
-            prevOrdinal = prevOrdinals.nextSetBit(prevOrdinal + 1);
+            prevOrdinal = removedOrdinals.nextSetBit(prevOrdinal + 1);
         }
 
 
-        int ordinal = ordinals.nextSetBit(0);
+        int ordinal = addedOrdinals.nextSetBit(0);
         while(ordinal != ORDINAL_NONE) {
-            if(!prevOrdinals.get(ordinal)) {
-                int hashCode = recordHash(ordinal);
-                int bucket = hashCode & hashMask;
-
-                while(hashedArray.getElementValue((long)bucket * (long)bitsPerElement, bitsPerElement) != 0) {
-                    bucket = (bucket + 1) & hashMask;
-                }
+            int hashCode = recordHash(ordinal);
+            int bucket = hashCode & hashMask;
 
-                hashedArray.setElementValue((long)bucket * (long)bitsPerElement, bitsPerElement, ordinal + 1);
+            while(hashedArray.getElementValue((long)bucket * (long)bitsPerElement, bitsPerElement) != 0) {
+                bucket = (bucket + 1) & hashMask;
             }
 
-            ordinal = ordinals.nextSetBit(ordinal + 1);
+            hashedArray.setElementValue((long)bucket * (long)bitsPerElement, bitsPerElement, ordinal + 1);
+
+            ordinal = addedOrdinals.nextSetBit(ordinal + 1);
         }
 
-        setHashTable(new PrimaryKeyIndexHashTable(hashedArray, hashTableSize, hashMask, bitsPerElement));
+        return new PrimaryKeyIndexHashTable(hashedArray, hashTableSize, hashMask, bitsPerElement, (BitSet)ordinals.clone(), addedOrdinals);
+    }
 
-        memoryRecycler.swap();
+    /**
+     * Verify a sample of this index.  Randomly selected buckets are checked to contain only indexed ordinals, each reachable
+     * from the bucket its key hashes to, and a sample of the records added by the most recent delta update are checked to be
+     * present.
+     * <p>
+     * This check is performed after each delta update of the index, and a full reindex is performed if it fails.
+     *
+     * @param numSamples the number of buckets, and of added records, to verify
+     * @return true if no inconsistency was found
+     */
+    public boolean isConsistent(int numSamples) {
+        return isConsistent(hashTableVolatile, numSamples);
+    }
+
+    private boolean isConsistent(PrimaryKeyIndexHashTable hashTable, int numSamples) {
+        if(hashTable.bitsPerElement == 0 || numSamples <= 0)
+            return true;
+
+        Random random = ThreadLocalRandom.current();
+
+        for(int i=0;i<numSamples;i++) {
+            int bucket = random.nextInt(hashTable.hashTableSize);
+            int ordinal = readOrdinal(hashTable, bucket);
+            if(ordinal != ORDINAL_NONE && (!hashTable.indexedOrdinals.get(ordinal) || !isReachable(hashTable, ordinal, bucket)))
+                return false;
+        }
+
+        BitSet addedOrdinals = hashTable.addedOrdinals;
+        int ordinal = addedOrdinals.nextSetBit(random.nextInt(Math.max(addedOrdinals.length(), 1)));
+        for(int i=0;i<numSamples && ordinal != ORDINAL_NONE;i++) {
+            if(findOrdinal(hashTable, ordinal) == ORDINAL_NONE)
+                return false;
+            ordinal = addedOrdinals.nextSetBit(ordinal + 1);
+        }
+
+        return true;
+    }
+
+    private boolean isReachable(PrimaryKeyIndexHashTable hashTable, int ordinal, int bucket) {
+        int probeBucket = recordHash(ordinal) & hashTable.hashMask;
+        for(int i=0;i<hashTable.hashTableSize;i++) {
+            if(probeBucket == bucket)
+                return true;
+            if(readOrdinal(hashTable, probeBucket) == ORDINAL_NONE)
+                return false;
+            probeBucket = (probeBucket + 1) & hashTable.hashMask;
+        }
+        return false;
+    }
+
+    private int findOrdinal(PrimaryKeyIndexHashTable hashTable, int ordinal) {
+        int bucket = recordHash(ordinal) & hashTable.hashMask;
+        for(int i=0;i<hashTable.hashTableSize;i++) {
+            int bucketOrdinal = readOrdinal(hashTable, bucket);
+            if(bucketOrdinal == ordinal)
+                return bucket;
+            if(bucketOrdinal == ORDINAL_NONE)
+                break;
+            bucket = (bucket + 1) & hashTable.hashMask;
+        }
+        return ORDINAL_NONE;
     }
 
     private int findOrdinalBucket(int bitsPerElement, FixedLengthElementArray hashedArray, int hashCode, int hashMask, int prevOrdinal) {
@@ -632,23 +1033,20 @@ public class HollowPrimaryKeyIndex implements HollowTypeStateListener {
         return HollowReadFieldUtils.fieldsAreEqual(typeState, ordinal1, fieldPathIndexes[fieldIdx][lastFieldPath], typeState, ordinal2, fieldPathIndexes[fieldIdx][lastFieldPath]);
     }
 
-    private boolean shouldPerformDeltaUpdate() {
-        BitSet previousOrdinals = typeState.getListener(PopulatedOrdinalListener.class).getPreviousOrdinals();
-        BitSet ordinals = typeState.getListener(PopulatedOrdinalListener.class).getPopulatedOrdinals();
-
-        int prevCardinality = 0;
-        int removedRecords = 0;
-
-        int prevOrdinal = previousOrdinals.nextSetBit(0);
-        while(prevOrdinal != ORDINAL_NONE) {
-            prevCardinality++;
-            if(!ordinals.get(prevOrdinal))
-                removedRecords++;
+    private boolean shouldPerformDeltaUpdate(PrimaryKeyIndexHashTable hashTable) {
+        PopulatedOrdinalListener listener = typeState.getListener(PopulatedOrdinalListener.class);
+        BitSet previousOrdinals = listener.getPreviousOrdinals();
+        BitSet ordinals = listener.getPopulatedOrdinals();
 
-            prevOrdinal = previousOrdinals.nextSetBit(prevOrdinal + 1);
-        }
+        /// records are removed by hashing their keys, which is only possible while their data remains readable
+        BitSet removedOrdinals = (BitSet)hashTable.indexedOrdinals.clone();
+        removedOrdinals.andNot(ordinals);
+        int removedRecords = removedOrdinals.cardinality();
+        removedOrdinals.andNot(previousOrdinals);
+        if(!removedOrdinals.isEmpty())
+            return false;
 
-        if(removedRecords > prevCardinality * 0.1d)
+        if(removedRecords > hashTable.indexedOrdinals.cardinality() * 0.1d)
             return false;
         return true;
     }
@@ -658,12 +1056,20 @@ public class HollowPrimaryKeyIndex implements HollowTypeStateListener {
         private final int hashTableSize;
         private final int hashMask;
         private final int bitsPerElement;
+        private final BitSet indexedOrdinals;
+        private final BitSet addedOrdinals;
+
+        public PrimaryKeyIndexHashTable(FixedLengthElementArray hashTable, int hashTableSize, int hashMask, int bitsPerElement, BitSet indexedOrdinals) {
+            this(hashTable, hashTableSize, hashMask, bitsPerElement, indexedOrdinals, new BitSet());
+        }
 
-        public PrimaryKeyIndexHashTable(FixedLengthElementArray hashTable, int hashTableSize, int hashMask, int bitsPerElement) {
+        public PrimaryKeyIndexHashTable(FixedLengthElementArray hashTable, int hashTableSize, int hashMask, int bitsPerElement, BitSet indexedOrdinals, BitSet addedOrdinals) {
             this.hashTable = hashTable;
             this.hashTableSize = hashTableSize;
             this.hashMask = hashMask;
             this.bitsPerElement = bitsPerElement;
+            this.indexedOrdinals = indexedOrdinals;
+            this.addedOrdinals = addedOrdinals;
         }
     }
 }
@@ -115,7 +115,91 @@ public class HollowPrimaryKeyValueDeriver {
 
         throw new IllegalArgumentException("I don't know how to compare a " + fieldTypes[fieldIdx]);
     }
-    
+
+    /**
+     * Determine whether or not the specified ordinal contains the provided INT or REFERENCE key value, without boxing it.
+     *
+     * @param key the key value
+     * @param ordinal the ordinal
+     * @param fieldIdx the index of the key field
+     * @return true if the ordinal contains the key value
+     */
+    public boolean keyMatches(int key, int ordinal, int fieldIdx) {
+        HollowObjectTypeReadState typeState = this.typeState;
+        HollowObjectSchema schema = typeState.getSchema();
+
+        int lastFieldPath = fieldPathIndexes[fieldIdx].length - 1;
+        for(int i=0;i<lastFieldPath;i++) {
+            int fieldPosition = fieldPathIndexes[fieldIdx][i];
+            ordinal = typeState.readOrdinal(ordinal, fieldPosition);
+            typeState = (HollowObjectTypeReadState) schema.getReferencedTypeState(fieldPosition);
+            schema = typeState.getSchema();
+        }
+
+        int lastFieldIdx = fieldPathIndexes[fieldIdx][lastFieldPath];
+
+        switch(fieldTypes[fieldIdx]) {
+            case INT:
+                return typeState.readInt(ordinal, lastFieldIdx) == key;
+            case REFERENCE:
+                return typeState.readOrdinal(ordinal, lastFieldIdx) == key;
+            default:
+                throw new IllegalArgumentException("I don't know how to compare a " + fieldTypes[fieldIdx] + " with an int");
+        }
+    }
+
+    /**
+     * Determine whether or not the specified ordinal contains the provided LONG key value, without boxing it.
+     *
+     * @param key the key value
+     * @param ordinal the ordinal
+     * @param fieldIdx the index of the key field
+     * @return true if the ordinal contains the key value
+     */
+    public boolean keyMatches(long key, int ordinal, int fieldIdx) {
+        HollowObjectTypeReadState typeState = this.typeState;
+        HollowObjectSchema schema = typeState.getSchema();
+
+        int lastFieldPath = fieldPathIndexes[fieldIdx].length - 1;
+        for(int i=0;i<lastFieldPath;i++) {
+            int fieldPosition = fieldPathIndexes[fieldIdx][i];
+            ordinal = typeState.readOrdinal(ordinal, fieldPosition);
+            typeState = (HollowObjectTypeReadState) schema.getReferencedTypeState(fieldPosition);
+            schema = typeState.getSchema();
+        }
+
+        if(fieldTypes[fieldIdx] != FieldType.LONG)
+            throw new IllegalArgumentException("I don't know how to compare a " + fieldTypes[fieldIdx] + " with a long");
+
+        return typeState.readLong(ordinal, fieldPathIndexes[fieldIdx][lastFieldPath]) == key;
+    }
+
+    /**
+     * Determine whether or not the specified ordinal contains the provided STRING key value, without creating a String.
+     *
+     * @param key the key value
+     * @param ordinal the ordinal
+     * @param fieldIdx the index of the key field
+     * @return true if the ordinal contains the key value
+     */
+    public boolean keyMatches(CharSequence key, int ordinal, int fieldIdx) {
+        HollowObjectTypeReadState typeState = this.typeState;
+        HollowObjectSchema schema = typeState.getSchema();
+
+        int lastFieldPath = fieldPathIndexes[fieldIdx].length - 1;
+        for(int i=0;i<lastFieldPath;i++) {
+            int fieldPosition = fieldPathIndexes[fieldIdx][i];
+            ordinal = typeState.readOrdinal(ordinal, fieldPosition);
+            typeState = (HollowObjectTypeReadState) schema.getReferencedTypeState(fieldPosition);
+            schema = typeState.getSchema();
+        }
+
+        if(fieldTypes[fieldIdx] != FieldType.STRING)
+            throw new IllegalArgumentException("I don't know how to compare a " + fieldTypes[fieldIdx] + " with a CharSequence");
+
+        return typeState.isStringFieldEqual(ordinal, fieldPathIndexes[fieldIdx][lastFieldPath], key);
+    }
+
     /**
      * Retrieve the primary key value for the specified ordinal.
      *
@@ -146,6 +230,10 @@ public class HollowPrimaryKeyValueDeriver {
         return HollowReadFieldUtils.fieldValueObject(typeState, ordinal, fieldPathIndexes[fieldIdx][lastFieldPath]);
     }
     
+    public HollowObjectTypeReadState getTypeState() {
+        return typeState;
+    }
+
     public int[][] getFieldPathIndexes() {
         return fieldPathIndexes;
     }
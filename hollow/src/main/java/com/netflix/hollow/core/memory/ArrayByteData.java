@@ -35,6 +35,12 @@ public class ArrayByteData implements ByteData {
         return data[(int)position];
     }
 
+    @Override
+    public int copy(long srcPos, byte[] data, int destPos, int length) {
+        System.arraycopy(this.data, (int)srcPos, data, destPos, length);
+        return length;
+    }
+
     @Override
     public long length() {
         return data.length;
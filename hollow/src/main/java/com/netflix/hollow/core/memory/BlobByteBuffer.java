@@ -0,0 +1,210 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.core.memory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A read-only, randomly accessible view of a blob, usually a file which has been memory mapped.
+ * <p>
+ * A single {@link MappedByteBuffer} may address at most 2GB, so the file is mapped as a sequence of chunks.  Each
+ * chunk overlaps the next by 8 bytes, which guarantees that a {@code long} beginning at any position in the file can
+ * be read from a single chunk.
+ * <p>
+ * All reads use absolute positions, so a BlobByteBuffer may be safely shared across threads once it is constructed.
+ */
+public class BlobByteBuffer {
+
+    static final int DEFAULT_LOG2_CHUNK_SIZE = 30;
+
+    private static final int CHUNK_OVERLAP = 8;
+
+    private final ByteBuffer chunks[];
+    private final int log2OfChunkSize;
+    private final long chunkMask;
+    private final long capacity;
+
+    private BlobByteBuffer(ByteBuffer chunks[], int log2OfChunkSize, long capacity) {
+        this.chunks = chunks;
+        this.log2OfChunkSize = log2OfChunkSize;
+        this.chunkMask = (1L << log2OfChunkSize) - 1;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Memory map the entire contents of a file.
+     *
+     * @param file the file to map
+     * @return a BlobByteBuffer over the file contents
+     * @throws IOException if the file could not be mapped
+     */
+    public static BlobByteBuffer mmapBlob(File file) throws IOException {
+        try(RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            return mmapBlob(raf.getChannel(), DEFAULT_LOG2_CHUNK_SIZE);
+        }
+    }
+
+    /**
+     * Memory map the entire contents of a file channel.  The mapping remains valid after the channel is closed.
+     *
+     * @param channel the channel to map
+     * @param log2OfChunkSize the log2 of the size of each mapped chunk, at most 30
+     * @return a BlobByteBuffer over the channel contents
+     * @throws IOException if the channel could not be mapped
+     */
+    public static BlobByteBuffer mmapBlob(FileChannel channel, int log2OfChunkSize) throws IOException {
+        if(log2OfChunkSize < 4 || log2OfChunkSize > 30)
+            throw new IllegalArgumentException("log2OfChunkSize must be between 4 and 30: " + log2OfChunkSize);
+
+        long size = channel.size();
+        long chunkSize = 1L << log2OfChunkSize;
+        int numChunks = (int)(((size - 1) >>> log2OfChunkSize) + 1);
+        if(size == 0)
+            numChunks = 0;
+
+        MappedByteBuffer chunks[] = new MappedByteBuffer[numChunks];
+        for(int i=0;i<numChunks;i++) {
+            long position = i * chunkSize;
+            long length = Math.min(chunkSize + CHUNK_OVERLAP, size - position);
+            chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        }
+
+        return new BlobByteBuffer(chunks, log2OfChunkSize, size);
+    }
+
+    /**
+     * Read the remaining contents of a stream onto the heap.
+     *
+     * @param is the stream to read
+     * @return a BlobByteBuffer over the stream contents
+     * @throws IOException if the stream could not be read
+     */
+    public static BlobByteBuffer readFrom(InputStream is) throws IOException {
+        return readFrom(is, DEFAULT_LOG2_CHUNK_SIZE);
+    }
+
+    /**
+     * Read the remaining contents of a stream onto the heap, in chunks of arrays which overlap just as mapped chunks
+     * do, so that the contents may exceed the 2GB which a single array may hold.
+     *
+     * @param is the stream to read
+     * @param log2OfChunkSize the log2 of the size of each chunk, at most 30
+     * @return a BlobByteBuffer over the stream contents
+     * @throws IOException if the stream could not be read
+     */
+    public static BlobByteBuffer readFrom(InputStream is, int log2OfChunkSize) throws IOException {
+        if(log2OfChunkSize < 4 || log2OfChunkSize > 30)
+            throw new IllegalArgumentException("log2OfChunkSize must be between 4 and 30: " + log2OfChunkSize);
+
+        int chunkSize = 1 << log2OfChunkSize;
+        List<ByteBuffer> chunks = new ArrayList<ByteBuffer>();
+
+        /// the last chunk grows as it is filled, so that small blobs are not read into a full sized chunk
+        byte chunk[] = new byte[Math.min(8192, chunkSize + CHUNK_OVERLAP)];
+        int chunkLength = 0;
+        while(true) {
+            if(chunkLength == chunk.length) {
+                if(chunkLength == chunkSize + CHUNK_OVERLAP) {
+                    /// the chunk is full; the next chunk begins with the bytes which overlap the end of this chunk
+                    chunks.add(ByteBuffer.wrap(chunk));
+                    byte nextChunk[] = new byte[Math.min(8192, chunkSize + CHUNK_OVERLAP)];
+                    System.arraycopy(chunk, chunkSize, nextChunk, 0, CHUNK_OVERLAP);
+                    chunk = nextChunk;
+                    chunkLength = CHUNK_OVERLAP;
+                } else {
+                    chunk = Arrays.copyOf(chunk, (int)Math.min((long)chunk.length * 2, chunkSize + CHUNK_OVERLAP));
+                }
+            }
+
+            int bytesRead = is.read(chunk, chunkLength, chunk.length - chunkLength);
+            if(bytesRead == -1)
+                break;
+            chunkLength += bytesRead;
+        }
+
+        long capacity = (long)chunks.size() * chunkSize + chunkLength;
+        if(capacity > 0)
+            chunks.add(ByteBuffer.wrap(chunk, 0, chunkLength).slice());
+
+        return new BlobByteBuffer(chunks.toArray(new ByteBuffer[0]), log2OfChunkSize, capacity);
+    }
+
+    /**
+     * Wrap a blob which is already held in a byte array.
+     *
+     * @param data the blob data
+     * @return a BlobByteBuffer over the array
+     */
+    public static BlobByteBuffer wrap(byte[] data) {
+        ByteBuffer chunks[] = data.length == 0 ? new ByteBuffer[0] : new ByteBuffer[] { ByteBuffer.wrap(data) };
+        return new BlobByteBuffer(chunks, 31, data.length);
+    }
+
+    /**
+     * @return the number of bytes in the blob
+     */
+    public long capacity() {
+        return capacity;
+    }
+
+    public byte getByte(long position) {
+        return chunks[(int)(position >>> log2OfChunkSize)].get((int)(position & chunkMask));
+    }
+
+    /**
+     * Read a big-endian {@code long}, as written by {@link java.io.DataOutputStream#writeLong(long)}.
+     *
+     * @param position the position of the first byte
+     * @return the long value
+     */
+    public long getLong(long position) {
+        return chunks[(int)(position >>> log2OfChunkSize)].getLong((int)(position & chunkMask));
+    }
+
+    /**
+     * Copy bytes from the blob into a byte array.
+     *
+     * @param position the position of the first byte to copy
+     * @param dest the destination array
+     * @param destPos the position in the destination array
+     * @param length the number of bytes to copy
+     */
+    public void getBytes(long position, byte[] dest, int destPos, int length) {
+        while(length > 0) {
+            int chunkPosition = (int)(position & chunkMask);
+            int bytesToCopy = (int)Math.min(length, (chunkMask + 1) - chunkPosition);
+
+            ByteBuffer chunk = chunks[(int)(position >>> log2OfChunkSize)].duplicate();
+            chunk.position(chunkPosition);
+            chunk.get(dest, destPos, bytesToCopy);
+
+            position += bytesToCopy;
+            destPos += bytesToCopy;
+            length -= bytesToCopy;
+        }
+    }
+
+}
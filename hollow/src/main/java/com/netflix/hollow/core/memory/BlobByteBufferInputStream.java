@@ -0,0 +1,130 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.core.memory;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A {@link DataInputStream} over a {@link BlobByteBuffer}, which may be positioned anywhere in the blob.
+ * <p>
+ * When the stream's {@link MemoryMode} is {@link MemoryMode#SHARED_MEMORY}, data structures which recognize this
+ * stream, such as {@link com.netflix.hollow.core.memory.encoding.FixedLengthElementArray} and
+ * {@link SegmentedByteArray}, are deserialized as views of the mapped blob rather than being copied onto the heap.
+ */
+public class BlobByteBufferInputStream extends DataInputStream {
+
+    private final BlobByteBuffer buffer;
+    private final MemoryMode memoryMode;
+    private final PositionedInputStream positionedStream;
+
+    public BlobByteBufferInputStream(BlobByteBuffer buffer) {
+        this(buffer, 0, MemoryMode.SHARED_MEMORY);
+    }
+
+    public BlobByteBufferInputStream(BlobByteBuffer buffer, long position, MemoryMode memoryMode) {
+        this(buffer, memoryMode, new PositionedInputStream(buffer, position));
+    }
+
+    private BlobByteBufferInputStream(BlobByteBuffer buffer, MemoryMode memoryMode, PositionedInputStream positionedStream) {
+        super(positionedStream);
+        this.buffer = buffer;
+        this.memoryMode = memoryMode;
+        this.positionedStream = positionedStream;
+    }
+
+    /**
+     * @return a new stream over the same blob, positioned at the current position of this stream
+     */
+    public BlobByteBufferInputStream duplicate() {
+        return new BlobByteBufferInputStream(buffer, positionedStream.position, memoryMode);
+    }
+
+    /**
+     * @return true if data read from this stream should be retained as a view of the blob
+     */
+    public boolean isSharedMemory() {
+        return memoryMode.isSharedMemory();
+    }
+
+    public BlobByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * @return the position in the blob of the next byte which will be read from this stream
+     */
+    public long position() {
+        return positionedStream.position;
+    }
+
+    /**
+     * Advance this stream past a range of bytes which is retained as a view of the blob.
+     *
+     * @param numBytes the number of bytes
+     * @throws IOException if the range extends past the end of the blob
+     */
+    public void seekForward(long numBytes) throws IOException {
+        if(positionedStream.position + numBytes > buffer.capacity())
+            throw new IOException("Attempted to seek past the end of the blob");
+        positionedStream.position += numBytes;
+    }
+
+    private static class PositionedInputStream extends InputStream {
+
+        private final BlobByteBuffer buffer;
+        private long position;
+
+        PositionedInputStream(BlobByteBuffer buffer, long position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if(position >= buffer.capacity())
+                return -1;
+            return buffer.getByte(position++) & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            long remaining = buffer.capacity() - position;
+            if(remaining <= 0)
+                return len == 0 ? 0 : -1;
+
+            int bytesToRead = (int)Math.min(len, remaining);
+            buffer.getBytes(position, b, off, bytesToRead);
+            position += bytesToRead;
+            return bytesToRead;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long bytesToSkip = Math.max(0, Math.min(n, buffer.capacity() - position));
+            position += bytesToSkip;
+            return bytesToSkip;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int)Math.min(Integer.MAX_VALUE, buffer.capacity() - position);
+        }
+    }
+
+}
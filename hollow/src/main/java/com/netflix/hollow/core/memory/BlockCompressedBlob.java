@@ -0,0 +1,231 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.core.memory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * The block compressed blob container.
+ * <p>
+ * A blob is divided into blocks, each of which is compressed independently, so that blocks may be decompressed in
+ * parallel and skipped without being decompressed.  The layout is:
+ * <pre>
+ *   int    MAGIC
+ *   int    maximum uncompressed length of a block
+ *   block* each of:
+ *            int   uncompressed length (greater than zero)
+ *            byte  method, {@link #METHOD_STORED} or {@link #METHOD_DEFLATE}
+ *            int   stored length
+ *            byte[stored length]
+ *   int    0, marking the end of the blocks
+ *   int    number of blocks
+ *   index  for each block:
+ *            long  offset of the block in the container
+ *            long  offset of the block's data in the uncompressed blob
+ *   long   offset of the number of blocks in the container
+ *   int    MAGIC
+ * </pre>
+ * All values are big-endian, as written by {@link java.io.DataOutputStream}.  The writer ends a block whenever it
+ * is flushed, so blocks may be aligned with the sections of a blob.
+ *
+ * @see BlockCompressedBlobOutputStream
+ * @see BlockCompressedBlobInputStream
+ */
+public final class BlockCompressedBlob {
+
+    /// "HBLK", which cannot be mistaken for the version at the start of an uncompressed blob
+    public static final int MAGIC = 0x48424C4B;
+
+    public static final byte METHOD_STORED = 0;
+    public static final byte METHOD_DEFLATE = 1;
+
+    static final int BLOCK_HEADER_LENGTH = 9;
+    static final int TRAILER_LENGTH = 12;
+
+    private BlockCompressedBlob() { }
+
+    /**
+     * @param blob the blob
+     * @return true if the blob is a block compressed container
+     */
+    public static boolean isBlockCompressed(BlobByteBuffer blob) {
+        return blob.capacity() >= 8 + TRAILER_LENGTH && readInt(blob, 0) == MAGIC;
+    }
+
+    /**
+     * Determine whether a stream is a block compressed container, without consuming any of it.
+     *
+     * @param is the stream, which must support {@link InputStream#mark(int)}
+     * @return true if the stream is a block compressed container
+     * @throws IOException if the stream could not be read
+     */
+    public static boolean isBlockCompressed(InputStream is) throws IOException {
+        is.mark(4);
+        try {
+            int magic = 0;
+            for(int i=0;i<4;i++) {
+                int b = is.read();
+                if(b == -1)
+                    return false;
+                magic = (magic << 8) | b;
+            }
+            return magic == MAGIC;
+        } finally {
+            is.reset();
+        }
+    }
+
+    /**
+     * Return a stream of the uncompressed contents of a blob, which may or may not be a block compressed container.
+     * <p>
+     * If the stream does not support {@link InputStream#mark(int)}, only the four bytes which may hold the
+     * {@link #MAGIC} are read ahead of the returned stream, so that no bytes past the end of the blob are consumed
+     * from a stream which holds more than the blob.
+     *
+     * @param is the blob
+     * @return the blob's uncompressed contents
+     * @throws IOException if the stream could not be read
+     */
+    public static InputStream decompressIfBlockCompressed(InputStream is) throws IOException {
+        if(is instanceof BlobByteBufferInputStream) {
+            BlobByteBufferInputStream bbis = (BlobByteBufferInputStream)is;
+            BlobByteBuffer buffer = bbis.getBuffer();
+            if(bbis.position() + 4 > buffer.capacity() || readInt(buffer, bbis.position()) != MAGIC)
+                return is;
+            return new BlockCompressedBlobInputStream(is);
+        }
+
+        if(!is.markSupported()) {
+            PushbackInputStream pis = new PushbackInputStream(is, 4);
+            byte bytes[] = new byte[4];
+            int length = 0;
+            int magic = 0;
+            for(int b; length < bytes.length && (b = pis.read()) != -1; length++) {
+                bytes[length] = (byte)b;
+                magic = (magic << 8) | b;
+            }
+            pis.unread(bytes, 0, length);
+            return length == bytes.length && magic == MAGIC ? new BlockCompressedBlobInputStream(pis) : pis;
+        }
+
+        return isBlockCompressed(is) ? new BlockCompressedBlobInputStream(is) : is;
+    }
+
+    /**
+     * Decompress every block of a block compressed container concurrently, locating the blocks with the index at the
+     * end of the container.
+     *
+     * @param blob the block compressed container
+     * @param executor the executor on which blocks are decompressed
+     * @return the uncompressed blob
+     * @throws IOException if the container is malformed, or the uncompressed blob is larger than 2GB
+     */
+    public static BlobByteBuffer decompress(BlobByteBuffer blob, Executor executor) throws IOException {
+        long trailerPosition = blob.capacity() - TRAILER_LENGTH;
+        if(readInt(blob, trailerPosition + 8) != MAGIC)
+            throw new IOException("Block compressed blob has no index");
+
+        long indexPosition = blob.getLong(trailerPosition);
+        int numBlocks = readInt(blob, indexPosition);
+
+        long blockOffsets[] = new long[numBlocks];
+        long uncompressedOffsets[] = new long[numBlocks];
+        for(int i=0;i<numBlocks;i++) {
+            blockOffsets[i] = blob.getLong(indexPosition + 4 + (i * 16L));
+            uncompressedOffsets[i] = blob.getLong(indexPosition + 12 + (i * 16L));
+        }
+
+        long uncompressedLength = numBlocks == 0 ? 0 : uncompressedOffsets[numBlocks - 1] + readInt(blob, blockOffsets[numBlocks - 1]);
+        if(uncompressedLength > Integer.MAX_VALUE - 8)
+            throw new IOException("Uncompressed blob of " + uncompressedLength + " bytes is too large to decompress into a single array");
+
+        byte uncompressed[] = new byte[(int)uncompressedLength];
+
+        List<CompletableFuture<Void>> blocks = new ArrayList<CompletableFuture<Void>>(numBlocks);
+        for(int i=0;i<numBlocks;i++) {
+            final long blockOffset = blockOffsets[i];
+            final int destPos = (int)uncompressedOffsets[i];
+            blocks.add(CompletableFuture.runAsync(() -> {
+                try {
+                    readBlock(blob, blockOffset, uncompressed, destPos);
+                } catch(IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, executor));
+        }
+
+        try {
+            CompletableFuture.allOf(blocks.toArray(new CompletableFuture<?>[0])).join();
+        } catch(CompletionException e) {
+            if(e.getCause() instanceof UncheckedIOException)
+                throw ((UncheckedIOException)e.getCause()).getCause();
+            throw new IOException("Unable to decompress blob", e.getCause());
+        }
+
+        return BlobByteBuffer.wrap(uncompressed);
+    }
+
+    private static void readBlock(BlobByteBuffer blob, long blockOffset, byte[] dest, int destPos) throws IOException {
+        int uncompressedLength = readInt(blob, blockOffset);
+        byte method = blob.getByte(blockOffset + 4);
+        int storedLength = readInt(blob, blockOffset + 5);
+
+        if(method == METHOD_STORED) {
+            blob.getBytes(blockOffset + BLOCK_HEADER_LENGTH, dest, destPos, storedLength);
+        } else {
+            byte stored[] = new byte[storedLength];
+            blob.getBytes(blockOffset + BLOCK_HEADER_LENGTH, stored, 0, storedLength);
+            inflate(stored, storedLength, dest, destPos, uncompressedLength);
+        }
+    }
+
+    static void inflate(byte[] stored, int storedLength, byte[] dest, int destPos, int uncompressedLength) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(stored, 0, storedLength);
+            int inflated = 0;
+            while(inflated < uncompressedLength) {
+                int n = inflater.inflate(dest, destPos + inflated, uncompressedLength - inflated);
+                if(n == 0 && (inflater.finished() || inflater.needsInput()))
+                    throw new IOException("Block compressed blob has a truncated block");
+                inflated += n;
+            }
+        } catch(DataFormatException e) {
+            throw new IOException("Block compressed blob has a corrupt block", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static int readInt(BlobByteBuffer blob, long position) {
+        return ((blob.getByte(position) & 0xFF) << 24)
+                | ((blob.getByte(position + 1) & 0xFF) << 16)
+                | ((blob.getByte(position + 2) & 0xFF) << 8)
+                | (blob.getByte(position + 3) & 0xFF);
+    }
+
+}
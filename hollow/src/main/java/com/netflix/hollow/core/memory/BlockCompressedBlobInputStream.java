@@ -0,0 +1,178 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.core.memory;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads the uncompressed contents of a {@link BlockCompressedBlob block compressed container} sequentially.
+ * <p>
+ * A block which is skipped entirely, such as the blocks of a type which has been filtered out, is passed over in the
+ * underlying stream without being decompressed.  The index at the end of the container is not read.
+ */
+public class BlockCompressedBlobInputStream extends InputStream {
+
+    private final DataInputStream in;
+    private final byte block[];
+    private byte stored[];
+    private int blockLength;
+    private int blockPosition;
+    private byte pendingMethod;
+    private long pendingStoredLength;
+    private boolean endOfBlocks;
+
+    /**
+     * @param in the container, positioned at its beginning
+     * @throws IOException if the container header could not be read
+     */
+    public BlockCompressedBlobInputStream(InputStream in) throws IOException {
+        this.in = in instanceof DataInputStream ? (DataInputStream)in : new DataInputStream(in);
+
+        if(this.in.readInt() != BlockCompressedBlob.MAGIC)
+            throw new IOException("Not a block compressed blob");
+        int blockSize = this.in.readInt();
+
+        this.block = new byte[blockSize];
+        this.stored = new byte[0];
+    }
+
+    @Override
+    public int read() throws IOException {
+        if(blockPosition == blockLength && !nextBlock(false))
+            return -1;
+        return block[blockPosition++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if(len == 0)
+            return 0;
+        if(blockPosition == blockLength && !nextBlock(false))
+            return -1;
+
+        int bytesToCopy = Math.min(len, blockLength - blockPosition);
+        System.arraycopy(block, blockPosition, b, off, bytesToCopy);
+        blockPosition += bytesToCopy;
+        return bytesToCopy;
+    }
+
+    /**
+     * Skip bytes of the uncompressed contents.  Blocks which lie entirely within the skipped bytes are not
+     * decompressed.
+     */
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+
+        while(skipped < n) {
+            if(blockPosition == blockLength) {
+                long bytesRemaining = n - skipped;
+                if(!nextBlock(true))
+                    break;
+
+                if(blockLength <= bytesRemaining) {
+                    /// the block was passed over without being decompressed
+                    skipped += blockLength;
+                    blockPosition = blockLength;
+                    continue;
+                }
+
+                decompressBlock();
+            }
+
+            int bytesToSkip = (int)Math.min(n - skipped, blockLength - blockPosition);
+            blockPosition += bytesToSkip;
+            skipped += bytesToSkip;
+        }
+
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return blockLength - blockPosition;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Read the header of the next block.  Unless deferred, the block is decompressed.  A deferred block must be
+     * either decompressed with {@link #decompressBlock()} or passed over, which happens if the next block is read.
+     *
+     * @return false if there are no more blocks
+     */
+    private boolean nextBlock(boolean defer) throws IOException {
+        if(pendingStoredLength > 0) {
+            skipFully(pendingStoredLength);
+            pendingStoredLength = 0;
+        }
+
+        if(endOfBlocks)
+            return false;
+
+        int uncompressedLength = in.readInt();
+        if(uncompressedLength == 0) {
+            endOfBlocks = true;
+            blockLength = blockPosition = 0;
+            return false;
+        }
+        if(uncompressedLength > block.length)
+            throw new IOException("Block compressed blob has a block larger than its block size");
+
+        pendingMethod = in.readByte();
+        pendingStoredLength = in.readInt();
+        blockLength = uncompressedLength;
+        blockPosition = 0;
+
+        if(!defer)
+            decompressBlock();
+        return true;
+    }
+
+    private void decompressBlock() throws IOException {
+        int storedLength = (int)pendingStoredLength;
+        pendingStoredLength = 0;
+
+        if(pendingMethod == BlockCompressedBlob.METHOD_STORED) {
+            in.readFully(block, 0, storedLength);
+        } else {
+            if(stored.length < storedLength)
+                stored = new byte[storedLength];
+            in.readFully(stored, 0, storedLength);
+            BlockCompressedBlob.inflate(stored, storedLength, block, 0, blockLength);
+        }
+    }
+
+    private void skipFully(long n) throws IOException {
+        while(n > 0) {
+            long skipped = in.skip(n);
+            if(skipped <= 0) {
+                if(in.read() == -1)
+                    throw new EOFException("Block compressed blob is truncated");
+                skipped = 1;
+            }
+            n -= skipped;
+        }
+    }
+
+}
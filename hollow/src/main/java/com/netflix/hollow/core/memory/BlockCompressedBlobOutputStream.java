@@ -0,0 +1,162 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.core.memory;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+
+/**
+ * Writes a {@link BlockCompressedBlob block compressed container}.
+ * <p>
+ * Each block holds at most the configured block size of uncompressed data.  A block also ends whenever this stream
+ * is flushed, which {@link com.netflix.hollow.core.write.HollowBlobWriter} does at the end of each type when it writes
+ * directly to this stream, so that the blocks of a type which a consumer filters out may be skipped without
+ * decompressing them.  A block is buffered in full before it is written, so this stream need not be buffered.  The
+ * index of blocks is written when the stream is closed.
+ */
+public class BlockCompressedBlobOutputStream extends OutputStream {
+
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+
+    private final DataOutputStream out;
+    private final Deflater deflater;
+    private final byte block[];
+    private final byte compressed[];
+    private int blockLength;
+
+    private final ByteArrayOutputStream indexBytes;
+    private final DataOutputStream index;
+    private int numBlocks;
+    private long containerPosition;
+    private long uncompressedPosition;
+    private boolean closed;
+
+    public BlockCompressedBlobOutputStream(OutputStream out) throws IOException {
+        this(out, DEFAULT_BLOCK_SIZE, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * @param out the stream to which the container is written
+     * @param blockSize the maximum uncompressed length of a block
+     * @param level the {@link Deflater} compression level
+     * @throws IOException if the container header could not be written
+     */
+    public BlockCompressedBlobOutputStream(OutputStream out, int blockSize, int level) throws IOException {
+        if(blockSize <= 0)
+            throw new IllegalArgumentException("blockSize must be positive");
+
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+        this.deflater = new Deflater(level);
+        this.block = new byte[blockSize];
+        this.compressed = new byte[blockSize];
+        this.indexBytes = new ByteArrayOutputStream();
+        this.index = new DataOutputStream(indexBytes);
+
+        this.out.writeInt(BlockCompressedBlob.MAGIC);
+        this.out.writeInt(blockSize);
+        this.containerPosition = 8;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if(blockLength == block.length)
+            writeBlock();
+        block[blockLength++] = (byte)b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while(len > 0) {
+            if(blockLength == block.length)
+                writeBlock();
+
+            int bytesToCopy = Math.min(len, block.length - blockLength);
+            System.arraycopy(b, off, block, blockLength, bytesToCopy);
+            blockLength += bytesToCopy;
+            off += bytesToCopy;
+            len -= bytesToCopy;
+        }
+    }
+
+    /**
+     * End the current block, and flush the underlying stream.
+     */
+    @Override
+    public void flush() throws IOException {
+        writeBlock();
+        out.flush();
+    }
+
+    /**
+     * End the current block, then write the end of the blocks and the index, and close the underlying stream.
+     */
+    @Override
+    public void close() throws IOException {
+        if(closed)
+            return;
+        closed = true;
+
+        try {
+            writeBlock();
+            out.writeInt(0);
+
+            long indexPosition = containerPosition + 4;
+            out.writeInt(numBlocks);
+            indexBytes.writeTo(out);
+            out.writeLong(indexPosition);
+            out.writeInt(BlockCompressedBlob.MAGIC);
+            out.close();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private void writeBlock() throws IOException {
+        if(blockLength == 0)
+            return;
+
+        deflater.reset();
+        deflater.setInput(block, 0, blockLength);
+        deflater.finish();
+
+        int compressedLength = 0;
+        while(!deflater.finished() && compressedLength < blockLength) {
+            compressedLength += deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+        }
+
+        boolean stored = !deflater.finished() || compressedLength >= blockLength;
+        int storedLength = stored ? blockLength : compressedLength;
+
+        index.writeLong(containerPosition);
+        index.writeLong(uncompressedPosition);
+        numBlocks++;
+
+        out.writeInt(blockLength);
+        out.writeByte(stored ? BlockCompressedBlob.METHOD_STORED : BlockCompressedBlob.METHOD_DEFLATE);
+        out.writeInt(storedLength);
+        out.write(stored ? block : compressed, 0, storedLength);
+
+        containerPosition += BlockCompressedBlob.BLOCK_HEADER_LENGTH + storedLength;
+        uncompressedPosition += blockLength;
+        blockLength = 0;
+    }
+
+}
@@ -22,6 +22,7 @@ import com.netflix.hollow.core.memory.pool.WastefulRecycler;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * This data structure maps byte sequences to ordinals.  This is a hash table.
@@ -32,6 +33,10 @@ import java.util.concurrent.atomic.AtomicLongArray;
  * The high 29 bits in the key represents the ordinal.  The low 35 bits represents the pointer to the start position
  * of the byte sequence in the ByteDataBuffer.  Each byte sequence is preceded by a variable-length integer
  * (see {@link VarInt}), indicating the length of the sequence.<p>
+ * <p>
+ * New byte sequences may be added concurrently.  Each is added under one of several striped locks, chosen by its hash,
+ * so that equal byte sequences are never added concurrently while unequal ones claim their buckets with a
+ * compare-and-set.  Only the assignment of the ordinal and the copy into the ByteDataBuffer are serialized.
  *
  * @author dkoszewnik
  */
@@ -45,6 +50,10 @@ public class ByteArrayOrdinalMap {
     private static final long ORDINAL_MASK = (1L << BITS_PER_ORDINAL) - 1;
     private static final long MAX_BYTE_DATA_LENGTH = 1L << BITS_PER_POINTER;
 
+    /// The number of stripes bounds the number of additions in flight past the load factor, so must be
+    /// well below the 30% headroom of the smallest key array
+    private static final int NUM_ASSIGNMENT_STRIPES = 32;
+
     /// Thread safety:  We need volatile access semantics to the individual elements in the
     /// pointersAndOrdinals array.
     /// Ordinal is the high 29 bits.  Pointer to byte data is the low 35 bits.
@@ -52,8 +61,9 @@ public class ByteArrayOrdinalMap {
     private volatile AtomicLongArray pointersAndOrdinals;
     private final ByteDataBuffer byteData;
     private final FreeOrdinalTracker freeOrdinalTracker;
-    private int size;
-    private int sizeBeforeGrow;
+    private final ReentrantLock[] assignmentStripes;
+    private volatile int size;
+    private volatile int sizeBeforeGrow;
 
     private BitSet unusedPreviousOrdinals;
 
@@ -75,6 +85,10 @@ public class ByteArrayOrdinalMap {
         size = bucketSize(size);
 
         this.freeOrdinalTracker = new FreeOrdinalTracker();
+        this.assignmentStripes = new ReentrantLock[NUM_ASSIGNMENT_STRIPES];
+        for (int i = 0; i < NUM_ASSIGNMENT_STRIPES; i++) {
+            this.assignmentStripes[i] = new ReentrantLock();
+        }
         this.byteData = new ByteDataBuffer(WastefulRecycler.DEFAULT_INSTANCE);
         this.pointersAndOrdinals = emptyKeyArray(size);
         this.sizeBeforeGrow = (int) (((float) size) * 0.7); /// 70% load factor
@@ -116,19 +130,36 @@ public class ByteArrayOrdinalMap {
         return ordinal != -1 ? ordinal : assignOrdinal(serializedRepresentation, hash, preferredOrdinal);
     }
 
-    /// acquire the lock before writing.
-    private synchronized int assignOrdinal(ByteDataBuffer serializedRepresentation, int hash, int preferredOrdinal) {
+    /// acquire the stripe lock for the hash before writing.
+    private int assignOrdinal(ByteDataBuffer serializedRepresentation, int hash, int preferredOrdinal) {
         if (preferredOrdinal < -1 || preferredOrdinal > ORDINAL_MASK) {
             throw new IllegalArgumentException(String.format(
                     "The given preferred ordinal %s is out of bounds and not within the closed interval [-1, %s]",
                     preferredOrdinal, ORDINAL_MASK));
         }
-        if (size > sizeBeforeGrow) {
-            growKeyArray();
+
+        ReentrantLock stripe = assignmentStripes[hash & (NUM_ASSIGNMENT_STRIPES - 1)];
+
+        while (true) {
+            if (size > sizeBeforeGrow) {
+                growKeyArrayExclusively();
+            }
+
+            stripe.lock();
+            try {
+                /// additions in other stripes may have filled the key array since the check above
+                if (size <= sizeBeforeGrow) {
+                    return assignOrdinalInStripe(serializedRepresentation, hash, preferredOrdinal);
+                }
+            } finally {
+                stripe.unlock();
+            }
         }
+    }
 
+    private int assignOrdinalInStripe(ByteDataBuffer serializedRepresentation, int hash, int preferredOrdinal) {
         /// check to make sure that after acquiring the lock, the element still does not exist.
-        /// this operation is akin to double-checked locking which is 'fixed' with the JSR 133 memory model in JVM >= 1.5.
+        /// equal byte sequences have equal hashes, so no other thread can be adding this one now.
         /// Note that this also requires pointersAndOrdinals be volatile so resizes are also visible
         AtomicLongArray pao = pointersAndOrdinals;
 
@@ -146,7 +177,26 @@ public class ByteArrayOrdinalMap {
         }
 
         /// the ordinal for this object still does not exist in the list, even after the lock has been acquired.
-        /// it is up to this thread to add it at the current bucket position.
+        /// it is up to this thread to add it at the first bucket it can claim from the current bucket position.
+        key = appendData(serializedRepresentation, preferredOrdinal);
+
+        /// this compare-and-set on the AtomicLongArray has volatile semantics (i.e. behaves like a monitor release).
+        /// Any other thread reading this element in the AtomicLongArray will have visibility to all memory writes this thread has made up to this point.
+        /// This means the entire byte sequence is guaranteed to be visible to any thread which reads the pointer to that data.
+        /// A bucket may have been claimed concurrently by a byte sequence from another stripe, which cannot be equal to this one.
+        while (!pao.compareAndSet(bucket, EMPTY_BUCKET_VALUE, key)) {
+            bucket = (bucket + 1) & modBitmask;
+        }
+
+        return (int) (key >>> BITS_PER_POINTER);
+    }
+
+    /**
+     * Assign an ordinal and copy the byte sequence into the ByteDataBuffer.
+     *
+     * @return the key for the byte sequence
+     */
+    private synchronized long appendData(ByteDataBuffer serializedRepresentation, int preferredOrdinal) {
         int ordinal = findFreeOrdinal(preferredOrdinal);
         if (ordinal > ORDINAL_MASK) {
             throw new IllegalStateException(String.format(
@@ -167,16 +217,28 @@ public class ByteArrayOrdinalMap {
                     byteData.length(), MAX_BYTE_DATA_LENGTH));
         }
 
-        key = ((long) ordinal << BITS_PER_POINTER) | pointer;
-
         size++;
 
-        /// this set on the AtomicLongArray has volatile semantics (i.e. behaves like a monitor release).
-        /// Any other thread reading this element in the AtomicLongArray will have visibility to all memory writes this thread has made up to this point.
-        /// This means the entire byte sequence is guaranteed to be visible to any thread which reads the pointer to that data.
-        pao.set(bucket, key);
+        return ((long) ordinal << BITS_PER_POINTER) | pointer;
+    }
 
-        return ordinal;
+    /**
+     * Grow the key array while holding every stripe lock, so that no bucket is claimed in the current array
+     * while its keys are being re-hashed.
+     */
+    private void growKeyArrayExclusively() {
+        for (ReentrantLock stripe : assignmentStripes) {
+            stripe.lock();
+        }
+        try {
+            if (size > sizeBeforeGrow) {
+                growKeyArray();
+            }
+        } finally {
+            for (ReentrantLock stripe : assignmentStripes) {
+                stripe.unlock();
+            }
+        }
     }
 
     /**
@@ -54,4 +54,19 @@ public interface ByteData {
 
     byte get(long position);
 
+    /**
+     * Copy a range of bytes into the destination array.
+     *
+     * @param srcPos the position of the first byte to copy
+     * @param data the destination array
+     * @param destPos the position in the destination array of the first copied byte
+     * @param length the number of bytes to copy
+     * @return the number of bytes copied
+     */
+    default int copy(long srcPos, byte[] data, int destPos, int length) {
+        for(int i=0;i<length;i++)
+            data[destPos + i] = get(srcPos + i);
+        return length;
+    }
+
 }
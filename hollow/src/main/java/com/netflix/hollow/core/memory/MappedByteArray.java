@@ -0,0 +1,125 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.core.memory;
+
+import com.netflix.hollow.core.memory.pool.ArraySegmentRecycler;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * A read-only {@link SegmentedByteArray} whose bytes are read directly from a memory mapped blob.
+ */
+public class MappedByteArray extends SegmentedByteArray {
+
+    private final BlobByteBuffer buffer;
+    private final long startByte;
+    private final long length;
+
+    MappedByteArray(BlobByteBuffer buffer, long startByte, long length) {
+        super(0); // segments are not used for mapped data
+        this.buffer = buffer;
+        this.startByte = startByte;
+        this.length = length;
+    }
+
+    static MappedByteArray mapFrom(BlobByteBufferInputStream is, long length) throws IOException {
+        MappedByteArray arr = new MappedByteArray(is.getBuffer(), is.position(), length);
+        is.seekForward(length);
+        return arr;
+    }
+
+    @Override
+    public byte get(long index) {
+        return buffer.getByte(startByte + index);
+    }
+
+    @Override
+    public int copy(long srcPos, byte[] data, int destPos, int length) {
+        buffer.getBytes(startByte + srcPos, data, destPos, length);
+        return length;
+    }
+
+    /**
+     * The mapped data is never modified, so an ordered copy is equivalent to {@link #copy(long, byte[], int, int)}.
+     */
+    @Override
+    public int orderedCopy(long srcPos, byte[] data, int destPos, int length) {
+        return copy(srcPos, data, destPos, length);
+    }
+
+    @Override
+    public void writeTo(OutputStream os, long startPosition, long len) throws IOException {
+        byte scratch[] = new byte[(int)Math.min(len, 1 << 16)];
+
+        while(len > 0) {
+            int bytesToCopy = (int)Math.min(len, scratch.length);
+            copy(startPosition, scratch, 0, bytesToCopy);
+            os.write(scratch, 0, bytesToCopy);
+            startPosition += bytesToCopy;
+            len -= bytesToCopy;
+        }
+    }
+
+    @Override
+    public void set(long index, byte value) {
+        throw new UnsupportedOperationException("Memory mapped data is read-only");
+    }
+
+    @Override
+    public void copy(ByteData src, long srcPos, long destPos, long length) {
+        throw new UnsupportedOperationException("Memory mapped data is read-only");
+    }
+
+    @Override
+    public void copy(SegmentedByteArray src, long srcPos, long destPos, long length) {
+        throw new UnsupportedOperationException("Memory mapped data is read-only");
+    }
+
+    @Override
+    public void orderedCopy(SegmentedByteArray src, long srcPos, long destPos, long length) {
+        throw new UnsupportedOperationException("Memory mapped data is read-only");
+    }
+
+    @Override
+    public void readFrom(InputStream is, long length) throws IOException {
+        throw new UnsupportedOperationException("Memory mapped data is read-only");
+    }
+
+    @Override
+    public long length() {
+        return length;
+    }
+
+    /**
+     * The mapping is released when this array becomes unreachable, so there is nothing to return to the recycler.
+     */
+    @Override
+    public void destroy() { }
+
+    @Override
+    public void destroy(ArraySegmentRecycler memoryRecycler) { }
+
+    /**
+     * @return the number of mapped bytes, so that size estimates are independent of the memory mode
+     */
+    @Override
+    public long size() {
+        return length;
+    }
+
+}
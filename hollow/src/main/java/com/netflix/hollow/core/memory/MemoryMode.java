@@ -0,0 +1,42 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.core.memory;
+
+/**
+ * Defines where the data of a {@link com.netflix.hollow.core.read.engine.HollowReadStateEngine} is held.
+ */
+public enum MemoryMode {
+
+    /**
+     * Snapshot data is copied onto the heap into pooled {@code long[]} and {@code byte[]} segments.
+     */
+    ON_HEAP,
+
+    /**
+     * Snapshot data is left in the blob file, which is memory mapped.  The fixed length and variable length data
+     * of each type are read directly from the mapped file, and the page cache may be shared between all processes
+     * on a host which map the same file.
+     * <p>
+     * Data produced by applying a delta is held on the heap, as in {@link #ON_HEAP}.
+     */
+    SHARED_MEMORY;
+
+    public boolean isSharedMemory() {
+        return this == SHARED_MEMORY;
+    }
+
+}
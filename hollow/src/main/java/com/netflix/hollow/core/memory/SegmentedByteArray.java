@@ -17,6 +17,7 @@
 package com.netflix.hollow.core.memory;
 
 import com.netflix.hollow.core.memory.pool.ArraySegmentRecycler;
+import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -56,6 +57,18 @@ public class SegmentedByteArray implements ByteData {
         this.memoryRecycler = memoryRecycler;
     }
 
+    /**
+     * Constructs an array with no segments, for subclasses which hold their data elsewhere.
+     *
+     * @param log2OfSegmentSize the log2 of the segment size
+     */
+    protected SegmentedByteArray(int log2OfSegmentSize) {
+        this.segments = new byte[0][];
+        this.log2OfSegmentSize = log2OfSegmentSize;
+        this.bitmask = (1 << log2OfSegmentSize) - 1;
+        this.memoryRecycler = null;
+    }
+
     /**
      * Set the byte at the given index to the specified value
      * @param index the index
@@ -126,6 +139,7 @@ public class SegmentedByteArray implements ByteData {
      * @param length the length of the data to copy
      * @return the number of bytes copied
      */
+    @Override
     public int copy(long srcPos, byte[] data, int destPos, int length) {
         int segmentSize = 1 << log2OfSegmentSize;
         int remainingBytesInSegment = (int)(segmentSize - (srcPos & bitmask));
@@ -249,6 +263,27 @@ public class SegmentedByteArray implements ByteData {
         }
     }
 
+    /**
+     * Deserialize a range of bytes from the supplied stream.
+     * <p>
+     * If the stream is a {@link BlobByteBufferInputStream} in shared memory mode, the returned array is a view of
+     * the mapped blob, otherwise the bytes are copied into pooled segments.
+     *
+     * @param dis the source data
+     * @param memoryRecycler the memory recycler from which segments are obtained
+     * @param length the length of the data to deserialize
+     * @return the deserialized array
+     * @throws IOException if the data could not be read
+     */
+    public static SegmentedByteArray deserializeFrom(DataInputStream dis, ArraySegmentRecycler memoryRecycler, long length) throws IOException {
+        if(dis instanceof BlobByteBufferInputStream && ((BlobByteBufferInputStream)dis).isSharedMemory())
+            return MappedByteArray.mapFrom((BlobByteBufferInputStream)dis, length);
+
+        SegmentedByteArray arr = new SegmentedByteArray(memoryRecycler);
+        arr.readFrom(dis, length);
+        return arr;
+    }
+
     /**
      * Write a portion of this data to an OutputStream.
      *
@@ -298,6 +333,16 @@ public class SegmentedByteArray implements ByteData {
     }
 
     public void destroy() {
+        destroy(memoryRecycler);
+    }
+
+    /**
+     * Return this array's segments to the given recycler, which need not be the recycler they were obtained from
+     * as long as its byte segment size is the same.
+     *
+     * @param memoryRecycler the recycler to return the segments to
+     */
+    public void destroy(ArraySegmentRecycler memoryRecycler) {
         for(int i=0;i<segments.length;i++) {
             if(segments[i] != null)
                 memoryRecycler.recycleByteArray(segments[i]);
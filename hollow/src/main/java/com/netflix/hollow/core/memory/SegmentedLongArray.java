@@ -63,6 +63,17 @@ public class SegmentedLongArray {
         this.segments = segments;
     }
 
+    /**
+     * Constructs an array with no segments, for subclasses which hold their data elsewhere.
+     *
+     * @param log2OfSegmentSize the log2 of the segment size
+     */
+    protected SegmentedLongArray(int log2OfSegmentSize) {
+        this.log2OfSegmentSize = log2OfSegmentSize;
+        this.bitmask = (1 << log2OfSegmentSize) - 1;
+        this.segments = new long[0][];
+    }
+
     /**
      * Set the byte at the given index to the specified value
      *
@@ -16,6 +16,7 @@
  */
 package com.netflix.hollow.core.memory.encoding;
 
+import com.netflix.hollow.core.memory.BlobByteBufferInputStream;
 import com.netflix.hollow.core.memory.HollowUnsafeHandle;
 import com.netflix.hollow.core.memory.SegmentedLongArray;
 import com.netflix.hollow.core.memory.pool.ArraySegmentRecycler;
@@ -71,6 +72,17 @@ public class FixedLengthElementArray extends SegmentedLongArray {
         this.byteBitmask = (1 << log2OfSegmentSizeInBytes) - 1;
     }
 
+    /**
+     * Constructs an array with no segments, for subclasses which hold their data elsewhere.
+     *
+     * @param log2OfSegmentSize the log2 of the segment size, in longs
+     */
+    protected FixedLengthElementArray(int log2OfSegmentSize) {
+        super(log2OfSegmentSize);
+        this.log2OfSegmentSizeInBytes = log2OfSegmentSize + 3;
+        this.byteBitmask = (1 << log2OfSegmentSizeInBytes) - 1;
+    }
+
     public void clearElementValue(long index, int bitsPerElement) {
         long whichLong = index >>> 6;
         int whichBit = (int) (index & 0x3F);
@@ -136,6 +148,36 @@ public class FixedLengthElementArray extends SegmentedLongArray {
         return l & mask;
     }
 
+    /**
+     * Gets the values of {@code count} elements, each comprising of {@code bitsPerElement} bits, the first at the
+     * given bit {@code index} and each subsequent element {@code bitsBetweenElements} bits after the prior one.
+     * This is equivalent to, but cheaper than, a call to {@link #getElementValue(long, int)} for each element.
+     *
+     * @param index the bit index of the first element
+     * @param bitsPerElement bits per element, must be less than 61 otherwise
+     * the result is undefined
+     * @param bitsBetweenElements the number of bits from the start of an element to the start of the next
+     * @param values the array into which the element values are placed, from index {@code 0}
+     * @param count the number of elements
+     */
+    public void getElementValues(long index, int bitsPerElement, long bitsBetweenElements, long[] values, int count) {
+        long mask = (1L << bitsPerElement) - 1;
+        long[][] segments = this.segments;
+        int log2OfSegmentSizeInBytes = this.log2OfSegmentSizeInBytes;
+        int byteBitmask = this.byteBitmask;
+
+        for(int i = 0; i < count; i++) {
+            long whichByte = index >>> 3;
+            int whichBit = (int) (index & 0x07);
+
+            long[] segment = segments[(int) (whichByte >>> log2OfSegmentSizeInBytes)];
+            long elementByteOffset = (long)Unsafe.ARRAY_LONG_BASE_OFFSET + (whichByte & byteBitmask);
+            values[i] = (unsafe.getLong(segment, elementByteOffset) >>> whichBit) & mask;
+
+            index += bitsBetweenElements;
+        }
+    }
+
     /**
      * Gets a large element value, comprising of {@code bitsPerElement} bits, at the given
      * bit {@code index}.
@@ -245,6 +287,9 @@ public class FixedLengthElementArray extends SegmentedLongArray {
     public static FixedLengthElementArray deserializeFrom(DataInputStream dis, ArraySegmentRecycler memoryRecycler) throws IOException {
         long numLongs = VarInt.readVLong(dis);
 
+        if(dis instanceof BlobByteBufferInputStream && ((BlobByteBufferInputStream)dis).isSharedMemory())
+            return MappedFixedLengthElementArray.mapFrom((BlobByteBufferInputStream)dis, numLongs);
+
         FixedLengthElementArray arr = new FixedLengthElementArray(memoryRecycler, numLongs * 64);
 
         arr.readFrom(dis, memoryRecycler, numLongs);
@@ -104,6 +104,56 @@ public class FixedLengthMultipleOccurrenceElementArray {
         storage.setElementValue(currentIndex, bitsPerElement, element);
     }
 
+    /**
+     * This method removes a single instance of an element at nodeIndex. The order of the remaining
+     * elements at nodeIndex is not preserved.
+     * This method is not thread-safe - you cannot call this method concurrently with itself or with
+     * {@link #getElements}.
+     *
+     * @param nodeIndex the node index
+     * @param element the element to remove
+     * @return {@code true} if an instance of the element was removed, otherwise {@code false}
+     */
+    public boolean removeElement(long nodeIndex, long element) {
+        if (nodeIndex >= numNodes) {
+            throw new IllegalArgumentException("Provided nodeIndex  " + nodeIndex
+                    + " greater then numNodes " + numNodes);
+        }
+        if (element == NO_ELEMENT) {
+            boolean present = nodesWithOrdinalZero.getElementValue(nodeIndex, 1, 1) != NO_ELEMENT;
+            nodesWithOrdinalZero.clearElementValue(nodeIndex, 1);
+            return present;
+        }
+        long bucketStart = nodeIndex * maxElementsPerNode * bitsPerElement;
+        int removeOffset = -1;
+        int lastOffset = -1;
+        for (int offset = 0; offset < maxElementsPerNode; offset++) {
+            long currentElement = storage.getElementValue(bucketStart + offset * bitsPerElement,
+                    bitsPerElement, elementMask);
+            if (currentElement == NO_ELEMENT) {
+                break;
+            }
+            if (removeOffset == -1 && currentElement == element) {
+                removeOffset = offset;
+            }
+            lastOffset = offset;
+        }
+        if (removeOffset == -1) {
+            return false;
+        }
+        /* elements are contiguous from the beginning of the bucket, so fill the gap with the last
+         * element rather than shifting every following element */
+        if (removeOffset != lastOffset) {
+            long lastElement = storage.getElementValue(bucketStart + lastOffset * bitsPerElement,
+                    bitsPerElement, elementMask);
+            storage.clearElementValue(bucketStart + removeOffset * bitsPerElement, bitsPerElement);
+            storage.setElementValue(bucketStart + removeOffset * bitsPerElement, bitsPerElement,
+                    lastElement);
+        }
+        storage.clearElementValue(bucketStart + lastOffset * bitsPerElement, bitsPerElement);
+        return true;
+    }
+
     /**
      * Return a list of elements at the specified node index. The returned list may contain
      * duplicates.
@@ -131,6 +181,33 @@ public class FixedLengthMultipleOccurrenceElementArray {
         return ret;
     }
 
+    /**
+     * Return whether there are no elements at the specified node index, without allocating a list of the elements.
+     * This method has the same thread-safety guarantees as {@link #getElements}.
+     *
+     * @param nodeIndex the node index
+     * @return {@code true} if there are no elements at the node index, otherwise {@code false}
+     */
+    public boolean isEmpty(long nodeIndex) {
+        return nodesWithOrdinalZero.getElementValue(nodeIndex, 1, 1) == NO_ELEMENT
+                && storage.getElementValue(nodeIndex * maxElementsPerNode * bitsPerElement,
+                        bitsPerElement, elementMask) == NO_ELEMENT;
+    }
+
+    /**
+     * Create a copy of this array, allocated from the same memory recycler, which may be modified
+     * without affecting this array.
+     *
+     * @return the copy
+     */
+    public FixedLengthMultipleOccurrenceElementArray copy() {
+        FixedLengthMultipleOccurrenceElementArray copy = new FixedLengthMultipleOccurrenceElementArray(
+                memoryRecycler, numNodes, bitsPerElement, maxElementsPerNode);
+        copy.nodesWithOrdinalZero.copyBits(nodesWithOrdinalZero, 0, 0, numNodes);
+        copy.storage.copyBits(storage, 0, 0, numNodes * bitsPerElement * maxElementsPerNode);
+        return copy;
+    }
+
     /**
      * A destructor function - call to free up the underlying memory.
      */
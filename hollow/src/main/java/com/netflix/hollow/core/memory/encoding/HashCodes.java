@@ -30,46 +30,73 @@ public class HashCodes {
     }
 
     public static int hashCode(final String data) {
+        return hashCode((CharSequence)data);
+    }
+
+    /**
+     * Hash the characters of the provided sequence as they would be encoded in a Hollow STRING field, one
+     * variable length integer per character, without materializing the encoded bytes.
+     * <p>
+     * The result is identical to {@link #hashCode(ByteData, long, int)} over the encoded bytes.
+     *
+     * @param data the characters to hash
+     * @return the hash code, or -1 if the data is null
+     */
+    public static int hashCode(final CharSequence data) {
         if(data == null)
             return -1;
-        
-        int arrayLen = calculateByteArrayLength(data);
-        
-        if(arrayLen == data.length()) {
-            return hashCode(new ByteData() {
-                @Override
-                public byte get(long position) {
-                    return (byte)(data.charAt((int)position) & 0x7F);
-                }
-            }, 0, data.length());
-        } else {
-            byte[] array = createByteArrayFromString(data, arrayLen);
 
-            return hashCode(array);
+        int h1 = MURMURHASH_SEED;
+        int block = 0;
+        int len = 0;
+
+        for(int i=0;i<data.length();i++) {
+            int c = data.charAt(i);
+            int shift = c < 0x80 ? 0 : c < 0x4000 ? 7 : 14;
+
+            for(;shift>=0;shift-=7) {
+                int b = (c >>> shift) & 0x7F;
+                if(shift != 0)
+                    b |= 0x80;
+
+                block |= b << ((len & 0x03) << 3);
+                if((++len & 0x03) == 0) {
+                    h1 = mixH1(h1, mixK1(block));
+                    block = 0;
+                }
+            }
         }
+
+        if((len & 0x03) != 0)
+            h1 ^= mixK1(block);
+
+        return fmix(h1 ^ len);
     }
     
     public static int hashCode(byte[] data) {
         return hashCode(new ArrayByteData(data), 0, data.length);
     }
 
-    private static int calculateByteArrayLength(String data) {
-        int length = data.length();
-        for(int i=0;i<data.length();i++) {
-            if(data.charAt(i) > 0x7F)
-                length += VarInt.sizeOfVInt(data.charAt(i)) - 1;
-        }
-        return length;
+    private static int mixK1(int k1) {
+        k1 *= 0xcc9e2d51;
+        k1 = (k1 << 15) | (k1 >>> 17); // ROTL32(k1,15);
+        k1 *= 0x1b873593;
+        return k1;
     }
 
-    private static byte[] createByteArrayFromString(String data, int arrayLen) {
-        byte array[] = new byte[arrayLen];
+    private static int mixH1(int h1, int k1) {
+        h1 ^= k1;
+        h1 = (h1 << 13) | (h1 >>> 19); // ROTL32(h1,13);
+        return h1 * 5 + 0xe6546b64;
+    }
 
-        int pos = 0;
-        for(int i=0;i<data.length();i++) {
-            pos = VarInt.writeVInt(array, pos, data.charAt(i));
-        }
-        return array;
+    private static int fmix(int h1) {
+        h1 ^= h1 >>> 16;
+        h1 *= 0x85ebca6b;
+        h1 ^= h1 >>> 13;
+        h1 *= 0xc2b2ae35;
+        h1 ^= h1 >>> 16;
+        return h1;
     }
     
     /**
@@ -0,0 +1,128 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.core.memory.encoding;
+
+import com.netflix.hollow.core.memory.BlobByteBuffer;
+import com.netflix.hollow.core.memory.BlobByteBufferInputStream;
+import com.netflix.hollow.core.memory.pool.ArraySegmentRecycler;
+import java.io.IOException;
+
+/**
+ * A read-only {@link FixedLengthElementArray} whose longs are read directly from a memory mapped blob.
+ * <p>
+ * The longs in a blob are serialized in big-endian byte order, so unlike the on-heap implementation an element
+ * value cannot be read with a single unaligned access.  Instead, each element is composed from the one or two
+ * longs which it spans.  As a result, elements of up to 64 bits may be retrieved with either
+ * {@link #getElementValue(long, int, long)} or {@link #getLargeElementValue(long, int, long)}.
+ */
+public class MappedFixedLengthElementArray extends FixedLengthElementArray {
+
+    private final BlobByteBuffer buffer;
+    private final long startByte;
+    private final long numLongs;
+
+    MappedFixedLengthElementArray(BlobByteBuffer buffer, long startByte, long numLongs) {
+        super(0); // segments are not used for mapped data
+        this.buffer = buffer;
+        this.startByte = startByte;
+        this.numLongs = numLongs;
+    }
+
+    static MappedFixedLengthElementArray mapFrom(BlobByteBufferInputStream is, long numLongs) throws IOException {
+        MappedFixedLengthElementArray arr = new MappedFixedLengthElementArray(is.getBuffer(), is.position(), numLongs);
+        is.seekForward(numLongs * 8);
+        return arr;
+    }
+
+    @Override
+    public long get(long index) {
+        return buffer.getLong(startByte + (index << 3));
+    }
+
+    @Override
+    public long getElementValue(long index, int bitsPerElement, long mask) {
+        return getLargeElementValue(index, bitsPerElement, mask);
+    }
+
+    @Override
+    public void getElementValues(long index, int bitsPerElement, long bitsBetweenElements, long[] values, int count) {
+        long mask = (1L << bitsPerElement) - 1;
+        for(int i = 0; i < count; i++) {
+            values[i] = getLargeElementValue(index, bitsPerElement, mask);
+            index += bitsBetweenElements;
+        }
+    }
+
+    @Override
+    public long getLargeElementValue(long index, int bitsPerElement, long mask) {
+        long whichLong = index >>> 6;
+        int whichBit = (int) (index & 0x3F);
+
+        long l = get(whichLong) >>> whichBit;
+
+        int bitsRemaining = 64 - whichBit;
+
+        if (bitsRemaining < bitsPerElement)
+            l |= get(whichLong + 1) << bitsRemaining;
+
+        return l & mask;
+    }
+
+    @Override
+    public void set(long index, long value) {
+        throw new UnsupportedOperationException("Memory mapped data is read-only");
+    }
+
+    @Override
+    public void fill(long value) {
+        throw new UnsupportedOperationException("Memory mapped data is read-only");
+    }
+
+    @Override
+    public void clearElementValue(long index, int bitsPerElement) {
+        throw new UnsupportedOperationException("Memory mapped data is read-only");
+    }
+
+    @Override
+    public void setElementValue(long index, int bitsPerElement, long value) {
+        throw new UnsupportedOperationException("Memory mapped data is read-only");
+    }
+
+    @Override
+    public void copyBits(FixedLengthElementArray copyFrom, long sourceStartBit, long destStartBit, long numBits) {
+        throw new UnsupportedOperationException("Memory mapped data is read-only");
+    }
+
+    @Override
+    public void increment(long index, long increment) {
+        throw new UnsupportedOperationException("Memory mapped data is read-only");
+    }
+
+    /**
+     * The mapping is released when this array becomes unreachable, so there is nothing to return to the recycler.
+     */
+    @Override
+    public void destroy(ArraySegmentRecycler memoryRecycler) { }
+
+    /**
+     * @return the number of longs in this array
+     */
+    public long numLongs() {
+        return numLongs;
+    }
+
+}
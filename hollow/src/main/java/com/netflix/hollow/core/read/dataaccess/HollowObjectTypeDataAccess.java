@@ -101,6 +101,31 @@ public interface HollowObjectTypeDataAccess extends HollowTypeDataAccess {
      */
     boolean isStringFieldEqual(int ordinal, int fieldIndex, String testValue);
 
+    /**
+     * Point a view at the {@link FieldType#STRING} field's value at the specified fieldIndex for the specified ordinal,
+     * without creating a String.
+     * <p>
+     * Implementations which do not retain the encoded value populate the view from {@link #readString(int, int)}.
+     *
+     * @param ordinal the ordinal
+     * @param fieldIndex the field index
+     * @param view the view to populate
+     * @return false if the field's value is null, in which case the view is cleared
+     */
+    default boolean readString(int ordinal, int fieldIndex, HollowStringView view) {
+        return view.set(readString(ordinal, fieldIndex));
+    }
+
+    /**
+     * @param ordinal the ordinal
+     * @param fieldIndex the field index
+     * @param testValue the value to test against
+     * @return whether or not the {@link FieldType#STRING} field's value at the specified fieldIndex for the specified ordinal is exactly equal to the given characters.
+     */
+    default boolean isStringFieldEqual(int ordinal, int fieldIndex, CharSequence testValue) {
+        return isStringFieldEqual(ordinal, fieldIndex, testValue == null ? null : testValue.toString());
+    }
+
     /**
      * @param ordinal the ordinal
      * @param fieldIndex the field index
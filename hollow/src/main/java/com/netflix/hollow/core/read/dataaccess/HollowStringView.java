@@ -0,0 +1,230 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.core.read.dataaccess;
+
+import com.netflix.hollow.core.memory.ArrayByteData;
+import com.netflix.hollow.core.memory.ByteData;
+import com.netflix.hollow.core.memory.encoding.HashCodes;
+import com.netflix.hollow.core.memory.encoding.VarInt;
+import com.netflix.hollow.core.schema.HollowObjectSchema.FieldType;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * A reusable view over the value of a {@link FieldType#STRING} field, which refers directly to the field's
+ * encoded bytes rather than decoding them into a new String.
+ * <p>
+ * A STRING field is encoded as one variable length integer per character, so characters below 0x80 take a
+ * single byte and all others take two or three.  The view exposes both the characters, as a {@link CharSequence},
+ * and the encoded bytes.
+ * <p>
+ * A view is populated by {@link HollowObjectTypeDataAccess#readString(int, int, HollowStringView)}.  It may be
+ * reused for any number of reads, but is not thread-safe.  When populated from a read state engine, the view refers
+ * to the engine's memory and is only valid until the next delta is applied to the engine.
+ */
+public class HollowStringView implements CharSequence {
+
+    private ByteData data;
+    private long start;
+    private int encodedLength;
+    private int length;
+
+    private byte[] ownedBytes;
+    private ByteData ownedData;
+    private char[] decodedChars;
+    private boolean decoded;
+
+    /**
+     * Point this view at a range of encoded bytes.
+     *
+     * @param data the data containing the encoded characters
+     * @param start the position of the first encoded byte
+     * @param encodedLength the number of encoded bytes
+     */
+    public void set(ByteData data, long start, int encodedLength) {
+        this.data = data;
+        this.start = start;
+        this.encodedLength = encodedLength;
+        this.length = -1;
+        this.decoded = false;
+    }
+
+    /**
+     * Point this view at the characters of a String, for data accesses which do not retain encoded bytes.
+     *
+     * @param value the value, or null
+     * @return false if the value is null, in which case the view is cleared
+     */
+    public boolean set(String value) {
+        if(value == null) {
+            clear();
+            return false;
+        }
+
+        int encodedLength = 0;
+        for(int i=0;i<value.length();i++)
+            encodedLength += VarInt.sizeOfVInt(value.charAt(i));
+
+        if(ownedBytes == null || ownedBytes.length < encodedLength) {
+            ownedBytes = new byte[encodedLength];
+            ownedData = new ArrayByteData(ownedBytes);
+        }
+
+        int pos = 0;
+        for(int i=0;i<value.length();i++)
+            pos = VarInt.writeVInt(ownedBytes, pos, value.charAt(i));
+
+        set(ownedData, 0, encodedLength);
+        this.length = value.length();
+        return true;
+    }
+
+    /**
+     * Clear this view, so that it represents an empty sequence.
+     */
+    public void clear() {
+        set(null, 0, 0);
+        this.length = 0;
+    }
+
+    @Override
+    public int length() {
+        if(length == -1)
+            length = VarInt.countVarIntsInRange(data, start, encodedLength);
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if(index < 0 || index >= length())
+            throw new IndexOutOfBoundsException("index " + index + " out of bounds for length " + length);
+
+        if(length == encodedLength)
+            return (char)data.get(start + index);
+
+        if(!decoded) {
+            if(decodedChars == null || decodedChars.length < length)
+                decodedChars = new char[length];
+            getChars(decodedChars, 0);
+            decoded = true;
+        }
+
+        return decodedChars[index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().substring(start, end);
+    }
+
+    @Override
+    public String toString() {
+        char[] chars = new char[length()];
+        getChars(chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * Copy the characters of this view into the destination array.
+     *
+     * @param dest the destination array, which must have space for {@link #length()} characters after destPos
+     * @param destPos the position in the destination array of the first character
+     * @return the number of characters copied
+     */
+    public int getChars(char[] dest, int destPos) {
+        long position = start;
+        long endPosition = start + encodedLength;
+        int count = 0;
+
+        while(position < endPosition) {
+            int c = VarInt.readVInt(data, position);
+            dest[destPos + count++] = (char)c;
+            position += VarInt.sizeOfVInt(c);
+        }
+
+        return count;
+    }
+
+    /**
+     * @return the number of encoded bytes
+     */
+    public int encodedLength() {
+        return encodedLength;
+    }
+
+    /**
+     * @param index the index of the encoded byte, less than {@link #encodedLength()}
+     * @return the encoded byte at the index
+     */
+    public byte encodedByteAt(int index) {
+        if(index < 0 || index >= encodedLength)
+            throw new IndexOutOfBoundsException("index " + index + " out of bounds for encoded length " + encodedLength);
+        return data.get(start + index);
+    }
+
+    /**
+     * Copy the encoded bytes of this view into the destination buffer, starting at its current position.
+     * <p>
+     * Values consisting only of characters below 0x80 are encoded identically in UTF-8.
+     *
+     * @param dest the destination buffer, which must have at least {@link #encodedLength()} bytes remaining
+     * @return the number of bytes copied
+     */
+    public int getEncodedBytes(ByteBuffer dest) {
+        if(dest.remaining() < encodedLength)
+            throw new BufferOverflowException();
+
+        if(encodedLength > 0 && dest.hasArray()) {
+            data.copy(start, dest.array(), dest.arrayOffset() + dest.position(), encodedLength);
+            dest.position(dest.position() + encodedLength);
+        } else {
+            for(int i=0;i<encodedLength;i++)
+                dest.put(data.get(start + i));
+        }
+        return encodedLength;
+    }
+
+    /**
+     * @param other the characters to compare against
+     * @return whether the characters of this view are exactly equal to the other characters
+     */
+    public boolean contentEquals(CharSequence other) {
+        if(other == null || other.length() > encodedLength)
+            return false;
+
+        long position = start;
+        long endPosition = start + encodedLength;
+        int count = 0;
+
+        while(position < endPosition && count < other.length()) {
+            int c = VarInt.readVInt(data, position);
+            if(other.charAt(count++) != (char)c)
+                return false;
+            position += VarInt.sizeOfVInt(c);
+        }
+
+        return position == endPosition && count == other.length();
+    }
+
+    /**
+     * @return the hash code of the encoded bytes, identical to {@link HashCodes#hashCode(String)} of the value
+     */
+    public int encodedHashCode() {
+        return HashCodes.hashCode(data, start, encodedLength);
+    }
+
+}
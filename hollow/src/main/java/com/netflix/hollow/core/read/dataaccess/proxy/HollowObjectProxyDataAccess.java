@@ -17,6 +17,7 @@
 package com.netflix.hollow.core.read.dataaccess.proxy;
 
 import com.netflix.hollow.core.read.dataaccess.HollowObjectTypeDataAccess;
+import com.netflix.hollow.core.read.dataaccess.HollowStringView;
 import com.netflix.hollow.core.read.dataaccess.HollowTypeDataAccess;
 import com.netflix.hollow.core.schema.HollowObjectSchema;
 
@@ -90,6 +91,16 @@ public class HollowObjectProxyDataAccess extends HollowTypeProxyDataAccess imple
         return ((HollowObjectTypeDataAccess) currentDataAccess).isStringFieldEqual(ordinal, fieldIndex, testValue);
     }
 
+    @Override
+    public boolean readString(int ordinal, int fieldIndex, HollowStringView view) {
+        return ((HollowObjectTypeDataAccess) currentDataAccess).readString(ordinal, fieldIndex, view);
+    }
+
+    @Override
+    public boolean isStringFieldEqual(int ordinal, int fieldIndex, CharSequence testValue) {
+        return ((HollowObjectTypeDataAccess) currentDataAccess).isStringFieldEqual(ordinal, fieldIndex, testValue);
+    }
+
     @Override
     public int findVarLengthFieldHashCode(int ordinal, int fieldIndex) {
         return ((HollowObjectTypeDataAccess) currentDataAccess).findVarLengthFieldHashCode(ordinal, fieldIndex);
@@ -17,7 +17,14 @@
 package com.netflix.hollow.core.read.engine;
 
 import com.netflix.hollow.core.HollowBlobHeader;
+import com.netflix.hollow.core.HollowStateEngine;
+import com.netflix.hollow.core.memory.BlobByteBuffer;
+import com.netflix.hollow.core.memory.BlobByteBufferInputStream;
+import com.netflix.hollow.core.memory.BlockCompressedBlob;
+import com.netflix.hollow.core.memory.MemoryMode;
 import com.netflix.hollow.core.memory.encoding.VarInt;
+import com.netflix.hollow.core.memory.pool.ArraySegmentRecycler;
+import com.netflix.hollow.core.memory.pool.RecyclingRecycler;
 import com.netflix.hollow.core.read.engine.list.HollowListTypeReadState;
 import com.netflix.hollow.core.read.engine.map.HollowMapTypeReadState;
 import com.netflix.hollow.core.read.engine.object.HollowObjectTypeReadState;
@@ -29,12 +36,25 @@ import com.netflix.hollow.core.schema.HollowMapSchema;
 import com.netflix.hollow.core.schema.HollowObjectSchema;
 import com.netflix.hollow.core.schema.HollowSchema;
 import com.netflix.hollow.core.schema.HollowSetSchema;
+import java.io.BufferedInputStream;
 import java.io.DataInputStream;
 import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
 import java.util.logging.Logger;
 
 /**
@@ -46,14 +66,59 @@ public class HollowBlobReader {
     private final Logger log = Logger.getLogger(HollowBlobReader.class.getName());
     private final HollowReadStateEngine stateEngine;
     private final HollowBlobHeaderReader headerReader;
+    private final MemoryMode memoryMode;
+    private final Queue<ArraySegmentRecycler> deltaRecyclers = new ConcurrentLinkedQueue<ArraySegmentRecycler>();
 
     public HollowBlobReader(HollowReadStateEngine stateEngine) {
         this(stateEngine, new HollowBlobHeaderReader());
     }
 
     public HollowBlobReader(HollowReadStateEngine stateEngine, HollowBlobHeaderReader headerReader) {
+        this(stateEngine, headerReader, MemoryMode.ON_HEAP);
+    }
+
+    public HollowBlobReader(HollowReadStateEngine stateEngine, MemoryMode memoryMode) {
+        this(stateEngine, new HollowBlobHeaderReader(), memoryMode);
+    }
+
+    public HollowBlobReader(HollowReadStateEngine stateEngine, HollowBlobHeaderReader headerReader, MemoryMode memoryMode) {
         this.stateEngine = stateEngine;
         this.headerReader = headerReader;
+        this.memoryMode = memoryMode;
+    }
+
+    /**
+     * Initialize the state engine using a snapshot blob from the provided file.
+     * <p>
+     * If this reader was created with {@link MemoryMode#SHARED_MEMORY}, the file is memory mapped and the
+     * data of each type is read directly from the mapping.  The file must not be modified or truncated
+     * while the state engine is in use.
+     *
+     * @param file the snapshot file
+     * @throws IOException if the snapshot could not be read
+     */
+    public void readSnapshot(File file) throws IOException {
+        readSnapshot(file, new HollowFilterConfig(true));
+    }
+
+    /**
+     * Initialize the state engine using a snapshot blob from the provided file.
+     * <p>
+     * Apply the provided {@link TypeFilter} to the state.
+     *
+     * @param file the snapshot file
+     * @param filter the type filter to filter the snapshot
+     * @throws IOException if the snapshot could not be read
+     * @see #readSnapshot(File)
+     */
+    public void readSnapshot(File file, TypeFilter filter) throws IOException {
+        if(memoryMode.isSharedMemory()) {
+            readSnapshot(new BlobByteBufferInputStream(BlobByteBuffer.mmapBlob(file)), filter);
+        } else {
+            try(InputStream is = new BufferedInputStream(new FileInputStream(file))) {
+                readSnapshot(is, filter);
+            }
+        }
     }
 
     /**
@@ -87,12 +152,16 @@ public class HollowBlobReader {
      * Initialize the state engine using a snapshot blob from the provided InputStream.
      * <p>
      * Apply the provided {@link TypeFilter} to the state.
+     * <p>
+     * A {@link BlockCompressedBlob block compressed} blob is decompressed as it is read, and the blocks holding only
+     * filtered types are skipped without being decompressed.
      *
      * @param is the input stream to read the snaptshot
      * @param filter the type filter to filter the snapshot
      * @throws IOException if the snapshot could not be read
      */
     public void readSnapshot(InputStream is, TypeFilter filter) throws IOException {
+        is = BlockCompressedBlob.decompressIfBlockCompressed(is);
         HollowBlobHeader header = readHeader(is, false);
         filter = filter.resolve(header.getSchemas());
 
@@ -100,7 +169,8 @@ public class HollowBlobReader {
 
         long startTime = System.currentTimeMillis();
 
-        DataInputStream dis = new DataInputStream(is);
+        /// a mapped stream is used as-is, so that type states may recognize it and map their data
+        DataInputStream dis = is instanceof BlobByteBufferInputStream ? (DataInputStream)is : new DataInputStream(is);
 
         int numStates = VarInt.readVInt(dis);
 
@@ -122,6 +192,96 @@ public class HollowBlobReader {
         stateEngine.afterInitialization();
     }
 
+    /**
+     * Initialize the state engine using a snapshot blob read in ranges from the provided {@link RangedBlobSource}.
+     * <p>
+     * Apply the provided {@link TypeFilter} to the state.  If the blob records the length of each type's section
+     * (see {@link HollowStateEngine#HEADER_TAG_TYPE_SECTION_LENGTHS}), the sections of filtered types are never
+     * fetched from the source, and only the header, the schemas and the sections of the selected types are read.
+     * Otherwise the entire blob is fetched in consecutive ranges.
+     *
+     * @param source the source of the snapshot blob
+     * @param filter the type filter to filter the snapshot
+     * @throws IOException if the snapshot could not be read
+     */
+    public void readSnapshot(RangedBlobSource source, TypeFilter filter) throws IOException {
+        readSnapshot(source, filter, RangedBlobInputStream.DEFAULT_WINDOW_SIZE);
+    }
+
+    void readSnapshot(RangedBlobSource source, TypeFilter filter, int windowSize) throws IOException {
+        try(InputStream is = new RangedBlobInputStream(source, windowSize)) {
+            readSnapshot(is, filter);
+        }
+    }
+
+    /**
+     * Initialize the state engine using a snapshot blob from the provided file, deserializing types and
+     * their shards concurrently on the provided {@link Executor}.
+     * <p>
+     * The file is memory mapped regardless of this reader's {@link MemoryMode}; with {@link MemoryMode#ON_HEAP}
+     * the mapping is only used as the source from which the data is copied onto the heap.
+     *
+     * @param file the snapshot file
+     * @param filter the type filter to filter the snapshot
+     * @param executor the executor on which shards are deserialized
+     * @throws IOException if the snapshot could not be read
+     * @see #readSnapshot(BlobByteBuffer, TypeFilter, Executor)
+     */
+    public void readSnapshot(File file, TypeFilter filter, Executor executor) throws IOException {
+        readSnapshot(BlobByteBuffer.mmapBlob(file), filter, executor);
+    }
+
+    /**
+     * Initialize the state engine using a snapshot blob held in the provided buffer, deserializing types and
+     * their shards concurrently on the provided {@link Executor}.
+     * <p>
+     * If the blob is a {@link BlockCompressedBlob block compressed container}, its blocks are first decompressed
+     * concurrently on the provided executor.
+     * <p>
+     * The blob is scanned once on the calling thread to locate the boundaries of each shard, which is cheap relative
+     * to deserialization since only the headers of the fixed and variable length data are read.  Each shard is then
+     * read as an independent task from its own position in the buffer.  Listeners are notified of populated ordinals
+     * once all of a type's shards have been read.  This method returns once the entire snapshot has been read.
+     *
+     * @param blob the snapshot blob
+     * @param filter the type filter to filter the snapshot
+     * @param executor the executor on which shards are deserialized
+     * @throws IOException if the snapshot could not be read
+     */
+    public void readSnapshot(BlobByteBuffer blob, TypeFilter filter, Executor executor) throws IOException {
+        if(BlockCompressedBlob.isBlockCompressed(blob))
+            blob = BlockCompressedBlob.decompress(blob, executor);
+
+        BlobByteBufferInputStream is = new BlobByteBufferInputStream(blob, 0, memoryMode);
+
+        HollowBlobHeader header = readHeader(is, false);
+        filter = filter.resolve(header.getSchemas());
+
+        notifyBeginUpdate();
+
+        long startTime = System.currentTimeMillis();
+
+        int numStates = VarInt.readVInt(is);
+
+        Collection<String> typeNames = new TreeSet<String>();
+        List<CompletableFuture<Void>> typeReads = new ArrayList<CompletableFuture<Void>>(numStates);
+        for(int i=0;i<numStates;i++)
+            typeReads.add(readTypeStateSnapshot(is, header, filter, executor, typeNames));
+
+        awaitCompletion(typeReads, "Unable to read snapshot");
+
+        stateEngine.wireTypeStatesToSchemas();
+
+        long endTime = System.currentTimeMillis();
+
+        log.info("SNAPSHOT COMPLETED IN " + (endTime - startTime) + "ms");
+        log.info("TYPES: " + typeNames);
+
+        notifyEndUpdate();
+
+        stateEngine.afterInitialization();
+    }
+
     /**
      * Update the state engine using a delta (or reverse delta) blob from the provided InputStream.
      * <p>
@@ -132,6 +292,7 @@ public class HollowBlobReader {
      * @throws IOException if the delta could not be applied
      */
     public void applyDelta(InputStream is) throws IOException {
+        is = BlockCompressedBlob.decompressIfBlockCompressed(is);
         HollowBlobHeader header = readHeader(is, true);
         notifyBeginUpdate();
 
@@ -157,6 +318,91 @@ public class HollowBlobReader {
 
     }
 
+    /**
+     * Update the state engine using a delta (or reverse delta) blob from the provided InputStream, applying the
+     * delta of each type concurrently on the provided {@link Executor}.
+     * <p>
+     * The remainder of the blob after the header is buffered on the heap so that the boundaries of each type's
+     * delta may be located before any of them are applied.  It is buffered in chunks, so it may exceed 2GB.  Each type is applied as a single task, and each task
+     * borrows a memory recycler from a pool held by this reader for the duration of the task, since recyclers are
+     * not thread-safe.  The pooled recyclers retain their segments between deltas.
+     * <p>
+     * Listeners attached to a type are notified on the thread applying that type's delta.  A listener
+     * attached to more than one type must therefore be thread-safe.
+     *
+     * @param is the input stream to read the delta from
+     * @param executor the executor on which type deltas are applied
+     * @throws IOException if the delta could not be applied
+     * @see #applyDelta(InputStream)
+     */
+    public void applyDelta(InputStream is, Executor executor) throws IOException {
+        is = BlockCompressedBlob.decompressIfBlockCompressed(is);
+        HollowBlobHeader header = readHeader(is, true);
+        notifyBeginUpdate();
+
+        long startTime = System.currentTimeMillis();
+
+        BlobByteBufferInputStream dis = new BlobByteBufferInputStream(BlobByteBuffer.readFrom(is), 0, MemoryMode.ON_HEAP);
+
+        int numStates = VarInt.readVInt(dis);
+
+        Collection<String> typeNames = new TreeSet<String>();
+        List<CompletableFuture<Void>> typeDeltas = new ArrayList<CompletableFuture<Void>>(numStates);
+        for(int i=0;i<numStates;i++) {
+            HollowSchema schema = HollowSchema.readFrom(dis);
+            TypeSectionHeader section = readTypeSectionHeader(dis, header);
+            typeNames.add(schema.getName());
+
+            HollowTypeReadState typeState = stateEngine.getTypeState(schema.getName());
+            if(typeState != null) {
+                BlobByteBufferInputStream typeStream = dis.duplicate();
+                typeDeltas.add(CompletableFuture.runAsync(() -> applyTypeDelta(typeState, typeStream, schema), executor));
+            }
+
+            if(section.hasDataLength())
+                dis.seekForward(section.dataLength);
+            else
+                discardDelta(dis, schema, section.numShards);
+        }
+
+        awaitCompletion(typeDeltas, "Unable to apply delta");
+
+        long endTime = System.currentTimeMillis();
+
+        log.info("DELTA COMPLETED IN " + (endTime - startTime) + "ms");
+        log.info("TYPES: " + typeNames);
+
+        notifyEndUpdate();
+
+    }
+
+    private void applyTypeDelta(HollowTypeReadState typeState, DataInputStream dis, HollowSchema schema) {
+        ArraySegmentRecycler memoryRecycler = deltaRecyclers.poll();
+        if(memoryRecycler == null) {
+            ArraySegmentRecycler engineRecycler = stateEngine.getMemoryRecycler();
+            memoryRecycler = new RecyclingRecycler(engineRecycler.getLog2OfByteSegmentSize(), engineRecycler.getLog2OfLongSegmentSize());
+        }
+
+        try {
+            typeState.applyDelta(dis, schema, memoryRecycler);
+        } catch(IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            memoryRecycler.swap();
+            deltaRecyclers.offer(memoryRecycler);
+        }
+    }
+
+    private static void awaitCompletion(List<CompletableFuture<Void>> futures, String failureMessage) throws IOException {
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } catch(CompletionException e) {
+            if(e.getCause() instanceof UncheckedIOException)
+                throw ((UncheckedIOException)e.getCause()).getCause();
+            throw new IOException(failureMessage, e.getCause());
+        }
+    }
+
     private HollowBlobHeader readHeader(InputStream is, boolean isDelta) throws IOException {
         HollowBlobHeader header = headerReader.readHeader(is);
 
@@ -164,7 +410,10 @@ public class HollowBlobReader {
             throw new IOException("Attempting to apply a delta to a state from which it was not originated!");
 
         stateEngine.setCurrentRandomizedTag(header.getDestinationRandomizedTag());
-        stateEngine.setHeaderTags(header.getHeaderTags());
+        /// the layout of the blob is not exposed as a tag of the state
+        Map<String, String> headerTags = new HashMap<String, String>(header.getHeaderTags());
+        headerTags.remove(HollowStateEngine.HEADER_TAG_TYPE_SECTION_LENGTHS);
+        stateEngine.setHeaderTags(headerTags);
         return header;
     }
 
@@ -186,81 +435,143 @@ public class HollowBlobReader {
 
     private String readTypeStateSnapshot(DataInputStream is, HollowBlobHeader header, TypeFilter filter) throws IOException {
         HollowSchema schema = HollowSchema.readFrom(is);
-        int numShards = readNumShards(is);
-        String typeName = schema.getName();
+        TypeSectionHeader section = readTypeSectionHeader(is, header);
+        int numShards = section.numShards;
+
+        HollowTypeReadState typeState = createTypeReadState(schema, numShards, filter);
+        if(typeState == null) {
+            if(section.hasDataLength())
+                skipFully(is, section.dataLength);
+            else
+                discardSnapshot(is, schema, numShards);
+        } else {
+            stateEngine.addTypeState(typeState);
+            typeState.readSnapshot(is, stateEngine.getMemoryRecycler());
+        }
+
+        return schema.getName();
+    }
+
+    private CompletableFuture<Void> readTypeStateSnapshot(BlobByteBufferInputStream is, HollowBlobHeader header, TypeFilter filter, Executor executor, Collection<String> typeNames) throws IOException {
+        HollowSchema schema = HollowSchema.readFrom(is);
+        TypeSectionHeader section = readTypeSectionHeader(is, header);
+        int numShards = section.numShards;
+        typeNames.add(schema.getName());
+
+        HollowTypeReadState typeState = createTypeReadState(schema, numShards, filter);
+        if(typeState == null) {
+            if(section.hasDataLength())
+                is.seekForward(section.dataLength);
+            else
+                discardSnapshot(is, schema, numShards);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        stateEngine.addTypeState(typeState);
+        return typeState.readSnapshot(is, stateEngine.getMemoryRecycler(), executor);
+    }
+
+    /**
+     * @return a new type state for the schema, or null if the type is excluded by the filter
+     */
+    private HollowTypeReadState createTypeReadState(HollowSchema schema, int numShards, TypeFilter filter) {
+        if(!filter.includes(schema.getName()))
+            return null;
 
         if(schema instanceof HollowObjectSchema) {
-            if(!filter.includes(typeName)) {
-                HollowObjectTypeReadState.discardSnapshot(is, (HollowObjectSchema)schema, numShards);
-            } else {
-                HollowObjectSchema unfilteredSchema = (HollowObjectSchema)schema;
-                HollowObjectSchema filteredSchema = unfilteredSchema.filterSchema(filter);
-                populateTypeStateSnapshot(is, new HollowObjectTypeReadState(stateEngine, filteredSchema, unfilteredSchema, numShards));
-            }
+            HollowObjectSchema unfilteredSchema = (HollowObjectSchema)schema;
+            HollowObjectSchema filteredSchema = unfilteredSchema.filterSchema(filter);
+            return new HollowObjectTypeReadState(stateEngine, filteredSchema, unfilteredSchema, numShards);
         } else if (schema instanceof HollowListSchema) {
-            if(!filter.includes(typeName)) {
-                HollowListTypeReadState.discardSnapshot(is, numShards);
-            } else {
-                populateTypeStateSnapshot(is, new HollowListTypeReadState(stateEngine, (HollowListSchema)schema, numShards));
-            }
+            return new HollowListTypeReadState(stateEngine, (HollowListSchema)schema, numShards);
         } else if(schema instanceof HollowSetSchema) {
-            if(!filter.includes(typeName)) {
-                HollowSetTypeReadState.discardSnapshot(is, numShards);
-            } else {
-                populateTypeStateSnapshot(is, new HollowSetTypeReadState(stateEngine, (HollowSetSchema)schema, numShards));
-            }
+            return new HollowSetTypeReadState(stateEngine, (HollowSetSchema)schema, numShards);
         } else if(schema instanceof HollowMapSchema) {
-            if(!filter.includes(typeName)) {
-                HollowMapTypeReadState.discardSnapshot(is, numShards);
-            } else {
-                populateTypeStateSnapshot(is, new HollowMapTypeReadState(stateEngine, (HollowMapSchema)schema, numShards));
-            }
+            return new HollowMapTypeReadState(stateEngine, (HollowMapSchema)schema, numShards);
         }
-        
-        return typeName;
-    }
 
-    private void populateTypeStateSnapshot(DataInputStream is, HollowTypeReadState typeState) throws IOException {
-        stateEngine.addTypeState(typeState);
-        typeState.readSnapshot(is, stateEngine.getMemoryRecycler());
+        return null;
     }
 
     private String readTypeStateDelta(DataInputStream is, HollowBlobHeader header) throws IOException {
         HollowSchema schema = HollowSchema.readFrom(is);
 
-        int numShards = readNumShards(is);
+        TypeSectionHeader section = readTypeSectionHeader(is, header);
 
         HollowTypeReadState typeState = stateEngine.getTypeState(schema.getName());
         if(typeState != null) {
             typeState.applyDelta(is, schema, stateEngine.getMemoryRecycler());
+        } else if(section.hasDataLength()) {
+            skipFully(is, section.dataLength);
         } else {
-            discardDelta(is, schema, numShards);
+            discardDelta(is, schema, section.numShards);
         }
         
         return schema.getName();
     }
 
-    private int readNumShards(DataInputStream is) throws IOException {
+    private TypeSectionHeader readTypeSectionHeader(DataInputStream is, HollowBlobHeader header) throws IOException {
         int backwardsCompatibilityBytes = VarInt.readVInt(is);
         
         if(backwardsCompatibilityBytes == 0)
-            return 1;  /// produced by a version of hollow prior to 2.1.0, always only 1 shard.
+            return new TypeSectionHeader(1, -1);  /// produced by a version of hollow prior to 2.1.0, always only 1 shard.
         
-        skipForwardsCompatibilityBytes(is);
+        int forwardsCompatibilityBytes = VarInt.readVInt(is);
+
+        long dataLength = -1;
+        if(forwardsCompatibilityBytes > 0 && hasTypeSectionLengths(header)) {
+            dataLength = VarInt.readVLong(is);
+            forwardsCompatibilityBytes -= VarInt.sizeOfVLong(dataLength);
+        }
+
+        skipFully(is, forwardsCompatibilityBytes);
         
-        return VarInt.readVInt(is);
+        return new TypeSectionHeader(VarInt.readVInt(is), dataLength);
     }
-        
-    private void skipForwardsCompatibilityBytes(DataInputStream is) throws IOException {
-        int bytesToSkip = VarInt.readVInt(is);
+
+    private static boolean hasTypeSectionLengths(HollowBlobHeader header) {
+        return Boolean.parseBoolean(header.getHeaderTags().get(HollowStateEngine.HEADER_TAG_TYPE_SECTION_LENGTHS));
+    }
+
+    private void skipFully(DataInputStream is, long bytesToSkip) throws IOException {
         while(bytesToSkip > 0) {
-            int skippedBytes = (int)is.skip(bytesToSkip);
-            if(skippedBytes < 0)
-                throw new EOFException();
+            long skippedBytes = is.skip(bytesToSkip);
+            if(skippedBytes <= 0) {
+                if(is.read() == -1)
+                    throw new EOFException();
+                skippedBytes = 1;
+            }
             bytesToSkip -= skippedBytes;
         }
     }
 
+    /**
+     * The number of shards of a type, and the length of the type's data if the blob records it.
+     */
+    private static class TypeSectionHeader {
+        private final int numShards;
+        private final long dataLength;
+
+        TypeSectionHeader(int numShards, long dataLength) {
+            this.numShards = numShards;
+            this.dataLength = dataLength;
+        }
+
+        boolean hasDataLength() {
+            return dataLength >= 0;
+        }
+    }
+
+    private void discardSnapshot(DataInputStream dis, HollowSchema schema, int numShards) throws IOException {
+        if(schema instanceof HollowObjectSchema)
+            HollowObjectTypeReadState.discardSnapshot(dis, (HollowObjectSchema)schema, numShards);
+        else if(schema instanceof HollowListSchema)
+            HollowListTypeReadState.discardSnapshot(dis, numShards);
+        else if(schema instanceof HollowSetSchema)
+            HollowSetTypeReadState.discardSnapshot(dis, numShards);
+        else if(schema instanceof HollowMapSchema)
+            HollowMapTypeReadState.discardSnapshot(dis, numShards);
+    }
 
     private void discardDelta(DataInputStream dis, HollowSchema schema, int numShards) throws IOException {
         if(schema instanceof HollowObjectSchema)
@@ -33,6 +33,10 @@ import com.netflix.hollow.core.schema.HollowSchema;
 import com.netflix.hollow.core.schema.HollowSetSchema;
 import com.netflix.hollow.core.util.DefaultHashCodeFinder;
 import com.netflix.hollow.core.util.HollowObjectHashCodeFinder;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -174,6 +178,51 @@ public class HollowReadStateEngine implements HollowStateEngine, HollowDataAcces
                 .sum();
     }
 
+    /**
+     * Create a state engine which shares the current data of this state engine, and is not affected by deltas
+     * subsequently applied to this state engine.  Records read from the pinned state engine read directly from the
+     * shared data.
+     * <p>
+     * The pinned state engine is only valid while the memory of the shared data is not reused.  A delta returns the
+     * memory of the data it replaces to this state engine's {@link ArraySegmentRecycler}, so that recycler must not
+     * reuse the memory, for example a {@link com.netflix.hollow.core.memory.pool.WastefulRecycler}, which leaves the
+     * memory to be garbage collected once the pinned state engine is unreachable.
+     *
+     * @return the pinned state engine
+     */
+    public HollowReadStateEngine pinCurrentState() {
+        HollowReadStateEngine pinnedState = new HollowReadStateEngine(hashCodeFinder, true, memoryRecycler);
+
+        for(HollowTypeReadState typeState : typeStates.values()) {
+            /// the schemas are copied, since a schema refers to the type states of the types it references
+            HollowTypeReadState pinnedTypeState = typeState.pinCurrentData(pinnedState, copySchema(typeState.getSchema()));
+            pinnedState.addTypeState(pinnedTypeState);
+
+            PopulatedOrdinalListener listener = typeState.getListener(PopulatedOrdinalListener.class);
+            PopulatedOrdinalListener pinnedListener = pinnedTypeState.getListener(PopulatedOrdinalListener.class);
+            pinnedListener.getPopulatedOrdinals().or(listener.getPopulatedOrdinals());
+            pinnedListener.getPreviousOrdinals().or(listener.getPreviousOrdinals());
+        }
+
+        pinnedState.wireTypeStatesToSchemas();
+        if(headerTags != null)
+            pinnedState.setHeaderTags(headerTags);
+        pinnedState.setCurrentRandomizedTag(currentRandomizedTag);
+        pinnedState.setMissingDataHandler(missingDataHandler);
+
+        return pinnedState;
+    }
+
+    private static HollowSchema copySchema(HollowSchema schema) {
+        try {
+            ByteArrayOutputStream os = new ByteArrayOutputStream();
+            schema.writeTo(os);
+            return HollowSchema.readFrom(new ByteArrayInputStream(os.toByteArray()));
+        } catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @Override
     public HollowTypeDataAccess getTypeDataAccess(String type) {
         return typeStates.get(type);
@@ -17,16 +17,22 @@
 package com.netflix.hollow.core.read.engine;
 
 import com.netflix.hollow.api.sampling.HollowSampler;
+import com.netflix.hollow.core.memory.BlobByteBufferInputStream;
 import com.netflix.hollow.core.memory.encoding.GapEncodedVariableLengthIntegerReader;
+import com.netflix.hollow.core.memory.encoding.VarInt;
 import com.netflix.hollow.core.memory.pool.ArraySegmentRecycler;
+import com.netflix.hollow.core.memory.pool.WastefulRecycler;
 import com.netflix.hollow.core.read.dataaccess.HollowDataAccess;
 import com.netflix.hollow.core.read.dataaccess.HollowTypeDataAccess;
 import com.netflix.hollow.core.schema.HollowSchema;
 import com.netflix.hollow.tools.checksum.HollowChecksum;
 import java.io.DataInputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Arrays;
 import java.util.BitSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Stream;
 
 /**
@@ -119,6 +125,70 @@ public abstract class HollowTypeReadState implements HollowTypeDataAccess {
     public abstract int maxOrdinal();
 
     public abstract void readSnapshot(DataInputStream dis, ArraySegmentRecycler recycler) throws IOException;
+
+    /**
+     * Read this type's snapshot data, deserializing each shard as a separate task on the provided {@link Executor}.
+     * <p>
+     * Shard boundaries are located by scanning the shard headers, so the provided stream is advanced past this
+     * type's data before this method returns, and the next type may be read from it while the shards of this type
+     * are still being deserialized.  Each shard task allocates from its own memory pool, derived from the provided
+     * recycler's segment sizes, because the pools are not thread-safe.
+     *
+     * @param is the stream, positioned at the beginning of this type's shard data
+     * @param memoryRecycler the state engine's memory recycler
+     * @param executor the executor on which shards are deserialized
+     * @return a future which completes once all shards and the populated ordinals have been read
+     * @throws IOException if the shard boundaries could not be read
+     */
+    public CompletableFuture<Void> readSnapshot(BlobByteBufferInputStream is, ArraySegmentRecycler memoryRecycler, Executor executor) throws IOException {
+        final int numShards = numShards();
+        int snapshotMaxOrdinal = numShards > 1 ? VarInt.readVInt(is) : VarInt.readVInt(is.duplicate());
+
+        CompletableFuture<?>[] shardReads = new CompletableFuture<?>[numShards];
+        for(int i=0;i<numShards;i++) {
+            final int shardNumber = i;
+            final BlobByteBufferInputStream shardStream = is.duplicate();
+            final ArraySegmentRecycler shardRecycler = new WastefulRecycler(memoryRecycler.getLog2OfByteSegmentSize(), memoryRecycler.getLog2OfLongSegmentSize());
+            discardSnapshotShard(is);
+
+            shardReads[i] = CompletableFuture.runAsync(() -> {
+                try {
+                    readSnapshotShard(shardStream, shardNumber, shardRecycler);
+                } catch(IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, executor);
+        }
+
+        final BlobByteBufferInputStream ordinalsStream = is.duplicate();
+        SnapshotPopulatedOrdinalsReader.discardOrdinals(is);
+
+        return CompletableFuture.allOf(shardReads).thenRun(() -> {
+            setMaxOrdinal(snapshotMaxOrdinal);
+            try {
+                SnapshotPopulatedOrdinalsReader.readOrdinals(ordinalsStream, stateListeners);
+            } catch(IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    protected abstract void readSnapshotShard(DataInputStream dis, int shardNumber, ArraySegmentRecycler memoryRecycler) throws IOException;
+
+    protected abstract void discardSnapshotShard(DataInputStream dis) throws IOException;
+
+    protected abstract void setMaxOrdinal(int maxOrdinal);
+
+    /**
+     * Create a copy of this type state which shares the current data of this type, and is not affected by deltas
+     * subsequently applied to this type.
+     *
+     * @param pinnedStateEngine the state engine of the copy
+     * @param schema the schema of the copy
+     * @return the copy
+     */
+    protected abstract HollowTypeReadState pinCurrentData(HollowReadStateEngine pinnedStateEngine, HollowSchema schema);
+
     public abstract void applyDelta(DataInputStream dis, HollowSchema schema, ArraySegmentRecycler memoryRecycler) throws IOException;
 
     public HollowSchema getSchema() {
@@ -0,0 +1,118 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.core.read.engine;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads a {@link RangedBlobSource} sequentially, fetching one window of bytes at a time.
+ * <p>
+ * Skipped bytes are never fetched, so a skip over a filtered type's section costs nothing unless the window already
+ * holds the skipped bytes.  A skip is not checked against the length of the blob; a read after skipping past the
+ * end of the blob returns -1.
+ */
+class RangedBlobInputStream extends InputStream {
+
+    static final int DEFAULT_WINDOW_SIZE = 1 << 20;
+
+    private final RangedBlobSource source;
+    private final byte window[];
+    private long windowPosition;
+    private int windowLength;
+    private long position;
+    private long markPosition;
+
+    RangedBlobInputStream(RangedBlobSource source, int windowSize) {
+        this.source = source;
+        this.window = new byte[windowSize];
+    }
+
+    @Override
+    public int read() throws IOException {
+        if(!fillWindow())
+            return -1;
+        return window[(int)(position++ - windowPosition)] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if(len == 0)
+            return 0;
+        if(!fillWindow())
+            return -1;
+
+        int windowOffset = (int)(position - windowPosition);
+        int bytesToCopy = Math.min(len, windowLength - windowOffset);
+        System.arraycopy(window, windowOffset, b, off, bytesToCopy);
+        position += bytesToCopy;
+        return bytesToCopy;
+    }
+
+    @Override
+    public long skip(long n) {
+        if(n <= 0)
+            return 0;
+        position += n;
+        return n;
+    }
+
+    @Override
+    public int available() {
+        if(position < windowPosition || position >= windowPosition + windowLength)
+            return 0;
+        return (int)(windowPosition + windowLength - position);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+        markPosition = position;
+    }
+
+    @Override
+    public synchronized void reset() {
+        position = markPosition;
+    }
+
+    /**
+     * Ensure the window holds the byte at the current position, fetching the window which begins at the current
+     * position if it does not.
+     *
+     * @return false if the current position is at or past the end of the blob
+     */
+    private boolean fillWindow() throws IOException {
+        if(position >= windowPosition && position < windowPosition + windowLength)
+            return true;
+
+        windowPosition = position;
+        windowLength = 0;
+
+        try(InputStream is = source.getInputStream(position, window.length)) {
+            int n;
+            while(windowLength < window.length && (n = is.read(window, windowLength, window.length - windowLength)) != -1)
+                windowLength += n;
+        }
+
+        return windowLength > 0;
+    }
+
+}
@@ -0,0 +1,42 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.core.read.engine;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A source of blob data which may be read in arbitrary byte ranges, such as a local file or a remote object store
+ * which supports ranged requests.
+ *
+ * @see HollowBlobReader#readSnapshot(RangedBlobSource, com.netflix.hollow.core.read.filter.TypeFilter)
+ */
+@FunctionalInterface
+public interface RangedBlobSource {
+
+    /**
+     * Open a stream over a range of the blob.  If the range extends past the end of the blob, the returned stream
+     * ends at the end of the blob.
+     *
+     * @param position the position in the blob of the first byte of the range
+     * @param length the maximum number of bytes in the range
+     * @return a stream over the bytes in the range
+     * @throws IOException if the range could not be read
+     */
+    InputStream getInputStream(long position, long length) throws IOException;
+
+}
@@ -0,0 +1,321 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.core.read.engine;
+
+import com.netflix.hollow.core.index.key.HollowPrimaryKeyValueDeriver;
+import com.netflix.hollow.core.memory.encoding.GapEncodedVariableLengthIntegerReader;
+import com.netflix.hollow.core.memory.encoding.HashCodes;
+import com.netflix.hollow.core.read.dataaccess.HollowStringView;
+import com.netflix.hollow.core.read.engine.object.HollowObjectTypeReadState;
+import com.netflix.hollow.core.schema.HollowObjectSchema.FieldType;
+import com.netflix.hollow.core.util.IntList;
+
+/**
+ * Fingerprints of the hash keys of the records in each bucket of the hashed SET or MAP records of a shard.
+ * <p>
+ * A fingerprint is 8 bits of the {@link SetMapKeyHasher} hash code of a key, which are not the bits which select the
+ * key's first bucket.  A lookup by hash key probes the fingerprints rather than the bit-packed buckets, and only reads
+ * the bucket and matches its key record against the hash key when the bucket's fingerprint is equal to the hash key's
+ * fingerprint, which is the case for about 1 in 254 buckets holding other keys.
+ * <p>
+ * The fingerprints are only valid for the data from which they were built; see {@link #isFor(Object)}.  After a
+ * delta, the fingerprints of the records which the delta retained are carried over, and only the buckets of the
+ * records which it added are fingerprinted.
+ */
+public class SetMapKeyFingerprints {
+
+    /// the fingerprint of an empty bucket
+    public static final byte EMPTY = 0;
+    /// the fingerprint of a bucket whose key's hash code is not known, for example because a key field is null
+    public static final byte ANY = 1;
+
+    /// the most buckets which a byte array can fingerprint
+    private static final long MAX_BUCKETS = Integer.MAX_VALUE - 8;
+
+    private final Object data;
+    private final byte[] fingerprints;
+    /// the start and end buckets of each range whose fingerprints are yet to be computed by {@link #fill}
+    private IntList pendingBucketRanges;
+
+    private SetMapKeyFingerprints(Object data, byte[] fingerprints, IntList pendingBucketRanges) {
+        this.data = data;
+        this.fingerprints = fingerprints;
+        this.pendingBucketRanges = pendingBucketRanges;
+    }
+
+    /**
+     * The buckets of the data elements of a shard.
+     */
+    public interface Buckets {
+
+        int maxOrdinal();
+
+        /**
+         * @param ordinal the shard ordinal of a record
+         * @return the absolute index of the bucket after the record's last bucket
+         */
+        long endBucket(int ordinal);
+
+        /**
+         * @param absoluteBucketIndex the absolute index of a bucket
+         * @return the key ordinal, or the element ordinal for a SET, of the bucket
+         */
+        int bucketKey(long absoluteBucketIndex);
+
+        /**
+         * @return the key ordinal of empty buckets
+         */
+        int emptyBucketKey();
+
+        /**
+         * @return the total number of buckets
+         */
+        long numBuckets();
+    }
+
+    /**
+     * Build the fingerprints of all buckets of a shard's data.
+     *
+     * @param data the data elements of the shard
+     * @param buckets the buckets of the data elements
+     * @param keyDeriver the key deriver of the hash key
+     * @return the fingerprints, or null if the data has too many buckets to be fingerprinted
+     */
+    public static SetMapKeyFingerprints build(Object data, Buckets buckets, HollowPrimaryKeyValueDeriver keyDeriver) {
+        long numBuckets = buckets.numBuckets();
+        if(numBuckets > MAX_BUCKETS)
+            return null;
+
+        IntList pendingBucketRanges = new IntList(2);
+        pendingBucketRanges.add(0);
+        pendingBucketRanges.add((int)numBuckets);
+
+        SetMapKeyFingerprints fingerprints = new SetMapKeyFingerprints(data, new byte[(int)numBuckets], pendingBucketRanges);
+        fingerprints.fill(buckets, keyDeriver);
+        return fingerprints;
+    }
+
+    /**
+     * Carry these fingerprints of the data to which a delta was applied over to the data which the delta produced.
+     * <p>
+     * Records are not modified by a delta, so the buckets of each retained record only move, and their fingerprints
+     * are copied.  The buckets of each record added by the delta are marked {@link #ANY} until they are computed by
+     * {@link #fill}, once the records referenced by the added keys are available.
+     *
+     * @param previousBuckets the buckets of the data to which the delta was applied
+     * @param data the data elements produced by the delta
+     * @param buckets the buckets of the data elements produced by the delta
+     * @param additions the shard ordinals added by the delta
+     * @return the fingerprints of the data produced by the delta, or null if they must be built from scratch
+     */
+    public SetMapKeyFingerprints carryOver(Buckets previousBuckets, Object data, Buckets buckets, GapEncodedVariableLengthIntegerReader additions) {
+        long numBuckets = buckets.numBuckets();
+        if(numBuckets > MAX_BUCKETS || pendingBucketRanges != null)
+            return null;
+
+        byte next[] = new byte[(int)numBuckets];
+        IntList pendingBucketRanges = new IntList();
+        int emptyBucketKey = buckets.emptyBucketKey();
+        int previousMaxOrdinal = previousBuckets.maxOrdinal();
+
+        long previousStartBucket = 0;
+        long startBucket = 0;
+        additions.reset();
+
+        for(int ordinal=0;ordinal<=buckets.maxOrdinal();ordinal++) {
+            long endBucket = buckets.endBucket(ordinal);
+            long previousEndBucket = ordinal <= previousMaxOrdinal ? previousBuckets.endBucket(ordinal) : previousStartBucket;
+
+            boolean added = additions.nextElement() == ordinal;
+            if(added)
+                additions.advance();
+
+            int length = (int)(endBucket - startBucket);
+            if(!added && length == previousEndBucket - previousStartBucket) {
+                System.arraycopy(fingerprints, (int)previousStartBucket, next, (int)startBucket, length);
+            } else if(length > 0) {
+                /// empty buckets must be marked EMPTY even now, since they end a probe
+                for(long bucket=startBucket;bucket<endBucket;bucket++)
+                    next[(int)bucket] = buckets.bucketKey(bucket) == emptyBucketKey ? EMPTY : ANY;
+                pendingBucketRanges.add((int)startBucket);
+                pendingBucketRanges.add((int)endBucket);
+            }
+
+            startBucket = endBucket;
+            previousStartBucket = previousEndBucket;
+        }
+
+        return new SetMapKeyFingerprints(data, next, pendingBucketRanges);
+    }
+
+    /**
+     * Compute the fingerprints of the buckets which {@link #carryOver} marked {@link #ANY}, in place.
+     *
+     * @param buckets the buckets of the data elements for which these are the fingerprints
+     * @param keyDeriver the key deriver of the hash key
+     */
+    public void fill(Buckets buckets, HollowPrimaryKeyValueDeriver keyDeriver) {
+        IntList pendingBucketRanges = this.pendingBucketRanges;
+        if(pendingBucketRanges == null)
+            return;
+
+        int emptyBucketKey = buckets.emptyBucketKey();
+        HollowStringView stringView = new HollowStringView();
+
+        for(int i=0;i<pendingBucketRanges.size();i+=2) {
+            int endBucket = pendingBucketRanges.get(i + 1);
+            for(int bucket=pendingBucketRanges.get(i);bucket<endBucket;bucket++) {
+                int keyOrdinal = buckets.bucketKey(bucket);
+                fingerprints[bucket] = keyOrdinal == emptyBucketKey ? EMPTY : fingerprint(keyDeriver, keyOrdinal, stringView);
+            }
+        }
+
+        this.pendingBucketRanges = null;
+    }
+
+    /**
+     * Fingerprint the key of a record as {@link SetMapKeyHasher#hash(Object[], FieldType[])} would hash the key
+     * returned by {@link HollowPrimaryKeyValueDeriver#getRecordKey(int)}, reading each field's value directly.
+     */
+    private static byte fingerprint(HollowPrimaryKeyValueDeriver keyDeriver, int ordinal, HollowStringView stringView) {
+        int fieldPathIndexes[][] = keyDeriver.getFieldPathIndexes();
+        FieldType fieldTypes[] = keyDeriver.getFieldTypes();
+        int hash = 0;
+
+        for(int i=0;i<fieldPathIndexes.length;i++) {
+            HollowObjectTypeReadState typeState = keyDeriver.getTypeState();
+            int fieldOrdinal = ordinal;
+
+            int lastFieldPath = fieldPathIndexes[i].length - 1;
+            for(int j=0;j<lastFieldPath;j++) {
+                int fieldPosition = fieldPathIndexes[i][j];
+                fieldOrdinal = typeState.readOrdinal(fieldOrdinal, fieldPosition);
+                if(fieldOrdinal < 0)
+                    return ANY;
+                typeState = (HollowObjectTypeReadState) typeState.getSchema().getReferencedTypeState(fieldPosition);
+            }
+
+            int fieldPosition = fieldPathIndexes[i][lastFieldPath];
+            int fieldHash;
+
+            /// a null field returns ANY, as do 0.0 and -0.0, which hash differently but match each other
+            switch(fieldTypes[i]) {
+                case INT:
+                    int intValue = typeState.readInt(fieldOrdinal, fieldPosition);
+                    if(intValue == Integer.MIN_VALUE)
+                        return ANY;
+                    fieldHash = HashCodes.hashInt(intValue);
+                    break;
+                case REFERENCE:
+                    int refOrdinal = typeState.readOrdinal(fieldOrdinal, fieldPosition);
+                    if(refOrdinal < 0)
+                        return ANY;
+                    fieldHash = HashCodes.hashInt(refOrdinal);
+                    break;
+                case LONG:
+                    long longValue = typeState.readLong(fieldOrdinal, fieldPosition);
+                    if(longValue == Long.MIN_VALUE)
+                        return ANY;
+                    fieldHash = HashCodes.hashInt((int)(longValue ^ (longValue >>> 32)));
+                    break;
+                case BOOLEAN:
+                    Boolean booleanValue = typeState.readBoolean(fieldOrdinal, fieldPosition);
+                    if(booleanValue == null)
+                        return ANY;
+                    fieldHash = HashCodes.hashInt(booleanValue.booleanValue() ? 1231 : 1237);
+                    break;
+                case DOUBLE:
+                    double doubleValue = typeState.readDouble(fieldOrdinal, fieldPosition);
+                    if(Double.isNaN(doubleValue) || doubleValue == 0d)
+                        return ANY;
+                    long longBits = Double.doubleToRawLongBits(doubleValue);
+                    fieldHash = HashCodes.hashInt((int)(longBits ^ (longBits >>> 32)));
+                    break;
+                case FLOAT:
+                    float floatValue = typeState.readFloat(fieldOrdinal, fieldPosition);
+                    if(Float.isNaN(floatValue) || floatValue == 0f)
+                        return ANY;
+                    fieldHash = HashCodes.hashInt(Float.floatToRawIntBits(floatValue));
+                    break;
+                case BYTES:
+                    /// -1 is also the hash code of a null value, for which any fingerprint will do
+                    int bytesHash = typeState.findVarLengthFieldHashCode(fieldOrdinal, fieldPosition);
+                    if(bytesHash == -1)
+                        return ANY;
+                    fieldHash = HashCodes.hashInt(bytesHash);
+                    break;
+                case STRING:
+                    if(!typeState.readString(fieldOrdinal, fieldPosition, stringView))
+                        return ANY;
+                    /// String.hashCode()
+                    int stringHash = 0;
+                    for(int c=0;c<stringView.length();c++)
+                        stringHash = 31 * stringHash + stringView.charAt(c);
+                    fieldHash = HashCodes.hashInt(stringHash);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown field type: " + fieldTypes[i]);
+            }
+
+            hash *= 31;
+            hash ^= fieldHash;
+        }
+
+        return fingerprint(hash);
+    }
+
+    /**
+     * @param hashCode the {@link SetMapKeyHasher} hash code of a key
+     * @return the fingerprint of the key
+     */
+    public static byte fingerprint(int hashCode) {
+        int fingerprint = hashCode >>> 24;
+        if(fingerprint <= ANY)
+            fingerprint += 2;
+        return (byte)fingerprint;
+    }
+
+    /**
+     * @param data the data elements of a shard
+     * @return whether these are the fingerprints of the data elements
+     */
+    public boolean isFor(Object data) {
+        return this.data == data;
+    }
+
+    /**
+     * @param absoluteBucketIndex the absolute index of a bucket
+     * @return the fingerprint of the bucket
+     */
+    public byte get(long absoluteBucketIndex) {
+        return fingerprints[(int)absoluteBucketIndex];
+    }
+
+    /**
+     * @param bucketFingerprint the fingerprint of a bucket
+     * @param fingerprint the fingerprint of a hash key
+     * @return whether the bucket's key may match the hash key
+     */
+    public static boolean mayMatch(byte bucketFingerprint, byte fingerprint) {
+        return bucketFingerprint == fingerprint || bucketFingerprint == ANY;
+    }
+
+    public long getApproximateHeapFootprintInBytes() {
+        return fingerprints.length;
+    }
+
+}
@@ -72,11 +72,8 @@ public class HollowListTypeReadState extends HollowCollectionTypeReadState imple
         if(shards.length > 1)
             maxOrdinal = VarInt.readVInt(dis);
         
-        for(int i=0;i<shards.length;i++) {
-            HollowListTypeDataElements snapshotData = new HollowListTypeDataElements(memoryRecycler);
-            snapshotData.readSnapshot(dis);
-            shards[i].setCurrentData(snapshotData);
-        }
+        for(int i=0;i<shards.length;i++)
+            readSnapshotShard(dis, i, memoryRecycler);
         
         if(shards.length == 1)
             maxOrdinal = shards[0].currentDataElements().maxOrdinal;
@@ -84,6 +81,32 @@ public class HollowListTypeReadState extends HollowCollectionTypeReadState imple
         SnapshotPopulatedOrdinalsReader.readOrdinals(dis, stateListeners);
     }
 
+    @Override
+    protected void readSnapshotShard(DataInputStream dis, int shardNumber, ArraySegmentRecycler memoryRecycler) throws IOException {
+        HollowListTypeDataElements snapshotData = new HollowListTypeDataElements(memoryRecycler);
+        snapshotData.readSnapshot(dis);
+        shards[shardNumber].setCurrentData(snapshotData);
+    }
+
+    @Override
+    protected void discardSnapshotShard(DataInputStream dis) throws IOException {
+        HollowListTypeDataElements.discardShardFromStream(dis, false);
+    }
+
+    @Override
+    protected void setMaxOrdinal(int maxOrdinal) {
+        this.maxOrdinal = maxOrdinal;
+    }
+
+    @Override
+    protected HollowListTypeReadState pinCurrentData(HollowReadStateEngine pinnedStateEngine, HollowSchema schema) {
+        HollowListTypeReadState pinned = new HollowListTypeReadState(pinnedStateEngine, (HollowListSchema)schema, shards.length);
+        for(int i=0;i<shards.length;i++)
+            pinned.shards[i].setCurrentData(shards[i].currentDataElements());
+        pinned.maxOrdinal = maxOrdinal;
+        return pinned;
+    }
+
     @Override
     public void applyDelta(DataInputStream dis, HollowSchema schema, ArraySegmentRecycler memoryRecycler) throws IOException {
         if(shards.length > 1)
@@ -98,8 +121,8 @@ public class HollowListTypeReadState extends HollowCollectionTypeReadState imple
             shards[i].setCurrentData(nextData);
             notifyListenerAboutDeltaChanges(deltaData.encodedRemovals, deltaData.encodedAdditions, i, shards.length);
             deltaData.destroy();
-            oldData.destroy();
-            stateEngine.getMemoryRecycler().swap();
+            oldData.destroy(memoryRecycler);
+            memoryRecycler.swap();
         }
         
         if(shards.length == 1)
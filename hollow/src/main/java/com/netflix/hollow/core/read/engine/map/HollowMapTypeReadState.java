@@ -28,6 +28,7 @@ import com.netflix.hollow.core.memory.pool.ArraySegmentRecycler;
 import com.netflix.hollow.core.read.dataaccess.HollowMapTypeDataAccess;
 import com.netflix.hollow.core.read.engine.HollowReadStateEngine;
 import com.netflix.hollow.core.read.engine.HollowTypeReadState;
+import com.netflix.hollow.core.read.engine.HollowTypeStateListener;
 import com.netflix.hollow.core.read.engine.PopulatedOrdinalListener;
 import com.netflix.hollow.core.read.engine.SnapshotPopulatedOrdinalsReader;
 import com.netflix.hollow.core.read.filter.HollowFilterConfig;
@@ -54,6 +55,9 @@ public class HollowMapTypeReadState extends HollowTypeReadState implements Hollo
     private final HollowMapTypeReadStateShard shards[];
     
     private HollowPrimaryKeyValueDeriver keyDeriver;
+
+    private boolean keyFingerprintsEnabled;
+    private final HollowTypeStateListener keyFingerprintsBuilder = new KeyFingerprintsBuilder();
     
     private int maxOrdinal;
 
@@ -79,11 +83,8 @@ public class HollowMapTypeReadState extends HollowTypeReadState implements Hollo
         if(shards.length > 1)
             maxOrdinal = VarInt.readVInt(dis);
         
-        for(int i=0; i<shards.length; i++) {
-            HollowMapTypeDataElements snapshotData = new HollowMapTypeDataElements(memoryRecycler);
-            snapshotData.readSnapshot(dis);
-            shards[i].setCurrentData(snapshotData);
-        }
+        for(int i=0; i<shards.length; i++)
+            readSnapshotShard(dis, i, memoryRecycler);
         
         if(shards.length == 1)
             maxOrdinal = shards[0].currentDataElements().maxOrdinal;
@@ -91,6 +92,35 @@ public class HollowMapTypeReadState extends HollowTypeReadState implements Hollo
         SnapshotPopulatedOrdinalsReader.readOrdinals(dis, stateListeners);
     }
 
+    @Override
+    protected void readSnapshotShard(DataInputStream dis, int shardNumber, ArraySegmentRecycler memoryRecycler) throws IOException {
+        HollowMapTypeDataElements snapshotData = new HollowMapTypeDataElements(memoryRecycler);
+        snapshotData.readSnapshot(dis);
+        shards[shardNumber].setCurrentData(snapshotData);
+    }
+
+    @Override
+    protected void discardSnapshotShard(DataInputStream dis) throws IOException {
+        HollowMapTypeDataElements.discardShardFromStream(dis, false);
+    }
+
+    @Override
+    protected void setMaxOrdinal(int maxOrdinal) {
+        this.maxOrdinal = maxOrdinal;
+    }
+
+    @Override
+    protected HollowMapTypeReadState pinCurrentData(HollowReadStateEngine pinnedStateEngine, HollowSchema schema) {
+        HollowMapTypeReadState pinned = new HollowMapTypeReadState(pinnedStateEngine, (HollowMapSchema)schema, shards.length);
+        for(int i=0;i<shards.length;i++) {
+            pinned.shards[i].setCurrentData(shards[i].currentDataElements());
+            pinned.shards[i].setKeyFingerprints(shards[i].keyFingerprints());
+        }
+        pinned.keyFingerprintsEnabled = keyFingerprintsEnabled;
+        pinned.maxOrdinal = maxOrdinal;
+        return pinned;
+    }
+
     @Override
     public void applyDelta(DataInputStream dis, HollowSchema schema, ArraySegmentRecycler memoryRecycler) throws IOException {
         if(shards.length > 1)
@@ -103,10 +133,11 @@ public class HollowMapTypeReadState extends HollowTypeReadState implements Hollo
             HollowMapTypeDataElements oldData = shards[i].currentDataElements();
             nextData.applyDelta(oldData, deltaData);
             shards[i].setCurrentData(nextData);
+            shards[i].carryOverKeyFingerprints(oldData, deltaData.encodedAdditions);
             notifyListenerAboutDeltaChanges(deltaData.encodedRemovals, deltaData.encodedAdditions, i, shards.length);
             deltaData.destroy();
-            oldData.destroy();
-            stateEngine.getMemoryRecycler().swap();
+            oldData.destroy(memoryRecycler);
+            memoryRecycler.swap();
         }
         
         if(shards.length == 1)
@@ -300,6 +331,61 @@ public class HollowMapTypeReadState extends HollowTypeReadState implements Hollo
         
         for(int i=0; i<shards.length; i++)
             shards[i].setKeyDeriver(keyDeriver);
+
+        if(keyFingerprintsEnabled)
+            buildKeyFingerprints();
+    }
+
+    /**
+     * Maintain a fingerprint of the hash key in each bucket, with which {@link #findKey(int, Object...)} and
+     * {@link #findEntry(int, Object...)} skip most buckets holding other keys without reading their key records.
+     * <p>
+     * The fingerprints take a byte per bucket.  A delta carries over the fingerprints of the records it retains, and
+     * only the buckets of the records it adds are fingerprinted at the end of the update.
+     * They only apply to this type state, and so must be enabled again for a state engine into which a new snapshot
+     * is read.
+     *
+     * @param enabled whether to maintain the fingerprints
+     */
+    public void setKeyFingerprintsEnabled(boolean enabled) {
+        if(enabled == keyFingerprintsEnabled)
+            return;
+
+        keyFingerprintsEnabled = enabled;
+        if(enabled) {
+            addListener(keyFingerprintsBuilder);
+            buildKeyFingerprints();
+        } else {
+            removeListener(keyFingerprintsBuilder);
+            for(int i=0; i<shards.length; i++)
+                shards[i].dropKeyFingerprints();
+        }
+    }
+
+    public boolean isKeyFingerprintsEnabled() {
+        return keyFingerprintsEnabled;
+    }
+
+    private void buildKeyFingerprints() {
+        for(int i=0; i<shards.length; i++)
+            shards[i].buildKeyFingerprints();
+    }
+
+    /// the fingerprints are built once all types are updated, since they are derived from the key records
+    private class KeyFingerprintsBuilder implements HollowTypeStateListener {
+        @Override
+        public void beginUpdate() { }
+
+        @Override
+        public void addedOrdinal(int ordinal) { }
+
+        @Override
+        public void removedOrdinal(int ordinal) { }
+
+        @Override
+        public void endUpdate() {
+            buildKeyFingerprints();
+        }
     }
 
     @Override
@@ -20,7 +20,9 @@ import static com.netflix.hollow.core.HollowConstants.ORDINAL_NONE;
 
 import com.netflix.hollow.core.index.key.HollowPrimaryKeyValueDeriver;
 import com.netflix.hollow.core.memory.HollowUnsafeHandle;
+import com.netflix.hollow.core.memory.encoding.GapEncodedVariableLengthIntegerReader;
 import com.netflix.hollow.core.memory.encoding.HashCodes;
+import com.netflix.hollow.core.read.engine.SetMapKeyFingerprints;
 import com.netflix.hollow.core.read.engine.SetMapKeyHasher;
 import com.netflix.hollow.tools.checksum.HollowChecksum;
 import java.util.BitSet;
@@ -31,6 +33,8 @@ class HollowMapTypeReadStateShard {
 
     private HollowPrimaryKeyValueDeriver keyDeriver;
 
+    private volatile SetMapKeyFingerprints keyFingerprints;
+
     public int size(int ordinal) {
         HollowMapTypeDataElements currentData;
         int size;
@@ -96,6 +100,31 @@ class HollowMapTypeReadStateShard {
             } while(readWasUnsafe(currentData));
 
             long bucket = startBucket + (hashCode & (endBucket - startBucket - 1));
+
+            SetMapKeyFingerprints keyFingerprints = this.keyFingerprints;
+            if(keyFingerprints != null && keyFingerprints.isFor(currentData)) {
+                byte fingerprint = SetMapKeyFingerprints.fingerprint(hashCode);
+                byte bucketFingerprint = keyFingerprints.get(bucket);
+
+                while(bucketFingerprint != SetMapKeyFingerprints.EMPTY) {
+                    if(SetMapKeyFingerprints.mayMatch(bucketFingerprint, fingerprint)) {
+                        int bucketKeyOrdinal = getBucketKeyByAbsoluteIndex(currentData, bucket);
+                        if(readWasUnsafe(currentData))
+                            continue threadsafe;
+
+                        if(keyDeriver.keyMatches(bucketKeyOrdinal, hashKey))
+                            return bucketKeyOrdinal;
+                    }
+
+                    bucket++;
+                    if(bucket == endBucket)
+                        bucket = startBucket;
+                    bucketFingerprint = keyFingerprints.get(bucket);
+                }
+
+                continue threadsafe;
+            }
+
             int bucketKeyOrdinal = getBucketKeyByAbsoluteIndex(currentData, bucket);
 
             while(bucketKeyOrdinal != currentData.emptyBucketKeyValue) {
@@ -134,6 +163,36 @@ class HollowMapTypeReadStateShard {
             } while(readWasUnsafe(currentData));
 
             long bucket = startBucket + (hashCode & (endBucket - startBucket - 1));
+
+            SetMapKeyFingerprints keyFingerprints = this.keyFingerprints;
+            if(keyFingerprints != null && keyFingerprints.isFor(currentData)) {
+                byte fingerprint = SetMapKeyFingerprints.fingerprint(hashCode);
+                byte bucketFingerprint = keyFingerprints.get(bucket);
+
+                while(bucketFingerprint != SetMapKeyFingerprints.EMPTY) {
+                    if(SetMapKeyFingerprints.mayMatch(bucketFingerprint, fingerprint)) {
+                        int bucketKeyOrdinal = getBucketKeyByAbsoluteIndex(currentData, bucket);
+                        if(readWasUnsafe(currentData))
+                            continue threadsafe;
+
+                        if(keyDeriver.keyMatches(bucketKeyOrdinal, hashKey)) {
+                            long valueOrdinal = getBucketValueByAbsoluteIndex(currentData, bucket);
+                            if(readWasUnsafe(currentData))
+                                continue threadsafe;
+
+                            return (long)bucketKeyOrdinal << 32 | valueOrdinal;
+                        }
+                    }
+
+                    bucket++;
+                    if(bucket == endBucket)
+                        bucket = startBucket;
+                    bucketFingerprint = keyFingerprints.get(bucket);
+                }
+
+                continue threadsafe;
+            }
+
             int bucketKeyOrdinal = getBucketKeyByAbsoluteIndex(currentData, bucket);
 
             while(bucketKeyOrdinal != currentData.emptyBucketKeyValue) {
@@ -193,6 +252,49 @@ class HollowMapTypeReadStateShard {
 
     void invalidate() {
         setCurrentData(null);
+        keyFingerprints = null;
+    }
+
+    /**
+     * Build the hash key fingerprints of the current data, unless they have already been built, or fill in the
+     * fingerprints of the buckets which {@link #carryOverKeyFingerprints} left to be computed.
+     */
+    void buildKeyFingerprints() {
+        HollowMapTypeDataElements currentData = currentDataVolatile;
+        SetMapKeyFingerprints keyFingerprints = this.keyFingerprints;
+        if(currentData == null || keyDeriver == null)
+            return;
+
+        if(keyFingerprints != null && keyFingerprints.isFor(currentData))
+            keyFingerprints.fill(new KeyBuckets(currentData), keyDeriver);
+        else
+            this.keyFingerprints = SetMapKeyFingerprints.build(currentData, new KeyBuckets(currentData), keyDeriver);
+    }
+
+    /**
+     * Carry the hash key fingerprints of the data to which a delta was applied over to the current data, which the
+     * delta produced.
+     *
+     * @param previousData the data to which the delta was applied
+     * @param additions the shard ordinals added by the delta
+     */
+    void carryOverKeyFingerprints(HollowMapTypeDataElements previousData, GapEncodedVariableLengthIntegerReader additions) {
+        HollowMapTypeDataElements currentData = currentDataVolatile;
+        SetMapKeyFingerprints keyFingerprints = this.keyFingerprints;
+        if(keyFingerprints != null && keyFingerprints.isFor(previousData))
+            this.keyFingerprints = keyFingerprints.carryOver(new KeyBuckets(previousData), currentData, new KeyBuckets(currentData), additions);
+    }
+
+    void dropKeyFingerprints() {
+        keyFingerprints = null;
+    }
+
+    SetMapKeyFingerprints keyFingerprints() {
+        return keyFingerprints;
+    }
+
+    void setKeyFingerprints(SetMapKeyFingerprints keyFingerprints) {
+        this.keyFingerprints = keyFingerprints;
     }
 
     HollowMapTypeDataElements currentDataElements() {
@@ -241,6 +343,9 @@ class HollowMapTypeReadStateShard {
         long requiredBitsForMapPointers = ((long)currentData.maxOrdinal + 1) * currentData.bitsPerFixedLengthMapPortion;
         long requiredBitsForMapBuckets = (long)currentData.totalNumberOfBuckets * currentData.bitsPerMapEntry;
         long requiredBits = requiredBitsForMapPointers + requiredBitsForMapBuckets;
+        SetMapKeyFingerprints keyFingerprints = this.keyFingerprints;
+        if(keyFingerprints != null && keyFingerprints.isFor(currentData))
+            return requiredBits / 8 + keyFingerprints.getApproximateHeapFootprintInBytes();
         return requiredBits / 8;
     }
     
@@ -265,4 +370,37 @@ class HollowMapTypeReadStateShard {
     }
 
     
+    private static class KeyBuckets implements SetMapKeyFingerprints.Buckets {
+        private final HollowMapTypeDataElements data;
+
+        KeyBuckets(HollowMapTypeDataElements data) {
+            this.data = data;
+        }
+
+        @Override
+        public int maxOrdinal() {
+            return data.maxOrdinal;
+        }
+
+        @Override
+        public long endBucket(int ordinal) {
+            return data.mapPointerAndSizeArray.getElementValue((long)ordinal * data.bitsPerFixedLengthMapPortion, data.bitsPerMapPointer);
+        }
+
+        @Override
+        public int bucketKey(long absoluteBucketIndex) {
+            return (int)data.entryArray.getElementValue(absoluteBucketIndex * data.bitsPerMapEntry, data.bitsPerKeyElement);
+        }
+
+        @Override
+        public int emptyBucketKey() {
+            return data.emptyBucketKeyValue;
+        }
+
+        @Override
+        public long numBuckets() {
+            return data.totalNumberOfBuckets;
+        }
+    }
+
 }
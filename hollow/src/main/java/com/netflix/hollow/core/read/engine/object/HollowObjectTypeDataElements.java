@@ -146,8 +146,7 @@ public class HollowObjectTypeDataElements {
 
             if(schema.getPosition(unfilteredSchema.getFieldName(i)) != -1) {
                 if(numBytesInVarLengthData != 0) {
-                    varLengthData[filteredFieldIdx] = new SegmentedByteArray(memoryRecycler);
-                    varLengthData[filteredFieldIdx].readFrom(dis, numBytesInVarLengthData);
+                    varLengthData[filteredFieldIdx] = SegmentedByteArray.deserializeFrom(dis, memoryRecycler, numBytesInVarLengthData);
                 }
                 filteredFieldIdx++;
             } else {
@@ -162,29 +161,32 @@ public class HollowObjectTypeDataElements {
         if(numShards > 1)
             VarInt.readVInt(dis); // max ordinal
         
-        for(int i=0;i<numShards;i++) {
-            VarInt.readVInt(dis); // max ordinal
+        for(int i=0;i<numShards;i++)
+            discardShardFromStream(dis, schema, isDelta);
+    }
 
-            if(isDelta) {
-                /// addition/removal ordinals
-                GapEncodedVariableLengthIntegerReader.discardEncodedDeltaOrdinals(dis);
-                GapEncodedVariableLengthIntegerReader.discardEncodedDeltaOrdinals(dis);
-            }
-    
-            /// field statistics
-            for(int j=0;j<schema.numFields();j++) {
-                VarInt.readVInt(dis);
-            }
-    
-            /// fixed length data
-            FixedLengthElementArray.discardFrom(dis);
-    
-            /// variable length data
-            for(int j=0;j<schema.numFields();j++) {
-                long numBytesInVarLengthData = VarInt.readVLong(dis);
-                while(numBytesInVarLengthData > 0) {
-                    numBytesInVarLengthData -= dis.skip(numBytesInVarLengthData);
-                }
+    static void discardShardFromStream(DataInputStream dis, HollowObjectSchema schema, boolean isDelta) throws IOException {
+        VarInt.readVInt(dis); // max ordinal
+
+        if(isDelta) {
+            /// addition/removal ordinals
+            GapEncodedVariableLengthIntegerReader.discardEncodedDeltaOrdinals(dis);
+            GapEncodedVariableLengthIntegerReader.discardEncodedDeltaOrdinals(dis);
+        }
+
+        /// field statistics
+        for(int j=0;j<schema.numFields();j++) {
+            VarInt.readVInt(dis);
+        }
+
+        /// fixed length data
+        FixedLengthElementArray.discardFrom(dis);
+
+        /// variable length data
+        for(int j=0;j<schema.numFields();j++) {
+            long numBytesInVarLengthData = VarInt.readVLong(dis);
+            while(numBytesInVarLengthData > 0) {
+                numBytesInVarLengthData -= dis.skip(numBytesInVarLengthData);
             }
         }
     }
@@ -194,10 +196,19 @@ public class HollowObjectTypeDataElements {
     }
 
     public void destroy() {
+        destroy(memoryRecycler);
+    }
+
+    /**
+     * Return this data's memory to the given recycler rather than the one it was allocated from.
+     *
+     * @param memoryRecycler the recycler to return the memory to
+     */
+    public void destroy(ArraySegmentRecycler memoryRecycler) {
         fixedLengthData.destroy(memoryRecycler);
         for(int i=0;i<varLengthData.length;i++) {
             if(varLengthData[i] != null)
-                varLengthData[i].destroy();
+                varLengthData[i].destroy(memoryRecycler);
         }
     }
 
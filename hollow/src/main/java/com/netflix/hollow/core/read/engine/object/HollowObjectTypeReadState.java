@@ -23,6 +23,7 @@ import com.netflix.hollow.api.sampling.HollowSamplingDirector;
 import com.netflix.hollow.core.memory.encoding.VarInt;
 import com.netflix.hollow.core.memory.pool.ArraySegmentRecycler;
 import com.netflix.hollow.core.read.dataaccess.HollowObjectTypeDataAccess;
+import com.netflix.hollow.core.read.dataaccess.HollowStringView;
 import com.netflix.hollow.core.read.engine.HollowReadStateEngine;
 import com.netflix.hollow.core.read.engine.HollowTypeReadState;
 import com.netflix.hollow.core.read.engine.SnapshotPopulatedOrdinalsReader;
@@ -84,17 +85,40 @@ public class HollowObjectTypeReadState extends HollowTypeReadState implements Ho
         if(shards.length > 1)
             maxOrdinal = VarInt.readVInt(dis);
         
-        for(int i=0;i<shards.length;i++) {
-            HollowObjectTypeDataElements snapshotData = new HollowObjectTypeDataElements(getSchema(), memoryRecycler);
-            snapshotData.readSnapshot(dis, unfilteredSchema);
-            shards[i].setCurrentData(snapshotData);
-        }
+        for(int i=0;i<shards.length;i++)
+            readSnapshotShard(dis, i, memoryRecycler);
         
         if(shards.length == 1)
             maxOrdinal = shards[0].currentDataElements().maxOrdinal;
         
         SnapshotPopulatedOrdinalsReader.readOrdinals(dis, stateListeners);
     }
+
+    @Override
+    protected void readSnapshotShard(DataInputStream dis, int shardNumber, ArraySegmentRecycler memoryRecycler) throws IOException {
+        HollowObjectTypeDataElements snapshotData = new HollowObjectTypeDataElements(getSchema(), memoryRecycler);
+        snapshotData.readSnapshot(dis, unfilteredSchema);
+        shards[shardNumber].setCurrentData(snapshotData);
+    }
+
+    @Override
+    protected void discardSnapshotShard(DataInputStream dis) throws IOException {
+        HollowObjectTypeDataElements.discardShardFromStream(dis, unfilteredSchema, false);
+    }
+
+    @Override
+    protected void setMaxOrdinal(int maxOrdinal) {
+        this.maxOrdinal = maxOrdinal;
+    }
+
+    @Override
+    protected HollowObjectTypeReadState pinCurrentData(HollowReadStateEngine pinnedStateEngine, HollowSchema schema) {
+        HollowObjectTypeReadState pinned = new HollowObjectTypeReadState(pinnedStateEngine, (HollowObjectSchema)schema, (HollowObjectSchema)schema, shards.length);
+        for(int i=0;i<shards.length;i++)
+            pinned.shards[i].setCurrentData(shards[i].currentDataElements());
+        pinned.maxOrdinal = maxOrdinal;
+        return pinned;
+    }
     
     @Override
     public void applyDelta(DataInputStream dis, HollowSchema deltaSchema, ArraySegmentRecycler memoryRecycler) throws IOException {
@@ -110,8 +134,8 @@ public class HollowObjectTypeReadState extends HollowTypeReadState implements Ho
             shards[i].setCurrentData(nextData);
             notifyListenerAboutDeltaChanges(deltaData.encodedRemovals, deltaData.encodedAdditions, i, shards.length);
             deltaData.destroy();
-            oldData.destroy();
-            stateEngine.getMemoryRecycler().swap();
+            oldData.destroy(memoryRecycler);
+            memoryRecycler.swap();
         }
         
         if(shards.length == 1)
@@ -192,12 +216,128 @@ public class HollowObjectTypeReadState extends HollowTypeReadState implements Ho
         return shards[ordinal & shardNumberMask].isStringFieldEqual(ordinal >> shardOrdinalShift, fieldIndex, testValue);
     }
 
+    @Override
+    public boolean readString(int ordinal, int fieldIndex, HollowStringView view) {
+        sampler.recordFieldAccess(fieldIndex);
+        return shards[ordinal & shardNumberMask].readString(ordinal >> shardOrdinalShift, fieldIndex, view);
+    }
+
+    @Override
+    public boolean isStringFieldEqual(int ordinal, int fieldIndex, CharSequence testValue) {
+        sampler.recordFieldAccess(fieldIndex);
+        return shards[ordinal & shardNumberMask].isStringFieldEqual(ordinal >> shardOrdinalShift, fieldIndex, testValue);
+    }
+
     @Override
     public int findVarLengthFieldHashCode(int ordinal, int fieldIndex) {
         sampler.recordFieldAccess(fieldIndex);
         return shards[ordinal & shardNumberMask].findVarLengthFieldHashCode(ordinal >> shardOrdinalShift, fieldIndex);
     }
 
+    /**
+     * Decode the values of an INT field for the ordinals in {@code [fromOrdinal, toOrdinal)} into
+     * {@code values[0 .. toOrdinal - fromOrdinal)}.  Each shard is decoded in a single pass over its fixed length
+     * data, which is much cheaper than reading each value with {@link #readInt(int, int)}.
+     * <p>
+     * As with {@link #readInt(int, int)}, a null value is decoded as {@code Integer.MIN_VALUE}.  Values are
+     * decoded for every ordinal in the range, whether or not the ordinal is populated.
+     *
+     * @param fromOrdinal the first ordinal, inclusive
+     * @param toOrdinal the last ordinal, exclusive
+     * @param fieldIndex the field index
+     * @param values the array to decode the values into
+     */
+    public void readInts(int fromOrdinal, int toOrdinal, int fieldIndex, int[] values) {
+        sampler.recordFieldAccess(fieldIndex);
+        readRange(fromOrdinal, toOrdinal, values.length,
+                (shard, from, to, offset, stride) -> shard.readInts(from, to, fieldIndex, values, offset, stride));
+    }
+
+    /**
+     * Decode the values of a LONG field for a range of ordinals, as {@link #readInts(int, int, int, int[])} does.
+     * A null value is decoded as {@code Long.MIN_VALUE}.
+     *
+     * @param fromOrdinal the first ordinal, inclusive
+     * @param toOrdinal the last ordinal, exclusive
+     * @param fieldIndex the field index
+     * @param values the array to decode the values into
+     */
+    public void readLongs(int fromOrdinal, int toOrdinal, int fieldIndex, long[] values) {
+        sampler.recordFieldAccess(fieldIndex);
+        readRange(fromOrdinal, toOrdinal, values.length,
+                (shard, from, to, offset, stride) -> shard.readLongs(from, to, fieldIndex, values, offset, stride));
+    }
+
+    /**
+     * Decode the values of a FLOAT field for a range of ordinals, as {@link #readInts(int, int, int, int[])} does.
+     * A null value is decoded as {@code Float.NaN}.
+     *
+     * @param fromOrdinal the first ordinal, inclusive
+     * @param toOrdinal the last ordinal, exclusive
+     * @param fieldIndex the field index
+     * @param values the array to decode the values into
+     */
+    public void readFloats(int fromOrdinal, int toOrdinal, int fieldIndex, float[] values) {
+        sampler.recordFieldAccess(fieldIndex);
+        readRange(fromOrdinal, toOrdinal, values.length,
+                (shard, from, to, offset, stride) -> shard.readFloats(from, to, fieldIndex, values, offset, stride));
+    }
+
+    /**
+     * Decode the values of a DOUBLE field for a range of ordinals, as {@link #readInts(int, int, int, int[])} does.
+     * A null value is decoded as {@code Double.NaN}.
+     *
+     * @param fromOrdinal the first ordinal, inclusive
+     * @param toOrdinal the last ordinal, exclusive
+     * @param fieldIndex the field index
+     * @param values the array to decode the values into
+     */
+    public void readDoubles(int fromOrdinal, int toOrdinal, int fieldIndex, double[] values) {
+        sampler.recordFieldAccess(fieldIndex);
+        readRange(fromOrdinal, toOrdinal, values.length,
+                (shard, from, to, offset, stride) -> shard.readDoubles(from, to, fieldIndex, values, offset, stride));
+    }
+
+    /**
+     * Decode the referenced ordinals of a REFERENCE field for a range of ordinals, as
+     * {@link #readInts(int, int, int, int[])} does.  A null reference is decoded as {@code -1}.
+     *
+     * @param fromOrdinal the first ordinal, inclusive
+     * @param toOrdinal the last ordinal, exclusive
+     * @param fieldIndex the field index
+     * @param values the array to decode the referenced ordinals into
+     */
+    public void readOrdinals(int fromOrdinal, int toOrdinal, int fieldIndex, int[] values) {
+        sampler.recordFieldAccess(fieldIndex);
+        readRange(fromOrdinal, toOrdinal, values.length,
+                (shard, from, to, offset, stride) -> shard.readOrdinals(from, to, fieldIndex, values, offset, stride));
+    }
+
+    /**
+     * Split a range of ordinals into the range of shard ordinals held by each shard.  The ordinals of a shard are
+     * every {@code numShards}th ordinal of the range, so each shard decodes into every {@code numShards}th value.
+     */
+    private void readRange(int fromOrdinal, int toOrdinal, int numValues, ShardRangeReader reader) {
+        if(fromOrdinal < 0 || toOrdinal < fromOrdinal || toOrdinal - fromOrdinal > numValues)
+            throw new IllegalArgumentException("Invalid ordinal range [" + fromOrdinal + ", " + toOrdinal + ") for " + numValues + " values");
+        if(toOrdinal == fromOrdinal)
+            return;
+
+        for(int shardNumber=0;shardNumber<shards.length;shardNumber++) {
+            int firstOrdinal = fromOrdinal + ((shardNumber - fromOrdinal) & shardNumberMask);
+            if(firstOrdinal >= toOrdinal)
+                continue;
+            int lastOrdinal = (toOrdinal - 1) - (((toOrdinal - 1) - shardNumber) & shardNumberMask);
+
+            reader.read(shards[shardNumber], firstOrdinal >> shardOrdinalShift, (lastOrdinal >> shardOrdinalShift) + 1,
+                    firstOrdinal - fromOrdinal, shards.length);
+        }
+    }
+
+    private interface ShardRangeReader {
+        void read(HollowObjectTypeReadStateShard shard, int fromShardOrdinal, int toShardOrdinal, int offset, int stride);
+    }
+
     /**
      * Warning:  Not thread-safe.  Should only be called within the update thread.
      * @param fieldName the field name
@@ -23,6 +23,7 @@ import com.netflix.hollow.core.memory.HollowUnsafeHandle;
 import com.netflix.hollow.core.memory.encoding.HashCodes;
 import com.netflix.hollow.core.memory.encoding.VarInt;
 import com.netflix.hollow.core.memory.encoding.ZigZag;
+import com.netflix.hollow.core.read.dataaccess.HollowStringView;
 import com.netflix.hollow.core.schema.HollowObjectSchema;
 import com.netflix.hollow.core.schema.HollowSchema;
 import com.netflix.hollow.core.write.HollowObjectWriteRecord;
@@ -34,6 +35,8 @@ import java.util.List;
 
 class HollowObjectTypeReadStateShard {
 
+    private static final int DECODE_CHUNK_SIZE = 256;
+
     private volatile HollowObjectTypeDataElements currentDataVolatile;
 
     private final HollowObjectSchema schema;
@@ -158,6 +161,152 @@ class HollowObjectTypeReadStateShard {
         return value == 1 ? Boolean.TRUE : Boolean.FALSE;
     }
 
+    /**
+     * Decode the values of an INT field for the ordinals in {@code [fromOrdinal, toOrdinal)} into every
+     * {@code stride}th element of {@code values} starting at {@code offset}.  The fixed length data is decoded a
+     * chunk of records at a time, and the read is checked once for the whole range rather than once for each value.
+     */
+    public void readInts(int fromOrdinal, int toOrdinal, int fieldIndex, int[] values, int offset, int stride) {
+        long elements[] = new long[DECODE_CHUNK_SIZE];
+        HollowObjectTypeDataElements currentData;
+
+        do {
+            currentData = this.currentDataVolatile;
+
+            long nullValue = currentData.nullValueForField[fieldIndex];
+            int toPopulatedOrdinal = Math.min(toOrdinal, currentData.maxOrdinal + 1);
+            int i = offset;
+
+            for(int ordinal = fromOrdinal; ordinal < toPopulatedOrdinal; ordinal += DECODE_CHUNK_SIZE) {
+                int count = readFixedLengthFieldValues(currentData, ordinal, toPopulatedOrdinal, fieldIndex, elements);
+                for(int j = 0; j < count; j++, i += stride)
+                    values[i] = elements[j] == nullValue ? Integer.MIN_VALUE : ZigZag.decodeInt((int)elements[j]);
+            }
+            for(int ordinal = Math.max(fromOrdinal, toPopulatedOrdinal); ordinal < toOrdinal; ordinal++, i += stride)
+                values[i] = Integer.MIN_VALUE;
+        } while(readWasUnsafe(currentData));
+    }
+
+    /**
+     * Decode the values of a LONG field for a range of ordinals, as {@link #readInts} does.
+     */
+    public void readLongs(int fromOrdinal, int toOrdinal, int fieldIndex, long[] values, int offset, int stride) {
+        long elements[] = new long[DECODE_CHUNK_SIZE];
+        HollowObjectTypeDataElements currentData;
+
+        do {
+            currentData = this.currentDataVolatile;
+
+            long nullValue = currentData.nullValueForField[fieldIndex];
+            int toPopulatedOrdinal = Math.min(toOrdinal, currentData.maxOrdinal + 1);
+            int i = offset;
+
+            for(int ordinal = fromOrdinal; ordinal < toPopulatedOrdinal; ordinal += DECODE_CHUNK_SIZE) {
+                int count = readFixedLengthFieldValues(currentData, ordinal, toPopulatedOrdinal, fieldIndex, elements);
+                for(int j = 0; j < count; j++, i += stride)
+                    values[i] = elements[j] == nullValue ? Long.MIN_VALUE : ZigZag.decodeLong(elements[j]);
+            }
+            for(int ordinal = Math.max(fromOrdinal, toPopulatedOrdinal); ordinal < toOrdinal; ordinal++, i += stride)
+                values[i] = Long.MIN_VALUE;
+        } while(readWasUnsafe(currentData));
+    }
+
+    /**
+     * Decode the values of a FLOAT field for a range of ordinals, as {@link #readInts} does.
+     */
+    public void readFloats(int fromOrdinal, int toOrdinal, int fieldIndex, float[] values, int offset, int stride) {
+        long elements[] = new long[DECODE_CHUNK_SIZE];
+        HollowObjectTypeDataElements currentData;
+
+        do {
+            currentData = this.currentDataVolatile;
+
+            int toPopulatedOrdinal = Math.min(toOrdinal, currentData.maxOrdinal + 1);
+            int i = offset;
+
+            for(int ordinal = fromOrdinal; ordinal < toPopulatedOrdinal; ordinal += DECODE_CHUNK_SIZE) {
+                int count = readFixedLengthFieldValues(currentData, ordinal, toPopulatedOrdinal, fieldIndex, elements);
+                for(int j = 0; j < count; j++, i += stride) {
+                    int value = (int)elements[j];
+                    values[i] = value == HollowObjectWriteRecord.NULL_FLOAT_BITS ? Float.NaN : Float.intBitsToFloat(value);
+                }
+            }
+            for(int ordinal = Math.max(fromOrdinal, toPopulatedOrdinal); ordinal < toOrdinal; ordinal++, i += stride)
+                values[i] = Float.NaN;
+        } while(readWasUnsafe(currentData));
+    }
+
+    /**
+     * Decode the values of a DOUBLE field for a range of ordinals, as {@link #readInts} does.
+     */
+    public void readDoubles(int fromOrdinal, int toOrdinal, int fieldIndex, double[] values, int offset, int stride) {
+        long elements[] = new long[DECODE_CHUNK_SIZE];
+        HollowObjectTypeDataElements currentData;
+
+        do {
+            currentData = this.currentDataVolatile;
+
+            int toPopulatedOrdinal = Math.min(toOrdinal, currentData.maxOrdinal + 1);
+            int i = offset;
+
+            for(int ordinal = fromOrdinal; ordinal < toPopulatedOrdinal; ordinal += DECODE_CHUNK_SIZE) {
+                int count = readFixedLengthFieldValues(currentData, ordinal, toPopulatedOrdinal, fieldIndex, elements);
+                for(int j = 0; j < count; j++, i += stride) {
+                    long value = elements[j];
+                    values[i] = value == HollowObjectWriteRecord.NULL_DOUBLE_BITS ? Double.NaN : Double.longBitsToDouble(value);
+                }
+            }
+            for(int ordinal = Math.max(fromOrdinal, toPopulatedOrdinal); ordinal < toOrdinal; ordinal++, i += stride)
+                values[i] = Double.NaN;
+        } while(readWasUnsafe(currentData));
+    }
+
+    /**
+     * Decode the values of a REFERENCE field for a range of ordinals, as {@link #readInts} does.
+     */
+    public void readOrdinals(int fromOrdinal, int toOrdinal, int fieldIndex, int[] values, int offset, int stride) {
+        long elements[] = new long[DECODE_CHUNK_SIZE];
+        HollowObjectTypeDataElements currentData;
+
+        do {
+            currentData = this.currentDataVolatile;
+
+            long nullValue = currentData.nullValueForField[fieldIndex];
+            int toPopulatedOrdinal = Math.min(toOrdinal, currentData.maxOrdinal + 1);
+            int i = offset;
+
+            for(int ordinal = fromOrdinal; ordinal < toPopulatedOrdinal; ordinal += DECODE_CHUNK_SIZE) {
+                int count = readFixedLengthFieldValues(currentData, ordinal, toPopulatedOrdinal, fieldIndex, elements);
+                for(int j = 0; j < count; j++, i += stride)
+                    values[i] = elements[j] == nullValue ? ORDINAL_NONE : (int)elements[j];
+            }
+            for(int ordinal = Math.max(fromOrdinal, toPopulatedOrdinal); ordinal < toOrdinal; ordinal++, i += stride)
+                values[i] = ORDINAL_NONE;
+        } while(readWasUnsafe(currentData));
+    }
+
+    /**
+     * Decode the fixed length values of a field for up to {@link #DECODE_CHUNK_SIZE} records, starting at
+     * {@code fromOrdinal} and ending before {@code toOrdinal}.
+     *
+     * @return the number of values decoded
+     */
+    private int readFixedLengthFieldValues(HollowObjectTypeDataElements currentData, int fromOrdinal, int toOrdinal, int fieldIndex, long[] elements) {
+        int count = Math.min(DECODE_CHUNK_SIZE, toOrdinal - fromOrdinal);
+        long bitOffset = fieldOffset(currentData, fromOrdinal, fieldIndex);
+        int numBitsForField = currentData.bitsPerField[fieldIndex];
+
+        if(numBitsForField <= 56) {
+            currentData.fixedLengthData.getElementValues(bitOffset, numBitsForField, currentData.bitsPerRecord, elements, count);
+        } else {
+            for(int i = 0; i < count; i++) {
+                elements[i] = currentData.fixedLengthData.getLargeElementValue(bitOffset, numBitsForField);
+                bitOffset += currentData.bitsPerRecord;
+            }
+        }
+        return count;
+    }
+
     private long readFixedLengthFieldValue(HollowObjectTypeDataElements currentData, int ordinal, int fieldIndex) {
         long bitOffset = fieldOffset(currentData, ordinal, fieldIndex);
         int numBitsForField = currentData.bitsPerField[fieldIndex];
@@ -192,8 +341,8 @@ class HollowObjectTypeReadStateShard {
 
             int length = (int)(endByte - startByte);
             result = new byte[length];
-            for(int i=0;i<length;i++)
-                result[i] = currentData.varLengthData[fieldIndex].get(startByte + i);
+            if(length > 0)
+                currentData.varLengthData[fieldIndex].copy(startByte, result, 0, length);
 
         } while(readWasUnsafe(currentData));
 
@@ -231,7 +380,39 @@ class HollowObjectTypeReadStateShard {
         return result;
     }
 
-    public boolean isStringFieldEqual(int ordinal, int fieldIndex, String testValue) {
+    public boolean readString(int ordinal, int fieldIndex, HollowStringView view) {
+        HollowObjectTypeDataElements currentData;
+
+        do {
+            int numBitsForField;
+            long endByte;
+            long startByte;
+
+            do {
+                currentData = this.currentDataVolatile;
+
+                numBitsForField = currentData.bitsPerField[fieldIndex];
+                long currentBitOffset = fieldOffset(currentData, ordinal, fieldIndex);
+                endByte = currentData.fixedLengthData.getElementValue(currentBitOffset, numBitsForField);
+                startByte = ordinal != 0 ? currentData.fixedLengthData.getElementValue(currentBitOffset - currentData.bitsPerRecord, numBitsForField) : 0;
+            } while(readWasUnsafe(currentData));
+
+            if((endByte & (1L << numBitsForField - 1)) != 0) {
+                view.clear();
+                return false;
+            }
+
+            startByte &= (1L << numBitsForField - 1) - 1;
+
+            int length = (int)(endByte - startByte);
+
+            view.set(currentData.varLengthData[fieldIndex], startByte, length);
+        } while(readWasUnsafe(currentData));
+
+        return true;
+    }
+
+    public boolean isStringFieldEqual(int ordinal, int fieldIndex, CharSequence testValue) {
         HollowObjectTypeDataElements currentData;
         boolean result;
 
@@ -315,28 +496,39 @@ class HollowObjectTypeReadStateShard {
      * @return
      */
     private static final ThreadLocal<char[]> chararr = new ThreadLocal<char[]>();
+    private static final ThreadLocal<byte[]> bytearr = new ThreadLocal<byte[]>();
 
     private String readString(ByteData data, long position, int length) {
-        long endPosition = position + length;
-
+        byte bytearr[] = getByteArray();
         char chararr[] = getCharArray();
 
-        if(length > chararr.length)
+        if(length > chararr.length) {
+            bytearr = new byte[length];
             chararr = new char[length];
+        }
 
-        int count = 0;
+        // copy the encoded range in bulk, then decode the VarInts from the copy
+        if(length > 0)
+            data.copy(position, bytearr, 0, length);
 
-        while(position < endPosition) {
-            int c = VarInt.readVInt(data, position);
+        int count = 0;
+        int pos = 0;
+
+        while(pos < length) {
+            byte b = bytearr[pos++];
+            int c = b & 0x7F;
+            while((b & 0x80) != 0 && pos < length) {
+                b = bytearr[pos++];
+                c = (c << 7) | (b & 0x7F);
+            }
             chararr[count++] = (char)c;
-            position += VarInt.sizeOfVInt(c);
         }
 
         // The number of chars may be fewer than the number of bytes in the serialized data
         return new String(chararr, 0, count);
     }
 
-    private boolean testStringEquality(ByteData data, long position, int length, String testValue) {
+    private boolean testStringEquality(ByteData data, long position, int length, CharSequence testValue) {
         if(length < testValue.length()) // can't check exact length here; the length argument is in bytes, which is equal to or greater than the number of characters.
             return false;
 
@@ -355,6 +547,15 @@ class HollowObjectTypeReadStateShard {
         return position == endPosition && count == testValue.length();
     }
 
+    private byte[] getByteArray() {
+        byte b[] = bytearr.get();
+        if(b == null) {
+            b = new byte[100];
+            bytearr.set(b);
+        }
+        return b;
+    }
+
     private char[] getCharArray() {
         char ch[] = chararr.get();
         if(ch == null) {
@@ -85,25 +85,28 @@ public class HollowSetTypeDataElements {
         if(numShards > 1)
             VarInt.readVInt(dis); // max ordinal
         
-        for(int i=0;i<numShards;i++) {
-            VarInt.readVInt(dis); // max ordinal
-    
-            if(isDelta) {
-                /// addition/removal ordinals
-                GapEncodedVariableLengthIntegerReader.discardEncodedDeltaOrdinals(dis);
-                GapEncodedVariableLengthIntegerReader.discardEncodedDeltaOrdinals(dis);
-            }
-    
-            /// statistics
-            VarInt.readVInt(dis);
-            VarInt.readVInt(dis);
-            VarInt.readVInt(dis);
-            VarInt.readVLong(dis);
-    
-            /// fixed-length data
-            FixedLengthElementArray.discardFrom(dis);
-            FixedLengthElementArray.discardFrom(dis);
+        for(int i=0;i<numShards;i++)
+            discardShardFromStream(dis, isDelta);
+    }
+
+    static void discardShardFromStream(DataInputStream dis, boolean isDelta) throws IOException {
+        VarInt.readVInt(dis); // max ordinal
+
+        if(isDelta) {
+            /// addition/removal ordinals
+            GapEncodedVariableLengthIntegerReader.discardEncodedDeltaOrdinals(dis);
+            GapEncodedVariableLengthIntegerReader.discardEncodedDeltaOrdinals(dis);
         }
+
+        /// statistics
+        VarInt.readVInt(dis);
+        VarInt.readVInt(dis);
+        VarInt.readVInt(dis);
+        VarInt.readVLong(dis);
+
+        /// fixed-length data
+        FixedLengthElementArray.discardFrom(dis);
+        FixedLengthElementArray.discardFrom(dis);
     }
 
     public void applyDelta(HollowSetTypeDataElements fromData, HollowSetTypeDataElements deltaData) {
@@ -111,6 +114,15 @@ public class HollowSetTypeDataElements {
     }
 
     public void destroy() {
+        destroy(memoryRecycler);
+    }
+
+    /**
+     * Return this data's memory to the given recycler rather than the one it was allocated from.
+     *
+     * @param memoryRecycler the recycler to return the memory to
+     */
+    public void destroy(ArraySegmentRecycler memoryRecycler) {
         setPointerAndSizeArray.destroy(memoryRecycler);
         elementArray.destroy(memoryRecycler);
     }
@@ -29,6 +29,7 @@ import com.netflix.hollow.core.read.dataaccess.HollowSetTypeDataAccess;
 import com.netflix.hollow.core.read.engine.HollowCollectionTypeReadState;
 import com.netflix.hollow.core.read.engine.HollowReadStateEngine;
 import com.netflix.hollow.core.read.engine.HollowTypeReadState;
+import com.netflix.hollow.core.read.engine.HollowTypeStateListener;
 import com.netflix.hollow.core.read.engine.PopulatedOrdinalListener;
 import com.netflix.hollow.core.read.engine.SnapshotPopulatedOrdinalsReader;
 import com.netflix.hollow.core.read.filter.HollowFilterConfig;
@@ -55,6 +56,9 @@ public class HollowSetTypeReadState extends HollowCollectionTypeReadState implem
     private final HollowSetTypeReadStateShard shards[];
     
     private HollowPrimaryKeyValueDeriver keyDeriver;
+
+    private boolean keyFingerprintsEnabled;
+    private final HollowTypeStateListener keyFingerprintsBuilder = new KeyFingerprintsBuilder();
     
     private int maxOrdinal;
 
@@ -80,11 +84,8 @@ public class HollowSetTypeReadState extends HollowCollectionTypeReadState implem
         if(shards.length > 1)
             maxOrdinal = VarInt.readVInt(dis);
         
-        for(int i=0;i<shards.length;i++) {
-            HollowSetTypeDataElements snapshotData = new HollowSetTypeDataElements(memoryRecycler);
-            snapshotData.readSnapshot(dis);
-            shards[i].setCurrentData(snapshotData);
-        }
+        for(int i=0;i<shards.length;i++)
+            readSnapshotShard(dis, i, memoryRecycler);
         
         if(shards.length == 1)
             maxOrdinal = shards[0].currentDataElements().maxOrdinal;
@@ -92,6 +93,35 @@ public class HollowSetTypeReadState extends HollowCollectionTypeReadState implem
         SnapshotPopulatedOrdinalsReader.readOrdinals(dis, stateListeners);
     }
 
+    @Override
+    protected void readSnapshotShard(DataInputStream dis, int shardNumber, ArraySegmentRecycler memoryRecycler) throws IOException {
+        HollowSetTypeDataElements snapshotData = new HollowSetTypeDataElements(memoryRecycler);
+        snapshotData.readSnapshot(dis);
+        shards[shardNumber].setCurrentData(snapshotData);
+    }
+
+    @Override
+    protected void discardSnapshotShard(DataInputStream dis) throws IOException {
+        HollowSetTypeDataElements.discardShardFromStream(dis, false);
+    }
+
+    @Override
+    protected void setMaxOrdinal(int maxOrdinal) {
+        this.maxOrdinal = maxOrdinal;
+    }
+
+    @Override
+    protected HollowSetTypeReadState pinCurrentData(HollowReadStateEngine pinnedStateEngine, HollowSchema schema) {
+        HollowSetTypeReadState pinned = new HollowSetTypeReadState(pinnedStateEngine, (HollowSetSchema)schema, shards.length);
+        for(int i=0;i<shards.length;i++) {
+            pinned.shards[i].setCurrentData(shards[i].currentDataElements());
+            pinned.shards[i].setKeyFingerprints(shards[i].keyFingerprints());
+        }
+        pinned.keyFingerprintsEnabled = keyFingerprintsEnabled;
+        pinned.maxOrdinal = maxOrdinal;
+        return pinned;
+    }
+
     @Override
     public void applyDelta(DataInputStream dis, HollowSchema schema, ArraySegmentRecycler memoryRecycler) throws IOException {
         if(shards.length > 1)
@@ -104,10 +134,11 @@ public class HollowSetTypeReadState extends HollowCollectionTypeReadState implem
             HollowSetTypeDataElements oldData = shards[i].currentDataElements();
             nextData.applyDelta(oldData, deltaData);
             shards[i].setCurrentData(nextData);
+            shards[i].carryOverKeyFingerprints(oldData, deltaData.encodedAdditions);
             notifyListenerAboutDeltaChanges(deltaData.encodedRemovals, deltaData.encodedAdditions, i, shards.length);
             deltaData.destroy();
-            oldData.destroy();
-            stateEngine.getMemoryRecycler().swap();
+            oldData.destroy(memoryRecycler);
+            memoryRecycler.swap();
         }
         
         if(shards.length == 1)
@@ -278,8 +309,63 @@ public class HollowSetTypeReadState extends HollowCollectionTypeReadState implem
 	    
 	    for(int i=0;i<shards.length;i++)
 	        shards[i].setKeyDeriver(keyDeriver);
+
+	    if(keyFingerprintsEnabled)
+	        buildKeyFingerprints();
 	}
 
+    /**
+     * Maintain a fingerprint of the hash key of the element in each bucket, with which
+     * {@link #findElement(int, Object...)} skips most buckets holding other elements without reading their records.
+     * <p>
+     * The fingerprints take a byte per bucket.  A delta carries over the fingerprints of the records it retains, and
+     * only the buckets of the records it adds are fingerprinted at the end of the update.
+     * They only apply to this type state, and so must be enabled again for a state engine into which a new snapshot
+     * is read.
+     *
+     * @param enabled whether to maintain the fingerprints
+     */
+    public void setKeyFingerprintsEnabled(boolean enabled) {
+        if(enabled == keyFingerprintsEnabled)
+            return;
+
+        keyFingerprintsEnabled = enabled;
+        if(enabled) {
+            addListener(keyFingerprintsBuilder);
+            buildKeyFingerprints();
+        } else {
+            removeListener(keyFingerprintsBuilder);
+            for(int i=0;i<shards.length;i++)
+                shards[i].dropKeyFingerprints();
+        }
+    }
+
+    public boolean isKeyFingerprintsEnabled() {
+        return keyFingerprintsEnabled;
+    }
+
+    private void buildKeyFingerprints() {
+        for(int i=0;i<shards.length;i++)
+            shards[i].buildKeyFingerprints();
+    }
+
+    /// the fingerprints are built once all types are updated, since they are derived from the element records
+    private class KeyFingerprintsBuilder implements HollowTypeStateListener {
+        @Override
+        public void beginUpdate() { }
+
+        @Override
+        public void addedOrdinal(int ordinal) { }
+
+        @Override
+        public void removedOrdinal(int ordinal) { }
+
+        @Override
+        public void endUpdate() {
+            buildKeyFingerprints();
+        }
+    }
+
     @Override
     public int numShards() {
         return shards.length;
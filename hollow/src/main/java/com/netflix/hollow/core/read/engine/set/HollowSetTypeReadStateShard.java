@@ -20,7 +20,9 @@ import static com.netflix.hollow.core.HollowConstants.ORDINAL_NONE;
 
 import com.netflix.hollow.core.index.key.HollowPrimaryKeyValueDeriver;
 import com.netflix.hollow.core.memory.HollowUnsafeHandle;
+import com.netflix.hollow.core.memory.encoding.GapEncodedVariableLengthIntegerReader;
 import com.netflix.hollow.core.memory.encoding.HashCodes;
+import com.netflix.hollow.core.read.engine.SetMapKeyFingerprints;
 import com.netflix.hollow.core.read.engine.SetMapKeyHasher;
 import com.netflix.hollow.tools.checksum.HollowChecksum;
 import java.util.BitSet;
@@ -31,6 +33,8 @@ class HollowSetTypeReadStateShard {
 
     private HollowPrimaryKeyValueDeriver keyDeriver;
 
+    private volatile SetMapKeyFingerprints keyFingerprints;
+
     public int size(int ordinal) {
         HollowSetTypeDataElements currentData;
         int size;
@@ -98,6 +102,31 @@ class HollowSetTypeReadStateShard {
             } while(readWasUnsafe(currentData));
 
             long bucket = startBucket + (hashCode & (endBucket - startBucket - 1));
+
+            SetMapKeyFingerprints keyFingerprints = this.keyFingerprints;
+            if(keyFingerprints != null && keyFingerprints.isFor(currentData)) {
+                byte fingerprint = SetMapKeyFingerprints.fingerprint(hashCode);
+                byte bucketFingerprint = keyFingerprints.get(bucket);
+
+                while(bucketFingerprint != SetMapKeyFingerprints.EMPTY) {
+                    if(SetMapKeyFingerprints.mayMatch(bucketFingerprint, fingerprint)) {
+                        int bucketOrdinal = absoluteBucketValue(currentData, bucket);
+                        if(readWasUnsafe(currentData))
+                            continue threadsafe;
+
+                        if(keyDeriver.keyMatches(bucketOrdinal, hashKey))
+                            return bucketOrdinal;
+                    }
+
+                    bucket++;
+                    if(bucket == endBucket)
+                        bucket = startBucket;
+                    bucketFingerprint = keyFingerprints.get(bucket);
+                }
+
+                continue threadsafe;
+            }
+
             int bucketOrdinal = absoluteBucketValue(currentData, bucket);
 
             while(bucketOrdinal != currentData.emptyBucketValue) {
@@ -149,6 +178,49 @@ class HollowSetTypeReadStateShard {
     
     void invalidate() {
         setCurrentData(null);
+        keyFingerprints = null;
+    }
+
+    /**
+     * Build the hash key fingerprints of the current data, unless they have already been built, or fill in the
+     * fingerprints of the buckets which {@link #carryOverKeyFingerprints} left to be computed.
+     */
+    void buildKeyFingerprints() {
+        HollowSetTypeDataElements currentData = currentDataVolatile;
+        SetMapKeyFingerprints keyFingerprints = this.keyFingerprints;
+        if(currentData == null || keyDeriver == null)
+            return;
+
+        if(keyFingerprints != null && keyFingerprints.isFor(currentData))
+            keyFingerprints.fill(new ElementBuckets(currentData), keyDeriver);
+        else
+            this.keyFingerprints = SetMapKeyFingerprints.build(currentData, new ElementBuckets(currentData), keyDeriver);
+    }
+
+    /**
+     * Carry the hash key fingerprints of the data to which a delta was applied over to the current data, which the
+     * delta produced.
+     *
+     * @param previousData the data to which the delta was applied
+     * @param additions the shard ordinals added by the delta
+     */
+    void carryOverKeyFingerprints(HollowSetTypeDataElements previousData, GapEncodedVariableLengthIntegerReader additions) {
+        HollowSetTypeDataElements currentData = currentDataVolatile;
+        SetMapKeyFingerprints keyFingerprints = this.keyFingerprints;
+        if(keyFingerprints != null && keyFingerprints.isFor(previousData))
+            this.keyFingerprints = keyFingerprints.carryOver(new ElementBuckets(previousData), currentData, new ElementBuckets(currentData), additions);
+    }
+
+    void dropKeyFingerprints() {
+        keyFingerprints = null;
+    }
+
+    SetMapKeyFingerprints keyFingerprints() {
+        return keyFingerprints;
+    }
+
+    void setKeyFingerprints(SetMapKeyFingerprints keyFingerprints) {
+        this.keyFingerprints = keyFingerprints;
     }
 
     HollowSetTypeDataElements currentDataElements() {
@@ -196,6 +268,9 @@ class HollowSetTypeReadStateShard {
         long requiredBitsForSetPointers = ((long)currentData.maxOrdinal + 1) * currentData.bitsPerFixedLengthSetPortion;
         long requiredBitsForBuckets = currentData.totalNumberOfBuckets * currentData.bitsPerElement;
         long requiredBits = requiredBitsForSetPointers + requiredBitsForBuckets;
+        SetMapKeyFingerprints keyFingerprints = this.keyFingerprints;
+        if(keyFingerprints != null && keyFingerprints.isFor(currentData))
+            return requiredBits / 8 + keyFingerprints.getApproximateHeapFootprintInBytes();
         return requiredBits / 8;
     }
     
@@ -217,4 +292,37 @@ class HollowSetTypeReadStateShard {
     public void setKeyDeriver(HollowPrimaryKeyValueDeriver keyDeriver) {
         this.keyDeriver = keyDeriver;
     }
+    private static class ElementBuckets implements SetMapKeyFingerprints.Buckets {
+        private final HollowSetTypeDataElements data;
+
+        ElementBuckets(HollowSetTypeDataElements data) {
+            this.data = data;
+        }
+
+        @Override
+        public int maxOrdinal() {
+            return data.maxOrdinal;
+        }
+
+        @Override
+        public long endBucket(int ordinal) {
+            return data.setPointerAndSizeArray.getElementValue((long)ordinal * data.bitsPerFixedLengthSetPortion, data.bitsPerSetPointer);
+        }
+
+        @Override
+        public int bucketKey(long absoluteBucketIndex) {
+            return (int)data.elementArray.getElementValue(absoluteBucketIndex * data.bitsPerElement, data.bitsPerElement);
+        }
+
+        @Override
+        public int emptyBucketKey() {
+            return data.emptyBucketValue;
+        }
+
+        @Override
+        public long numBuckets() {
+            return data.totalNumberOfBuckets;
+        }
+    }
+
 }
@@ -19,6 +19,7 @@ package com.netflix.hollow.core.type;
 import com.netflix.hollow.api.custom.HollowAPI;
 import com.netflix.hollow.api.custom.HollowObjectTypeAPI;
 import com.netflix.hollow.core.read.dataaccess.HollowObjectTypeDataAccess;
+import com.netflix.hollow.core.read.dataaccess.HollowStringView;
 import com.netflix.hollow.core.type.delegate.StringDelegateLookupImpl;
 
 public class StringTypeAPI extends HollowObjectTypeAPI {
@@ -39,6 +40,12 @@ public class StringTypeAPI extends HollowObjectTypeAPI {
         return getTypeDataAccess().readString(ordinal, fieldIndex[0]);
     }
 
+    public boolean getValue(int ordinal, HollowStringView view) {
+        if(fieldIndex[0] == -1)
+            return view.set(missingDataHandler().handleString("String", ordinal, "value"));
+        return getTypeDataAccess().readString(ordinal, fieldIndex[0], view);
+    }
+
     public boolean isValueEqual(int ordinal, String testValue) {
         if(fieldIndex[0] == -1)
             return missingDataHandler().handleStringEquals("String", ordinal, "value", testValue);
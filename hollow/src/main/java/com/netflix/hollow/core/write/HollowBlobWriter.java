@@ -17,6 +17,8 @@
 package com.netflix.hollow.core.write;
 
 import com.netflix.hollow.core.HollowBlobHeader;
+import com.netflix.hollow.core.HollowStateEngine;
+import com.netflix.hollow.core.memory.BlockCompressedBlobOutputStream;
 import com.netflix.hollow.core.memory.encoding.VarInt;
 import com.netflix.hollow.core.schema.HollowSchema;
 import com.netflix.hollow.core.util.SimultaneousExecutor;
@@ -24,11 +26,19 @@ import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 /**
  * A {@link HollowBlobWriter} is used to serialize snapshot, delta, and reverse delta blobs based on the data state
  * contained in a {@link HollowWriteStateEngine}. 
+ * <p>
+ * Types are calculated in parallel and streamed to the output in dependency order as soon as each is ready, so
+ * output begins before all types are calculated, and the calculated data for a type is released once it is written.
  */
 public class HollowBlobWriter {
 
@@ -49,34 +59,14 @@ public class HollowBlobWriter {
         stateEngine.prepareForWrite();
 
         DataOutputStream dos = new DataOutputStream(os);
+        boolean endBlock = isBlockCompressed(os);
         writeHeader(dos, stateEngine.getSchemas(), false);
 
         VarInt.writeVInt(dos, stateEngine.getOrderedTypeStates().size());
 
-        SimultaneousExecutor executor = new SimultaneousExecutor(getClass(), "write-snapshot");
-
-        for(final HollowTypeWriteState typeState : stateEngine.getOrderedTypeStates()) {
-            executor.execute(new Runnable() {
-                public void run() {
-                    typeState.calculateSnapshot();
-                }
-            });
-        }
-
-        try {
-            executor.awaitSuccessfulCompletion();
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
-
-        for(HollowTypeWriteState typeState : stateEngine.getOrderedTypeStates()) {
-            HollowSchema schema = typeState.getSchema();
-            schema.writeTo(dos);
-
-            writeNumShards(dos, typeState.getNumShards());
-
-            typeState.writeSnapshot(dos);
-        }
+        calculateAndWriteInOrder(stateEngine.getOrderedTypeStates(), "write-snapshot",
+                HollowTypeWriteState::calculateSnapshot,
+                typeState -> writeTypeSection(dos, endBlock, typeState, typeState::writeSnapshot));
         os.flush();
     }
 
@@ -97,40 +87,17 @@ public class HollowBlobWriter {
         if(stateEngine.isRestored())
             stateEngine.ensureAllNecessaryStatesRestored();
 
-        List<HollowSchema> changedTypes = changedTypes();
+        List<HollowTypeWriteState> changedTypeStates = changedTypeStates();
         
         DataOutputStream dos = new DataOutputStream(os);
-        writeHeader(dos, changedTypes, false);
-
-        VarInt.writeVInt(dos, changedTypes.size());
+        boolean endBlock = isBlockCompressed(os);
+        writeHeader(dos, schemas(changedTypeStates), false);
 
-        SimultaneousExecutor executor = new SimultaneousExecutor(getClass(), "write-delta");
-
-        for(final HollowTypeWriteState typeState : stateEngine.getOrderedTypeStates()) {
-            executor.execute(new Runnable() {
-                public void run() {
-                    if(typeState.hasChangedSinceLastCycle())
-                        typeState.calculateDelta();
-                }
-            });
-        }
+        VarInt.writeVInt(dos, changedTypeStates.size());
 
-        try {
-            executor.awaitSuccessfulCompletion();
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
-
-        for(HollowTypeWriteState typeState : stateEngine.getOrderedTypeStates()) {
-            if(typeState.hasChangedSinceLastCycle()) {
-                HollowSchema schema = typeState.getSchema();
-                schema.writeTo(dos);
-
-                writeNumShards(dos, typeState.getNumShards());
-
-                typeState.writeDelta(dos);
-            }
-        }
+        calculateAndWriteInOrder(changedTypeStates, "write-delta",
+                HollowTypeWriteState::calculateDelta,
+                typeState -> writeTypeSection(dos, endBlock, typeState, typeState::writeDelta));
         os.flush();
     }
 
@@ -151,68 +118,135 @@ public class HollowBlobWriter {
         if(stateEngine.isRestored())
             stateEngine.ensureAllNecessaryStatesRestored();
         
-        List<HollowSchema> changedTypes = changedTypes();
+        List<HollowTypeWriteState> changedTypeStates = changedTypeStates();
 
         DataOutputStream dos = new DataOutputStream(os);
-        writeHeader(dos, changedTypes, true);
+        boolean endBlock = isBlockCompressed(os);
+        writeHeader(dos, schemas(changedTypeStates), true);
 
-        VarInt.writeVInt(dos, changedTypes.size());
+        VarInt.writeVInt(dos, changedTypeStates.size());
 
-        SimultaneousExecutor executor = new SimultaneousExecutor(getClass(), "write-reverse-delta");
+        calculateAndWriteInOrder(changedTypeStates, "write-reverse-delta",
+                HollowTypeWriteState::calculateReverseDelta,
+                typeState -> writeTypeSection(dos, endBlock, typeState, typeState::writeReverseDelta));
+        os.flush();
+    }
 
-        for(final HollowTypeWriteState typeState : stateEngine.getOrderedTypeStates()) {
-            executor.execute(new Runnable() {
-                public void run() {
-                    if(typeState.hasChangedSinceLastCycle())
-                        typeState.calculateReverseDelta();
-                }
-            });
-        }
+    /**
+     * Calculate the type states in parallel, and write each one as soon as it and every type state before it
+     * have been calculated.  Calculation runs at most one type state per thread ahead of the output, so that
+     * the calculated data of only a few type states is held in memory at once.
+     */
+    private void calculateAndWriteInOrder(List<HollowTypeWriteState> typeStates, String description,
+            Consumer<HollowTypeWriteState> calculation, TypeStateWriter writer) throws IOException {
+        SimultaneousExecutor executor = new SimultaneousExecutor(getClass(), description);
+        int maxCalculatedAhead = executor.getCorePoolSize();
+        List<Future<?>> calculations = new ArrayList<Future<?>>(typeStates.size());
 
         try {
-            executor.awaitSuccessfulCompletion();
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+            for(int i=0;i<typeStates.size();i++) {
+                while(calculations.size() < typeStates.size() && calculations.size() < i + maxCalculatedAhead) {
+                    final HollowTypeWriteState typeState = typeStates.get(calculations.size());
+                    calculations.add(executor.submit(() -> calculation.accept(typeState)));
+                }
+
+                try {
+                    calculations.get(i).get();
+                } catch (InterruptedException | ExecutionException e) {
+                    throw new RuntimeException(e);
+                }
+
+                writer.write(typeStates.get(i));
+            }
+        } finally {
+            executor.shutdownNow();
         }
+    }
 
-        for(HollowTypeWriteState typeState : stateEngine.getOrderedTypeStates()) {
-            if(typeState.hasChangedSinceLastCycle()) {
-                HollowSchema schema = typeState.getSchema();
-                schema.writeTo(dos);
+    /**
+     * Write a type's schema, number of shards and data.  If the state engine records type section lengths, the data
+     * is buffered so that its length may precede it.
+     * <p>
+     * If the output is a block compressed container, it is flushed at the end of each type to end a block, so that
+     * the blocks of a type which a consumer filters out may be skipped without being decompressed.  Other outputs are
+     * only flushed at the end of the blob.
+     *
+     * @see BlockCompressedBlobOutputStream
+     */
+    void writeTypeSection(DataOutputStream dos, boolean endBlock, HollowTypeWriteState typeState, TypeDataWriter dataWriter) throws IOException {
+        typeState.getSchema().writeTo(dos);
 
-                writeNumShards(dos, typeState.getNumShards());
+        if(stateEngine.isWriteTypeSectionLengths()) {
+            TypeSectionBuffer data = new TypeSectionBuffer();
+            dataWriter.write(new DataOutputStream(data));
 
-                typeState.writeReverseDelta(dos);
-            }
+            writeNumShards(dos, typeState.getNumShards(), data.length());
+            data.writeTo(dos);
+        } else {
+            writeNumShards(dos, typeState.getNumShards(), -1);
+            dataWriter.write(dos);
         }
-        os.flush();
+
+        if(endBlock)
+            dos.flush();
     }
 
-    private List<HollowSchema> changedTypes() {
-        List<HollowSchema> changedTypes = new ArrayList<HollowSchema>();
+    static boolean isBlockCompressed(OutputStream os) {
+        return os instanceof BlockCompressedBlobOutputStream;
+    }
+
+    interface TypeDataWriter {
+        void write(DataOutputStream dos) throws IOException;
+    }
+
+    private interface TypeStateWriter {
+        void write(HollowTypeWriteState typeState) throws IOException;
+    }
+
+    private List<HollowTypeWriteState> changedTypeStates() {
+        List<HollowTypeWriteState> changedTypeStates = new ArrayList<HollowTypeWriteState>();
         
         List<HollowTypeWriteState> orderedTypeStates = stateEngine.getOrderedTypeStates();
         for(int i=0;i<orderedTypeStates.size();i++) {
             HollowTypeWriteState writeState = orderedTypeStates.get(i);
             if(writeState.hasChangedSinceLastCycle())
-                changedTypes.add(writeState.getSchema());
+                changedTypeStates.add(writeState);
         }
 
-        return changedTypes;
+        return changedTypeStates;
+    }
+
+    static List<HollowSchema> schemas(List<HollowTypeWriteState> typeStates) {
+        List<HollowSchema> schemas = new ArrayList<HollowSchema>(typeStates.size());
+        for(HollowTypeWriteState typeState : typeStates)
+            schemas.add(typeState.getSchema());
+        return schemas;
     }
     
-    private void writeNumShards(DataOutputStream dos, int numShards) throws IOException {
-        VarInt.writeVInt(dos, 1 + VarInt.sizeOfVInt(numShards)); /// pre 2.1.0 forwards compatibility:
-                                                                 /// skip new forwards-compatibility and num shards
-        
-        VarInt.writeVInt(dos, 0); /// 2.1.0 forwards-compatibility, can write number of bytes for older readers to skip here.
-        
+    void writeNumShards(DataOutputStream dos, int numShards, long dataLength) throws IOException {
+        int forwardsCompatibilityBytes = dataLength < 0 ? 0 : VarInt.sizeOfVLong(dataLength);
+
+        /// pre 2.1.0 forwards compatibility: skip new forwards-compatibility and num shards
+        VarInt.writeVInt(dos, VarInt.sizeOfVInt(forwardsCompatibilityBytes) + forwardsCompatibilityBytes + VarInt.sizeOfVInt(numShards));
+
+        /// 2.1.0 forwards-compatibility, can write number of bytes for older readers to skip here.
+        /// holds the length of the type's data when type section lengths are recorded.
+        VarInt.writeVInt(dos, forwardsCompatibilityBytes);
+        if(dataLength >= 0)
+            VarInt.writeVLong(dos, dataLength);
+
         VarInt.writeVInt(dos, numShards);
     }
 
-    private void writeHeader(DataOutputStream os, List<HollowSchema> schemasToInclude, boolean isReverseDelta) throws IOException {
+    void writeHeader(DataOutputStream os, List<HollowSchema> schemasToInclude, boolean isReverseDelta) throws IOException {
         HollowBlobHeader header = new HollowBlobHeader();
-        header.setHeaderTags(stateEngine.getHeaderTags());
+        /// the tag describes this blob's layout, so a tag restored from a previously read blob is never carried over
+        Map<String, String> headerTags = new HashMap<String, String>(stateEngine.getHeaderTags());
+        if(stateEngine.isWriteTypeSectionLengths())
+            headerTags.put(HollowStateEngine.HEADER_TAG_TYPE_SECTION_LENGTHS, Boolean.TRUE.toString());
+        else
+            headerTags.remove(HollowStateEngine.HEADER_TAG_TYPE_SECTION_LENGTHS);
+        header.setHeaderTags(headerTags);
         if(isReverseDelta) {
             header.setOriginRandomizedTag(stateEngine.getNextStateRandomizedTag());
             header.setDestinationRandomizedTag(stateEngine.getPreviousStateRandomizedTag());
@@ -0,0 +1,246 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.core.write;
+
+import com.netflix.hollow.core.memory.encoding.VarInt;
+import com.netflix.hollow.core.util.SimultaneousExecutor;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * A {@link HollowBlobWriter} which writes the snapshot, delta, and reverse delta blobs for a state in a single pass
+ * over its types, with each blob written concurrently from its own thread.
+ * <p>
+ * A type state holds the calculated data for only one blob at a time, so each type is calculated and written
+ * for the snapshot, then for the delta, then for the reverse delta.  Different types move through these stages
+ * concurrently, so while the reverse delta stream writes one type the snapshot stream may be writing a later one.
+ * <p>
+ * Each of {@link #writeSnapshot(OutputStream)}, {@link #writeDelta(OutputStream)} and
+ * {@link #writeReverseDelta(OutputStream)} must be called exactly once for each included stage, each from a different
+ * thread, or the stage must be ended with {@link #endStage(Stage, Throwable)}.  Otherwise the other stages will not
+ * complete.
+ */
+public class HollowConcurrentBlobWriter extends HollowBlobWriter {
+
+    public enum Stage {
+        SNAPSHOT,
+        DELTA,
+        REVERSE_DELTA
+    }
+
+    private final List<HollowTypeWriteState> typeStates;
+    private final boolean includeSnapshot;
+    private final SimultaneousExecutor executor;
+
+    /// indexed by stage ordinal, then type index.  null where a type is not written for a stage.
+    private final List<List<CompletableFuture<Void>>> calculated;
+    private final List<List<CompletableFuture<Void>>> written;
+    private final boolean[] endedStages;
+    private int remainingStages;
+
+    /**
+     * Prepare the state engine for writing, and begin calculating the types of the first stage.
+     *
+     * @param stateEngine the state engine, which must have a previous state
+     * @param includeSnapshot whether the snapshot is written, or only the delta and reverse delta
+     * @throws IllegalStateException if the current state is restored from the previous state
+     * and current state contains unrestored state for one or more types.
+     */
+    public HollowConcurrentBlobWriter(HollowWriteStateEngine stateEngine, boolean includeSnapshot) {
+        super(stateEngine);
+        this.typeStates = stateEngine.getOrderedTypeStates();
+        this.includeSnapshot = includeSnapshot;
+        this.executor = new SimultaneousExecutor(getClass(), "write-concurrent");
+        this.calculated = new ArrayList<>();
+        this.written = new ArrayList<>();
+        this.endedStages = new boolean[Stage.values().length];
+        this.remainingStages = includeSnapshot ? 3 : 2;
+
+        stateEngine.prepareForWrite();
+
+        if(stateEngine.isRestored())
+            stateEngine.ensureAllNecessaryStatesRestored();
+
+        if(!includeSnapshot)
+            endedStages[Stage.SNAPSHOT.ordinal()] = true;
+
+        for(int i=0;i<Stage.values().length;i++) {
+            calculated.add(new ArrayList<>(typeStates.size()));
+            written.add(new ArrayList<>(typeStates.size()));
+        }
+
+        scheduleCalculations();
+    }
+
+    /**
+     * Chain the stages of each type, so that a stage is calculated once the previous stage of the same type is
+     * written.  A type is not calculated until the type one window before it has completed every stage, which
+     * bounds the calculated data held in memory.
+     */
+    private void scheduleCalculations() {
+        int maxCalculatedAhead = executor.getCorePoolSize();
+        List<CompletableFuture<Void>> completedTypes = new ArrayList<>(typeStates.size());
+
+        for(int i=0;i<typeStates.size();i++) {
+            HollowTypeWriteState typeState = typeStates.get(i);
+            CompletableFuture<Void> ready = i >= maxCalculatedAhead
+                    ? completedTypes.get(i - maxCalculatedAhead)
+                    : CompletableFuture.completedFuture(null);
+
+            for(Stage stage : Stage.values()) {
+                if(!isWritten(stage, typeState)) {
+                    calculated.get(stage.ordinal()).add(null);
+                    written.get(stage.ordinal()).add(null);
+                    continue;
+                }
+
+                calculated.get(stage.ordinal()).add(ready.thenRunAsync(() -> calculate(stage, typeState), executor));
+                ready = new CompletableFuture<>();
+                written.get(stage.ordinal()).add(ready);
+            }
+
+            completedTypes.add(ready);
+        }
+    }
+
+    private boolean isWritten(Stage stage, HollowTypeWriteState typeState) {
+        if(stage == Stage.SNAPSHOT)
+            return includeSnapshot;
+        return typeState.hasChangedSinceLastCycle();
+    }
+
+    @Override
+    public void writeSnapshot(OutputStream os) throws IOException {
+        if(!includeSnapshot)
+            throw new IllegalStateException("The snapshot is not included in this writer");
+        write(Stage.SNAPSHOT, os);
+    }
+
+    @Override
+    public void writeDelta(OutputStream os) throws IOException {
+        write(Stage.DELTA, os);
+    }
+
+    @Override
+    public void writeReverseDelta(OutputStream os) throws IOException {
+        write(Stage.REVERSE_DELTA, os);
+    }
+
+    private void write(Stage stage, OutputStream os) throws IOException {
+        Throwable failure = null;
+        try {
+            List<CompletableFuture<Void>> stageCalculated = calculated.get(stage.ordinal());
+            List<CompletableFuture<Void>> stageWritten = written.get(stage.ordinal());
+
+            List<HollowTypeWriteState> stageTypeStates = new ArrayList<>();
+            for(int i=0;i<typeStates.size();i++) {
+                if(stageWritten.get(i) != null)
+                    stageTypeStates.add(typeStates.get(i));
+            }
+
+            DataOutputStream dos = new DataOutputStream(os);
+            boolean endBlock = isBlockCompressed(os);
+            writeHeader(dos, schemas(stageTypeStates), stage == Stage.REVERSE_DELTA);
+
+            VarInt.writeVInt(dos, stageTypeStates.size());
+
+            for(int i=0;i<typeStates.size();i++) {
+                if(stageWritten.get(i) == null)
+                    continue;
+
+                awaitCalculation(stageCalculated.get(i));
+
+                HollowTypeWriteState typeState = typeStates.get(i);
+                writeTypeSection(dos, endBlock, typeState, out -> writeCalculated(stage, typeState, out));
+
+                stageWritten.get(i).complete(null);
+            }
+
+            os.flush();
+        } catch(IOException | RuntimeException | Error e) {
+            failure = e;
+            throw e;
+        } finally {
+            endStage(stage, failure != null ? failure : new IllegalStateException("The " + stage + " was not completely written"));
+        }
+    }
+
+    /**
+     * End a stage.  Types not yet written for the stage, and every later stage of those types, fail with the cause.
+     * <p>
+     * Ending a stage which has been completely written has no effect on the other stages.
+     *
+     * @param stage the stage
+     * @param cause the cause of failure for any types not yet written
+     */
+    public void endStage(Stage stage, Throwable cause) {
+        synchronized(this) {
+            if(endedStages[stage.ordinal()])
+                return;
+            endedStages[stage.ordinal()] = true;
+            if(--remainingStages == 0)
+                executor.shutdown();
+        }
+
+        for(CompletableFuture<Void> typeWritten : written.get(stage.ordinal())) {
+            if(typeWritten != null)
+                typeWritten.completeExceptionally(cause);
+        }
+    }
+
+    private void awaitCalculation(CompletableFuture<Void> calculation) {
+        try {
+            calculation.join();
+        } catch(CompletionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private void calculate(Stage stage, HollowTypeWriteState typeState) {
+        switch(stage) {
+            case SNAPSHOT:
+                typeState.calculateSnapshot();
+                break;
+            case DELTA:
+                typeState.calculateDelta();
+                break;
+            case REVERSE_DELTA:
+                typeState.calculateReverseDelta();
+                break;
+        }
+    }
+
+    private void writeCalculated(Stage stage, HollowTypeWriteState typeState, DataOutputStream dos) throws IOException {
+        switch(stage) {
+            case SNAPSHOT:
+                typeState.writeSnapshot(dos);
+                break;
+            case DELTA:
+                typeState.writeDelta(dos);
+                break;
+            case REVERSE_DELTA:
+                typeState.writeReverseDelta(dos);
+                break;
+        }
+    }
+
+}
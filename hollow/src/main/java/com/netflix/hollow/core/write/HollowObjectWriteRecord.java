@@ -87,12 +87,7 @@ public class HollowObjectWriteRecord implements HollowWriteRecord {
     }
 
     public void setNull(String fieldName) {
-        int fieldIndex = getSchema().getPosition(fieldName);
-
-        ByteDataBuffer fieldBuffer = getFieldBuffer(fieldIndex);
-        FieldType fieldType = getSchema().getFieldType(fieldIndex);
-
-        writeNull(fieldBuffer, fieldType);
+        setNull(getSchema().getPosition(fieldName));
     }
 
     public void setInt(String fieldName, int value) {
@@ -101,12 +96,7 @@ public class HollowObjectWriteRecord implements HollowWriteRecord {
         } else {
             int fieldIndex = getSchema().getPosition(fieldName);
 
-            validateFieldType(fieldIndex, fieldName, FieldType.INT);
-
-            ByteDataBuffer buf = getFieldBuffer(fieldIndex);
-
-            // zig zag encoding
-            VarInt.writeVInt(buf, ZigZag.encodeInt(value));
+            setInt(fieldIndex, value);
         }
     }
 
@@ -116,53 +106,109 @@ public class HollowObjectWriteRecord implements HollowWriteRecord {
         } else {
             int fieldIndex = getSchema().getPosition(fieldName);
 
-            validateFieldType(fieldIndex, fieldName, FieldType.LONG);
-
-            ByteDataBuffer buf = getFieldBuffer(fieldIndex);
-
-            // zig zag encoding
-            VarInt.writeVLong(buf, ZigZag.encodeLong(value));
+            setLong(fieldIndex, value);
         }
     }
 
     public void setFloat(String fieldName, float value) {
         int fieldIndex = getSchema().getPosition(fieldName);
 
-        validateFieldType(fieldIndex, fieldName, FieldType.FLOAT);
-
-        ByteDataBuffer buf = getFieldBuffer(fieldIndex);
-
-        int intBits = Float.floatToIntBits(value);
-        writeFixedLengthInt(buf, intBits);
+        setFloat(fieldIndex, value);
     }
 
     public void setDouble(String fieldName, double value) {
         int fieldIndex = getSchema().getPosition(fieldName);
 
-        validateFieldType(fieldIndex, fieldName, FieldType.DOUBLE);
-
-        ByteDataBuffer buf = getFieldBuffer(fieldIndex);
-
-        long longBits = Double.doubleToLongBits(value);
-        writeFixedLengthLong(buf, longBits);
+        setDouble(fieldIndex, value);
     }
 
     public void setBoolean(String fieldName, boolean value) {
         int fieldIndex = getSchema().getPosition(fieldName);
 
-        validateFieldType(fieldIndex, fieldName, FieldType.BOOLEAN);
+        setBoolean(fieldIndex, value);
+    }
 
-        ByteDataBuffer buf = getFieldBuffer(fieldIndex);
+    public void setBytes(String fieldName, byte[] value) {
+        if(value == null)  return;
+
+        int fieldIndex = getSchema().getPosition(fieldName);
 
-        buf.write(value ? (byte) 1 : (byte) 0);
+        setBytes(fieldIndex, value);
     }
 
-    public void setBytes(String fieldName, byte[] value) {
+    public void setString(String fieldName, String value) {
         if(value == null)  return;
 
         int fieldIndex = getSchema().getPosition(fieldName);
 
-        validateFieldType(fieldIndex, fieldName, FieldType.BYTES);
+        setString(fieldIndex, value);
+    }
+
+    public void setReference(String fieldName, int ordinal) {
+        int fieldIndex = getSchema().getPosition(fieldName);
+
+        setReference(fieldIndex, ordinal);
+    }
+
+    /*
+     * The following setters address a field by its position in the schema.  They are intended for callers which
+     * resolve the positions of the fields they set once, up front, such as the object mapper.  The field type is
+     * validated just as it is by the setters which address a field by name.
+     */
+
+    public void setNull(int fieldIndex) {
+        ByteDataBuffer fieldBuffer = getFieldBuffer(fieldIndex);
+        FieldType fieldType = getSchema().getFieldType(fieldIndex);
+
+        writeNull(fieldBuffer, fieldType);
+    }
+
+    public void setInt(int fieldIndex, int value) {
+        validateFieldType(fieldIndex, FieldType.INT);
+
+        if(value == Integer.MIN_VALUE) {
+            setNull(fieldIndex);
+        } else {
+            // zig zag encoding
+            VarInt.writeVInt(getFieldBuffer(fieldIndex), ZigZag.encodeInt(value));
+        }
+    }
+
+    public void setLong(int fieldIndex, long value) {
+        validateFieldType(fieldIndex, FieldType.LONG);
+
+        if(value == Long.MIN_VALUE) {
+            setNull(fieldIndex);
+        } else {
+            // zig zag encoding
+            VarInt.writeVLong(getFieldBuffer(fieldIndex), ZigZag.encodeLong(value));
+        }
+    }
+
+    public void setFloat(int fieldIndex, float value) {
+        validateFieldType(fieldIndex, FieldType.FLOAT);
+
+        int intBits = Float.floatToIntBits(value);
+        writeFixedLengthInt(getFieldBuffer(fieldIndex), intBits);
+    }
+
+    public void setDouble(int fieldIndex, double value) {
+        validateFieldType(fieldIndex, FieldType.DOUBLE);
+
+        long longBits = Double.doubleToLongBits(value);
+        writeFixedLengthLong(getFieldBuffer(fieldIndex), longBits);
+    }
+
+    public void setBoolean(int fieldIndex, boolean value) {
+        validateFieldType(fieldIndex, FieldType.BOOLEAN);
+
+        getFieldBuffer(fieldIndex).write(value ? (byte) 1 : (byte) 0);
+    }
+
+    public void setBytes(int fieldIndex, byte[] value) {
+        if(value == null)  return;
+
+        validateFieldType(fieldIndex, FieldType.BYTES);
 
         ByteDataBuffer buf = getFieldBuffer(fieldIndex);
 
@@ -171,12 +217,10 @@ public class HollowObjectWriteRecord implements HollowWriteRecord {
         }
     }
 
-    public void setString(String fieldName, String value) {
+    public void setString(int fieldIndex, String value) {
         if(value == null)  return;
 
-        int fieldIndex = getSchema().getPosition(fieldName);
-
-        validateFieldType(fieldIndex, fieldName, FieldType.STRING);
+        validateFieldType(fieldIndex, FieldType.STRING);
 
         ByteDataBuffer buf = getFieldBuffer(fieldIndex);
 
@@ -185,14 +229,10 @@ public class HollowObjectWriteRecord implements HollowWriteRecord {
         }
     }
 
-    public void setReference(String fieldName, int ordinal) {
-        int fieldIndex = getSchema().getPosition(fieldName);
-
-        validateFieldType(fieldIndex, fieldName, FieldType.REFERENCE);
-
-        ByteDataBuffer buf = getFieldBuffer(fieldIndex);
+    public void setReference(int fieldIndex, int ordinal) {
+        validateFieldType(fieldIndex, FieldType.REFERENCE);
 
-        VarInt.writeVInt(buf, ordinal);
+        VarInt.writeVInt(getFieldBuffer(fieldIndex), ordinal);
     }
 
     private void writeNull(ByteDataBuffer buf, FieldType fieldType) {
@@ -260,9 +300,9 @@ public class HollowObjectWriteRecord implements HollowWriteRecord {
         fieldBuffer.write((byte) (intBits));
     }
 
-    private void validateFieldType(int fieldIndex, String fieldName, FieldType attemptedFieldType) {
+    private void validateFieldType(int fieldIndex, FieldType attemptedFieldType) {
         if(getSchema().getFieldType(fieldIndex) != attemptedFieldType) {
-            throw new IllegalArgumentException("Attempting to serialize " + attemptedFieldType + " in field " + fieldName + ".  Carefully check your schema for type " + getSchema().getName() + ".");
+            throw new IllegalArgumentException("Attempting to serialize " + attemptedFieldType + " in field " + getSchema().getFieldName(fieldIndex) + ".  Carefully check your schema for type " + getSchema().getName() + ".");
         }
     }
 }
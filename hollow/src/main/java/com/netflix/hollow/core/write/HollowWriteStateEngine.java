@@ -70,6 +70,8 @@ public class HollowWriteStateEngine implements HollowStateEngine {
     //// target a maximum shard size to reduce excess memory pool requirement 
     private long targetMaxTypeShardSize = Long.MAX_VALUE;
 
+    private boolean writeTypeSectionLengths = false;
+
     private List<String> restoredStates;
     private boolean preparedForNextCycle = true;
     private long previousStateRandomizedTag = -1L;
@@ -411,6 +413,24 @@ public class HollowWriteStateEngine implements HollowStateEngine {
     long getTargetMaxTypeShardSize() {
         return targetMaxTypeShardSize;
     }
+
+    /**
+     * Record the length of each type's data in the blobs written from this state engine, which allows consumers
+     * that filter out types to skip them without reading their data.
+     * <p>
+     * Each type is buffered on the heap before it is written, so the memory required to write a blob increases by
+     * the serialized size of its largest type.  Consumers of any version can read these blobs.
+     *
+     * @param writeTypeSectionLengths true to record the length of each type's data
+     * @see HollowStateEngine#HEADER_TAG_TYPE_SECTION_LENGTHS
+     */
+    public void setWriteTypeSectionLengths(boolean writeTypeSectionLengths) {
+        this.writeTypeSectionLengths = writeTypeSectionLengths;
+    }
+
+    boolean isWriteTypeSectionLengths() {
+        return writeTypeSectionLengths;
+    }
     
     private long mintNewRandomizedStateTag() {
         Random rand = new Random();
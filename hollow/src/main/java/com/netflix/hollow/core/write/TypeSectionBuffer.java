@@ -0,0 +1,73 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.core.write;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Buffers the data of a type on the heap in fixed size segments, so that its length is known before it is written,
+ * and so that types larger than 2GB may be buffered.
+ */
+class TypeSectionBuffer extends OutputStream {
+
+    private static final int LOG2_SEGMENT_SIZE = 20;
+    private static final int SEGMENT_SIZE = 1 << LOG2_SEGMENT_SIZE;
+
+    private final List<byte[]> segments = new ArrayList<byte[]>();
+    private long length;
+
+    @Override
+    public void write(int b) {
+        int segmentPosition = (int)(length & (SEGMENT_SIZE - 1));
+        if(segmentPosition == 0)
+            segments.add(new byte[SEGMENT_SIZE]);
+        segments.get(segments.size() - 1)[segmentPosition] = (byte)b;
+        length++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        while(len > 0) {
+            int segmentPosition = (int)(length & (SEGMENT_SIZE - 1));
+            if(segmentPosition == 0)
+                segments.add(new byte[SEGMENT_SIZE]);
+
+            int bytesToCopy = Math.min(len, SEGMENT_SIZE - segmentPosition);
+            System.arraycopy(b, off, segments.get(segments.size() - 1), segmentPosition, bytesToCopy);
+            length += bytesToCopy;
+            off += bytesToCopy;
+            len -= bytesToCopy;
+        }
+    }
+
+    long length() {
+        return length;
+    }
+
+    void writeTo(OutputStream os) throws IOException {
+        long remaining = length;
+        for(byte[] segment : segments) {
+            int bytesToWrite = (int)Math.min(remaining, SEGMENT_SIZE);
+            os.write(segment, 0, bytesToWrite);
+            remaining -= bytesToWrite;
+        }
+    }
+
+}
@@ -21,16 +21,26 @@ import com.netflix.hollow.core.write.objectmapper.flatrecords.FlatRecordWriter;
 
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.Spliterator;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
 
 public class HollowObjectMapper {
 
+    private static final Logger log = Logger.getLogger(HollowObjectMapper.class.getName());
+
     private final HollowWriteStateEngine stateEngine;
 
     private final ConcurrentHashMap<Type, String> typeNameMappers;
@@ -74,6 +84,140 @@ public class HollowObjectMapper {
         return typeMapper.write(o);
     }
     
+    /**
+     * Adds the specified POJOs to the state engine, splitting them across the worker threads of the
+     * {@link ForkJoinPool#commonPool() common pool}.
+     *
+     * @param objects the POJOs to add
+     * @return the metrics of adding the POJOs
+     * @see #addAll(Stream, ForkJoinPool)
+     */
+    public AddAllMetrics addAll(Stream<?> objects) {
+        return addAll(objects, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Adds the specified POJOs to the state engine, splitting them across the worker threads of the provided
+     * {@link ForkJoinPool}.
+     * <p>
+     * The stream's {@link Spliterator} is split into about four tasks per worker thread, each of which is forked
+     * into the pool, so the POJOs are added by the pool's worker threads whether or not the stream is parallel.
+     * <p>
+     * Each type mapper keeps a write record, and each type state a scratch buffer, per thread.  Since the pool's
+     * worker threads are long lived, these are reused for every POJO and nested object the workers add, rather
+     * than being allocated for each thread which happens to call {@link #add(Object)}.
+     *
+     * @param objects the POJOs to add
+     * @param pool the pool whose worker threads add the POJOs
+     * @return the metrics of adding the POJOs
+     * @throws RuntimeException if a POJO could not be added, in which case other POJOs may have been added
+     */
+    public AddAllMetrics addAll(Stream<?> objects, ForkJoinPool pool) {
+        long startTime = System.nanoTime();
+
+        // the spliterator of a sequential pipeline does not split, but it is traversed by the tasks rather than the stream
+        Spliterator<?> spliterator = objects.parallel().spliterator();
+        long sizeThreshold = Math.max(1, spliterator.estimateSize() / (pool.getParallelism() * 4L));
+        AddTask task = new AddTask(spliterator, sizeThreshold, new LongAdder(), new LongAdder());
+        pool.invoke(task);
+
+        AddAllMetrics metrics = new AddAllMetrics(task.numAdded.sum(), task.numTasks.sum(),
+                pool.getParallelism(), System.nanoTime() - startTime);
+        log.info("ADDED " + metrics.getNumObjects() + " OBJECTS IN " + TimeUnit.NANOSECONDS.toMillis(metrics.getElapsedNanos()) + "ms"
+                + " (" + (long) metrics.getObjectsPerSecond() + " objects/s, " + metrics.getNumTasks() + " tasks, parallelism " + metrics.getParallelism() + ")");
+
+        return metrics;
+    }
+
+    private final class AddTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Spliterator<?> spliterator;
+        private final long sizeThreshold;
+        private final LongAdder numAdded;
+        private final LongAdder numTasks;
+
+        AddTask(Spliterator<?> spliterator, long sizeThreshold, LongAdder numAdded, LongAdder numTasks) {
+            this.spliterator = spliterator;
+            this.sizeThreshold = sizeThreshold;
+            this.numAdded = numAdded;
+            this.numTasks = numTasks;
+        }
+
+        @Override
+        protected void compute() {
+            numTasks.increment();
+
+            List<AddTask> forked = new ArrayList<>();
+            Spliterator<?> split;
+            while (spliterator.estimateSize() > sizeThreshold && (split = spliterator.trySplit()) != null) {
+                AddTask task = new AddTask(split, sizeThreshold, numAdded, numTasks);
+                task.fork();
+                forked.add(task);
+            }
+
+            spliterator.forEachRemaining(o -> {
+                add(o);
+                numAdded.increment();
+            });
+
+            for (int i = forked.size() - 1; i >= 0; i--)
+                forked.get(i).join();
+        }
+    }
+
+    /**
+     * The metrics of a call to {@link #addAll(Stream, ForkJoinPool)}.
+     */
+    public static final class AddAllMetrics {
+        private final long numObjects;
+        private final long numTasks;
+        private final int parallelism;
+        private final long elapsedNanos;
+
+        AddAllMetrics(long numObjects, long numTasks, int parallelism, long elapsedNanos) {
+            this.numObjects = numObjects;
+            this.numTasks = numTasks;
+            this.parallelism = parallelism;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * @return the number of POJOs added
+         */
+        public long getNumObjects() {
+            return numObjects;
+        }
+
+        /**
+         * @return the number of tasks into which the POJOs were split
+         */
+        public long getNumTasks() {
+            return numTasks;
+        }
+
+        /**
+         * @return the parallelism of the pool which added the POJOs
+         */
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        /**
+         * @return the time taken to add the POJOs, in nanoseconds
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * @return the number of POJOs added per second
+         */
+        public double getObjectsPerSecond() {
+            return elapsedNanos == 0 ? 0d : numObjects * 1e9d / elapsedNanos;
+        }
+    }
+
     /**
      * Warning: Experimental.  the FlatRecord feature is subject to breaking changes.
      */
@@ -50,6 +50,7 @@ public class HollowObjectTypeMapper extends HollowTypeMapper {
     private final long assignedOrdinalFieldOffset;
 
     private final List<MappedField> mappedFields;
+    private final FieldWriter fieldWriters[];
     
     private volatile int primaryKeyFieldPathIdx[][];
 
@@ -120,6 +121,12 @@ public class HollowObjectTypeMapper extends HollowTypeMapper {
             }
         }
 
+        this.fieldWriters = new FieldWriter[mappedFields.size()];
+        for(int i=0;i<fieldWriters.length;i++) {
+            MappedField field = mappedFields.get(i);
+            fieldWriters[i] = field.createWriter(schema.getPosition(field.getFieldName()));
+        }
+
         HollowObjectTypeWriteState existingWriteState = (HollowObjectTypeWriteState) parentMapper.getStateEngine().getTypeState(typeName);
         this.writeState = existingWriteState != null ? existingWriteState : new HollowObjectTypeWriteState(schema, getNumShards(clazz));
 
@@ -177,8 +184,8 @@ public class HollowObjectTypeMapper extends HollowTypeMapper {
 
         HollowObjectWriteRecord rec = (HollowObjectWriteRecord) writeRecord();
 
-        for (int i = 0; i < mappedFields.size(); i++) {
-            mappedFields.get(i).copy(obj, rec, flatRecordWriter);
+        for (int i = 0; i < fieldWriters.length; i++) {
+            fieldWriters[i].write(obj, rec, flatRecordWriter);
         }
         return rec;
     }
@@ -358,114 +365,120 @@ public class HollowObjectTypeMapper extends HollowTypeMapper {
             return subTypeMapper.getTypeName();
         }
 
+        /**
+         * Create the writer which copies this field into the given position of a write record.  The switch over
+         * the field type happens once, here, rather than for every record.
+         */
         @SuppressWarnings("deprecation")
-        public void copy(Object obj, HollowObjectWriteRecord rec, FlatRecordWriter flatRecordWriter) {
-            Object fieldObject;
-            
+        FieldWriter createWriter(int fieldIndex) {
+            final long fieldOffset = this.fieldOffset;
+            final HollowTypeMapper subTypeMapper = this.subTypeMapper;
+
             switch(fieldType) {
                 case BOOLEAN:
-                    rec.setBoolean(fieldName, unsafe.getBoolean(obj, fieldOffset));
-                    break;
+                    return (obj, rec, flatRecordWriter) -> rec.setBoolean(fieldIndex, unsafe.getBoolean(obj, fieldOffset));
                 case INT:
-                    rec.setInt(fieldName, unsafe.getInt(obj, fieldOffset));
-                    break;
+                    return (obj, rec, flatRecordWriter) -> rec.setInt(fieldIndex, unsafe.getInt(obj, fieldOffset));
                 case SHORT:
-                    rec.setInt(fieldName, unsafe.getShort(obj, fieldOffset));
-                    break;
+                    return (obj, rec, flatRecordWriter) -> rec.setInt(fieldIndex, unsafe.getShort(obj, fieldOffset));
                 case BYTE:
-                    rec.setInt(fieldName, unsafe.getByte(obj, fieldOffset));
-                    break;
+                    return (obj, rec, flatRecordWriter) -> rec.setInt(fieldIndex, unsafe.getByte(obj, fieldOffset));
                 case CHAR:
-                    rec.setInt(fieldName, unsafe.getChar(obj, fieldOffset));
-                    break;
+                    return (obj, rec, flatRecordWriter) -> rec.setInt(fieldIndex, unsafe.getChar(obj, fieldOffset));
                 case LONG:
-                    rec.setLong(fieldName, unsafe.getLong(obj, fieldOffset));
-                    break;
+                    return (obj, rec, flatRecordWriter) -> rec.setLong(fieldIndex, unsafe.getLong(obj, fieldOffset));
                 case DOUBLE:
-                    double d = unsafe.getDouble(obj, fieldOffset);
-                    if(!Double.isNaN(d))
-                        rec.setDouble(fieldName, d);
-                    break;
+                    return (obj, rec, flatRecordWriter) -> {
+                        double d = unsafe.getDouble(obj, fieldOffset);
+                        if(!Double.isNaN(d))
+                            rec.setDouble(fieldIndex, d);
+                    };
                 case FLOAT:
-                    float f = unsafe.getFloat(obj, fieldOffset);
-                    if(!Float.isNaN(f))
-                        rec.setFloat(fieldName, f);
-                    break;
+                    return (obj, rec, flatRecordWriter) -> {
+                        float f = unsafe.getFloat(obj, fieldOffset);
+                        if(!Float.isNaN(f))
+                            rec.setFloat(fieldIndex, f);
+                    };
                 case STRING:
-                    fieldObject = unsafe.getObject(obj, fieldOffset);
-                    if(fieldObject != null)
-                        rec.setString(fieldName, getStringFromField(obj, fieldObject));
-                    break;
+                    return (obj, rec, flatRecordWriter) -> {
+                        Object fieldObject = unsafe.getObject(obj, fieldOffset);
+                        if(fieldObject != null)
+                            rec.setString(fieldIndex, getStringFromField(obj, fieldObject));
+                    };
                 case BYTES:
-                    fieldObject = unsafe.getObject(obj, fieldOffset);
-                    if(fieldObject != null)
-                        rec.setBytes(fieldName, (byte[])fieldObject);
-                    break;
+                    return (obj, rec, flatRecordWriter) -> rec.setBytes(fieldIndex, (byte[])unsafe.getObject(obj, fieldOffset));
                 case INLINED_BOOLEAN:
-                    fieldObject = unsafe.getObject(obj, fieldOffset);
-                    if(fieldObject != null)
-                        rec.setBoolean(fieldName, ((Boolean)fieldObject).booleanValue());
-                    break;
+                    return (obj, rec, flatRecordWriter) -> {
+                        Object fieldObject = unsafe.getObject(obj, fieldOffset);
+                        if(fieldObject != null)
+                            rec.setBoolean(fieldIndex, ((Boolean)fieldObject).booleanValue());
+                    };
                 case INLINED_INT:
-                    fieldObject = unsafe.getObject(obj, fieldOffset);
-                    if(fieldObject != null)
-                        rec.setInt(fieldName, ((Integer)fieldObject).intValue());
-                    break;
+                    return (obj, rec, flatRecordWriter) -> {
+                        Object fieldObject = unsafe.getObject(obj, fieldOffset);
+                        if(fieldObject != null)
+                            rec.setInt(fieldIndex, ((Integer)fieldObject).intValue());
+                    };
                 case INLINED_SHORT:
-                    fieldObject = unsafe.getObject(obj, fieldOffset);
-                    if(fieldObject != null)
-                        rec.setInt(fieldName, ((Short)fieldObject).intValue());
-                    break;
+                    return (obj, rec, flatRecordWriter) -> {
+                        Object fieldObject = unsafe.getObject(obj, fieldOffset);
+                        if(fieldObject != null)
+                            rec.setInt(fieldIndex, ((Short)fieldObject).intValue());
+                    };
                 case INLINED_BYTE:
-                    fieldObject = unsafe.getObject(obj, fieldOffset);
-                    if(fieldObject != null)
-                        rec.setInt(fieldName, ((Byte)fieldObject).intValue());
-                    break;
+                    return (obj, rec, flatRecordWriter) -> {
+                        Object fieldObject = unsafe.getObject(obj, fieldOffset);
+                        if(fieldObject != null)
+                            rec.setInt(fieldIndex, ((Byte)fieldObject).intValue());
+                    };
                 case INLINED_CHAR:
-                    fieldObject = unsafe.getObject(obj, fieldOffset);
-                    if(fieldObject != null)
-                        rec.setInt(fieldName, (int)((Character)fieldObject).charValue());
-                    break;
+                    return (obj, rec, flatRecordWriter) -> {
+                        Object fieldObject = unsafe.getObject(obj, fieldOffset);
+                        if(fieldObject != null)
+                            rec.setInt(fieldIndex, (int)((Character)fieldObject).charValue());
+                    };
                 case INLINED_LONG:
-                    fieldObject = unsafe.getObject(obj, fieldOffset);
-                    if(fieldObject != null)
-                        rec.setLong(fieldName, ((Long)fieldObject).longValue());
-                    break;
+                    return (obj, rec, flatRecordWriter) -> {
+                        Object fieldObject = unsafe.getObject(obj, fieldOffset);
+                        if(fieldObject != null)
+                            rec.setLong(fieldIndex, ((Long)fieldObject).longValue());
+                    };
                 case INLINED_DOUBLE:
-                    fieldObject = unsafe.getObject(obj, fieldOffset);
-                    if(fieldObject != null)
-                        rec.setDouble(fieldName, ((Double)fieldObject).doubleValue());
-                    break;
+                    return (obj, rec, flatRecordWriter) -> {
+                        Object fieldObject = unsafe.getObject(obj, fieldOffset);
+                        if(fieldObject != null)
+                            rec.setDouble(fieldIndex, ((Double)fieldObject).doubleValue());
+                    };
                 case INLINED_FLOAT:
-                    fieldObject = unsafe.getObject(obj, fieldOffset);
-                    if(fieldObject != null)
-                        rec.setFloat(fieldName, ((Float)fieldObject).floatValue());
-                    break;
+                    return (obj, rec, flatRecordWriter) -> {
+                        Object fieldObject = unsafe.getObject(obj, fieldOffset);
+                        if(fieldObject != null)
+                            rec.setFloat(fieldIndex, ((Float)fieldObject).floatValue());
+                    };
                 case INLINED_STRING:
-                    fieldObject = unsafe.getObject(obj, fieldOffset);
-                    if(fieldObject != null)
-                        rec.setString(fieldName, (String)fieldObject);
-                    break;
+                    return (obj, rec, flatRecordWriter) -> rec.setString(fieldIndex, (String)unsafe.getObject(obj, fieldOffset));
                 case NULLABLE_PRIMITIVE_BOOLEAN:
-                    fieldObject = unsafe.getObject(obj, fieldOffset);
-                    if(fieldObject != null)
-                        rec.setBoolean(fieldName, ((NullablePrimitiveBoolean)fieldObject).getBooleanValue());
-                    break;
+                    return (obj, rec, flatRecordWriter) -> {
+                        Object fieldObject = unsafe.getObject(obj, fieldOffset);
+                        if(fieldObject != null)
+                            rec.setBoolean(fieldIndex, ((NullablePrimitiveBoolean)fieldObject).getBooleanValue());
+                    };
                 case DATE_TIME:
-                    rec.setLong(fieldName, ((Date)obj).getTime());
-                    break;
+                    return (obj, rec, flatRecordWriter) -> rec.setLong(fieldIndex, ((Date)obj).getTime());
                 case ENUM_NAME:
-                    rec.setString(fieldName, ((Enum<?>)obj).name());
-                    break;
+                    return (obj, rec, flatRecordWriter) -> rec.setString(fieldIndex, ((Enum<?>)obj).name());
                 case REFERENCE:
-                    fieldObject = unsafe.getObject(obj, fieldOffset);
-                    if(fieldObject != null) {
-                    	if(flatRecordWriter == null)
-                    		rec.setReference(fieldName, subTypeMapper.write(fieldObject));
-                    	else
-                    		rec.setReference(fieldName, subTypeMapper.writeFlat(fieldObject, flatRecordWriter));
-                    }
-                    break;
+                    return (obj, rec, flatRecordWriter) -> {
+                        Object fieldObject = unsafe.getObject(obj, fieldOffset);
+                        if(fieldObject != null) {
+                            if(flatRecordWriter == null)
+                                rec.setReference(fieldIndex, subTypeMapper.write(fieldObject));
+                            else
+                                rec.setReference(fieldIndex, subTypeMapper.writeFlat(fieldObject, flatRecordWriter));
+                        }
+                    };
+                default:
+                    throw new IllegalStateException("Unexpected mapped field type " + fieldType);
             }
         }
 
@@ -549,6 +562,14 @@ public class HollowObjectTypeMapper extends HollowTypeMapper {
         }
     }
     
+    /**
+     * Copies one field of a POJO into a write record, at a position resolved when the type mapper was created.
+     */
+    @FunctionalInterface
+    private interface FieldWriter {
+        void write(Object obj, HollowObjectWriteRecord rec, FlatRecordWriter flatRecordWriter);
+    }
+
     private static enum MappedFieldType {
         BOOLEAN(FieldType.BOOLEAN),
         NULLABLE_PRIMITIVE_BOOLEAN(FieldType.BOOLEAN),
@@ -22,6 +22,8 @@ import com.netflix.hollow.core.read.engine.HollowTypeReadState;
 import com.netflix.hollow.core.schema.HollowSchema;
 import com.netflix.hollow.core.util.SimultaneousExecutor;
 import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.Vector;
 
 /**
@@ -103,6 +105,23 @@ public class HollowChecksum {
         return totalChecksum;
     }
 
+    /**
+     * Combine the checksums of individual types into the checksum of a state engine, as calculated by
+     * {@link #forStateEngineWithCommonSchemas(HollowReadStateEngine, HollowReadStateEngine)}.
+     *
+     * @param typeChecksums the checksum of each type, keyed by type name
+     * @return the combined checksum
+     */
+    public static HollowChecksum forTypeChecksums(Map<String, HollowChecksum> typeChecksums) {
+        HollowChecksum totalChecksum = new HollowChecksum();
+
+        for(HollowChecksum cksum : new TreeMap<String, HollowChecksum>(typeChecksums).values()) {
+            totalChecksum.applyInt(cksum.intValue());
+        }
+
+        return totalChecksum;
+    }
+
 
     private static class TypeChecksum implements Comparable<TypeChecksum>{
         private final String type;
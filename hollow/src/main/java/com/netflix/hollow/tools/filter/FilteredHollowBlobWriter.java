@@ -22,6 +22,7 @@ import static com.netflix.hollow.core.util.IOUtils.copyVLong;
 import static com.netflix.hollow.tools.filter.FilteredHollowBlobWriterStreamAndFilter.streamsOnly;
 
 import com.netflix.hollow.core.HollowBlobHeader;
+import com.netflix.hollow.core.HollowStateEngine;
 import com.netflix.hollow.core.memory.encoding.FixedLengthElementArray;
 import com.netflix.hollow.core.memory.encoding.GapEncodedVariableLengthIntegerReader;
 import com.netflix.hollow.core.memory.encoding.VarInt;
@@ -119,6 +120,8 @@ public class FilteredHollowBlobWriter {
         FilteredHollowBlobWriterStreamAndFilter allStreamAndFilters[] = FilteredHollowBlobWriterStreamAndFilter.combine(out, configs);
 
         HollowBlobHeader header = headerReader.readHeader(in);
+        /// type sections are copied without their lengths
+        header.getHeaderTags().remove(HollowStateEngine.HEADER_TAG_TYPE_SECTION_LENGTHS);
         
         List<HollowSchema> unfilteredSchemaList = header.getSchemas(); 
 
@@ -19,6 +19,7 @@ package com.netflix.hollow.tools.history;
 import com.netflix.hollow.api.sampling.DisabledSamplingDirector;
 import com.netflix.hollow.api.sampling.HollowObjectSampler;
 import com.netflix.hollow.core.read.dataaccess.HollowObjectTypeDataAccess;
+import com.netflix.hollow.core.read.dataaccess.HollowStringView;
 import com.netflix.hollow.core.read.engine.HollowTypeReadState;
 import com.netflix.hollow.core.read.engine.object.HollowObjectTypeReadState;
 import com.netflix.hollow.core.schema.HollowObjectSchema;
@@ -134,6 +135,16 @@ public class HollowHistoricalObjectDataAccess extends HollowHistoricalTypeDataAc
         return removedRecords().isStringFieldEqual(getMappedOrdinal(ordinal), fieldIndex, testValue);
     }
 
+    @Override
+    public boolean readString(int ordinal, int fieldIndex, HollowStringView view) {
+        sampler().recordFieldAccess(fieldIndex);
+        recordStackTrace();
+
+        if(!ordinalIsPresent(ordinal))
+            return ((HollowObjectTypeDataAccess)dataAccess.getTypeDataAccess(getSchema().getName(), ordinal)).readString(ordinal, fieldIndex, view);
+        return removedRecords().readString(getMappedOrdinal(ordinal), fieldIndex, view);
+    }
+
     @Override
     public int findVarLengthFieldHashCode(int ordinal, int fieldIndex) {
         sampler().recordFieldAccess(fieldIndex);
@@ -16,17 +16,28 @@
  */
 package com.netflix.hollow.tools.query;
 
+import com.netflix.hollow.core.index.HollowHashIndex;
+import com.netflix.hollow.core.index.HollowHashIndexResult;
+import com.netflix.hollow.core.index.HollowPrimaryKeyIndex;
+import com.netflix.hollow.core.index.key.PrimaryKey;
 import com.netflix.hollow.core.read.HollowReadFieldUtils;
 import com.netflix.hollow.core.read.engine.HollowReadStateEngine;
 import com.netflix.hollow.core.read.engine.HollowTypeReadState;
 import com.netflix.hollow.core.read.engine.object.HollowObjectTypeReadState;
+import com.netflix.hollow.core.read.iterator.HollowOrdinalIterator;
 import com.netflix.hollow.core.schema.HollowObjectSchema;
 import com.netflix.hollow.core.schema.HollowObjectSchema.FieldType;
+import com.netflix.hollow.core.schema.HollowSchema;
 import com.netflix.hollow.core.schema.HollowSchema.SchemaType;
 import com.netflix.hollow.tools.traverse.TransitiveSetTraverser;
+import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntPredicate;
 
 /**
  * A HollowFieldMatchQuery can be used to scan through all records in a dataset to match specific field name/value combinations.
@@ -46,13 +57,63 @@ import java.util.Map;
  * TransitiveSetTraverser.addReferencingOutsideClosure(myStateEngine, selection);
  * }
  * </pre>
+ * <p>
+ * A query constructed with a {@link ForkJoinPool} splits the ordinals of each scanned type into chunks, which are scanned
+ * by the pool's worker threads.  A query of a field which is covered by an index provided with
+ * {@link #useIndex(HollowPrimaryKeyIndex)} or {@link #useIndex(HollowHashIndex)} looks up the matching records in
+ * that index rather than scanning the type.
  */
 public class HollowFieldMatchQuery {
-    
+
+    /// a multiple of 64, so that each chunk sets the bits of its own words of the matches
+    private static final int SCAN_CHUNK_SIZE = 1 << 14;
+
     private final HollowReadStateEngine readEngine;
+    private final ForkJoinPool pool;
+    private final List<HollowPrimaryKeyIndex> primaryKeyIndexes;
+    private final List<HollowHashIndex> hashIndexes;
     
     public HollowFieldMatchQuery(HollowReadStateEngine readEngine) {
+        this(readEngine, null);
+    }
+
+    /**
+     * Create a query which scans the records of each type in parallel.
+     *
+     * @param readEngine the state engine to query
+     * @param pool the pool whose worker threads scan the records, or null to scan the records on the calling thread
+     */
+    public HollowFieldMatchQuery(HollowReadStateEngine readEngine, ForkJoinPool pool) {
         this.readEngine = readEngine;
+        this.pool = pool;
+        this.primaryKeyIndexes = new ArrayList<HollowPrimaryKeyIndex>();
+        this.hashIndexes = new ArrayList<HollowHashIndex>();
+    }
+
+    /**
+     * Look up the records matching a query of the indexed type and field in the provided index, rather than scanning
+     * the type.  The index is used only if its primary key has a single field, and must be kept up to date with the
+     * queried state engine.
+     *
+     * @param index an index of the queried state engine
+     * @return this query
+     */
+    public HollowFieldMatchQuery useIndex(HollowPrimaryKeyIndex index) {
+        primaryKeyIndexes.add(index);
+        return this;
+    }
+
+    /**
+     * Look up the records matching a query of the indexed type and field in the provided index, rather than scanning
+     * the type.  The index is used only if it selects the records of its type and matches a single field, and must be
+     * kept up to date with the queried state engine.
+     *
+     * @param index an index of the queried state engine
+     * @return this query
+     */
+    public HollowFieldMatchQuery useIndex(HollowHashIndex index) {
+        hashIndexes.add(index);
+        return this;
     }
     
     /**
@@ -98,15 +159,17 @@ public class HollowFieldMatchQuery {
                 if(schema.getFieldName(i).equals(fieldName)) {
                     HollowObjectTypeReadState objState = (HollowObjectTypeReadState)typeState;
                     
-                    BitSet typeQueryMatches = null;
+                    BitSet typeQueryMatches = queryBasedOnIndex(objState, i, fieldValue);
                     
-                    if(schema.getFieldType(i) == FieldType.REFERENCE) {
-                        typeQueryMatches = attemptReferenceTraversalQuery(objState, i, fieldValue);
-                    } else {
-                        Object queryValue = castQueryValue(fieldValue, schema.getFieldType(i));
-                        
-                        if(queryValue != null) {
-                            typeQueryMatches = queryBasedOnValueMatches(objState, i, queryValue);
+                    if(typeQueryMatches == null) {
+                        if(schema.getFieldType(i) == FieldType.REFERENCE) {
+                            typeQueryMatches = attemptReferenceTraversalQuery(objState, i, fieldValue);
+                        } else {
+                            Object queryValue = castQueryValue(fieldValue, schema.getFieldType(i));
+
+                            if(queryValue != null) {
+                                typeQueryMatches = queryBasedOnValueMatches(objState, i, queryValue);
+                            }
                         }
                     }
                     
@@ -144,31 +207,140 @@ public class HollowFieldMatchQuery {
         return null;
     }
     
+    private BitSet queryBasedOnIndex(HollowObjectTypeReadState typeState, int fieldIdx, String fieldValue) {
+        if(primaryKeyIndexes.isEmpty() && hashIndexes.isEmpty())
+            return null;
+
+        /// an index may name a reference to a type with a single field, or the path to the field's value
+        String fieldName = typeState.getSchema().getFieldName(fieldIdx);
+        StringBuilder valuePath = new StringBuilder(fieldName);
+        HollowObjectSchema schema = typeState.getSchema();
+        int valueFieldIdx = fieldIdx;
+        while(schema.getFieldType(valueFieldIdx) == FieldType.REFERENCE) {
+            HollowTypeReadState referencedTypeState = schema.getReferencedTypeState(valueFieldIdx);
+            if(referencedTypeState == null)
+                return null;
+            HollowSchema referencedSchema = referencedTypeState.getSchema();
+            if(referencedSchema.getSchemaType() != SchemaType.OBJECT || ((HollowObjectSchema)referencedSchema).numFields() != 1)
+                return null;
+            schema = (HollowObjectSchema)referencedSchema;
+            valueFieldIdx = 0;
+            valuePath.append('.').append(schema.getFieldName(0));
+        }
+
+        for(HollowPrimaryKeyIndex index : primaryKeyIndexes) {
+            PrimaryKey primaryKey = index.getPrimaryKey();
+            if(index.getTypeState() == typeState && primaryKey.numFields() == 1
+                    && isFieldPath(primaryKey.getFieldPath(0), fieldName, valuePath)) {
+                Object queryValue = castQueryValue(fieldValue, schema.getFieldType(valueFieldIdx));
+                if(queryValue == null)
+                    return null;
+
+                BitSet typeQueryMatches = new BitSet();
+                int ordinal = index.getMatchingOrdinal(queryValue);
+                if(ordinal != -1)
+                    typeQueryMatches.set(ordinal);
+                return typeQueryMatches;
+            }
+        }
+
+        for(HollowHashIndex index : hashIndexes) {
+            String selectField = index.getSelectField();
+            if(index.getStateEngine() == readEngine && index.getType().equals(typeState.getSchema().getName())
+                    && (selectField == null || selectField.isEmpty()) && index.getMatchFields().length == 1
+                    && isFieldPath(index.getMatchFields()[0], fieldName, valuePath)) {
+                Object queryValue = castQueryValue(fieldValue, schema.getFieldType(valueFieldIdx));
+                if(queryValue == null)
+                    return null;
+
+                BitSet typeQueryMatches = new BitSet();
+                HollowHashIndexResult result = index.findMatches(queryValue);
+                if(result != null) {
+                    HollowOrdinalIterator iter = result.iterator();
+                    for(int ordinal = iter.next(); ordinal != HollowOrdinalIterator.NO_MORE_ORDINALS; ordinal = iter.next())
+                        typeQueryMatches.set(ordinal);
+                }
+                return typeQueryMatches;
+            }
+        }
+
+        return null;
+    }
+
+    private static boolean isFieldPath(String indexedPath, String fieldName, StringBuilder valuePath) {
+        if(indexedPath.endsWith("!"))
+            indexedPath = indexedPath.substring(0, indexedPath.length() - 1);
+        return indexedPath.equals(fieldName) || indexedPath.contentEquals(valuePath);
+    }
+
     private BitSet queryBasedOnMatchedReferences(HollowObjectTypeReadState typeState, int referenceFieldPosition, BitSet matchedReferences) {
-        BitSet populatedOrdinals = typeState.getPopulatedOrdinals();
-        BitSet typeQueryMatches = new BitSet(populatedOrdinals.length());
-      
-        int ordinal = populatedOrdinals.nextSetBit(0);
-        while(ordinal != -1) {
+        return scan(typeState.getPopulatedOrdinals(), ordinal -> {
             int refOrdinal = typeState.readOrdinal(ordinal, referenceFieldPosition);
-            if(refOrdinal != -1 && matchedReferences.get(refOrdinal))
-                typeQueryMatches.set(ordinal);
-            ordinal = populatedOrdinals.nextSetBit(ordinal+1);
-        }
-        return typeQueryMatches;
+            return refOrdinal != -1 && matchedReferences.get(refOrdinal);
+        });
     }
     
     private BitSet queryBasedOnValueMatches(HollowObjectTypeReadState typeState, int fieldPosition, Object queryValue) {
-        BitSet populatedOrdinals = typeState.getPopulatedOrdinals();
-        BitSet typeQueryMatches = new BitSet(populatedOrdinals.length());
-      
-        int ordinal = populatedOrdinals.nextSetBit(0);
-        while(ordinal != -1) {
-            if(HollowReadFieldUtils.fieldValueEquals(typeState, ordinal, fieldPosition, queryValue))
-                typeQueryMatches.set(ordinal);
+        return scan(typeState.getPopulatedOrdinals(),
+                ordinal -> HollowReadFieldUtils.fieldValueEquals(typeState, ordinal, fieldPosition, queryValue));
+    }
+
+    private BitSet scan(BitSet populatedOrdinals, IntPredicate matcher) {
+        int length = populatedOrdinals.length();
+        long typeQueryMatches[] = new long[(length + 63) >>> 6];
+
+        if(pool == null || length <= SCAN_CHUNK_SIZE) {
+            scanChunk(populatedOrdinals, 0, length, matcher, typeQueryMatches);
+        } else {
+            int numChunks = (length + SCAN_CHUNK_SIZE - 1) / SCAN_CHUNK_SIZE;
+            pool.invoke(new ScanTask(populatedOrdinals, length, 0, numChunks, matcher, typeQueryMatches));
+        }
+
+        return BitSet.valueOf(typeQueryMatches);
+    }
+
+    /**
+     * Scans a range of chunks of ordinals, splitting the range in halves until each task scans a single chunk.  The
+     * chunks are a multiple of 64 ordinals, so tasks never write to the same element of the matches.
+     */
+    private static final class ScanTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final BitSet populatedOrdinals;
+        private final int length;
+        private final int fromChunk;
+        private final int toChunk;
+        private final IntPredicate matcher;
+        private final long typeQueryMatches[];
+
+        ScanTask(BitSet populatedOrdinals, int length, int fromChunk, int toChunk, IntPredicate matcher, long typeQueryMatches[]) {
+            this.populatedOrdinals = populatedOrdinals;
+            this.length = length;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+            this.matcher = matcher;
+            this.typeQueryMatches = typeQueryMatches;
+        }
+
+        @Override
+        protected void compute() {
+            if(toChunk - fromChunk == 1) {
+                scanChunk(populatedOrdinals, fromChunk * SCAN_CHUNK_SIZE, Math.min(length, toChunk * SCAN_CHUNK_SIZE), matcher, typeQueryMatches);
+            } else {
+                int midChunk = (fromChunk + toChunk) >>> 1;
+                invokeAll(new ScanTask(populatedOrdinals, length, fromChunk, midChunk, matcher, typeQueryMatches),
+                        new ScanTask(populatedOrdinals, length, midChunk, toChunk, matcher, typeQueryMatches));
+            }
+        }
+    }
+
+    private static void scanChunk(BitSet populatedOrdinals, int fromOrdinal, int toOrdinal, IntPredicate matcher, long typeQueryMatches[]) {
+        int ordinal = populatedOrdinals.nextSetBit(fromOrdinal);
+        while(ordinal != -1 && ordinal < toOrdinal) {
+            if(matcher.test(ordinal))
+                typeQueryMatches[ordinal >>> 6] |= 1L << ordinal;
             ordinal = populatedOrdinals.nextSetBit(ordinal+1);
         }
-        return typeQueryMatches;
     }
 
     private Object castQueryValue(String fieldValue, FieldType fieldType) {
@@ -0,0 +1,398 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.tools.query;
+
+import com.netflix.hollow.core.read.engine.HollowReadStateEngine;
+import com.netflix.hollow.core.read.engine.HollowTypeReadState;
+import com.netflix.hollow.core.read.engine.object.HollowObjectTypeReadState;
+import com.netflix.hollow.core.schema.HollowObjectSchema;
+import com.netflix.hollow.core.schema.HollowObjectSchema.FieldType;
+import java.util.BitSet;
+import java.util.function.DoublePredicate;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+
+/**
+ * A HollowFieldScan selects the records of an OBJECT type whose fixed length field values match a conjunction of
+ * predicates.
+ * <p>
+ * Field values are decoded a block of ordinals at a time into primitive arrays with the column reads of
+ * {@link HollowObjectTypeReadState}, and each predicate is evaluated over the decoded block into words of
+ * matching ordinals.  Blocks in which no record still matches are skipped, and blocks in which few records still
+ * match are evaluated one record at a time, so that each predicate after the first costs in proportion to the
+ * records matched so far.  For example, the following code selects the Movie records released after 2015 with a
+ * rating of at least 4:
+ * <pre>
+ * {@code
+ * BitSet matches = new HollowFieldScan(myStateEngine, "Movie")
+ *         .whereIntBetween("releaseYear", 2016, Integer.MAX_VALUE)
+ *         .whereInt("rating", rating -> rating >= 4)
+ *         .matches();
+ * }
+ * </pre>
+ * The range predicates, such as {@link #whereIntBetween(String, int, int)}, are evaluated with plain comparisons
+ * and are cheaper than the equivalent functional predicates, whose calls cannot be inlined once a scan has been
+ * used with several of them.
+ * A null field value never matches a predicate.  As elsewhere in Hollow, a null INT or LONG value is indistinguishable
+ * from the minimum value of the type, and a null FLOAT or DOUBLE value from NaN.
+ * <p>
+ * A HollowFieldScan is not thread safe.
+ */
+public class HollowFieldScan {
+
+    static final int BLOCK_SIZE = 4096;
+    /// a block in which fewer than one in this many records still match is evaluated one record at a time
+    private static final int SPARSE_BLOCK_RATIO = 16;
+
+    private final HollowObjectTypeReadState typeState;
+    private final long[] matches;
+
+    private int[] intValues;
+    private long[] longValues;
+    private float[] floatValues;
+    private double[] doubleValues;
+
+    public HollowFieldScan(HollowReadStateEngine readEngine, String type) {
+        this(objectTypeState(readEngine, type));
+    }
+
+    /**
+     * @param typeState the type state to scan; the scan starts with all of its populated ordinals matching
+     */
+    public HollowFieldScan(HollowObjectTypeReadState typeState) {
+        this.typeState = typeState;
+        this.matches = typeState.getPopulatedOrdinals().toLongArray();
+    }
+
+    /**
+     * Keep only the records whose INT field value matches the predicate.
+     *
+     * @param fieldName the field name
+     * @param predicate the predicate
+     * @return this scan
+     */
+    public HollowFieldScan whereInt(String fieldName, IntPredicate predicate) {
+        int fieldIndex = fieldIndex(fieldName, FieldType.INT);
+        int[] values = intValues();
+
+        return scan((fromOrdinal, toOrdinal) -> typeState.readInts(fromOrdinal, toOrdinal, fieldIndex, values),
+                (offset, numValues) -> {
+                    long word = 0;
+                    for(int j = 0; j < numValues; j++) {
+                        int value = values[offset + j];
+                        if(value != Integer.MIN_VALUE && predicate.test(value))
+                            word |= 1L << j;
+                    }
+                    return word;
+                },
+                ordinal -> {
+                    int value = typeState.readInt(ordinal, fieldIndex);
+                    return value != Integer.MIN_VALUE && predicate.test(value);
+                });
+    }
+
+    /**
+     * Keep only the records whose INT field value is within a range.
+     *
+     * @param fieldName the field name
+     * @param minValue the minimum value, inclusive
+     * @param maxValue the maximum value, inclusive
+     * @return this scan
+     */
+    public HollowFieldScan whereIntBetween(String fieldName, int minValue, int maxValue) {
+        int fieldIndex = fieldIndex(fieldName, FieldType.INT);
+        int[] values = intValues();
+
+        return scan((fromOrdinal, toOrdinal) -> typeState.readInts(fromOrdinal, toOrdinal, fieldIndex, values),
+                (offset, numValues) -> {
+                    long word = 0;
+                    for(int j = 0; j < numValues; j++) {
+                        int value = values[offset + j];
+                        boolean match = value != Integer.MIN_VALUE & value >= minValue & value <= maxValue;
+                        word |= (match ? 1L : 0L) << j;
+                    }
+                    return word;
+                },
+                ordinal -> {
+                    int value = typeState.readInt(ordinal, fieldIndex);
+                    return value != Integer.MIN_VALUE && value >= minValue && value <= maxValue;
+                });
+    }
+
+    /**
+     * Keep only the records whose LONG field value matches the predicate.
+     *
+     * @param fieldName the field name
+     * @param predicate the predicate
+     * @return this scan
+     */
+    public HollowFieldScan whereLong(String fieldName, LongPredicate predicate) {
+        int fieldIndex = fieldIndex(fieldName, FieldType.LONG);
+        long[] values = longValues();
+
+        return scan((fromOrdinal, toOrdinal) -> typeState.readLongs(fromOrdinal, toOrdinal, fieldIndex, values),
+                (offset, numValues) -> {
+                    long word = 0;
+                    for(int j = 0; j < numValues; j++) {
+                        long value = values[offset + j];
+                        if(value != Long.MIN_VALUE && predicate.test(value))
+                            word |= 1L << j;
+                    }
+                    return word;
+                },
+                ordinal -> {
+                    long value = typeState.readLong(ordinal, fieldIndex);
+                    return value != Long.MIN_VALUE && predicate.test(value);
+                });
+    }
+
+    /**
+     * Keep only the records whose LONG field value is within a range.
+     *
+     * @param fieldName the field name
+     * @param minValue the minimum value, inclusive
+     * @param maxValue the maximum value, inclusive
+     * @return this scan
+     */
+    public HollowFieldScan whereLongBetween(String fieldName, long minValue, long maxValue) {
+        int fieldIndex = fieldIndex(fieldName, FieldType.LONG);
+        long[] values = longValues();
+
+        return scan((fromOrdinal, toOrdinal) -> typeState.readLongs(fromOrdinal, toOrdinal, fieldIndex, values),
+                (offset, numValues) -> {
+                    long word = 0;
+                    for(int j = 0; j < numValues; j++) {
+                        long value = values[offset + j];
+                        boolean match = value != Long.MIN_VALUE & value >= minValue & value <= maxValue;
+                        word |= (match ? 1L : 0L) << j;
+                    }
+                    return word;
+                },
+                ordinal -> {
+                    long value = typeState.readLong(ordinal, fieldIndex);
+                    return value != Long.MIN_VALUE && value >= minValue && value <= maxValue;
+                });
+    }
+
+    /**
+     * Keep only the records whose FLOAT or DOUBLE field value matches the predicate.
+     *
+     * @param fieldName the field name
+     * @param predicate the predicate
+     * @return this scan
+     */
+    public HollowFieldScan whereDouble(String fieldName, DoublePredicate predicate) {
+        int fieldIndex = fieldIndex(fieldName, FieldType.FLOAT, FieldType.DOUBLE);
+        double[] values = doubleValues(fieldIndex);
+
+        return scan((fromOrdinal, toOrdinal) -> readDoubles(fromOrdinal, toOrdinal, fieldIndex, values),
+                (offset, numValues) -> {
+                    long word = 0;
+                    for(int j = 0; j < numValues; j++) {
+                        double value = values[offset + j];
+                        if(!Double.isNaN(value) && predicate.test(value))
+                            word |= 1L << j;
+                    }
+                    return word;
+                },
+                ordinal -> {
+                    double value = readDouble(ordinal, fieldIndex);
+                    return !Double.isNaN(value) && predicate.test(value);
+                });
+    }
+
+    /**
+     * Keep only the records whose FLOAT or DOUBLE field value is within a range.
+     *
+     * @param fieldName the field name
+     * @param minValue the minimum value, inclusive
+     * @param maxValue the maximum value, inclusive
+     * @return this scan
+     */
+    public HollowFieldScan whereDoubleBetween(String fieldName, double minValue, double maxValue) {
+        int fieldIndex = fieldIndex(fieldName, FieldType.FLOAT, FieldType.DOUBLE);
+        double[] values = doubleValues(fieldIndex);
+
+        /// comparisons with NaN are false, so null values never match
+        return scan((fromOrdinal, toOrdinal) -> readDoubles(fromOrdinal, toOrdinal, fieldIndex, values),
+                (offset, numValues) -> {
+                    long word = 0;
+                    for(int j = 0; j < numValues; j++) {
+                        double value = values[offset + j];
+                        boolean match = value >= minValue & value <= maxValue;
+                        word |= (match ? 1L : 0L) << j;
+                    }
+                    return word;
+                },
+                ordinal -> {
+                    double value = readDouble(ordinal, fieldIndex);
+                    return value >= minValue && value <= maxValue;
+                });
+    }
+
+    /**
+     * Keep only the records whose REFERENCE field refers to a record whose ordinal matches the predicate.
+     *
+     * @param fieldName the field name
+     * @param predicate the predicate on the referenced ordinal
+     * @return this scan
+     */
+    public HollowFieldScan whereReference(String fieldName, IntPredicate predicate) {
+        int fieldIndex = fieldIndex(fieldName, FieldType.REFERENCE);
+        int[] values = intValues();
+
+        return scan((fromOrdinal, toOrdinal) -> typeState.readOrdinals(fromOrdinal, toOrdinal, fieldIndex, values),
+                (offset, numValues) -> {
+                    long word = 0;
+                    for(int j = 0; j < numValues; j++) {
+                        int refOrdinal = values[offset + j];
+                        if(refOrdinal != -1 && predicate.test(refOrdinal))
+                            word |= 1L << j;
+                    }
+                    return word;
+                },
+                ordinal -> {
+                    int refOrdinal = typeState.readOrdinal(ordinal, fieldIndex);
+                    return refOrdinal != -1 && predicate.test(refOrdinal);
+                });
+    }
+
+    /**
+     * Keep only the records whose REFERENCE field refers to one of the provided records.  The referenced records
+     * may be, for example, the matches of a scan of the referenced type.
+     *
+     * @param fieldName the field name
+     * @param referencedOrdinals the ordinals of the referenced records
+     * @return this scan
+     */
+    public HollowFieldScan whereReferenceIn(String fieldName, BitSet referencedOrdinals) {
+        return whereReference(fieldName, referencedOrdinals::get);
+    }
+
+    /**
+     * @return the ordinals of the records which match all of the predicates of this scan
+     */
+    public BitSet matches() {
+        return BitSet.valueOf(matches);
+    }
+
+    private HollowFieldScan scan(BlockDecoder decoder, WordMatcher wordMatcher, OrdinalMatcher ordinalMatcher) {
+        int numOrdinals = matches.length << 6;
+
+        for(int fromOrdinal = 0; fromOrdinal < numOrdinals; fromOrdinal += BLOCK_SIZE) {
+            int toOrdinal = Math.min(fromOrdinal + BLOCK_SIZE, numOrdinals);
+            int fromWord = fromOrdinal >>> 6;
+            int toWord = toOrdinal >>> 6;
+
+            int numMatches = 0;
+            for(int i = fromWord; i < toWord; i++)
+                numMatches += Long.bitCount(matches[i]);
+
+            if(numMatches == 0)
+                continue;
+
+            if(numMatches * SPARSE_BLOCK_RATIO < toOrdinal - fromOrdinal) {
+                for(int i = fromWord; i < toWord; i++) {
+                    for(long word = matches[i]; word != 0; word &= word - 1) {
+                        int bit = Long.numberOfTrailingZeros(word);
+                        if(!ordinalMatcher.matches((i << 6) + bit))
+                            matches[i] &= ~(1L << bit);
+                    }
+                }
+            } else {
+                decoder.decode(fromOrdinal, toOrdinal);
+                for(int i = fromWord; i < toWord; i++) {
+                    if(matches[i] != 0)
+                        matches[i] &= wordMatcher.match((i << 6) - fromOrdinal, 64);
+                }
+            }
+        }
+        return this;
+    }
+
+    private int[] intValues() {
+        if(intValues == null)
+            intValues = new int[BLOCK_SIZE];
+        return intValues;
+    }
+
+    private long[] longValues() {
+        if(longValues == null)
+            longValues = new long[BLOCK_SIZE];
+        return longValues;
+    }
+
+    private double[] doubleValues(int fieldIndex) {
+        if(typeState.getSchema().getFieldType(fieldIndex) == FieldType.FLOAT && floatValues == null)
+            floatValues = new float[BLOCK_SIZE];
+        if(doubleValues == null)
+            doubleValues = new double[BLOCK_SIZE];
+        return doubleValues;
+    }
+
+    private void readDoubles(int fromOrdinal, int toOrdinal, int fieldIndex, double[] values) {
+        if(typeState.getSchema().getFieldType(fieldIndex) == FieldType.FLOAT) {
+            typeState.readFloats(fromOrdinal, toOrdinal, fieldIndex, floatValues);
+            for(int i = 0; i < toOrdinal - fromOrdinal; i++)
+                values[i] = floatValues[i];
+        } else {
+            typeState.readDoubles(fromOrdinal, toOrdinal, fieldIndex, values);
+        }
+    }
+
+    private double readDouble(int ordinal, int fieldIndex) {
+        if(typeState.getSchema().getFieldType(fieldIndex) == FieldType.FLOAT)
+            return typeState.readFloat(ordinal, fieldIndex);
+        return typeState.readDouble(ordinal, fieldIndex);
+    }
+
+    private int fieldIndex(String fieldName, FieldType... fieldTypes) {
+        HollowObjectSchema schema = typeState.getSchema();
+        int fieldIndex = schema.getPosition(fieldName);
+        if(fieldIndex == -1)
+            throw new IllegalArgumentException("Type " + schema.getName() + " has no field " + fieldName);
+
+        for(FieldType fieldType : fieldTypes) {
+            if(schema.getFieldType(fieldIndex) == fieldType)
+                return fieldIndex;
+        }
+        throw new IllegalArgumentException("Field " + schema.getName() + "." + fieldName + " is of type "
+                + schema.getFieldType(fieldIndex) + ", which cannot be scanned with this predicate");
+    }
+
+    private static HollowObjectTypeReadState objectTypeState(HollowReadStateEngine readEngine, String type) {
+        HollowTypeReadState typeState = readEngine.getTypeState(type);
+        if(!(typeState instanceof HollowObjectTypeReadState))
+            throw new IllegalArgumentException("Type " + type + " is not an OBJECT type in the state engine");
+        return (HollowObjectTypeReadState)typeState;
+    }
+
+    private interface BlockDecoder {
+        void decode(int fromOrdinal, int toOrdinal);
+    }
+
+    /**
+     * Evaluates a predicate over the decoded values of a word of ordinals.
+     */
+    private interface WordMatcher {
+        long match(int offset, int numValues);
+    }
+
+    private interface OrdinalMatcher {
+        boolean matches(int ordinal);
+    }
+}
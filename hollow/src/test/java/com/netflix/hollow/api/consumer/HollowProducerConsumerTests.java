@@ -16,6 +16,7 @@
  */
 package com.netflix.hollow.api.consumer;
 
+import com.netflix.hollow.api.objects.generic.GenericHollowObject;
 import com.netflix.hollow.api.producer.HollowProducer;
 import com.netflix.hollow.api.producer.HollowProducer.ReadState;
 import com.netflix.hollow.api.producer.HollowProducer.VersionMinter;
@@ -30,6 +31,8 @@ import com.netflix.hollow.core.read.engine.object.HollowObjectTypeReadState;
 import com.netflix.hollow.tools.compact.HollowCompactor.CompactionConfig;
 import java.time.Duration;
 import java.util.BitSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Assert;
 import org.junit.Before;
@@ -82,6 +85,44 @@ public class HollowProducerConsumerTests {
         Assert.assertEquals(v3, blobStore.retrieveDeltaBlob(v2).getToVersion());
     }
 
+    @Test
+    public void consumerAppliesDeltasConcurrently() {
+        HollowProducer producer = HollowProducer.withPublisher(blobStore)
+                .withBlobStager(new HollowInMemoryBlobStager())
+                .build();
+
+        long v1 = producer.runCycle(state -> {
+            state.add(1);
+            state.add("one");
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            HollowConsumer consumer = HollowConsumer.withBlobRetriever(blobStore)
+                    .withDeltaApplicationExecutor(executor)
+                    .build();
+            consumer.triggerRefreshTo(v1);
+
+            long v2 = producer.runCycle(state -> {
+                state.add(2);
+                state.add("two");
+            });
+            consumer.triggerRefreshTo(v2);
+
+            Assert.assertEquals(v2, consumer.getCurrentVersionId());
+            Assert.assertEquals(2, new GenericHollowObject(consumer.getStateEngine(), "Integer", 1).getInt("value"));
+            Assert.assertEquals("two", new GenericHollowObject(consumer.getStateEngine(), "String", 1).getString("value"));
+
+            consumer.triggerRefreshTo(v1);
+
+            Assert.assertEquals(v1, consumer.getCurrentVersionId());
+            Assert.assertEquals(1, consumer.getStateEngine().getTypeState("Integer").getPopulatedOrdinals().cardinality());
+            Assert.assertEquals(1, consumer.getStateEngine().getTypeState("String").getPopulatedOrdinals().cardinality());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     @Test
     public void consumerAutomaticallyUpdatesBasedOnAnnouncement() {
         HollowProducer producer = HollowProducer.withPublisher(blobStore)
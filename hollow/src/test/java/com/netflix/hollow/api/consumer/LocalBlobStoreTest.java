@@ -1,7 +1,9 @@
 package com.netflix.hollow.api.consumer;
 
+import com.netflix.hollow.api.objects.generic.GenericHollowObject;
 import com.netflix.hollow.api.producer.HollowProducer;
 import com.netflix.hollow.api.producer.fs.HollowInMemoryBlobStager;
+import com.netflix.hollow.core.memory.MemoryMode;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -66,6 +68,37 @@ public class LocalBlobStoreTest {
         assertNSnapshots(1, localDir);
     }
 
+    @Test
+    public void testSharedMemoryMode() throws Exception {
+        File localDir = createLocalDir();
+        InMemoryBlobStore bs = new InMemoryBlobStore();
+
+        HollowProducer producer = HollowProducer.withPublisher(bs)
+                .withBlobStager(new HollowInMemoryBlobStager())
+                .build();
+
+        long v1 = producer.runCycle(ws -> {
+            ws.add(1);
+        });
+
+        HollowConsumer consumer = HollowConsumer.withBlobRetriever(bs)
+                .withLocalBlobStore(localDir)
+                .withMemoryMode(MemoryMode.SHARED_MEMORY)
+                .build();
+        consumer.triggerRefreshTo(v1);
+        Assert.assertEquals(v1, consumer.getCurrentVersionId());
+        Assert.assertEquals(1, new GenericHollowObject(consumer.getStateEngine(), "Integer", 0).getInt("value"));
+
+        long v2 = producer.runCycle(ws -> {
+            ws.add(2);
+        });
+
+        consumer.triggerRefreshTo(v2);
+        Assert.assertEquals(v2, consumer.getCurrentVersionId());
+        Assert.assertEquals(1, consumer.getStateEngine().getTypeState("Integer").getPopulatedOrdinals().cardinality());
+        Assert.assertEquals(2, new GenericHollowObject(consumer.getStateEngine(), "Integer", 1).getInt("value"));
+    }
+
     static File createLocalDir() throws IOException {
         File localDir = Files.createTempDirectory("hollow").toFile();
         localDir.deleteOnExit();
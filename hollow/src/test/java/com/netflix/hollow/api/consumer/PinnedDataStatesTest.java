@@ -0,0 +1,174 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.api.consumer;
+
+import com.netflix.hollow.api.consumer.HollowConsumer.ObjectLongevityConfig;
+import com.netflix.hollow.api.custom.HollowAPI;
+import com.netflix.hollow.api.objects.generic.GenericHollowObject;
+import com.netflix.hollow.api.producer.HollowProducer;
+import com.netflix.hollow.api.producer.fs.HollowInMemoryBlobStager;
+import com.netflix.hollow.core.memory.pool.WastefulRecycler;
+import com.netflix.hollow.core.read.engine.HollowReadStateEngine;
+import com.netflix.hollow.core.write.objectmapper.HollowInline;
+import com.netflix.hollow.core.write.objectmapper.HollowPrimaryKey;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PinnedDataStatesTest {
+
+    private static final int NUM_MOVIES = 1000;
+
+    private InMemoryBlobStore blobStore;
+    private HollowProducer producer;
+    private HollowConsumer consumer;
+
+    @Before
+    public void setUp() {
+        blobStore = new InMemoryBlobStore();
+        producer = HollowProducer.withPublisher(blobStore)
+                                 .withBlobStager(new HollowInMemoryBlobStager())
+                                 .withNumStatesBetweenSnapshots(Integer.MAX_VALUE)
+                                 .build();
+
+        consumer = HollowConsumer.withBlobRetriever(blobStore)
+                                 .withObjectLongevityConfig(new ObjectLongevityConfig() {
+                                        @Override public long usageDetectionPeriodMillis() { return 100L; }
+                                        @Override public long gracePeriodMillis() { return 100L; }
+                                        @Override public boolean forceDropData() { return false; }
+                                        @Override public boolean enableLongLivedObjectSupport() { return true; }
+                                        @Override public boolean enablePinnedDataStates() { return true; }
+                                        @Override public boolean enableExpiredUsageStackTraces() { return false; }
+                                        @Override public boolean dropDataAutomatically() { return false; }
+                                 })
+                                 .build();
+    }
+
+    @Test
+    public void recordsReadFromTheStateTheyWereCreatedIn() {
+        List<GenericHollowObject> heldMovies = new ArrayList<GenericHollowObject>();
+        List<HollowAPI> apis = new ArrayList<HollowAPI>();
+
+        for(int cycle=0;cycle<8;cycle++) {
+            consumer.triggerRefreshTo(runCycle(producer, cycle));
+
+            HollowAPI api = consumer.getAPI();
+            apis.add(api);
+            BitSet populatedOrdinals = ((HollowReadStateEngine) api.getDataAccess()).getTypeState("Movie").getPopulatedOrdinals();
+            for(int ordinal = populatedOrdinals.nextSetBit(0); ordinal != -1; ordinal = populatedOrdinals.nextSetBit(ordinal + 100))
+                heldMovies.add(new GenericHollowObject(api.getDataAccess(), "Movie", ordinal));
+        }
+
+        for(int i=0;i<heldMovies.size();i++) {
+            GenericHollowObject movie = heldMovies.get(i);
+            int cycle = i / (NUM_MOVIES / 100);
+            int id = movie.getInt("id");
+            Assert.assertEquals(title(cycle, id), movie.getString("title"));
+            Assert.assertEquals(cycle * id, movie.getLong("rating"));
+        }
+
+        for(HollowAPI api : apis) {
+            Assert.assertTrue(api.getDataAccess() instanceof HollowReadStateEngine);
+            Assert.assertNotSame(consumer.getStateEngine(), api.getDataAccess());
+        }
+        Assert.assertTrue(consumer.getStateEngine().getMemoryRecycler() instanceof WastefulRecycler);
+    }
+
+    @Test
+    public void deltaUpdatesAreVisibleToTheCurrentAPI() {
+        consumer.triggerRefreshTo(runCycle(producer, 1));
+        HollowAPI firstAPI = consumer.getAPI();
+        consumer.triggerRefreshTo(runCycle(producer, 2));
+        HollowAPI secondAPI = consumer.getAPI();
+
+        Assert.assertNotSame(firstAPI, secondAPI);
+
+        HollowReadStateEngine pinnedState = (HollowReadStateEngine) secondAPI.getDataAccess();
+        Assert.assertEquals(consumer.getStateEngine().getTypeState("Movie").getPopulatedOrdinals(),
+                pinnedState.getTypeState("Movie").getPopulatedOrdinals());
+        Assert.assertEquals(consumer.getStateEngine().getCurrentRandomizedTag(), pinnedState.getCurrentRandomizedTag());
+
+        int ordinal = pinnedState.getTypeState("Movie").getPopulatedOrdinals().nextSetBit(0);
+        GenericHollowObject movie = new GenericHollowObject(pinnedState, "Movie", ordinal);
+        Assert.assertEquals(title(2, movie.getInt("id")), movie.getString("title"));
+    }
+
+    @Test
+    public void heldRecordDoesNotRetainLaterStates() {
+        consumer.triggerRefreshTo(runCycle(producer, 0));
+        HollowReadStateEngine heldState = (HollowReadStateEngine) consumer.getAPI().getDataAccess();
+        int ordinal = heldState.getTypeState("Movie").getPopulatedOrdinals().nextSetBit(0);
+        GenericHollowObject heldMovie = new GenericHollowObject(heldState, "Movie", ordinal);
+        heldState = null;
+
+        List<WeakReference<Object>> replacedStates = new ArrayList<WeakReference<Object>>();
+        for(int cycle=1;cycle<=50;cycle++) {
+            if(cycle > 1)
+                replacedStates.add(new WeakReference<Object>(consumer.getAPI().getDataAccess()));
+            consumer.triggerRefreshTo(runCycle(producer, cycle));
+        }
+
+        /// the recycler retains no replaced arrays, so the data of each replaced state is only reachable through that state
+        for(int i=0;i<10 && numReachable(replacedStates) > 0;i++)
+            System.gc();
+        Assert.assertEquals(0, numReachable(replacedStates));
+
+        int id = heldMovie.getInt("id");
+        Assert.assertEquals(title(0, id), heldMovie.getString("title"));
+        Assert.assertEquals(0L, heldMovie.getLong("rating"));
+    }
+
+    private static int numReachable(List<WeakReference<Object>> references) {
+        int numReachable = 0;
+        for(WeakReference<Object> reference : references) {
+            if(reference.get() != null)
+                numReachable++;
+        }
+        return numReachable;
+    }
+
+    private static long runCycle(HollowProducer producer, final int cycleNumber) {
+        return producer.runCycle(state -> {
+            for(int id=0;id<NUM_MOVIES;id++)
+                state.add(new Movie(id, title(cycleNumber, id), (long)cycleNumber * id));
+        });
+    }
+
+    private static String title(int cycleNumber, int id) {
+        return "movie " + id + " in cycle " + cycleNumber;
+    }
+
+    @SuppressWarnings("unused")
+    @HollowPrimaryKey(fields="id")
+    private static class Movie {
+        int id;
+        @HollowInline
+        String title;
+        long rating;
+
+        Movie(int id, String title, long rating) {
+            this.id = id;
+            this.title = title;
+            this.rating = rating;
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.api.consumer;
+
+import com.netflix.hollow.api.consumer.fs.HollowFilesystemBlobRetriever;
+import com.netflix.hollow.api.producer.HollowProducer;
+import com.netflix.hollow.api.producer.fs.HollowFilesystemPublisher;
+import com.netflix.hollow.core.read.filter.HollowFilterConfig;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RangedBlobRetrievalTest {
+
+    @Test
+    public void filesystemBlobsSupportRangedReads() throws IOException {
+        Path blobStorePath = createBlobStorePath();
+        HollowProducer producer = HollowProducer.withPublisher(new HollowFilesystemPublisher(blobStorePath)).build();
+        long v1 = producer.runCycle(ws -> {
+            for(int i=0;i<100;i++)
+                ws.add(new Movie(i));
+        });
+
+        HollowConsumer.Blob blob = new HollowFilesystemBlobRetriever(blobStorePath).retrieveSnapshotBlob(v1);
+        Assert.assertTrue(blob.supportsRangedReads());
+
+        byte full[] = readFully(blob.getInputStream());
+        Assert.assertArrayEquals(Arrays.copyOfRange(full, 10, 110), readFully(blob.getInputStream(10, 100)));
+        Assert.assertArrayEquals(Arrays.copyOfRange(full, full.length - 5, full.length), readFully(blob.getInputStream(full.length - 5, 100)));
+        Assert.assertEquals(0, readFully(blob.getInputStream(full.length + 10, 100)).length);
+    }
+
+    @Test
+    public void filteredConsumerReadsSnapshotInRanges() throws IOException {
+        Path blobStorePath = createBlobStorePath();
+        HollowProducer producer = HollowProducer.withPublisher(new HollowFilesystemPublisher(blobStorePath)).build();
+        producer.getWriteEngine().setWriteTypeSectionLengths(true);
+
+        long v1 = producer.runCycle(ws -> {
+            for(int i=0;i<100;i++)
+                ws.add(new Movie(i));
+        });
+        long v2 = producer.runCycle(ws -> {
+            for(int i=50;i<150;i++)
+                ws.add(new Movie(i));
+        });
+
+        HollowFilterConfig filter = new HollowFilterConfig(true);
+        filter.addType("String");
+
+        HollowConsumer consumer = HollowConsumer.withBlobRetriever(new HollowFilesystemBlobRetriever(blobStorePath))
+                .withFilterConfig(filter)
+                .build();
+        consumer.triggerRefreshTo(v1);
+        Assert.assertNull(consumer.getStateEngine().getTypeState("String"));
+        Assert.assertEquals(100, consumer.getStateEngine().getTypeState("Movie").getPopulatedOrdinals().cardinality());
+
+        consumer.triggerRefreshTo(v2);
+        Assert.assertEquals(v2, consumer.getCurrentVersionId());
+        Assert.assertEquals(100, consumer.getStateEngine().getTypeState("Movie").getPopulatedOrdinals().cardinality());
+    }
+
+    private static Path createBlobStorePath() throws IOException {
+        Path blobStorePath = Files.createTempDirectory("hollow");
+        blobStorePath.toFile().deleteOnExit();
+        return blobStorePath;
+    }
+
+    private static byte[] readFully(InputStream is) throws IOException {
+        try(InputStream in = is) {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            byte buf[] = new byte[4096];
+            int n;
+            while((n = in.read(buf)) != -1)
+                baos.write(buf, 0, n);
+            return baos.toByteArray();
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static class Movie {
+        int id;
+        String title;
+
+        Movie(int id) {
+            this.id = id;
+            this.title = "title" + id;
+        }
+    }
+
+}
@@ -449,6 +449,43 @@ public class UniqueKeyIndexTest {
     }
 
 
+    public static class MatchBatchTest extends UniqueKeyIndexTest {
+        @Test
+        public void testIntKeys() {
+            UniqueKeyIndex<DataModel.Consumer.Values, Integer> uki = UniqueKeyIndex
+                    .from(consumer, DataModel.Consumer.Values.class)
+                    .usingPath("_int", int.class);
+
+            List<DataModel.Consumer.Values> r = uki.findMatches(new int[] {1, 2, 1});
+
+            Assert.assertEquals(3, r.size());
+            Assert.assertEquals(0, r.get(0).getOrdinal());
+            Assert.assertNull(r.get(1));
+            Assert.assertEquals(0, r.get(2).getOrdinal());
+        }
+
+        @Test
+        public void testLongKeys() {
+            UniqueKeyIndex<DataModel.Consumer.Values, Long> uki = UniqueKeyIndex
+                    .from(consumer, DataModel.Consumer.Values.class)
+                    .usingPath("_long", long.class);
+
+            List<DataModel.Consumer.Values> r = uki.findMatches(new long[] {2L, 1L});
+
+            Assert.assertNull(r.get(0));
+            Assert.assertEquals(0, r.get(1).getOrdinal());
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void testMismatchedKeyType() {
+            UniqueKeyIndex
+                    .from(consumer, DataModel.Consumer.Values.class)
+                    .usingPath("_int", int.class)
+                    .findMatches(new String[] {"1"});
+        }
+    }
+
+
     public static class ErrorsTest extends UniqueKeyIndexTest {
         static class Unknown extends HollowObject {
             Unknown(HollowObjectDelegate delegate, int ordinal) {
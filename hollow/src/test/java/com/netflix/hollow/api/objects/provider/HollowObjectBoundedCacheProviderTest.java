@@ -0,0 +1,194 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.api.objects.provider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.netflix.hollow.api.custom.HollowTypeAPI;
+import com.netflix.hollow.core.read.engine.HollowTypeReadState;
+import com.netflix.hollow.core.read.engine.PopulatedOrdinalListener;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+public class HollowObjectBoundedCacheProviderTest {
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule().silent();
+
+    @Mock
+    HollowTypeReadState typeReadState;
+    @Mock
+    HollowTypeAPI typeAPI;
+    @Mock
+    HollowFactory<TypeA> factory;
+    PopulatedOrdinalListener populatedOrdinalListener;
+
+    @Before
+    public void before() {
+        populatedOrdinalListener = new PopulatedOrdinalListener();
+
+        when(typeReadState.getTypeState())
+                .thenReturn(typeReadState);
+        when(typeReadState.getListener(PopulatedOrdinalListener.class))
+                .thenReturn(populatedOrdinalListener);
+        when(factory.newCachedHollowObject(eq(typeReadState), eq(typeAPI), anyInt()))
+                .thenAnswer(invocation -> new TypeA(invocation.getArgument(2)));
+    }
+
+    @Test
+    public void populatesLazily() {
+        HollowObjectBoundedCacheProvider<TypeA> subject = new HollowObjectBoundedCacheProvider<>(typeReadState, typeAPI, factory, 16);
+
+        verify(factory, times(0)).newCachedHollowObject(eq(typeReadState), eq(typeAPI), anyInt());
+
+        TypeA a5 = subject.getHollowObject(5);
+        assertEquals(5, a5.ordinal);
+        assertSame(a5, subject.getHollowObject(5));
+        assertSame(a5, subject.getHollowObject(5));
+
+        verify(factory, times(1)).newCachedHollowObject(typeReadState, typeAPI, 5);
+        assertEquals(2, subject.getHitCount());
+        assertEquals(1, subject.getMissCount());
+        assertEquals(2d / 3d, subject.getHitRate(), 0.0001d);
+    }
+
+    @Test
+    public void boundsTheNumberOfCachedObjects() {
+        HollowObjectBoundedCacheProvider<TypeA> subject = new HollowObjectBoundedCacheProvider<>(typeReadState, typeAPI, factory, 30);
+        assertEquals(32, subject.getCapacity());
+
+        for(int i=0;i<1000;i++)
+            subject.getHollowObject(i);
+
+        int cached = 0;
+        for(int i=0;i<1000;i++) {
+            long hits = subject.getHitCount();
+            subject.getHollowObject(i);
+            if(subject.getHitCount() > hits)
+                cached++;
+        }
+
+        assertTrue(cached <= subject.getCapacity());
+        assertTrue(subject.getEvictionCount() >= 1000 - subject.getCapacity());
+    }
+
+    @Test
+    public void keepsReferencedObjects() {
+        HollowObjectBoundedCacheProvider<TypeA> subject = new HollowObjectBoundedCacheProvider<>(typeReadState, typeAPI, factory, 4);
+
+        TypeA hot = subject.getHollowObject(0);
+        for(int i=1;i<100;i++) {
+            subject.getHollowObject(i);
+            assertSame(hot, subject.getHollowObject(0));
+        }
+    }
+
+    @Test
+    public void invalidatesAddedAndRemovedOrdinals() {
+        HollowObjectBoundedCacheProvider<TypeA> subject = new HollowObjectBoundedCacheProvider<>(typeReadState, typeAPI, factory, 16);
+
+        TypeA a1 = subject.getHollowObject(1);
+        TypeA a2 = subject.getHollowObject(2);
+        TypeA a3 = subject.getHollowObject(3);
+
+        subject.beginUpdate();
+        subject.removedOrdinal(1);
+        subject.addedOrdinal(2);
+        subject.endUpdate();
+
+        assertNotSame(a1, subject.getHollowObject(1));
+        assertNotSame(a2, subject.getHollowObject(2));
+        assertSame(a3, subject.getHollowObject(3));
+    }
+
+    @Test
+    public void doesNotCacheDuringUpdates() {
+        HollowObjectBoundedCacheProvider<TypeA> subject = new HollowObjectBoundedCacheProvider<>(typeReadState, typeAPI, factory, 16);
+
+        subject.beginUpdate();
+        TypeA a1 = subject.getHollowObject(1);
+        subject.endUpdate();
+
+        assertNotSame(a1, subject.getHollowObject(1));
+    }
+
+    @Test
+    public void doesNotCacheObjectsCreatedBeforeAnUpdate() {
+        HollowObjectBoundedCacheProvider<TypeA> subject = new HollowObjectBoundedCacheProvider<>(typeReadState, typeAPI, factory, 16);
+        when(factory.newCachedHollowObject(typeReadState, typeAPI, 1))
+                .thenAnswer(invocation -> {
+                    subject.beginUpdate();
+                    subject.addedOrdinal(1);
+                    subject.endUpdate();
+                    return new TypeA(1);
+                })
+                .thenAnswer(invocation -> new TypeA(1));
+
+        TypeA stale = subject.getHollowObject(1);
+
+        assertNotSame(stale, subject.getHollowObject(1));
+    }
+
+    @Test
+    public void carriesOverObjectsOfRetainedOrdinals() {
+        populatedOrdinalListener.addedOrdinal(1);
+        populatedOrdinalListener.addedOrdinal(2);
+        HollowObjectBoundedCacheProvider<TypeA> previous = new HollowObjectBoundedCacheProvider<>(typeReadState, typeAPI, factory, 16);
+        TypeA a1 = previous.getHollowObject(1);
+        TypeA a2 = previous.getHollowObject(2);
+
+        populatedOrdinalListener.beginUpdate();
+        populatedOrdinalListener.removedOrdinal(2);
+        populatedOrdinalListener.endUpdate();
+
+        HollowObjectBoundedCacheProvider<TypeA> subject = new HollowObjectBoundedCacheProvider<>(typeReadState, typeAPI, factory, 16, previous);
+
+        assertSame(a1, subject.getHollowObject(1));
+        assertNotSame(a2, subject.getHollowObject(2));
+    }
+
+    @Test
+    public void detaching() {
+        HollowObjectBoundedCacheProvider<TypeA> subject = new HollowObjectBoundedCacheProvider<>(typeReadState, typeAPI, factory, 16);
+        subject.getHollowObject(1);
+
+        subject.detach();
+
+        assertNull(subject.getHollowObject(1));
+        verify(typeReadState).removeListener(subject);
+    }
+
+    static class TypeA {
+        final int ordinal;
+
+        TypeA(int ordinal) {
+            this.ordinal = ordinal;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.netflix.hollow.api.producer;
+
+import com.netflix.hollow.api.consumer.HollowConsumer;
+import com.netflix.hollow.api.consumer.InMemoryBlobStore;
+import com.netflix.hollow.api.objects.generic.GenericHollowObject;
+import com.netflix.hollow.api.producer.fs.HollowInMemoryBlobStager;
+import com.netflix.hollow.core.read.engine.HollowReadStateEngine;
+import com.netflix.hollow.core.write.HollowBlobWriter;
+import com.netflix.hollow.core.write.objectmapper.HollowInline;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.BitSet;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ConcurrentBlobStagingTest {
+
+    static class TypeA {
+        int id;
+        @HollowInline
+        String name;
+        TypeB b;
+
+        TypeA(int id) {
+            this.id = id;
+            this.name = "a" + id;
+            this.b = new TypeB(id % 7);
+        }
+    }
+
+    static class TypeB {
+        long value;
+
+        TypeB(long value) {
+            this.value = value;
+        }
+    }
+
+    @Test
+    public void stagesSnapshotDeltaAndReverseDelta() {
+        InMemoryBlobStore blobStore = new InMemoryBlobStore();
+        HollowProducer producer = HollowProducer.withPublisher(blobStore)
+                .withBlobStager(new HollowInMemoryBlobStager())
+                .withConcurrentBlobStaging()
+                .build();
+
+        long v1 = producer.runCycle(ws -> addAll(ws, 0, 100));
+        long v2 = producer.runCycle(ws -> addAll(ws, 50, 150));
+        long v3 = producer.runCycle(ws -> addAll(ws, 120, 300));
+
+        HollowConsumer consumer = HollowConsumer.withBlobRetriever(blobStore).build();
+        consumer.triggerRefreshTo(v1);
+        assertIds(consumer.getStateEngine(), 0, 100);
+        consumer.triggerRefreshTo(v2);
+        assertIds(consumer.getStateEngine(), 50, 150);
+        consumer.triggerRefreshTo(v3);
+        assertIds(consumer.getStateEngine(), 120, 300);
+        consumer.triggerRefreshTo(v2);
+        assertIds(consumer.getStateEngine(), 50, 150);
+
+        HollowConsumer snapshotConsumer = HollowConsumer.withBlobRetriever(blobStore).build();
+        snapshotConsumer.triggerRefreshTo(v3);
+        assertIds(snapshotConsumer.getStateEngine(), 120, 300);
+    }
+
+    @Test
+    public void stagesDeltaAndReverseDeltaWithoutSnapshot() {
+        InMemoryBlobStore blobStore = new InMemoryBlobStore();
+        HollowProducer producer = HollowProducer.withPublisher(blobStore)
+                .withBlobStager(new HollowInMemoryBlobStager())
+                .withConcurrentBlobStaging()
+                .withNumStatesBetweenSnapshots(5)
+                .noIntegrityCheck()
+                .build();
+
+        long v1 = producer.runCycle(ws -> addAll(ws, 0, 100));
+        long v2 = producer.runCycle(ws -> addAll(ws, 10, 200));
+        long v3 = producer.runCycle(ws -> addAll(ws, 10, 150));
+
+        Assert.assertEquals(v1, blobStore.retrieveSnapshotBlob(v3).getToVersion());
+
+        HollowConsumer consumer = HollowConsumer.withBlobRetriever(blobStore).build();
+        consumer.triggerRefreshTo(v1);
+        consumer.triggerRefreshTo(v3);
+        assertIds(consumer.getStateEngine(), 10, 150);
+        consumer.triggerRefreshTo(v2);
+        assertIds(consumer.getStateEngine(), 10, 200);
+    }
+
+    @Test
+    public void failedBlobFailsCycle() {
+        InMemoryBlobStore blobStore = new InMemoryBlobStore();
+        HollowInMemoryBlobStager stager = new HollowInMemoryBlobStager();
+        HollowProducer producer = HollowProducer.withPublisher(blobStore)
+                .withBlobStager(new HollowProducer.BlobStager() {
+                    @Override
+                    public HollowProducer.Blob openSnapshot(long version) {
+                        return stager.openSnapshot(version);
+                    }
+
+                    @Override
+                    public HollowProducer.Blob openDelta(long fromVersion, long toVersion) {
+                        return new FailingBlob(fromVersion, toVersion);
+                    }
+
+                    @Override
+                    public HollowProducer.Blob openReverseDelta(long fromVersion, long toVersion) {
+                        return stager.openReverseDelta(fromVersion, toVersion);
+                    }
+                })
+                .withConcurrentBlobStaging()
+                .build();
+
+        long v1 = producer.runCycle(ws -> addAll(ws, 0, 100));
+
+        try {
+            producer.runCycle(ws -> addAll(ws, 50, 150));
+            Assert.fail("expected the cycle to fail");
+        } catch (RuntimeException expected) {
+        }
+
+        HollowConsumer consumer = HollowConsumer.withBlobRetriever(blobStore).build();
+        consumer.triggerRefresh();
+        Assert.assertEquals(v1, consumer.getCurrentVersionId());
+    }
+
+    private static void addAll(HollowProducer.WriteState ws, int fromId, int toId) {
+        for (int id = fromId; id < toId; id++) {
+            ws.add(new TypeA(id));
+        }
+    }
+
+    private static void assertIds(HollowReadStateEngine readEngine, int fromId, int toId) {
+        BitSet populated = readEngine.getTypeState("TypeA").getPopulatedOrdinals();
+        Assert.assertEquals(toId - fromId, populated.cardinality());
+
+        for (int ordinal = populated.nextSetBit(0); ordinal != -1; ordinal = populated.nextSetBit(ordinal + 1)) {
+            GenericHollowObject a = new GenericHollowObject(readEngine, "TypeA", ordinal);
+            int id = a.getInt("id");
+            Assert.assertTrue(id >= fromId && id < toId);
+            Assert.assertEquals("a" + id, a.getString("name"));
+            Assert.assertEquals(id % 7, a.getObject("b").getLong("value"));
+        }
+    }
+
+    static class FailingBlob extends HollowProducer.Blob {
+        FailingBlob(long fromVersion, long toVersion) {
+            super(fromVersion, toVersion, Type.DELTA);
+        }
+
+        @Override
+        protected void write(HollowBlobWriter writer) throws IOException {
+            throw new IOException("staging failed");
+        }
+
+        @Override
+        public InputStream newInputStream() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void cleanup() {
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.api.producer;
+
+import com.netflix.hollow.api.consumer.HollowConsumer;
+import com.netflix.hollow.api.consumer.InMemoryBlobStore;
+import com.netflix.hollow.api.producer.fs.HollowInMemoryBlobStager;
+import com.netflix.hollow.core.read.engine.HollowReadStateEngine;
+import com.netflix.hollow.core.read.engine.HollowTypeReadState;
+import com.netflix.hollow.core.write.objectmapper.HollowPrimaryKey;
+import com.netflix.hollow.core.write.objectmapper.RecordPrimaryKey;
+import com.netflix.hollow.tools.stringifier.HollowRecordStringifier;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IndexedIncrementalCyclesTest {
+
+    @SuppressWarnings("unused")
+    @HollowPrimaryKey(fields = "id")
+    static class Movie {
+        int id;
+        String title;
+        List<Actor> actors;
+        Map<String, Integer> ratings;
+
+        Movie(int id, String title, List<Actor> actors, Map<String, Integer> ratings) {
+            this.id = id;
+            this.title = title;
+            this.actors = actors;
+            this.ratings = ratings;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    static class Actor {
+        int id;
+        String name;
+
+        Actor(int id) {
+            this.id = id;
+            this.name = "actor" + id;
+        }
+    }
+
+    @Test
+    public void removesUnreferencedChildrenAndKeepsSharedChildren() {
+        InMemoryBlobStore blobStore = new InMemoryBlobStore();
+        HollowProducer.Incremental producer = newProducer(blobStore, true, true);
+
+        producer.runIncrementalCycle(iws -> {
+            iws.addOrModify(movie(1, "one", 1, 2));
+            iws.addOrModify(movie(2, "two", 2, 3));
+        });
+        long version = producer.runIncrementalCycle(iws -> iws.delete(new RecordPrimaryKey("Movie", new Object[] {1})));
+
+        HollowConsumer consumer = HollowConsumer.withBlobRetriever(blobStore).build();
+        consumer.triggerRefreshTo(version);
+
+        Set<String> actors = records(consumer.getStateEngine(), "Actor");
+        Assert.assertEquals(2, actors.size());
+        Assert.assertFalse(actors.toString().contains("actor1"));
+        Assert.assertTrue(actors.toString().contains("actor2"));
+        Assert.assertTrue(actors.toString().contains("actor3"));
+        Assert.assertFalse(records(consumer.getStateEngine(), "String").toString().contains("one"));
+    }
+
+    @Test
+    public void matchesUnindexedCyclesWithIntegrityCheck() {
+        assertMatchesUnindexedCycles(true);
+    }
+
+    @Test
+    public void matchesUnindexedCyclesWithoutIntegrityCheck() {
+        assertMatchesUnindexedCycles(false);
+    }
+
+    private void assertMatchesUnindexedCycles(boolean integrityCheck) {
+        InMemoryBlobStore indexedBlobStore = new InMemoryBlobStore();
+        InMemoryBlobStore unindexedBlobStore = new InMemoryBlobStore();
+        HollowProducer.Incremental indexed = newProducer(indexedBlobStore, true, integrityCheck);
+        HollowProducer.Incremental unindexed = newProducer(unindexedBlobStore, false, integrityCheck);
+
+        HollowConsumer indexedConsumer = HollowConsumer.withBlobRetriever(indexedBlobStore).build();
+        HollowConsumer unindexedConsumer = HollowConsumer.withBlobRetriever(unindexedBlobStore).build();
+
+        Random rand = new Random(1);
+        for (int cycle = 0; cycle < 20; cycle++) {
+            List<Consumer<HollowProducer.Incremental.IncrementalWriteState>> mutations = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                int id = rand.nextInt(50);
+                if (rand.nextInt(4) == 0) {
+                    mutations.add(iws -> iws.delete(new RecordPrimaryKey("Movie", new Object[] {id})));
+                } else {
+                    Movie movie = movie(id, "title" + rand.nextInt(20), rand.nextInt(10), rand.nextInt(10));
+                    mutations.add(iws -> iws.addOrModify(movie));
+                }
+            }
+
+            long indexedVersion = indexed.runIncrementalCycle(iws -> mutations.forEach(m -> m.accept(iws)));
+            long unindexedVersion = unindexed.runIncrementalCycle(iws -> mutations.forEach(m -> m.accept(iws)));
+
+            indexedConsumer.triggerRefreshTo(indexedVersion);
+            unindexedConsumer.triggerRefreshTo(unindexedVersion);
+
+            for (HollowTypeReadState typeState : unindexedConsumer.getStateEngine().getTypeStates()) {
+                String type = typeState.getSchema().getName();
+                Assert.assertEquals(type + " populated ordinals",
+                        typeState.getPopulatedOrdinals().cardinality(),
+                        indexedConsumer.getStateEngine().getTypeState(type).getPopulatedOrdinals().cardinality());
+                Assert.assertEquals(type, records(unindexedConsumer.getStateEngine(), type),
+                        records(indexedConsumer.getStateEngine(), type));
+            }
+        }
+    }
+
+    private static HollowProducer.Incremental newProducer(InMemoryBlobStore blobStore, boolean indexed, boolean integrityCheck) {
+        HollowProducer.Builder<?> builder = new HollowProducer.Builder<>()
+                .withPublisher(blobStore)
+                .withBlobStager(new HollowInMemoryBlobStager());
+        if (indexed)
+            builder.withIndexedIncrementalCycles();
+        if (!integrityCheck)
+            builder.noIntegrityCheck();
+        return builder.buildIncremental();
+    }
+
+    private static Movie movie(int id, String title, int... actorIds) {
+        List<Actor> actors = new ArrayList<>();
+        Map<String, Integer> ratings = new HashMap<>();
+        for (int actorId : actorIds) {
+            actors.add(new Actor(actorId));
+            ratings.put("actor" + actorId, id % 5);
+        }
+        return new Movie(id, title, actors, ratings);
+    }
+
+    private static Set<String> records(HollowReadStateEngine readEngine, String type) {
+        HollowRecordStringifier stringifier = new HollowRecordStringifier();
+        BitSet populated = readEngine.getTypeState(type).getPopulatedOrdinals();
+
+        Set<String> records = new HashSet<>();
+        for (int ordinal = populated.nextSetBit(0); ordinal != -1; ordinal = populated.nextSetBit(ordinal + 1))
+            records.add(stringifier.stringify(readEngine, type, ordinal));
+        return records;
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.api.producer;
+
+import com.netflix.hollow.core.read.engine.HollowBlobReader;
+import com.netflix.hollow.core.read.engine.HollowReadStateEngine;
+import com.netflix.hollow.core.util.SimultaneousExecutor;
+import com.netflix.hollow.core.write.HollowBlobWriter;
+import com.netflix.hollow.core.write.HollowWriteStateEngine;
+import com.netflix.hollow.core.write.objectmapper.HollowObjectMapper;
+import com.netflix.hollow.tools.checksum.HollowChecksum;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class IntegrityCheckHelperTest {
+
+    private SimultaneousExecutor executor;
+
+    private HollowWriteStateEngine writeEngine;
+    private HollowReadStateEngine current;
+    private HollowReadStateEngine pending;
+
+    private HollowProducer.Blob snapshot;
+    private HollowProducer.Blob delta;
+    private HollowProducer.Blob reverseDelta;
+
+    @Before
+    public void setUp() throws IOException {
+        executor = new SimultaneousExecutor(getClass(), "test");
+
+        writeEngine = new HollowWriteStateEngine();
+        HollowBlobWriter writer = new HollowBlobWriter(writeEngine);
+
+        addRecords(writeEngine, 0, 100);
+        current = new HollowReadStateEngine();
+        new HollowBlobReader(current).readSnapshot(new ByteArrayInputStream(snapshotBytes(writer)));
+        writeEngine.prepareForNextCycle();
+
+        addRecords(writeEngine, 50, 150);
+        snapshot = new ByteArrayBlob(HollowProducer.Blob.Type.SNAPSHOT, snapshotBytes(writer));
+        delta = new ByteArrayBlob(HollowProducer.Blob.Type.DELTA, deltaBytes(writer, false));
+        reverseDelta = new ByteArrayBlob(HollowProducer.Blob.Type.REVERSE_DELTA, deltaBytes(writer, true));
+
+        pending = new HollowReadStateEngine();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void validDeltasSwapStates() throws Exception {
+        HollowChecksum currentChecksum = HollowChecksum.forStateEngine(current);
+
+        new IntegrityCheckHelper(current, pending, executor).check(snapshot, delta, reverseDelta);
+
+        Assert.assertEquals(currentChecksum, HollowChecksum.forStateEngine(pending));
+        Assert.assertEquals(150 - 50, current.getTypeState("Movie").getPopulatedOrdinals().cardinality());
+    }
+
+    @Test
+    public void revertRestoresStates() throws Exception {
+        HollowChecksum currentChecksum = HollowChecksum.forStateEngine(current);
+
+        IntegrityCheckHelper integrityCheck = new IntegrityCheckHelper(current, pending, executor);
+        integrityCheck.check(snapshot, delta, reverseDelta);
+        HollowChecksum pendingChecksum = HollowChecksum.forStateEngine(current);
+        integrityCheck.revert(delta, reverseDelta);
+
+        Assert.assertEquals(currentChecksum, HollowChecksum.forStateEngine(current));
+        Assert.assertEquals(pendingChecksum, HollowChecksum.forStateEngine(pending));
+    }
+
+    @Test
+    public void snapshotOnlyIsRead() throws Exception {
+        new IntegrityCheckHelper(current, pending, executor).check(snapshot, null, null);
+
+        Assert.assertEquals(150 - 50, pending.getTypeState("Movie").getPopulatedOrdinals().cardinality());
+        Assert.assertEquals(100, current.getTypeState("Movie").getPopulatedOrdinals().cardinality());
+    }
+
+    @Test
+    public void invalidDelta() throws Exception {
+        HollowProducer.Blob[] otherDeltas = otherDeltas();
+        try {
+            new IntegrityCheckHelper(current, pending, executor).check(snapshot, otherDeltas[0], reverseDelta);
+            Assert.fail("expected the delta to be invalid");
+        } catch(HollowProducer.ChecksumValidationException expected) {
+            Assert.assertEquals("DELTA checksum invalid", expected.getMessage());
+        }
+
+        // the reverse delta is not applied once the delta is invalid
+        HollowReadStateEngine snapshotState = new HollowReadStateEngine();
+        new HollowBlobReader(snapshotState).readSnapshot(snapshot.newInputStream());
+        Assert.assertEquals(HollowChecksum.forStateEngine(snapshotState), HollowChecksum.forStateEngine(pending));
+    }
+
+    @Test
+    public void invalidReverseDelta() throws Exception {
+        HollowProducer.Blob[] otherDeltas = otherDeltas();
+        try {
+            new IntegrityCheckHelper(current, pending, executor).check(snapshot, delta, otherDeltas[1]);
+            Assert.fail("expected the reverse delta to be invalid");
+        } catch(HollowProducer.ChecksumValidationException expected) {
+            Assert.assertEquals("REVERSE_DELTA checksum invalid", expected.getMessage());
+        }
+    }
+
+    @Test
+    public void unreadableSnapshot() throws Exception {
+        HollowProducer.Blob truncated = new ByteArrayBlob(HollowProducer.Blob.Type.SNAPSHOT,
+                Arrays.copyOf(((ByteArrayBlob) snapshot).data, ((ByteArrayBlob) snapshot).data.length / 2));
+        try {
+            new IntegrityCheckHelper(current, pending, executor).check(truncated, delta, reverseDelta);
+            Assert.fail("expected the snapshot to be unreadable");
+        } catch(IOException expected) {
+        }
+    }
+
+    /**
+     * @return a delta and reverse delta between the same randomized tags as the valid deltas, but for other data
+     */
+    private HollowProducer.Blob[] otherDeltas() throws IOException {
+        HollowWriteStateEngine otherEngine = new HollowWriteStateEngine();
+        HollowBlobWriter otherWriter = new HollowBlobWriter(otherEngine);
+        addRecords(otherEngine, 0, 100);
+        snapshotBytes(otherWriter);
+        otherEngine.prepareForNextCycle();
+        addRecords(otherEngine, 60, 150);
+        otherEngine.overridePreviousStateRandomizedTag(writeEngine.getPreviousStateRandomizedTag());
+        otherEngine.overrideNextStateRandomizedTag(writeEngine.getNextStateRandomizedTag());
+
+        return new HollowProducer.Blob[] {
+                new ByteArrayBlob(HollowProducer.Blob.Type.DELTA, deltaBytes(otherWriter, false)),
+                new ByteArrayBlob(HollowProducer.Blob.Type.REVERSE_DELTA, deltaBytes(otherWriter, true))
+        };
+    }
+
+    private static void addRecords(HollowWriteStateEngine writeEngine, int fromId, int toId) {
+        HollowObjectMapper mapper = new HollowObjectMapper(writeEngine);
+        for(int id=fromId;id<toId;id++)
+            mapper.add(new Movie(id, "title" + id));
+    }
+
+    private static byte[] snapshotBytes(HollowBlobWriter writer) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writer.writeSnapshot(baos);
+        return baos.toByteArray();
+    }
+
+    private static byte[] deltaBytes(HollowBlobWriter writer, boolean reverse) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        if(reverse)
+            writer.writeReverseDelta(baos);
+        else
+            writer.writeDelta(baos);
+        return baos.toByteArray();
+    }
+
+    static class Movie {
+        int id;
+        String title;
+
+        Movie(int id, String title) {
+            this.id = id;
+            this.title = title;
+        }
+    }
+
+    static class ByteArrayBlob extends HollowProducer.Blob {
+        private final byte[] data;
+
+        ByteArrayBlob(Type type, byte[] data) {
+            super(1L, 2L, type);
+            this.data = data;
+        }
+
+        @Override
+        protected void write(HollowBlobWriter writer) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public InputStream newInputStream() {
+            return new ByteArrayInputStream(data);
+        }
+
+        @Override
+        public void cleanup() {
+        }
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.core.index;
+
+import com.netflix.hollow.core.AbstractStateEngineTest;
+import com.netflix.hollow.core.read.engine.PopulatedOrdinalListener;
+import com.netflix.hollow.core.read.iterator.HollowOrdinalIterator;
+import com.netflix.hollow.core.write.objectmapper.HollowObjectMapper;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HollowHashIndexIncrementalTest extends AbstractStateEngineTest {
+
+    private static final int NUM_YEARS = 40;
+    private static final int NUM_TAGS = 60;
+
+    private HollowObjectMapper mapper;
+    private Random rand;
+    private Map<Integer, Movie> movies;
+    private int nextId;
+
+    @Override
+    protected void initializeTypeStates() {
+        mapper = new HollowObjectMapper(writeStateEngine);
+    }
+
+    @Test
+    public void incrementalIndexMatchesRebuiltIndex() throws IOException {
+        rand = new Random(1000);
+        movies = new HashMap<>();
+        for(int i=0;i<2000;i++)
+            addMovie();
+        writeMovies();
+        roundTripSnapshot();
+
+        HollowHashIndex byYear = new HollowHashIndex(readStateEngine, "Movie", "", "year");
+        HollowHashIndex byTagAndYear = new HollowHashIndex(readStateEngine, "Movie", "", "tags.element.name.value", "year");
+        HollowHashIndex byTitle = new HollowHashIndex(readStateEngine, "Movie", "", "title.value");
+        HollowHashIndex tagsByYear = new HollowHashIndex(readStateEngine, "Movie", "tags.element", "year");
+        for(HollowHashIndex index : Arrays.asList(byYear, byTagAndYear, byTitle, tagsByYear))
+            index.listenForIncrementalDeltaUpdates();
+
+        for(int cycle=0;cycle<30;cycle++) {
+            /// most cycles are small enough to be applied incrementally, every fifth forces a rebuild
+            int numChanges = cycle % 5 == 4 ? 400 : rand.nextInt(60) + 1;
+            for(int i=0;i<numChanges;i++) {
+                switch(rand.nextInt(3)) {
+                case 0:
+                    addMovie();
+                    break;
+                case 1:
+                    removeMovie();
+                    break;
+                default:
+                    removeMovie();
+                    addMovie();
+                }
+            }
+
+            writeMovies();
+            roundTripDelta();
+
+            assertMatchesRebuiltIndex(byYear, this::yearQueries);
+            assertMatchesRebuiltIndex(byTagAndYear, this::tagAndYearQueries);
+            assertMatchesRebuiltIndex(byTitle, this::titleQueries);
+            assertMatchesRebuiltIndex(tagsByYear, this::yearQueries);
+        }
+    }
+
+    @Test
+    public void smallDeltasAreAppliedIncrementally() throws IOException {
+        rand = new Random(2000);
+        movies = new HashMap<>();
+        for(int i=0;i<1000;i++)
+            addMovie();
+        writeMovies();
+        roundTripSnapshot();
+
+        HollowHashIndex byTagAndYear = new HollowHashIndex(readStateEngine, "Movie", "", "tags.element.name.value", "year");
+        HollowHashIndex tagsByYear = new HollowHashIndex(readStateEngine, "Movie", "tags.element", "year");
+        HollowHashIndex.HollowHashIndexState byTagAndYearState = new HollowHashIndex.HollowHashIndexState(buildIndex(byTagAndYear));
+        HollowHashIndex.HollowHashIndexState tagsByYearState = new HollowHashIndex.HollowHashIndexState(buildIndex(tagsByYear));
+
+        for(int i=0;i<20;i++) {
+            removeMovie();
+            addMovie();
+        }
+        writeMovies();
+        roundTripDelta();
+
+        PopulatedOrdinalListener listener = readStateEngine.getTypeState("Movie").getListener(PopulatedOrdinalListener.class);
+        HollowHashIndex.HollowHashIndexState updated = updater(byTagAndYear, byTagAndYearState).update(listener.getPreviousOrdinals(), listener.getPopulatedOrdinals());
+
+        Assert.assertNotNull(updated);
+        Assert.assertTrue(updated.getNumWastedSelectBuckets() > 0);
+        Assert.assertNull("Selecting records other than the indexed type requires a rebuild",
+                updater(tagsByYear, tagsByYearState).update(listener.getPreviousOrdinals(), listener.getPopulatedOrdinals()));
+        Assert.assertSame(updated, updater(byTagAndYear, updated).update(listener.getPopulatedOrdinals(), listener.getPopulatedOrdinals()));
+    }
+
+    private HollowHashIndexBuilder buildIndex(HollowHashIndex index) {
+        HollowHashIndexBuilder builder = new HollowHashIndexBuilder(readStateEngine, index.getType(), index.getSelectField(), index.getMatchFields());
+        builder.buildIndex();
+        return builder;
+    }
+
+    private HollowHashIndexDeltaUpdater updater(HollowHashIndex index, HollowHashIndex.HollowHashIndexState state) {
+        return new HollowHashIndexDeltaUpdater(readStateEngine, index.getType(), index.getSelectField(), index.getMatchFields(), state);
+    }
+
+    private void assertMatchesRebuiltIndex(HollowHashIndex index, QuerySupplier queries) {
+        HollowHashIndex rebuilt = new HollowHashIndex(readStateEngine, index.getType(), index.getSelectField(), index.getMatchFields());
+
+        for(Object[] query : queries.get()) {
+            HollowHashIndexResult expected = rebuilt.findMatches(query);
+            HollowHashIndexResult actual = index.findMatches(query);
+
+            if(expected == null) {
+                Assert.assertNull(Arrays.toString(query), actual);
+            } else {
+                Assert.assertNotNull(Arrays.toString(query), actual);
+                Assert.assertEquals(Arrays.toString(query), expected.numResults(), actual.numResults());
+                Set<Integer> expectedOrdinals = toSet(expected.iterator());
+                Assert.assertEquals(Arrays.toString(query), expectedOrdinals, toSet(actual.iterator()));
+                for(int ordinal : expectedOrdinals)
+                    Assert.assertTrue(actual.contains(ordinal));
+            }
+        }
+    }
+
+    private List<Object[]> yearQueries() {
+        List<Object[]> queries = new ArrayList<>();
+        for(int year=0;year<=NUM_YEARS;year++)
+            queries.add(new Object[] { year });
+        return queries;
+    }
+
+    private List<Object[]> tagAndYearQueries() {
+        List<Object[]> queries = new ArrayList<>();
+        for(int tag=0;tag<=NUM_TAGS;tag++) {
+            for(int year=0;year<=NUM_YEARS;year++)
+                queries.add(new Object[] { "tag" + tag, year });
+        }
+        return queries;
+    }
+
+    private List<Object[]> titleQueries() {
+        List<Object[]> queries = new ArrayList<>();
+        for(int id=0;id<nextId;id+=3)
+            queries.add(new Object[] { "title" + id });
+        return queries;
+    }
+
+    private static Set<Integer> toSet(HollowOrdinalIterator iter) {
+        Set<Integer> ordinals = new HashSet<>();
+        int ordinal = iter.next();
+        while(ordinal != HollowOrdinalIterator.NO_MORE_ORDINALS) {
+            Assert.assertTrue("Duplicate ordinal " + ordinal, ordinals.add(ordinal));
+            ordinal = iter.next();
+        }
+        return ordinals;
+    }
+
+    private void addMovie() {
+        int id = nextId++;
+
+        /// titles repeat, so that some matches are shared by several records
+        String title = "title" + (rand.nextInt(4) == 0 ? id / 3 * 3 : id);
+        List<Tag> tags = new ArrayList<>();
+        int numTags = rand.nextInt(5);
+        for(int i=0;i<numTags;i++)
+            tags.add(new Tag("tag" + rand.nextInt(NUM_TAGS)));
+
+        movies.put(id, new Movie(id, rand.nextInt(NUM_YEARS), title, tags));
+    }
+
+    private void removeMovie() {
+        if(movies.isEmpty())
+            return;
+        List<Integer> ids = new ArrayList<>(movies.keySet());
+        movies.remove(ids.get(rand.nextInt(ids.size())));
+    }
+
+    private void writeMovies() {
+        for(Movie movie : movies.values())
+            mapper.add(movie);
+    }
+
+    private interface QuerySupplier {
+        List<Object[]> get();
+    }
+
+    @SuppressWarnings("unused")
+    private static class Movie {
+        int id;
+        int year;
+        String title;
+        List<Tag> tags;
+
+        Movie(int id, int year, String title, List<Tag> tags) {
+            this.id = id;
+            this.year = year;
+            this.title = title;
+            this.tags = tags;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static class Tag {
+        String name;
+
+        Tag(String name) {
+            this.name = name;
+        }
+    }
+}
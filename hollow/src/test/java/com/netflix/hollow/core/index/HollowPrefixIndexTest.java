@@ -30,6 +30,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
 import java.util.stream.IntStream;
 import org.junit.Assert;
@@ -154,6 +155,131 @@ public class HollowPrefixIndexTest {
 
     }
 
+    @Test
+    public void testIncrementalDeltaChanges() throws Exception {
+        Random random = new Random(42);
+        Map<Integer, SimpleMovie> movies = new HashMap<>();
+        for (int id = 0; id < 500; id++) {
+            movies.put(id, new SimpleMovie(id, randomName(random), 2000));
+        }
+        movies.values().forEach(objectMapper::add);
+
+        StateEngineRoundTripper.roundTripSnapshot(writeStateEngine, readStateEngine);
+        HollowPrefixIndex prefixIndex = new HollowPrefixIndex(readStateEngine, "SimpleMovie", "name");
+        prefixIndex.listenForDeltaUpdates();
+
+        int nextId = movies.size();
+        for (int cycle = 0; cycle < 20; cycle++) {
+            // every fifth cycle removes enough keys to compact the index
+            int numChanges = cycle % 5 == 4 ? 200 : 10;
+            for (int i = 0; i < numChanges; i++) {
+                List<Integer> ids = new ArrayList<>(movies.keySet());
+                int id = ids.get(random.nextInt(ids.size()));
+                if (random.nextBoolean()) {
+                    movies.get(id).updateName(randomName(random));
+                } else {
+                    movies.remove(id);
+                    movies.put(nextId, new SimpleMovie(nextId++, randomName(random), 2000));
+                }
+            }
+            movies.values().forEach(objectMapper::add);
+            StateEngineRoundTripper.roundTripDelta(writeStateEngine, readStateEngine);
+
+            HollowPrefixIndex rebuilt = new HollowPrefixIndex(readStateEngine, "SimpleMovie", "name");
+            for (String prefix : Arrays.asList("a", "b", "c", "ab", "ba", "cab", "abca", "bbbb", "ccccc", "cabbac")) {
+                Assert.assertEquals(prefix, toSet(rebuilt.findKeysWithPrefix(prefix)), toSet(prefixIndex.findKeysWithPrefix(prefix)));
+                Assert.assertEquals(prefix, rebuilt.contains(prefix), prefixIndex.contains(prefix));
+            }
+            for (SimpleMovie movie : movies.values()) {
+                Assert.assertTrue(prefixIndex.contains(movie.name));
+            }
+        }
+
+        prefixIndex.detachFromDeltaUpdates();
+    }
+
+    @Test
+    public void testKeyWhichIsPrefixOfAnotherKey() throws Exception {
+        objectMapper.add(new SimpleMovie(1, "ab", 2000));
+        objectMapper.add(new SimpleMovie(2, "abc", 2000));
+        StateEngineRoundTripper.roundTripSnapshot(writeStateEngine, readStateEngine);
+
+        HollowPrefixIndex prefixIndex = new HollowPrefixIndex(readStateEngine, "SimpleMovie", "name");
+        prefixIndex.listenForDeltaUpdates();
+        Assert.assertEquals(2, toSet(prefixIndex.findKeysWithPrefix("a")).size());
+
+        // the nodes of the removed key remain in the index
+        objectMapper.add(new SimpleMovie(1, "ab", 2000));
+        objectMapper.add(new SimpleMovie(3, "b", 2000));
+        StateEngineRoundTripper.roundTripDelta(writeStateEngine, readStateEngine);
+        Assert.assertEquals(1, toSet(prefixIndex.findKeysWithPrefix("a")).size());
+        Assert.assertFalse(prefixIndex.contains("abc"));
+        Assert.assertTrue(prefixIndex.contains("ab"));
+    }
+
+    @Test
+    public void testRepeatedlyModifiedKeysDoNotRebuild() throws Exception {
+        for (int id = 0; id < 100; id++) {
+            objectMapper.add(new SimpleMovie(id, "movie" + id, 2000));
+        }
+        StateEngineRoundTripper.roundTripSnapshot(writeStateEngine, readStateEngine);
+
+        HollowPrefixIndex prefixIndex = new HollowPrefixIndex(readStateEngine, "SimpleMovie", "name");
+        prefixIndex.listenForDeltaUpdates();
+        int numBuilds = prefixIndex.getNumBuilds();
+
+        // the same records alternate between two names, so the nodes emptied by one delta are refilled by the next
+        for (int cycle = 0; cycle < 50; cycle++) {
+            for (int id = 0; id < 100; id++) {
+                String name = id < 10 && cycle % 2 == 0 ? "film" + id : "movie" + id;
+                objectMapper.add(new SimpleMovie(id, name, 2000));
+            }
+            StateEngineRoundTripper.roundTripDelta(writeStateEngine, readStateEngine);
+
+            Assert.assertEquals(cycle % 2 == 0 ? 10 : 0, toSet(prefixIndex.findKeysWithPrefix("film")).size());
+            Assert.assertEquals(cycle % 2 == 0 ? 90 : 100, toSet(prefixIndex.findKeysWithPrefix("movie")).size());
+            Assert.assertEquals(cycle % 2 == 0, prefixIndex.contains("film0"));
+            Assert.assertEquals(cycle % 2 != 0, prefixIndex.contains("movie0"));
+        }
+
+        Assert.assertEquals(numBuilds, prefixIndex.getNumBuilds());
+        prefixIndex.detachFromDeltaUpdates();
+    }
+
+    @Test
+    public void testUpdateCopiesOnlyModifiedPages() throws Exception {
+        for (int id = 0; id < 20000; id++) {
+            objectMapper.add(new SimpleMovie(id, "movie" + id, 2000));
+        }
+        StateEngineRoundTripper.roundTripSnapshot(writeStateEngine, readStateEngine);
+
+        HollowPrefixIndex prefixIndex = new HollowPrefixIndex(readStateEngine, "SimpleMovie", "name");
+        prefixIndex.listenForDeltaUpdates();
+        int numBuilds = prefixIndex.getNumBuilds();
+
+        for (int id = 0; id < 20000; id++) {
+            objectMapper.add(new SimpleMovie(id, id == 12345 ? "film12345" : "movie" + id, 2000));
+        }
+        StateEngineRoundTripper.roundTripDelta(writeStateEngine, readStateEngine);
+
+        Assert.assertEquals(numBuilds, prefixIndex.getNumBuilds());
+        // the tree has about 100 pages, of which the delta only modifies those on the paths of the two keys
+        Assert.assertTrue(prefixIndex.getNumPagesCopied() <= 10);
+        Assert.assertTrue(prefixIndex.contains("film12345"));
+        Assert.assertFalse(prefixIndex.contains("movie12345"));
+        Assert.assertEquals(19999, toSet(prefixIndex.findKeysWithPrefix("movie")).size());
+        prefixIndex.detachFromDeltaUpdates();
+    }
+
+    private static String randomName(Random random) {
+        StringBuilder name = new StringBuilder();
+        int length = 1 + random.nextInt(6);
+        for (int i = 0; i < length; i++) {
+            name.append((char) ('a' + random.nextInt(3)));
+        }
+        return name.toString();
+    }
+
     @Test
     public void testListReference() throws Exception {
         MovieListReference movieListReference = new MovieListReference(1, 1999, "The Matrix", Arrays.asList("Keanu Reeves", "Laurence Fishburne", "Carrie-Anne Moss"));
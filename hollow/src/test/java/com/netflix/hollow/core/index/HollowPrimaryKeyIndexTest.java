@@ -283,6 +283,110 @@ public class HollowPrimaryKeyIndexTest extends AbstractStateEngineTest {
         }
     }
 
+    @Test
+    public void batchLookupsMatchSingleLookups() throws IOException {
+        HollowObjectMapper mapper = new HollowObjectMapper(writeStateEngine);
+        for(int i=0;i<1000;i++)
+            mapper.add(new TypeC(i * 3, i * 7L, "name" + i));
+
+        roundTripSnapshot();
+
+        HollowPrimaryKeyIndex byId = new HollowPrimaryKeyIndex(readStateEngine, "TypeC", "id");
+        HollowPrimaryKeyIndex byCode = new HollowPrimaryKeyIndex(readStateEngine, "TypeC", "code");
+        HollowPrimaryKeyIndex byName = new HollowPrimaryKeyIndex(readStateEngine, "TypeC", "name.value");
+        byId.listenForDeltaUpdates();
+
+        int[] ids = new int[1500];
+        long[] codes = new long[1500];
+        String[] names = new String[1500];
+        for(int i=0;i<1500;i++) {
+            ids[i] = i * 2;
+            codes[i] = i * 7L;
+            names[i] = i == 10 ? null : "name" + i;
+        }
+
+        int[] idMatches = byId.getMatchingOrdinals(ids);
+        int[] codeMatches = byCode.getMatchingOrdinals(codes);
+        int[] nameMatches = byName.getMatchingOrdinals(names);
+        for(int i=0;i<1500;i++) {
+            Assert.assertEquals(byId.getMatchingOrdinal(ids[i]), idMatches[i]);
+            Assert.assertEquals(byCode.getMatchingOrdinal(codes[i]), codeMatches[i]);
+            Assert.assertEquals(byName.getMatchingOrdinal(names[i]), nameMatches[i]);
+        }
+        Assert.assertEquals(-1, idMatches[1]);
+        Assert.assertEquals(-1, codeMatches[1499]);
+        Assert.assertEquals(-1, nameMatches[10]);
+        Assert.assertEquals(500, nameMatches[500]);
+        Assert.assertEquals(0, byId.getMatchingOrdinals(new int[0]).length);
+
+        for(int i=500;i<1200;i++)
+            mapper.add(new TypeC(i * 3, i * 7L, "name" + i));
+
+        roundTripDelta();
+
+        idMatches = byId.getMatchingOrdinals(ids);
+        for(int i=0;i<1500;i++)
+            Assert.assertEquals(byId.getMatchingOrdinal(ids[i]), idMatches[i]);
+        Assert.assertEquals(-1, idMatches[3]);
+        Assert.assertNotEquals(-1, idMatches[900]);
+    }
+
+    @Test
+    public void primitiveLookupsMatchBoxedLookups() throws IOException {
+        HollowObjectMapper mapper = new HollowObjectMapper(writeStateEngine);
+        for(int i=0;i<100;i++)
+            mapper.add(new TypeC(i * 3, i * 7L, i == 0 ? "\u00e9t\u00e9" : "name" + i));
+
+        roundTripSnapshot();
+
+        HollowPrimaryKeyIndex byId = new HollowPrimaryKeyIndex(readStateEngine, "TypeC", "id");
+        HollowPrimaryKeyIndex byCode = new HollowPrimaryKeyIndex(readStateEngine, "TypeC", "code");
+        HollowPrimaryKeyIndex byName = new HollowPrimaryKeyIndex(readStateEngine, "TypeC", "name.value");
+        HollowPrimaryKeyIndex byIdAndVersion = new HollowPrimaryKeyIndex(readStateEngine, "TypeC", "id", "version");
+        HollowPrimaryKeyIndex byCodeAndVersion = new HollowPrimaryKeyIndex(readStateEngine, "TypeC", "code", "version");
+
+        for(int i=0;i<150;i++) {
+            Object boxedId = i * 3;
+            Object boxedCode = i * 7L;
+            Object boxedVersion = (i * 3) % 5;
+            String name = i == 0 ? "\u00e9t\u00e9" : "name" + i;
+
+            Assert.assertEquals(byId.getMatchingOrdinal(boxedId), byId.getMatchingOrdinal(i * 3));
+            Assert.assertEquals(byCode.getMatchingOrdinal(boxedCode), byCode.getMatchingOrdinal(i * 7L));
+            Assert.assertEquals(byName.getMatchingOrdinal((Object)name), byName.getMatchingOrdinal(new StringBuilder(name)));
+            Assert.assertEquals(byIdAndVersion.getMatchingOrdinal(boxedId, boxedVersion), byIdAndVersion.getMatchingOrdinal(i * 3, (i * 3) % 5));
+            Assert.assertEquals(byCodeAndVersion.getMatchingOrdinal(boxedCode, boxedVersion), byCodeAndVersion.getMatchingOrdinal(i * 7L, (i * 3) % 5));
+        }
+
+        Assert.assertEquals(10, byId.getMatchingOrdinal(30));
+        Assert.assertEquals(0, byName.getMatchingOrdinal(new StringBuilder("\u00e9t\u00e9")));
+        Assert.assertEquals(-1, byName.getMatchingOrdinal(new StringBuilder("name")));
+        Assert.assertEquals(-1, byIdAndVersion.getMatchingOrdinal(30, 1));
+        Assert.assertEquals(10, byCodeAndVersion.getMatchingOrdinal(70L, 0));
+        Assert.assertEquals("keys of other field types behave as boxed lookups", 10, byCode.getMatchingOrdinal((Object)70L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void batchLookupsRejectMismatchedKeyTypes() throws IOException {
+        HollowObjectMapper mapper = new HollowObjectMapper(writeStateEngine);
+        mapper.add(new TypeC(1, 1L, "one"));
+
+        roundTripSnapshot();
+
+        new HollowPrimaryKeyIndex(readStateEngine, "TypeC", "code").getMatchingOrdinals(new int[] { 1 });
+    }
+
+    @Test
+    public void batchLookupsOfMultipleFieldKeysMatchNothing() throws IOException {
+        HollowObjectMapper mapper = new HollowObjectMapper(writeStateEngine);
+        mapper.add(new TypeA(1, 1.1d, new TypeB("one")));
+
+        roundTripSnapshot();
+
+        HollowPrimaryKeyIndex idx = new HollowPrimaryKeyIndex(readStateEngine, "TypeA");
+        Assert.assertArrayEquals(new int[] { -1, -1 }, idx.getMatchingOrdinals(new int[] { 1, 2 }));
+    }
+
     private static void addDataForDupTesting(HollowWriteStateEngine writeStateEngine, int a1Start, double a2, int size) {
         TypeB typeB = new TypeB("commonTypeB");
         HollowObjectMapper mapper = new HollowObjectMapper(writeStateEngine);
@@ -328,6 +432,20 @@ public class HollowPrimaryKeyIndexTest extends AbstractStateEngineTest {
         }
     }
 
+    private static class TypeC {
+        private final int id;
+        private final long code;
+        private final String name;
+        private final int version;
+
+        public TypeC(int id, long code, String name) {
+            this.id = id;
+            this.code = code;
+            this.name = name;
+            this.version = id % 5;
+        }
+    }
+
     @Override
     protected void initializeTypeStates() { }
 
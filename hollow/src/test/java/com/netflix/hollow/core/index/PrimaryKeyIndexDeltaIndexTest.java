@@ -72,6 +72,7 @@ public class PrimaryKeyIndexDeltaIndexTest {
             Arrays.sort(ordinalsToKeep);
             Assert.assertArrayEquals(ordinalsToKeep, matches);
             Assert.assertFalse(index.containsDuplicates());
+            Assert.assertTrue(index.isConsistent(upper));
 
 
             // Add all ordinals back
@@ -90,6 +91,45 @@ public class PrimaryKeyIndexDeltaIndexTest {
 
             Assert.assertEquals(upper, matches.length);
             Assert.assertFalse(index.containsDuplicates());
+            Assert.assertTrue(index.isConsistent(upper));
         }
     }
+
+    @Test
+    public void testUpdateAfterMissedDelta() {
+        InMemoryBlobStore blobStore = new InMemoryBlobStore();
+        HollowProducer p = HollowProducer.withPublisher(blobStore)
+                .withBlobStager(new HollowInMemoryBlobStager())
+                .build();
+
+        p.initializeDataModel(X.class);
+
+        int upper = (1 << 11) + 512;
+        long version = p.runCycle(ws -> IntStream.range(0, upper).forEach(i -> ws.add(new X(i))));
+
+        HollowConsumer consumer = HollowConsumer.withBlobRetriever(blobStore).build();
+        consumer.triggerRefreshTo(version);
+
+        HollowPrimaryKeyIndex index = new HollowPrimaryKeyIndex(consumer.getStateEngine(), "X", "id");
+        index.listenForDeltaUpdates();
+
+        // The index misses a delta removing some records, whose data is no longer readable after the next delta
+        index.detachFromDeltaUpdates();
+        version = p.runCycle(ws -> IntStream.range(0, upper).filter(i -> i % 50 != 0).forEach(i -> ws.add(new X(i))));
+        consumer.triggerRefreshTo(version);
+        index.listenForDeltaUpdates();
+
+        version = p.runCycle(ws -> IntStream.range(0, upper).filter(i -> i % 50 != 0 && i % 51 != 0).forEach(i -> ws.add(new X(i))));
+        consumer.triggerRefreshTo(version);
+
+        for (int i = 0; i < upper; i++) {
+            int ordinal = index.getMatchingOrdinal(i);
+            if (i % 50 == 0 || i % 51 == 0) {
+                Assert.assertEquals(-1, ordinal);
+            } else {
+                Assert.assertNotEquals(-1, ordinal);
+            }
+        }
+        Assert.assertTrue(index.isConsistent(upper));
+    }
 }
@@ -0,0 +1,133 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.core.memory;
+
+import com.netflix.hollow.core.memory.encoding.FixedLengthElementArray;
+import com.netflix.hollow.core.memory.pool.WastefulRecycler;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BlobByteBufferTest {
+
+    @Test
+    public void readsAcrossChunkBoundaries() throws IOException {
+        byte data[] = new byte[1000];
+        new Random(1).nextBytes(data);
+
+        BlobByteBuffer buffer = map(data, 4);
+        ByteBuffer expected = ByteBuffer.wrap(data);
+
+        Assert.assertEquals(data.length, buffer.capacity());
+        for(int i=0;i<data.length;i++)
+            Assert.assertEquals(data[i], buffer.getByte(i));
+        for(int i=0;i<data.length - 8;i++)
+            Assert.assertEquals(expected.getLong(i), buffer.getLong(i));
+
+        byte copy[] = new byte[500];
+        buffer.getBytes(123, copy, 0, copy.length);
+        for(int i=0;i<copy.length;i++)
+            Assert.assertEquals(data[123 + i], copy[i]);
+    }
+
+    @Test
+    public void readsStreamsIntoOverlappingChunks() throws IOException {
+        for(int length : new int[] { 0, 1, 16, 24, 25, 1000, 9000 }) {
+            byte data[] = new byte[length];
+            new Random(length).nextBytes(data);
+
+            BlobByteBuffer buffer = BlobByteBuffer.readFrom(new ByteArrayInputStream(data), 4);
+            ByteBuffer expected = ByteBuffer.wrap(data);
+
+            Assert.assertEquals(data.length, buffer.capacity());
+            for(int i=0;i<data.length;i++)
+                Assert.assertEquals(data[i], buffer.getByte(i));
+            for(int i=0;i<data.length - 8;i++)
+                Assert.assertEquals(expected.getLong(i), buffer.getLong(i));
+
+            byte copy[] = new byte[data.length];
+            buffer.getBytes(0, copy, 0, copy.length);
+            Assert.assertArrayEquals(data, copy);
+        }
+    }
+
+    @Test
+    public void mappedFixedLengthElementArrayMatchesOnHeap() throws IOException {
+        WastefulRecycler recycler = new WastefulRecycler(6, 6);
+        Random rand = new Random(2);
+        int bitsPerElement = 37;
+        int numElements = 500;
+
+        FixedLengthElementArray heapArray = new FixedLengthElementArray(recycler, (long)bitsPerElement * numElements);
+        for(int i=0;i<numElements;i++)
+            heapArray.setElementValue((long)i * bitsPerElement, bitsPerElement, rand.nextLong() & ((1L << bitsPerElement) - 1));
+
+        long numLongs = (((long)bitsPerElement * numElements - 1) >>> 6) + 1;
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        DataOutputStream dos = new DataOutputStream(baos);
+        heapArray.writeTo(dos, numLongs);
+        dos.flush();
+
+        BlobByteBufferInputStream is = new BlobByteBufferInputStream(map(baos.toByteArray(), 5));
+        FixedLengthElementArray mappedArray = FixedLengthElementArray.deserializeFrom(is, recycler);
+
+        Assert.assertEquals(baos.size(), is.position());
+        for(int i=0;i<numElements;i++) {
+            long bit = (long)i * bitsPerElement;
+            Assert.assertEquals(heapArray.getElementValue(bit, bitsPerElement), mappedArray.getElementValue(bit, bitsPerElement));
+            Assert.assertEquals(heapArray.getLargeElementValue(bit, bitsPerElement), mappedArray.getLargeElementValue(bit, bitsPerElement));
+        }
+    }
+
+    @Test
+    public void mappedByteArrayMatchesSource() throws IOException {
+        byte data[] = new byte[300];
+        new Random(3).nextBytes(data);
+
+        BlobByteBufferInputStream is = new BlobByteBufferInputStream(map(data, 4));
+        is.seekForward(10);
+        SegmentedByteArray arr = SegmentedByteArray.deserializeFrom(is, new WastefulRecycler(6, 6), 200);
+
+        Assert.assertEquals(210, is.position());
+        for(int i=0;i<200;i++)
+            Assert.assertEquals(data[10 + i], arr.get(i));
+
+        SegmentedByteArray heapCopy = new SegmentedByteArray(new WastefulRecycler(6, 6));
+        heapCopy.copy(arr, 0, 0, 200);
+        for(int i=0;i<200;i++)
+            Assert.assertEquals(data[10 + i], heapCopy.get(i));
+    }
+
+    private static BlobByteBuffer map(byte data[], int log2OfChunkSize) throws IOException {
+        File file = Files.createTempFile("hollow-blob", ".blob").toFile();
+        file.deleteOnExit();
+        Files.write(file.toPath(), data);
+
+        try(RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            return BlobByteBuffer.mmapBlob(raf.getChannel(), log2OfChunkSize);
+        }
+    }
+
+}
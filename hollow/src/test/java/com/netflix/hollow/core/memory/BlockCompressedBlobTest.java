@@ -0,0 +1,261 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.core.memory;
+
+import com.netflix.hollow.core.read.engine.HollowBlobReader;
+import com.netflix.hollow.core.read.engine.HollowReadStateEngine;
+import com.netflix.hollow.core.read.filter.HollowFilterConfig;
+import com.netflix.hollow.core.write.HollowBlobWriter;
+import com.netflix.hollow.core.write.HollowWriteStateEngine;
+import com.netflix.hollow.core.write.objectmapper.HollowObjectMapper;
+import com.netflix.hollow.tools.checksum.HollowChecksum;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.Deflater;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BlockCompressedBlobTest {
+
+    private static final int BLOCK_SIZE = 1000;
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void roundTripsAcrossBlocksAndFlushes() throws IOException {
+        byte data[] = testData(10000);
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try(OutputStream os = new BlockCompressedBlobOutputStream(baos, BLOCK_SIZE, Deflater.DEFAULT_COMPRESSION)) {
+            os.write(data, 0, 1500);
+            os.flush();
+            os.write(data[1500]);
+            os.flush();
+            os.flush();
+            os.write(data, 1501, data.length - 1501);
+        }
+        byte container[] = baos.toByteArray();
+
+        Assert.assertTrue(container.length < data.length);
+
+        byte sequential[] = new byte[data.length];
+        DataInputStream is = new DataInputStream(BlockCompressedBlob.decompressIfBlockCompressed(new ByteArrayInputStream(container)));
+        is.readFully(sequential);
+        Assert.assertEquals(-1, is.read());
+        Assert.assertArrayEquals(data, sequential);
+
+        BlobByteBuffer parallel = BlockCompressedBlob.decompress(BlobByteBuffer.wrap(container), executor);
+        byte parallelData[] = new byte[(int)parallel.capacity()];
+        parallel.getBytes(0, parallelData, 0, parallelData.length);
+        Assert.assertArrayEquals(data, parallelData);
+    }
+
+    @Test
+    public void skipsAcrossBlocks() throws IOException {
+        byte data[] = testData(10000);
+        byte container[] = compress(data);
+
+        InputStream is = new BlockCompressedBlobInputStream(new ByteArrayInputStream(container));
+        Assert.assertEquals(data[0] & 0xFF, is.read());
+        Assert.assertEquals(3499, is.skip(3499));
+        Assert.assertEquals(data[3500] & 0xFF, is.read());
+        Assert.assertEquals(500, is.skip(500));
+        Assert.assertEquals(data[4001] & 0xFF, is.read());
+        Assert.assertEquals(data.length - 4002, is.skip(Long.MAX_VALUE));
+        Assert.assertEquals(-1, is.read());
+    }
+
+    @Test
+    public void storesIncompressibleBlocks() throws IOException {
+        byte data[] = new byte[5000];
+        new Random(42).nextBytes(data);
+        byte container[] = compress(data);
+
+        Assert.assertTrue(container.length > data.length);
+
+        byte sequential[] = new byte[data.length];
+        new DataInputStream(new BlockCompressedBlobInputStream(new ByteArrayInputStream(container))).readFully(sequential);
+        Assert.assertArrayEquals(data, sequential);
+
+        BlobByteBuffer parallel = BlockCompressedBlob.decompress(BlobByteBuffer.wrap(container), executor);
+        byte parallelData[] = new byte[(int)parallel.capacity()];
+        parallel.getBytes(0, parallelData, 0, parallelData.length);
+        Assert.assertArrayEquals(data, parallelData);
+    }
+
+    @Test
+    public void uncompressedStreamIsUnchanged() throws IOException {
+        byte data[] = testData(100);
+        InputStream is = BlockCompressedBlob.decompressIfBlockCompressed(new ByteArrayInputStream(data));
+
+        byte read[] = new byte[data.length];
+        new DataInputStream(is).readFully(read);
+        Assert.assertArrayEquals(data, read);
+        Assert.assertFalse(BlockCompressedBlob.isBlockCompressed(BlobByteBuffer.wrap(data)));
+    }
+
+    @Test
+    public void doesNotReadPastUncompressedBlobWithoutMark() throws IOException {
+        byte data[] = testData(100);
+        ByteArrayInputStream source = new ByteArrayInputStream(Arrays.copyOf(data, data.length + 50));
+        InputStream is = BlockCompressedBlob.decompressIfBlockCompressed(new FilterInputStream(source) {
+            @Override
+            public boolean markSupported() {
+                return false;
+            }
+        });
+
+        byte read[] = new byte[data.length];
+        new DataInputStream(is).readFully(read);
+        Assert.assertArrayEquals(data, read);
+        Assert.assertEquals(50, source.available());
+    }
+
+    @Test
+    public void readsCompressedSnapshotsAndDeltas() throws IOException {
+        HollowWriteStateEngine writeEngine = new HollowWriteStateEngine();
+        writeEngine.setTargetMaxTypeShardSize(4096);
+        HollowObjectMapper mapper = new HollowObjectMapper(writeEngine);
+        for(int i=0;i<2000;i++)
+            mapper.add(new Movie(i));
+
+        HollowBlobWriter writer = new HollowBlobWriter(writeEngine);
+        byte snapshot[] = writeCompressed(writer, false);
+
+        HollowReadStateEngine expected = new HollowReadStateEngine();
+        ByteArrayOutputStream uncompressed = new ByteArrayOutputStream();
+        writer.writeSnapshot(uncompressed);
+        new HollowBlobReader(expected).readSnapshot(new ByteArrayInputStream(uncompressed.toByteArray()));
+
+        HollowReadStateEngine sequential = new HollowReadStateEngine();
+        new HollowBlobReader(sequential).readSnapshot(new ByteArrayInputStream(snapshot));
+        Assert.assertEquals(HollowChecksum.forStateEngine(expected), HollowChecksum.forStateEngine(sequential));
+
+        HollowReadStateEngine parallel = new HollowReadStateEngine();
+        new HollowBlobReader(parallel).readSnapshot(BlobByteBuffer.wrap(snapshot), new HollowFilterConfig(true), executor);
+        Assert.assertEquals(HollowChecksum.forStateEngine(expected), HollowChecksum.forStateEngine(parallel));
+
+        HollowFilterConfig filter = new HollowFilterConfig(true);
+        filter.addType("String");
+        HollowReadStateEngine filtered = new HollowReadStateEngine();
+        new HollowBlobReader(filtered).readSnapshot(new ByteArrayInputStream(snapshot), filter);
+        Assert.assertNull(filtered.getTypeState("String"));
+        Assert.assertEquals(2000, filtered.getTypeState("Movie").getPopulatedOrdinals().cardinality());
+
+        writeEngine.prepareForNextCycle();
+        for(int i=1000;i<3000;i++)
+            mapper.add(new Movie(i));
+
+        byte delta[] = writeCompressed(writer, true);
+        new HollowBlobReader(sequential).applyDelta(new ByteArrayInputStream(delta));
+        new HollowBlobReader(parallel).applyDelta(new ByteArrayInputStream(delta), executor);
+
+        uncompressed.reset();
+        writer.writeSnapshot(uncompressed);
+        expected = new HollowReadStateEngine();
+        new HollowBlobReader(expected).readSnapshot(new ByteArrayInputStream(uncompressed.toByteArray()));
+
+        Assert.assertEquals(HollowChecksum.forStateEngine(expected), HollowChecksum.forStateEngine(sequential));
+        Assert.assertEquals(HollowChecksum.forStateEngine(expected), HollowChecksum.forStateEngine(parallel));
+    }
+
+    @Test
+    public void flushesOnlyBlockCompressedOutputPerType() throws IOException {
+        HollowWriteStateEngine writeEngine = new HollowWriteStateEngine();
+        HollowObjectMapper mapper = new HollowObjectMapper(writeEngine);
+        for(int i=0;i<100;i++)
+            mapper.add(new Movie(i));
+        HollowBlobWriter writer = new HollowBlobWriter(writeEngine);
+
+        int flushes[] = new int[1];
+        OutputStream counting = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes[0]++;
+            }
+        };
+
+        writer.writeSnapshot(counting);
+        Assert.assertEquals(1, flushes[0]);
+
+        flushes[0] = 0;
+        writer.writeSnapshot(new BlockCompressedBlobOutputStream(counting, BLOCK_SIZE, Deflater.DEFAULT_COMPRESSION));
+        Assert.assertEquals(writeEngine.getOrderedTypeStates().size() + 1, flushes[0]);
+    }
+
+    private static byte[] writeCompressed(HollowBlobWriter writer, boolean delta) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try(OutputStream os = new BlockCompressedBlobOutputStream(baos, BLOCK_SIZE, Deflater.DEFAULT_COMPRESSION)) {
+            if(delta)
+                writer.writeDelta(os);
+            else
+                writer.writeSnapshot(os);
+        }
+        return baos.toByteArray();
+    }
+
+    private static byte[] compress(byte[] data) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try(OutputStream os = new BlockCompressedBlobOutputStream(baos, BLOCK_SIZE, Deflater.DEFAULT_COMPRESSION)) {
+            os.write(data);
+        }
+        return baos.toByteArray();
+    }
+
+    private static byte[] testData(int length) {
+        byte data[] = new byte[length];
+        for(int i=0;i<length;i++)
+            data[i] = (byte)(i % 13 + i / 997);
+        return data;
+    }
+
+    @SuppressWarnings("unused")
+    private static class Movie {
+        int id;
+        String title;
+        byte[] image;
+
+        Movie(int id) {
+            this.id = id;
+            this.title = "title" + id;
+            this.image = new byte[id % 7];
+            Arrays.fill(image, (byte)id);
+        }
+    }
+
+}
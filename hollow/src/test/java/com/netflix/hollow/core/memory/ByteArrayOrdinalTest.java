@@ -16,6 +16,15 @@
  */
 package com.netflix.hollow.core.memory;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -60,6 +69,83 @@ public class ByteArrayOrdinalTest {
         Assert.assertArrayEquals(ordinals, newOrdinals);
     }
 
+    @Test
+    public void testConcurrentAssignment() throws Exception {
+        ByteArrayOrdinalMap m = new ByteArrayOrdinalMap();
+
+        int numValues = 20000;
+        int[][] ordinals = assignConcurrently(m, numValues, 8, -1);
+
+        BitSet assigned = new BitSet();
+        for (int i = 0; i < numValues; i++) {
+            for (int t = 1; t < ordinals.length; t++) {
+                Assert.assertEquals(ordinals[0][i], ordinals[t][i]);
+            }
+            Assert.assertEquals(ordinals[0][i], m.get(createBuffer("TEST" + i)));
+            assigned.set(ordinals[0][i]);
+        }
+
+        Assert.assertEquals(numValues, assigned.cardinality());
+        Assert.assertEquals(numValues - 1, assigned.length() - 1);
+        Assert.assertEquals(numValues - 1, m.maxOrdinal());
+    }
+
+    @Test
+    public void testConcurrentAssignmentOfPreviousOrdinals() throws Exception {
+        ByteArrayOrdinalMap m = new ByteArrayOrdinalMap();
+
+        int numValues = 5000;
+        BitSet previousOrdinals = new BitSet();
+        for (int i = 0; i < numValues; i++) {
+            previousOrdinals.set(i * 2);
+        }
+        m.reservePreviouslyPopulatedOrdinals(previousOrdinals);
+
+        int[][] ordinals = assignConcurrently(m, numValues, 8, 2);
+
+        for (int i = 0; i < numValues; i++) {
+            Assert.assertEquals(i * 2, ordinals[0][i]);
+        }
+        Assert.assertTrue(m.getUnusedPreviousOrdinals().isEmpty());
+        Assert.assertFalse(previousOrdinals.get(m.getOrAssignOrdinal(createBuffer("NEW"))));
+    }
+
+    /**
+     * Add the same values from each thread, in a different order, optionally preferring the ordinal i * multiplier
+     * for value i.
+     */
+    private static int[][] assignConcurrently(ByteArrayOrdinalMap m, int numValues, int numThreads, int preferredOrdinalMultiplier) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        try {
+            List<Future<int[]>> futures = new ArrayList<>();
+            for (int t = 0; t < numThreads; t++) {
+                Random rand = new Random(t);
+                futures.add(executor.submit((Callable<int[]>) () -> {
+                    List<Integer> order = new ArrayList<>();
+                    for (int i = 0; i < numValues; i++) {
+                        order.add(i);
+                    }
+                    Collections.shuffle(order, rand);
+
+                    int[] result = new int[numValues];
+                    for (int i : order) {
+                        int preferredOrdinal = preferredOrdinalMultiplier == -1 ? -1 : i * preferredOrdinalMultiplier;
+                        result[i] = m.getOrAssignOrdinal(createBuffer("TEST" + i), preferredOrdinal);
+                    }
+                    return result;
+                }));
+            }
+
+            int[][] ordinals = new int[numThreads][];
+            for (int t = 0; t < numThreads; t++) {
+                ordinals[t] = futures.get(t).get();
+            }
+            return ordinals;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     static ByteDataBuffer createBuffer(String s) {
         return write(new ByteDataBuffer(), s);
     }
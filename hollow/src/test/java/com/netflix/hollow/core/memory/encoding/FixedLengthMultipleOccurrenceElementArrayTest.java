@@ -17,8 +17,11 @@
 package com.netflix.hollow.core.memory.encoding;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import com.netflix.hollow.core.memory.pool.WastefulRecycler;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.LongStream;
@@ -68,6 +71,20 @@ public class FixedLengthMultipleOccurrenceElementArrayTest {
         assertEquals(values2, array.getElements(2));
     }
 
+    @Test
+    public void testIsEmpty() {
+        assertTrue(array.isEmpty(0));
+        array.addElement(0, 0);
+        array.addElement(1, 3);
+        assertFalse(array.isEmpty(0));
+        assertFalse(array.isEmpty(1));
+        assertTrue(array.isEmpty(2));
+        array.removeElement(0, 0);
+        array.removeElement(1, 3);
+        assertTrue(array.isEmpty(0));
+        assertTrue(array.isEmpty(1));
+    }
+
     @Test
     public void testLargeNumberOfNodes() {
         LongStream.range(0, 10000).forEach(nodeIndex -> {
@@ -77,4 +94,50 @@ public class FixedLengthMultipleOccurrenceElementArrayTest {
                     array.getElements(nodeIndex));
         });
     }
+
+    @Test
+    public void testRemove() {
+        LongStream.range(0, 6).forEach(v -> array.addElement(0, v));
+        array.addElement(1, 3);
+
+        assertTrue(array.removeElement(0, 2));
+        assertTrue(array.removeElement(0, 0));
+        assertFalse(array.removeElement(0, 2));
+        assertFalse(array.removeElement(0, 0));
+        assertEquals(Arrays.asList(1L, 5L, 3L, 4L), array.getElements(0));
+        assertEquals(Arrays.asList(3L), array.getElements(1));
+
+        assertTrue(array.removeElement(0, 4));
+        assertTrue(array.removeElement(0, 1));
+        assertTrue(array.removeElement(0, 5));
+        assertTrue(array.removeElement(0, 3));
+        assertTrue(array.getElements(0).isEmpty());
+        assertEquals(Arrays.asList(3L), array.getElements(1));
+    }
+
+    @Test
+    public void testRemove_duplicates() {
+        array.addElement(0, 7);
+        array.addElement(0, 7);
+
+        assertTrue(array.removeElement(0, 7));
+        assertEquals(Arrays.asList(7L), array.getElements(0));
+        assertTrue(array.removeElement(0, 7));
+        assertTrue(array.getElements(0).isEmpty());
+    }
+
+    @Test
+    public void testCopy() {
+        List<Long> elements = LongStream.range(0, 9).boxed().collect(Collectors.toList());
+        elements.forEach(v -> array.addElement(3, v));
+
+        FixedLengthMultipleOccurrenceElementArray copy = array.copy();
+        assertEquals(elements, copy.getElements(3));
+
+        copy.removeElement(3, 0);
+        copy.addElement(4, 1);
+        assertEquals(elements, array.getElements(3));
+        assertTrue(array.getElements(4).isEmpty());
+        assertEquals(Arrays.asList(1L), copy.getElements(4));
+    }
 }
@@ -0,0 +1,154 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.core.read;
+
+import com.netflix.hollow.core.read.engine.HollowBlobReader;
+import com.netflix.hollow.core.read.engine.HollowReadStateEngine;
+import com.netflix.hollow.core.read.filter.HollowFilterConfig;
+import com.netflix.hollow.core.write.HollowBlobWriter;
+import com.netflix.hollow.core.write.HollowWriteStateEngine;
+import com.netflix.hollow.core.write.objectmapper.HollowObjectMapper;
+import com.netflix.hollow.tools.checksum.HollowChecksum;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HollowBlobReaderParallelDeltaTest {
+
+    private HollowWriteStateEngine writeEngine;
+    private HollowObjectMapper mapper;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        writeEngine = new HollowWriteStateEngine();
+        writeEngine.setTargetMaxTypeShardSize(4096);
+        mapper = new HollowObjectMapper(writeEngine);
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void parallelDeltasMatchSerialDeltas() throws IOException {
+        addRecords(0, 1000);
+        byte[] snapshot = writeSnapshot();
+
+        HollowReadStateEngine serial = readSnapshot(snapshot, new HollowFilterConfig(true));
+        HollowReadStateEngine parallel = readSnapshot(snapshot, new HollowFilterConfig(true));
+        HollowBlobReader serialReader = new HollowBlobReader(serial);
+        HollowBlobReader parallelReader = new HollowBlobReader(parallel);
+
+        for(int cycle=1;cycle<=5;cycle++) {
+            writeEngine.prepareForNextCycle();
+            addRecords(cycle * 200, 1000 + cycle * 300);
+
+            byte[] delta = writeDelta();
+            serialReader.applyDelta(new ByteArrayInputStream(delta));
+            parallelReader.applyDelta(new ByteArrayInputStream(delta), executor);
+
+            Assert.assertTrue(parallel.getTypeState("Record").numShards() > 1);
+            Assert.assertEquals(HollowChecksum.forStateEngine(serial), HollowChecksum.forStateEngine(parallel));
+            for(String type : serial.getAllTypes()) {
+                Assert.assertEquals(serial.getTypeState(type).maxOrdinal(), parallel.getTypeState(type).maxOrdinal());
+                Assert.assertEquals(serial.getTypeState(type).getPopulatedOrdinals(), parallel.getTypeState(type).getPopulatedOrdinals());
+            }
+        }
+    }
+
+    @Test
+    public void parallelDeltaSkipsFilteredTypes() throws IOException {
+        addRecords(0, 500);
+        byte[] snapshot = writeSnapshot();
+
+        HollowFilterConfig filter = new HollowFilterConfig(true);
+        filter.addType("SetOfString");
+        HollowReadStateEngine parallel = readSnapshot(snapshot, filter);
+
+        writeEngine.prepareForNextCycle();
+        addRecords(250, 750);
+        new HollowBlobReader(parallel).applyDelta(new ByteArrayInputStream(writeDelta()), executor);
+
+        HollowReadStateEngine expected = readSnapshot(writeSnapshot(), filter);
+
+        Assert.assertNull(parallel.getTypeState("SetOfString"));
+        Assert.assertEquals(HollowChecksum.forStateEngine(expected), HollowChecksum.forStateEngine(parallel));
+    }
+
+    private void addRecords(int from, int to) {
+        for(int i=from;i<to;i++)
+            mapper.add(new Record(i));
+    }
+
+    private HollowReadStateEngine readSnapshot(byte[] snapshot, HollowFilterConfig filter) throws IOException {
+        HollowReadStateEngine readEngine = new HollowReadStateEngine();
+        new HollowBlobReader(readEngine).readSnapshot(new ByteArrayInputStream(snapshot), filter);
+        return readEngine;
+    }
+
+    private byte[] writeSnapshot() throws IOException {
+        writeEngine.prepareForWrite();
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        new HollowBlobWriter(writeEngine).writeSnapshot(os);
+        return os.toByteArray();
+    }
+
+    private byte[] writeDelta() throws IOException {
+        writeEngine.prepareForWrite();
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        new HollowBlobWriter(writeEngine).writeDelta(os);
+        return os.toByteArray();
+    }
+
+    @SuppressWarnings("unused")
+    private static class Record {
+        int id;
+        String name;
+        List<String> aliases;
+        Set<String> tags;
+        Map<String, Integer> counts;
+
+        Record(int id) {
+            this.id = id;
+            this.name = "record" + id;
+            this.aliases = new ArrayList<>();
+            this.tags = new HashSet<>();
+            this.counts = new HashMap<>();
+            for(int i=0;i<id%4;i++) {
+                aliases.add("alias" + (id + i));
+                tags.add("tag" + (id % 10 + i));
+                counts.put("count" + i, id * i);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,185 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.core.read;
+
+import com.netflix.hollow.core.memory.BlobByteBuffer;
+import com.netflix.hollow.core.memory.MemoryMode;
+import com.netflix.hollow.core.read.engine.HollowBlobReader;
+import com.netflix.hollow.core.read.engine.HollowReadStateEngine;
+import com.netflix.hollow.core.read.filter.HollowFilterConfig;
+import com.netflix.hollow.core.read.filter.TypeFilter;
+import com.netflix.hollow.core.schema.HollowObjectSchema;
+import com.netflix.hollow.core.write.HollowBlobWriter;
+import com.netflix.hollow.core.write.HollowWriteStateEngine;
+import com.netflix.hollow.core.write.objectmapper.HollowObjectMapper;
+import com.netflix.hollow.tools.checksum.HollowChecksum;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HollowBlobReaderParallelSnapshotTest {
+
+    private HollowWriteStateEngine writeEngine;
+    private HollowObjectMapper mapper;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        writeEngine = new HollowWriteStateEngine();
+        writeEngine.setTargetMaxTypeShardSize(4096);
+        mapper = new HollowObjectMapper(writeEngine);
+        executor = Executors.newFixedThreadPool(4);
+
+        for(int i=0;i<2000;i++)
+            mapper.add(new Movie(i));
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void parallelOnHeapSnapshotMatchesSerialSnapshot() throws IOException {
+        assertParallelMatchesSerial(MemoryMode.ON_HEAP, new HollowFilterConfig(true));
+    }
+
+    @Test
+    public void parallelMappedSnapshotMatchesSerialSnapshot() throws IOException {
+        assertParallelMatchesSerial(MemoryMode.SHARED_MEMORY, new HollowFilterConfig(true));
+    }
+
+    @Test
+    public void parallelSnapshotDiscardsFilteredTypes() throws IOException {
+        HollowFilterConfig filter = new HollowFilterConfig(true);
+        filter.addType("SetOfActor");
+        filter.addField("Movie", "image");
+
+        HollowReadStateEngine parallel = assertParallelMatchesSerial(MemoryMode.ON_HEAP, filter);
+
+        Assert.assertNull(parallel.getTypeState("SetOfActor"));
+        Assert.assertNotNull(parallel.getTypeState("MapOfActorToInteger"));
+        Assert.assertEquals(-1, ((HollowObjectSchema)parallel.getSchema("Movie")).getPosition("image"));
+    }
+
+    @Test
+    public void deltaAppliesToParallelSnapshot() throws IOException {
+        HollowReadStateEngine parallel = new HollowReadStateEngine();
+        new HollowBlobReader(parallel).readSnapshot(writeSnapshot(), new HollowFilterConfig(true), executor);
+
+        writeEngine.prepareForNextCycle();
+        for(int i=1000;i<3000;i++)
+            mapper.add(new Movie(i));
+
+        ByteArrayOutputStream delta = new ByteArrayOutputStream();
+        new HollowBlobWriter(writeEngine).writeDelta(delta);
+        new HollowBlobReader(parallel).applyDelta(new ByteArrayInputStream(delta.toByteArray()));
+
+        HollowReadStateEngine expected = new HollowReadStateEngine();
+        ByteArrayOutputStream expectedSnapshot = new ByteArrayOutputStream();
+        new HollowBlobWriter(writeEngine).writeSnapshot(expectedSnapshot);
+        new HollowBlobReader(expected).readSnapshot(BlobByteBuffer.wrap(expectedSnapshot.toByteArray()), new HollowFilterConfig(true), executor);
+
+        Assert.assertEquals(HollowChecksum.forStateEngine(expected), HollowChecksum.forStateEngine(parallel));
+        Assert.assertEquals(expected.getTypeState("Movie").getPopulatedOrdinals(), parallel.getTypeState("Movie").getPopulatedOrdinals());
+    }
+
+    private HollowReadStateEngine assertParallelMatchesSerial(MemoryMode memoryMode, TypeFilter filter) throws IOException {
+        File snapshot = writeSnapshot();
+
+        HollowReadStateEngine serial = new HollowReadStateEngine();
+        new HollowBlobReader(serial).readSnapshot(snapshot, filter);
+
+        HollowReadStateEngine parallel = new HollowReadStateEngine();
+        new HollowBlobReader(parallel, memoryMode).readSnapshot(snapshot, filter, executor);
+
+        Assert.assertTrue(parallel.getTypeState("Movie").numShards() > 1);
+        Assert.assertEquals(new HashSet<>(serial.getAllTypes()), new HashSet<>(parallel.getAllTypes()));
+        Assert.assertEquals(HollowChecksum.forStateEngine(serial), HollowChecksum.forStateEngine(parallel));
+
+        for(String type : serial.getAllTypes()) {
+            Assert.assertEquals(serial.getTypeState(type).maxOrdinal(), parallel.getTypeState(type).maxOrdinal());
+            Assert.assertEquals(serial.getTypeState(type).getPopulatedOrdinals(), parallel.getTypeState(type).getPopulatedOrdinals());
+        }
+
+        return parallel;
+    }
+
+    private File writeSnapshot() throws IOException {
+        writeEngine.prepareForWrite();
+
+        File file = Files.createTempFile("hollow-snapshot", ".blob").toFile();
+        file.deleteOnExit();
+        try(OutputStream os = new FileOutputStream(file)) {
+            new HollowBlobWriter(writeEngine).writeSnapshot(os);
+        }
+        return file;
+    }
+
+    @SuppressWarnings("unused")
+    private static class Movie {
+        int id;
+        String title;
+        byte[] image;
+        List<Actor> actors;
+        Set<Actor> cast;
+        Map<Actor, Integer> billing;
+
+        Movie(int id) {
+            this.id = id;
+            this.title = "title" + id;
+            this.image = new byte[id % 17];
+            Arrays.fill(image, (byte)id);
+
+            Actor actors[] = new Actor[id % 5];
+            this.cast = new HashSet<>();
+            this.billing = new HashMap<>();
+            for(int i=0;i<actors.length;i++) {
+                actors[i] = new Actor("actor" + (id + i));
+                cast.add(actors[i]);
+                billing.put(actors[i], i);
+            }
+            this.actors = Arrays.asList(actors);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static class Actor {
+        String name;
+
+        Actor(String name) {
+            this.name = name;
+        }
+    }
+
+}
@@ -0,0 +1,186 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.core.read;
+
+import com.netflix.hollow.api.objects.generic.GenericHollowObject;
+import com.netflix.hollow.core.memory.MemoryMode;
+import com.netflix.hollow.core.read.engine.HollowBlobReader;
+import com.netflix.hollow.core.read.engine.HollowReadStateEngine;
+import com.netflix.hollow.core.read.engine.object.HollowObjectTypeReadState;
+import com.netflix.hollow.core.write.HollowBlobWriter;
+import com.netflix.hollow.core.write.HollowWriteStateEngine;
+import com.netflix.hollow.core.write.objectmapper.HollowObjectMapper;
+import com.netflix.hollow.tools.checksum.HollowChecksum;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HollowBlobReaderSharedMemoryTest {
+
+    private HollowWriteStateEngine writeEngine;
+    private HollowObjectMapper mapper;
+
+    @Before
+    public void setUp() {
+        writeEngine = new HollowWriteStateEngine();
+        writeEngine.setTargetMaxTypeShardSize(4096);
+        mapper = new HollowObjectMapper(writeEngine);
+    }
+
+    @Test
+    public void mappedSnapshotMatchesOnHeapSnapshot() throws IOException {
+        for(int i=0;i<2000;i++)
+            mapper.add(new Movie(i));
+
+        File snapshot = writeSnapshot();
+
+        HollowReadStateEngine onHeap = new HollowReadStateEngine();
+        new HollowBlobReader(onHeap).readSnapshot(snapshot);
+
+        HollowReadStateEngine mapped = new HollowReadStateEngine();
+        new HollowBlobReader(mapped, MemoryMode.SHARED_MEMORY).readSnapshot(snapshot);
+
+        Assert.assertTrue(mapped.getTypeState("Movie").numShards() > 1);
+        Assert.assertEquals(HollowChecksum.forStateEngine(onHeap), HollowChecksum.forStateEngine(mapped));
+
+        for(int i=0;i<2000;i++) {
+            GenericHollowObject movie = new GenericHollowObject(mapped, "Movie", i);
+            Assert.assertEquals(i, movie.getInt("id"));
+            Assert.assertEquals(i * 1000000000000L, movie.getLong("gross"));
+            Assert.assertEquals("title" + i, movie.getObject("title").getString("value"));
+            Assert.assertTrue(movie.getObject("title").isStringFieldEqual("value", "title" + i));
+            Assert.assertArrayEquals(bytes(i), movie.getBytes("image"));
+            Assert.assertEquals(i % 5, movie.getList("actors").size());
+        }
+    }
+
+    @Test
+    public void deltaAppliesToMappedSnapshot() throws IOException {
+        for(int i=0;i<100;i++)
+            mapper.add(new Movie(i));
+
+        File snapshot = writeSnapshot();
+
+        HollowReadStateEngine mapped = new HollowReadStateEngine();
+        new HollowBlobReader(mapped, MemoryMode.SHARED_MEMORY).readSnapshot(snapshot);
+
+        writeEngine.prepareForNextCycle();
+        for(int i=50;i<150;i++)
+            mapper.add(new Movie(i));
+
+        ByteArrayOutputStream delta = new ByteArrayOutputStream();
+        new HollowBlobWriter(writeEngine).writeDelta(delta);
+        new HollowBlobReader(mapped, MemoryMode.SHARED_MEMORY).applyDelta(new ByteArrayInputStream(delta.toByteArray()));
+
+        HollowReadStateEngine expected = new HollowReadStateEngine();
+        ByteArrayOutputStream expectedSnapshot = new ByteArrayOutputStream();
+        new HollowBlobWriter(writeEngine).writeSnapshot(expectedSnapshot);
+        new HollowBlobReader(expected).readSnapshot(new ByteArrayInputStream(expectedSnapshot.toByteArray()));
+
+        Assert.assertEquals(HollowChecksum.forStateEngine(expected), HollowChecksum.forStateEngine(mapped));
+    }
+
+    @Test
+    public void readsColumnsOfMappedSnapshot() throws IOException {
+        for(int i=0;i<2000;i++)
+            mapper.add(new Movie(i));
+
+        File snapshot = writeSnapshot();
+
+        HollowReadStateEngine mapped = new HollowReadStateEngine();
+        new HollowBlobReader(mapped, MemoryMode.SHARED_MEMORY).readSnapshot(snapshot);
+
+        HollowObjectTypeReadState typeState = (HollowObjectTypeReadState)mapped.getTypeState("Movie");
+        int ids[] = new int[2000];
+        long grosses[] = new long[2000];
+        typeState.readInts(0, 2000, typeState.getSchema().getPosition("id"), ids);
+        typeState.readLongs(0, 2000, typeState.getSchema().getPosition("gross"), grosses);
+
+        for(int i=0;i<2000;i++) {
+            Assert.assertEquals(i, ids[i]);
+            Assert.assertEquals(i * 1000000000000L, grosses[i]);
+        }
+    }
+
+    private File writeSnapshot() throws IOException {
+        writeEngine.prepareForWrite();
+
+        File file = Files.createTempFile("hollow-snapshot", ".blob").toFile();
+        file.deleteOnExit();
+        try(OutputStream os = new FileOutputStream(file)) {
+            new HollowBlobWriter(writeEngine).writeSnapshot(os);
+        }
+        return file;
+    }
+
+    private static byte[] bytes(int i) {
+        byte b[] = new byte[i % 17];
+        Arrays.fill(b, (byte)i);
+        return b;
+    }
+
+    @SuppressWarnings("unused")
+    private static class Movie {
+        int id;
+        long gross;
+        String title;
+        byte[] image;
+        List<Actor> actors;
+        Set<Actor> cast;
+        Map<Actor, Integer> billing;
+
+        Movie(int id) {
+            this.id = id;
+            this.gross = id * 1000000000000L;
+            this.title = "title" + id;
+            this.image = bytes(id);
+
+            Actor actors[] = new Actor[id % 5];
+            this.cast = new HashSet<>();
+            this.billing = new HashMap<>();
+            for(int i=0;i<actors.length;i++) {
+                actors[i] = new Actor("actor" + (id + i));
+                cast.add(actors[i]);
+                billing.put(actors[i], i);
+            }
+            this.actors = Arrays.asList(actors);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static class Actor {
+        String name;
+
+        Actor(String name) {
+            this.name = name;
+        }
+    }
+
+}
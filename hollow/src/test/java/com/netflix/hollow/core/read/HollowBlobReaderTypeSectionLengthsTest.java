@@ -0,0 +1,245 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.core.read;
+
+import com.netflix.hollow.core.HollowBlobHeader;
+import com.netflix.hollow.core.HollowStateEngine;
+import com.netflix.hollow.core.memory.BlobByteBuffer;
+import com.netflix.hollow.core.read.engine.HollowBlobHeaderReader;
+import com.netflix.hollow.core.read.engine.HollowBlobReader;
+import com.netflix.hollow.core.read.engine.HollowReadStateEngine;
+import com.netflix.hollow.core.read.filter.HollowFilterConfig;
+import com.netflix.hollow.core.util.HollowWriteStateCreator;
+import com.netflix.hollow.core.write.HollowBlobWriter;
+import com.netflix.hollow.core.write.HollowWriteStateEngine;
+import com.netflix.hollow.core.write.objectmapper.HollowObjectMapper;
+import com.netflix.hollow.tools.checksum.HollowChecksum;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HollowBlobReaderTypeSectionLengthsTest {
+
+    private HollowWriteStateEngine writeEngine;
+    private HollowObjectMapper mapper;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        writeEngine = new HollowWriteStateEngine();
+        writeEngine.setTargetMaxTypeShardSize(4096);
+        mapper = new HollowObjectMapper(writeEngine);
+        executor = Executors.newFixedThreadPool(4);
+
+        for(int i=0;i<2000;i++)
+            mapper.add(new Movie(i));
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void filteredTypesAreSkippedWithoutBeingRead() throws IOException {
+        byte withoutLengths[] = writeSnapshot();
+        writeEngine.setWriteTypeSectionLengths(true);
+        byte withLengths[] = writeSnapshot();
+
+        HollowFilterConfig filter = new HollowFilterConfig(true);
+        filter.addType("String");
+        filter.addType("ListOfActor");
+
+        HollowReadStateEngine expected = new HollowReadStateEngine();
+        new HollowBlobReader(expected).readSnapshot(new ByteArrayInputStream(withoutLengths), filter);
+
+        ReadCountingInputStream counting = new ReadCountingInputStream(new ByteArrayInputStream(withLengths));
+        HollowReadStateEngine skipped = new HollowReadStateEngine();
+        new HollowBlobReader(skipped).readSnapshot(counting, filter);
+
+        Assert.assertNull(skipped.getHeaderTag(HollowStateEngine.HEADER_TAG_TYPE_SECTION_LENGTHS));
+        Assert.assertNull(skipped.getTypeState("String"));
+        Assert.assertEquals(HollowChecksum.forStateEngine(expected), HollowChecksum.forStateEngine(skipped));
+        Assert.assertTrue(counting.bytesRead < withLengths.length / 2);
+
+        HollowReadStateEngine parallel = new HollowReadStateEngine();
+        new HollowBlobReader(parallel).readSnapshot(BlobByteBuffer.wrap(withLengths), filter, executor);
+        Assert.assertEquals(HollowChecksum.forStateEngine(expected), HollowChecksum.forStateEngine(parallel));
+    }
+
+    @Test
+    public void unfilteredReadsAndDeltasAreUnchanged() throws IOException {
+        writeEngine.setWriteTypeSectionLengths(true);
+        HollowBlobWriter writer = new HollowBlobWriter(writeEngine);
+
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        writer.writeSnapshot(snapshot);
+
+        HollowReadStateEngine sequential = new HollowReadStateEngine();
+        new HollowBlobReader(sequential).readSnapshot(new ByteArrayInputStream(snapshot.toByteArray()));
+        HollowReadStateEngine parallel = new HollowReadStateEngine();
+        new HollowBlobReader(parallel).readSnapshot(BlobByteBuffer.wrap(snapshot.toByteArray()), new HollowFilterConfig(true), executor);
+
+        HollowFilterConfig filter = new HollowFilterConfig(true);
+        filter.addType("ListOfActor");
+        HollowReadStateEngine filtered = new HollowReadStateEngine();
+        new HollowBlobReader(filtered).readSnapshot(new ByteArrayInputStream(snapshot.toByteArray()), filter);
+
+        writeEngine.prepareForNextCycle();
+        for(int i=1000;i<3000;i++)
+            mapper.add(new Movie(i));
+
+        ByteArrayOutputStream delta = new ByteArrayOutputStream();
+        writer.writeDelta(delta);
+        new HollowBlobReader(sequential).applyDelta(new ByteArrayInputStream(delta.toByteArray()));
+        new HollowBlobReader(parallel).applyDelta(new ByteArrayInputStream(delta.toByteArray()), executor);
+        new HollowBlobReader(filtered).applyDelta(new ByteArrayInputStream(delta.toByteArray()), executor);
+
+        writeEngine.setWriteTypeSectionLengths(false);
+        ByteArrayOutputStream expectedSnapshot = new ByteArrayOutputStream();
+        writer.writeSnapshot(expectedSnapshot);
+        HollowReadStateEngine expected = new HollowReadStateEngine();
+        new HollowBlobReader(expected).readSnapshot(new ByteArrayInputStream(expectedSnapshot.toByteArray()));
+        HollowReadStateEngine expectedFiltered = new HollowReadStateEngine();
+        new HollowBlobReader(expectedFiltered).readSnapshot(new ByteArrayInputStream(expectedSnapshot.toByteArray()), filter);
+
+        Assert.assertEquals(HollowChecksum.forStateEngine(expected), HollowChecksum.forStateEngine(sequential));
+        Assert.assertEquals(HollowChecksum.forStateEngine(expected), HollowChecksum.forStateEngine(parallel));
+        Assert.assertEquals(HollowChecksum.forStateEngine(expectedFiltered), HollowChecksum.forStateEngine(filtered));
+    }
+
+    @Test
+    public void restoredStateWithoutLengthsIsReadable() throws IOException {
+        HollowWriteStateEngine original = new HollowWriteStateEngine();
+        original.setWriteTypeSectionLengths(true);
+        HollowObjectMapper originalMapper = new HollowObjectMapper(original);
+        for(int i=0;i<2000;i++)
+            originalMapper.add(new Award(i));
+        ByteArrayOutputStream originalSnapshot = new ByteArrayOutputStream();
+        new HollowBlobWriter(original).writeSnapshot(originalSnapshot);
+
+        HollowReadStateEngine readEngine = new HollowReadStateEngine();
+        new HollowBlobReader(readEngine).readSnapshot(new ByteArrayInputStream(originalSnapshot.toByteArray()));
+
+        HollowWriteStateEngine restored = new HollowWriteStateEngine();
+        HollowWriteStateCreator.populateUsingReadEngine(restored, readEngine);
+        // a tag carried over from a blob with lengths, such as one read before the tag was hidden from the state
+        restored.addHeaderTag(HollowStateEngine.HEADER_TAG_TYPE_SECTION_LENGTHS, Boolean.TRUE.toString());
+
+        restored.prepareForNextCycle();
+        HollowObjectMapper restoredMapper = new HollowObjectMapper(restored);
+        for(int i=1000;i<3000;i++)
+            restoredMapper.add(new Award(i));
+
+        HollowBlobWriter writer = new HollowBlobWriter(restored);
+        ByteArrayOutputStream delta = new ByteArrayOutputStream();
+        writer.writeDelta(delta);
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        writer.writeSnapshot(snapshot);
+
+        HollowBlobHeader deltaHeader = new HollowBlobHeaderReader().readHeader(new ByteArrayInputStream(delta.toByteArray()));
+        Assert.assertNull(deltaHeader.getHeaderTags().get(HollowStateEngine.HEADER_TAG_TYPE_SECTION_LENGTHS));
+
+        new HollowBlobReader(readEngine).applyDelta(new ByteArrayInputStream(delta.toByteArray()));
+        HollowReadStateEngine expected = new HollowReadStateEngine();
+        new HollowBlobReader(expected).readSnapshot(new ByteArrayInputStream(snapshot.toByteArray()));
+
+        Assert.assertEquals(HollowChecksum.forStateEngine(expected), HollowChecksum.forStateEngine(readEngine));
+        Assert.assertEquals(2000, expected.getTypeState("Award").getPopulatedOrdinals().cardinality());
+        Assert.assertNull(readEngine.getHeaderTag(HollowStateEngine.HEADER_TAG_TYPE_SECTION_LENGTHS));
+    }
+
+    private byte[] writeSnapshot() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        new HollowBlobWriter(writeEngine).writeSnapshot(baos);
+        return baos.toByteArray();
+    }
+
+    /**
+     * Counts the bytes which are read, but not those which are skipped.
+     */
+    private static class ReadCountingInputStream extends FilterInputStream {
+        long bytesRead;
+
+        ReadCountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if(b != -1)
+                bytesRead++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if(n > 0)
+                bytesRead += n;
+            return n;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static class Award {
+        int id;
+        String name;
+
+        Award(int id) {
+            this.id = id;
+            this.name = "award" + id;
+        }
+    }
+
+    private static class Movie {
+        int id;
+        String title;
+        List<Actor> actors;
+
+        Movie(int id) {
+            this.id = id;
+            this.title = "title" + id;
+
+            Actor actors[] = new Actor[id % 5];
+            for(int i=0;i<actors.length;i++)
+                actors[i] = new Actor("actor with a long name " + (id + i));
+            this.actors = Arrays.asList(actors);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static class Actor {
+        String name;
+
+        Actor(String name) {
+            this.name = name;
+        }
+    }
+
+}
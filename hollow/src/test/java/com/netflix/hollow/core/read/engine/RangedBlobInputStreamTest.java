@@ -0,0 +1,114 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.core.read.engine;
+
+import com.netflix.hollow.core.read.filter.HollowFilterConfig;
+import com.netflix.hollow.core.write.HollowBlobWriter;
+import com.netflix.hollow.core.write.HollowWriteStateEngine;
+import com.netflix.hollow.core.write.objectmapper.HollowObjectMapper;
+import com.netflix.hollow.tools.checksum.HollowChecksum;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RangedBlobInputStreamTest {
+
+    @Test
+    public void readsSkipsAndResets() throws IOException {
+        byte data[] = new byte[1000];
+        for(int i=0;i<data.length;i++)
+            data[i] = (byte)i;
+        CountingSource source = new CountingSource(data);
+
+        InputStream is = new RangedBlobInputStream(source, 64);
+        Assert.assertEquals(0, is.read());
+        Assert.assertEquals(500, is.skip(500));
+        Assert.assertEquals(501 & 0xFF, is.read());
+        Assert.assertEquals(128, source.bytesFetched);
+
+        is.mark(Integer.MAX_VALUE);
+        byte read[] = new byte[100];
+        Assert.assertEquals(63, is.read(read, 0, 100));
+        Assert.assertEquals(565 & 0xFF, is.read());
+        is.reset();
+        Assert.assertEquals(502 & 0xFF, is.read());
+
+        Assert.assertEquals(10000, is.skip(10000));
+        Assert.assertEquals(-1, is.read());
+    }
+
+    @Test
+    public void filteredSnapshotFetchesOnlySelectedTypes() throws IOException {
+        HollowWriteStateEngine writeEngine = new HollowWriteStateEngine();
+        HollowObjectMapper mapper = new HollowObjectMapper(writeEngine);
+        for(int i=0;i<5000;i++)
+            mapper.add(new Movie(i));
+
+        HollowFilterConfig filter = new HollowFilterConfig(true);
+        filter.addType("String");
+
+        HollowReadStateEngine expected = new HollowReadStateEngine();
+        new HollowBlobReader(expected).readSnapshot(new ByteArrayInputStream(writeSnapshot(writeEngine)), filter);
+
+        writeEngine.setWriteTypeSectionLengths(true);
+        CountingSource source = new CountingSource(writeSnapshot(writeEngine));
+        HollowReadStateEngine ranged = new HollowReadStateEngine();
+        new HollowBlobReader(ranged).readSnapshot(source, filter, 4096);
+
+        Assert.assertNull(ranged.getTypeState("String"));
+        Assert.assertEquals(HollowChecksum.forStateEngine(expected), HollowChecksum.forStateEngine(ranged));
+        Assert.assertTrue(source.bytesFetched < source.data.length / 2);
+    }
+
+    private static byte[] writeSnapshot(HollowWriteStateEngine writeEngine) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        new HollowBlobWriter(writeEngine).writeSnapshot(baos);
+        return baos.toByteArray();
+    }
+
+    private static class CountingSource implements RangedBlobSource {
+        private final byte data[];
+        private long bytesFetched;
+
+        CountingSource(byte[] data) {
+            this.data = data;
+        }
+
+        @Override
+        public InputStream getInputStream(long position, long length) {
+            int start = (int)Math.min(position, data.length);
+            int end = (int)Math.min(position + length, data.length);
+            bytesFetched += end - start;
+            return new ByteArrayInputStream(data, start, end - start);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static class Movie {
+        int id;
+        String title;
+
+        Movie(int id) {
+            this.id = id;
+            this.title = "a movie with a reasonably long title " + id;
+        }
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.core.read.map;
+
+import com.netflix.hollow.core.read.engine.HollowReadStateEngine;
+import com.netflix.hollow.core.read.engine.map.HollowMapTypeReadState;
+import com.netflix.hollow.core.util.StateEngineRoundTripper;
+import com.netflix.hollow.core.write.HollowWriteStateEngine;
+import com.netflix.hollow.core.write.objectmapper.HollowHashKey;
+import com.netflix.hollow.core.write.objectmapper.HollowInline;
+import com.netflix.hollow.core.write.objectmapper.HollowObjectMapper;
+import com.netflix.hollow.core.write.objectmapper.HollowTypeName;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HollowMapKeyFingerprintsTest {
+
+    private static final int NUM_RECORDS = 100;
+
+    @Test
+    public void findsKeysWithFingerprints() throws IOException {
+        HollowWriteStateEngine writeEngine = new HollowWriteStateEngine();
+        addRecords(new HollowObjectMapper(writeEngine), 0);
+        HollowReadStateEngine readEngine = StateEngineRoundTripper.roundTripSnapshot(writeEngine);
+
+        HollowMapTypeReadState typeState = (HollowMapTypeReadState) readEngine.getTypeState("MapByName");
+        long[][] expected = findAll(typeState);
+        long heapFootprint = typeState.getApproximateHeapFootprintInBytes();
+
+        typeState.setKeyFingerprintsEnabled(true);
+
+        assertFindsAll(expected, typeState);
+        Assert.assertTrue(typeState.getApproximateHeapFootprintInBytes() > heapFootprint);
+
+        typeState.setKeyFingerprintsEnabled(false);
+
+        assertFindsAll(expected, typeState);
+        Assert.assertEquals(heapFootprint, typeState.getApproximateHeapFootprintInBytes());
+    }
+
+    @Test
+    public void carriesFingerprintsOverDeltas() throws IOException {
+        HollowWriteStateEngine writeEngine = new HollowWriteStateEngine();
+        HollowObjectMapper mapper = new HollowObjectMapper(writeEngine);
+        addRecords(mapper, 0);
+        HollowReadStateEngine readEngine = StateEngineRoundTripper.roundTripSnapshot(writeEngine);
+
+        HollowMapTypeReadState typeState = (HollowMapTypeReadState) readEngine.getTypeState("MapByName");
+        typeState.setKeyFingerprintsEnabled(true);
+
+        for(int cycle=1;cycle<4;cycle++) {
+            writeEngine.prepareForNextCycle();
+            addRecords(mapper, cycle);
+            StateEngineRoundTripper.roundTripDelta(writeEngine, readEngine);
+
+            long[][] found = findAll(typeState);
+            long heapFootprintWithFingerprints = typeState.getApproximateHeapFootprintInBytes();
+
+            typeState.setKeyFingerprintsEnabled(false);
+            assertFindsAll(found, typeState);
+            Assert.assertTrue(heapFootprintWithFingerprints > typeState.getApproximateHeapFootprintInBytes());
+            typeState.setKeyFingerprintsEnabled(true);
+        }
+    }
+
+    private static void addRecords(HollowObjectMapper mapper, int cycle) {
+        for(int i=0;i<NUM_RECORDS;i++) {
+            TypeWithMap record = new TypeWithMap();
+            int numEntries = i % 50;
+            /// only every third record changes in each cycle
+            int offset = i % 3 == 0 ? cycle : 0;
+            for(int j=0;j<numEntries;j++)
+                record.mapByName.put(new Key("key " + (j * 3 + offset)), j);
+            mapper.add(record);
+        }
+    }
+
+    private static long[][] findAll(HollowMapTypeReadState typeState) {
+        long[][] found = new long[typeState.maxOrdinal() + 1][];
+        for(int ordinal = typeState.getPopulatedOrdinals().nextSetBit(0); ordinal != -1; ordinal = typeState.getPopulatedOrdinals().nextSetBit(ordinal + 1)) {
+            found[ordinal] = new long[200];
+            for(int i=0;i<found[ordinal].length;i++)
+                found[ordinal][i] = typeState.findEntry(ordinal, "key " + i);
+        }
+        return found;
+    }
+
+    private static void assertFindsAll(long[][] expected, HollowMapTypeReadState typeState) {
+        for(int ordinal = typeState.getPopulatedOrdinals().nextSetBit(0); ordinal != -1; ordinal = typeState.getPopulatedOrdinals().nextSetBit(ordinal + 1)) {
+            for(int i=0;i<expected[ordinal].length;i++) {
+                Assert.assertEquals(expected[ordinal][i], typeState.findEntry(ordinal, "key " + i));
+                Assert.assertEquals((int)(expected[ordinal][i] >> 32), typeState.findKey(ordinal, "key " + i));
+            }
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static class TypeWithMap {
+        @HollowTypeName(name="MapByName")
+        @HollowHashKey(fields="name")
+        Map<Key, Integer> mapByName = new HashMap<>();
+    }
+
+    @SuppressWarnings("unused")
+    private static class Key {
+        @HollowInline
+        String name;
+
+        Key(String name) {
+            this.name = name;
+        }
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.core.read.object;
+
+import com.netflix.hollow.core.read.engine.HollowReadStateEngine;
+import com.netflix.hollow.core.read.engine.object.HollowObjectTypeReadState;
+import com.netflix.hollow.core.schema.HollowObjectSchema;
+import com.netflix.hollow.core.schema.HollowObjectSchema.FieldType;
+import com.netflix.hollow.core.util.StateEngineRoundTripper;
+import com.netflix.hollow.core.write.HollowObjectTypeWriteState;
+import com.netflix.hollow.core.write.HollowObjectWriteRecord;
+import com.netflix.hollow.core.write.HollowWriteStateEngine;
+import java.io.IOException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HollowObjectColumnReadTest {
+
+    private static final int NUM_RECORDS = 1000;
+
+    @Test
+    public void readsColumnsOfUnshardedType() throws IOException {
+        HollowObjectTypeReadState typeState = roundTrip(Long.MAX_VALUE);
+        Assert.assertEquals(1, typeState.numShards());
+
+        assertColumnsMatchFieldReads(typeState);
+    }
+
+    @Test
+    public void readsColumnsOfShardedType() throws IOException {
+        HollowObjectTypeReadState typeState = roundTrip(4096);
+        Assert.assertTrue(typeState.numShards() > 1);
+
+        assertColumnsMatchFieldReads(typeState);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsRangeLargerThanValues() throws IOException {
+        roundTrip(Long.MAX_VALUE).readInts(0, 10, 0, new int[5]);
+    }
+
+    private void assertColumnsMatchFieldReads(HollowObjectTypeReadState typeState) {
+        int[][] ranges = { {0, NUM_RECORDS}, {0, 1}, {3, 70}, {NUM_RECORDS - 5, NUM_RECORDS + 20}, {500, 500} };
+        HollowObjectSchema schema = typeState.getSchema();
+        int intField = schema.getPosition("intField");
+        int longField = schema.getPosition("longField");
+        int floatField = schema.getPosition("floatField");
+        int doubleField = schema.getPosition("doubleField");
+        int refField = schema.getPosition("refField");
+
+        for(int[] range : ranges) {
+            int from = range[0];
+            int to = range[1];
+            int ints[] = new int[to - from];
+            long longs[] = new long[to - from];
+            float floats[] = new float[to - from];
+            double doubles[] = new double[to - from];
+            int ordinals[] = new int[to - from];
+
+            typeState.readInts(from, to, intField, ints);
+            typeState.readLongs(from, to, longField, longs);
+            typeState.readFloats(from, to, floatField, floats);
+            typeState.readDoubles(from, to, doubleField, doubles);
+            typeState.readOrdinals(from, to, refField, ordinals);
+
+            for(int ordinal = from; ordinal < to; ordinal++) {
+                int i = ordinal - from;
+                if(ordinal < NUM_RECORDS) {
+                    Assert.assertEquals(typeState.readInt(ordinal, intField), ints[i]);
+                    Assert.assertEquals(typeState.readLong(ordinal, longField), longs[i]);
+                    Assert.assertEquals(typeState.readFloat(ordinal, floatField), floats[i], 0);
+                    Assert.assertEquals(typeState.readDouble(ordinal, doubleField), doubles[i], 0);
+                    Assert.assertEquals(typeState.readOrdinal(ordinal, refField), ordinals[i]);
+                } else {
+                    Assert.assertEquals(Integer.MIN_VALUE, ints[i]);
+                    Assert.assertEquals(Long.MIN_VALUE, longs[i]);
+                    Assert.assertTrue(Float.isNaN(floats[i]));
+                    Assert.assertTrue(Double.isNaN(doubles[i]));
+                    Assert.assertEquals(-1, ordinals[i]);
+                }
+            }
+        }
+    }
+
+    private HollowObjectTypeReadState roundTrip(long targetMaxTypeShardSize) throws IOException {
+        HollowWriteStateEngine writeEngine = new HollowWriteStateEngine();
+        writeEngine.setTargetMaxTypeShardSize(targetMaxTypeShardSize);
+
+        HollowObjectSchema refSchema = new HollowObjectSchema("RefObject", 1);
+        refSchema.addField("value", FieldType.INT);
+        HollowObjectSchema schema = new HollowObjectSchema("TestObject", 6);
+        schema.addField("id", FieldType.INT);
+        schema.addField("intField", FieldType.INT);
+        schema.addField("longField", FieldType.LONG);
+        schema.addField("floatField", FieldType.FLOAT);
+        schema.addField("doubleField", FieldType.DOUBLE);
+        schema.addField("refField", FieldType.REFERENCE, "RefObject");
+        writeEngine.addTypeState(new HollowObjectTypeWriteState(refSchema));
+        writeEngine.addTypeState(new HollowObjectTypeWriteState(schema));
+
+        HollowObjectWriteRecord refRec = new HollowObjectWriteRecord(refSchema);
+        HollowObjectWriteRecord rec = new HollowObjectWriteRecord(schema);
+        for(int i=0;i<NUM_RECORDS;i++) {
+            rec.reset();
+            rec.setInt("id", i);
+            // every seventh record has null fields
+            if(i % 7 != 0) {
+                rec.setInt("intField", i - 500);
+                rec.setLong("longField", (long)i * Integer.MAX_VALUE);
+                rec.setFloat("floatField", i / 3f);
+                rec.setDouble("doubleField", -i / 3d);
+
+                refRec.reset();
+                refRec.setInt("value", i % 13);
+                rec.setReference("refField", writeEngine.add("RefObject", refRec));
+            }
+            writeEngine.add("TestObject", rec);
+        }
+
+        HollowReadStateEngine readEngine = StateEngineRoundTripper.roundTripSnapshot(writeEngine);
+        return (HollowObjectTypeReadState)readEngine.getTypeState("TestObject");
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.core.read.object;
+
+import com.netflix.hollow.core.AbstractStateEngineTest;
+import com.netflix.hollow.core.read.dataaccess.HollowStringView;
+import com.netflix.hollow.core.read.engine.object.HollowObjectTypeReadState;
+import com.netflix.hollow.core.schema.HollowObjectSchema;
+import com.netflix.hollow.core.schema.HollowObjectSchema.FieldType;
+import com.netflix.hollow.core.write.HollowObjectTypeWriteState;
+import com.netflix.hollow.core.write.HollowObjectWriteRecord;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HollowObjectLargeVarLengthFieldTest extends AbstractStateEngineTest {
+
+    HollowObjectSchema schema;
+
+    @Before
+    public void setUp() {
+        schema = new HollowObjectSchema("TestObject", 2);
+        schema.addField("bytes", FieldType.BYTES);
+        schema.addField("str", FieldType.STRING);
+
+        super.setUp();
+    }
+
+    @Test
+    public void readsValuesSpanningSegments() throws IOException {
+        Random rand = new Random(1);
+        byte[][] bytes = new byte[10][];
+        String[] strings = new String[10];
+
+        for(int i=0;i<bytes.length;i++) {
+            bytes[i] = new byte[rand.nextInt(20000)];
+            rand.nextBytes(bytes[i]);
+            strings[i] = randomString(rand, rand.nextInt(20000));
+            addRecord(bytes[i], strings[i]);
+        }
+
+        roundTripSnapshot();
+
+        HollowObjectTypeReadState typeState = (HollowObjectTypeReadState) readStateEngine.getTypeState("TestObject");
+        HollowStringView view = new HollowStringView();
+
+        for(int i=0;i<bytes.length;i++) {
+            Assert.assertArrayEquals(bytes[i], typeState.readBytes(i, 0));
+            Assert.assertEquals(strings[i], typeState.readString(i, 1));
+
+            Assert.assertTrue(typeState.readString(i, 1, view));
+            ByteBuffer encoded = ByteBuffer.allocate(view.encodedLength());
+            view.getEncodedBytes(encoded);
+            for(int j=0;j<view.encodedLength();j++)
+                Assert.assertEquals(view.encodedByteAt(j), encoded.get(j));
+        }
+    }
+
+    private String randomString(Random rand, int length) {
+        char[] chars = new char[length];
+        for(int i=0;i<length;i++)
+            chars[i] = rand.nextBoolean() ? (char)('a' + rand.nextInt(26)) : (char)rand.nextInt(0xD800);
+        return new String(chars);
+    }
+
+    private void addRecord(byte[] bytes, String str) {
+        HollowObjectWriteRecord rec = new HollowObjectWriteRecord(schema);
+
+        rec.setBytes("bytes", bytes);
+        rec.setString("str", str);
+
+        writeStateEngine.add("TestObject", rec);
+    }
+
+    @Override
+    protected void initializeTypeStates() {
+        writeStateEngine.addTypeState(new HollowObjectTypeWriteState(schema));
+    }
+
+}
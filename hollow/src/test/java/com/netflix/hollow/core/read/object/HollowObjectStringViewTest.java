@@ -0,0 +1,133 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.core.read.object;
+
+import com.netflix.hollow.core.AbstractStateEngineTest;
+import com.netflix.hollow.core.memory.encoding.HashCodes;
+import com.netflix.hollow.core.read.dataaccess.HollowStringView;
+import com.netflix.hollow.core.read.dataaccess.proxy.HollowObjectProxyDataAccess;
+import com.netflix.hollow.core.read.dataaccess.proxy.HollowProxyDataAccess;
+import com.netflix.hollow.core.read.engine.object.HollowObjectTypeReadState;
+import com.netflix.hollow.core.schema.HollowObjectSchema;
+import com.netflix.hollow.core.schema.HollowObjectSchema.FieldType;
+import com.netflix.hollow.core.write.HollowObjectTypeWriteState;
+import com.netflix.hollow.core.write.HollowObjectWriteRecord;
+import java.nio.ByteBuffer;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HollowObjectStringViewTest extends AbstractStateEngineTest {
+
+    private static final String[] VALUES = { "test", "", "café", "中文 text", null };
+
+    HollowObjectSchema schema;
+
+    @Before
+    public void setUp() {
+        schema = new HollowObjectSchema("TestObject", 1);
+        schema.addField("str", FieldType.STRING);
+        super.setUp();
+    }
+
+    @Test
+    public void testViewMatchesReadString() throws Exception {
+        for(String value : VALUES)
+            addRecord(value);
+
+        roundTripSnapshot();
+
+        HollowObjectTypeReadState typeState = (HollowObjectTypeReadState)readStateEngine.getTypeState("TestObject");
+        HollowStringView view = new HollowStringView();
+
+        for(int ordinal=0;ordinal<VALUES.length;ordinal++) {
+            String expected = typeState.readString(ordinal, 0);
+            Assert.assertEquals(expected != null, typeState.readString(ordinal, 0, view));
+            if(expected == null) {
+                Assert.assertEquals(0, view.length());
+                continue;
+            }
+
+            assertView(expected, view);
+        }
+    }
+
+    @Test
+    public void testViewFromString() {
+        HollowStringView view = new HollowStringView();
+
+        for(String value : VALUES) {
+            Assert.assertEquals(value != null, view.set(value));
+            if(value != null)
+                assertView(value, view);
+        }
+    }
+
+    @Test
+    public void testViewThroughProxy() throws Exception {
+        addRecord("café");
+
+        roundTripSnapshot();
+
+        HollowProxyDataAccess proxy = new HollowProxyDataAccess();
+        proxy.setDataAccess(readStateEngine);
+        HollowObjectProxyDataAccess typeAccess = (HollowObjectProxyDataAccess)proxy.getTypeDataAccess("TestObject");
+
+        HollowStringView view = new HollowStringView();
+        Assert.assertTrue(typeAccess.readString(0, 0, view));
+        assertView("café", view);
+        Assert.assertTrue(typeAccess.isStringFieldEqual(0, 0, new StringBuilder("café")));
+        Assert.assertFalse(typeAccess.isStringFieldEqual(0, 0, new StringBuilder("cafe")));
+    }
+
+    private void assertView(String expected, HollowStringView view) {
+        Assert.assertEquals(expected, view.toString());
+        Assert.assertEquals(expected.length(), view.length());
+        for(int i=0;i<expected.length();i++)
+            Assert.assertEquals(expected.charAt(i), view.charAt(i));
+        Assert.assertTrue(view.contentEquals(expected));
+        Assert.assertFalse(view.contentEquals(expected + "x"));
+        Assert.assertEquals(HashCodes.hashCode(expected), view.encodedHashCode());
+
+        char[] chars = new char[expected.length() + 2];
+        Assert.assertEquals(expected.length(), view.getChars(chars, 2));
+        Assert.assertEquals(expected, new String(chars, 2, expected.length()));
+
+        ByteBuffer buffer = ByteBuffer.allocate(view.encodedLength() + 1);
+        buffer.put((byte)1);
+        Assert.assertEquals(view.encodedLength(), view.getEncodedBytes(buffer));
+        Assert.assertEquals(view.encodedLength() + 1, buffer.position());
+        for(int i=0;i<view.encodedLength();i++)
+            Assert.assertEquals(view.encodedByteAt(i), buffer.get(i + 1));
+    }
+
+    private void addRecord(String strVal) {
+        HollowObjectWriteRecord rec = new HollowObjectWriteRecord(schema);
+
+        if(strVal != null)
+            rec.setString("str", strVal);
+
+        writeStateEngine.add("TestObject", rec);
+    }
+
+    @Override
+    protected void initializeTypeStates() {
+        HollowObjectTypeWriteState writeState = new HollowObjectTypeWriteState(schema);
+        writeStateEngine.addTypeState(writeState);
+    }
+
+}
@@ -0,0 +1,160 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.core.read.set;
+
+import com.netflix.hollow.core.read.engine.HollowReadStateEngine;
+import com.netflix.hollow.core.read.engine.set.HollowSetTypeReadState;
+import com.netflix.hollow.core.util.StateEngineRoundTripper;
+import com.netflix.hollow.core.write.HollowWriteStateEngine;
+import com.netflix.hollow.core.write.objectmapper.HollowHashKey;
+import com.netflix.hollow.core.write.objectmapper.HollowInline;
+import com.netflix.hollow.core.write.objectmapper.HollowObjectMapper;
+import com.netflix.hollow.core.write.objectmapper.HollowTypeName;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HollowSetKeyFingerprintsTest {
+
+    @Test
+    public void findsElementsWithFingerprints() throws IOException {
+        HollowWriteStateEngine writeEngine = new HollowWriteStateEngine();
+        HollowObjectMapper mapper = new HollowObjectMapper(writeEngine);
+        addRecords(mapper, 0);
+        HollowReadStateEngine readEngine = StateEngineRoundTripper.roundTripSnapshot(writeEngine);
+
+        HollowSetTypeReadState typeState = (HollowSetTypeReadState) readEngine.getTypeState("SetByIdAndCountry");
+        int[][] expected = findAll(typeState);
+
+        typeState.setKeyFingerprintsEnabled(true);
+        assertFindsAll(expected, typeState);
+
+        writeEngine.prepareForNextCycle();
+        addRecords(mapper, 1);
+        StateEngineRoundTripper.roundTripDelta(writeEngine, readEngine);
+
+        int[][] found = findAll(typeState);
+        typeState.setKeyFingerprintsEnabled(false);
+        assertFindsAll(found, typeState);
+    }
+
+    @Test
+    public void fingerprintsKeysOfEachFieldType() throws IOException {
+        HollowWriteStateEngine writeEngine = new HollowWriteStateEngine();
+        HollowObjectMapper mapper = new HollowObjectMapper(writeEngine);
+        TypeWithMixedSet record = new TypeWithMixedSet();
+        for(int i=0;i<20;i++)
+            record.mixedSet.add(new MixedElement(i));
+        mapper.add(record);
+        HollowReadStateEngine readEngine = StateEngineRoundTripper.roundTripSnapshot(writeEngine);
+
+        HollowSetTypeReadState typeState = (HollowSetTypeReadState) readEngine.getTypeState("MixedSet");
+        int[] expected = new int[20];
+        for(int i=0;i<expected.length;i++)
+            expected[i] = findElement(typeState, new MixedElement(i));
+
+        typeState.setKeyFingerprintsEnabled(true);
+
+        for(int i=0;i<expected.length;i++) {
+            Assert.assertNotEquals(-1, expected[i]);
+            Assert.assertEquals(expected[i], findElement(typeState, new MixedElement(i)));
+        }
+        Assert.assertEquals(-1, typeState.findElement(0, 100L, 100d, 100f, true, new byte[] { 100 }, "100"));
+    }
+
+    private static int findElement(HollowSetTypeReadState typeState, MixedElement element) {
+        return typeState.findElement(0, element.l, element.d, element.f, element.b, element.bytes, element.s);
+    }
+
+    private static void addRecords(HollowObjectMapper mapper, int cycle) {
+        for(int i=0;i<50;i++) {
+            TypeWithSet record = new TypeWithSet();
+            /// only every other record changes in each cycle
+            int offset = i % 2 == 0 ? cycle : 0;
+            for(int j=0;j<i;j++)
+                record.setByIdAndCountry.add(new Element(j + offset, COUNTRIES[j % COUNTRIES.length]));
+            mapper.add(record);
+        }
+    }
+
+    private static int[][] findAll(HollowSetTypeReadState typeState) {
+        int[][] found = new int[typeState.maxOrdinal() + 1][];
+        for(int ordinal = typeState.getPopulatedOrdinals().nextSetBit(0); ordinal != -1; ordinal = typeState.getPopulatedOrdinals().nextSetBit(ordinal + 1)) {
+            found[ordinal] = new int[60 * COUNTRIES.length];
+            for(int i=0;i<found[ordinal].length;i++)
+                found[ordinal][i] = typeState.findElement(ordinal, i / COUNTRIES.length, COUNTRIES[i % COUNTRIES.length]);
+        }
+        return found;
+    }
+
+    private static void assertFindsAll(int[][] expected, HollowSetTypeReadState typeState) {
+        for(int ordinal = typeState.getPopulatedOrdinals().nextSetBit(0); ordinal != -1; ordinal = typeState.getPopulatedOrdinals().nextSetBit(ordinal + 1)) {
+            for(int i=0;i<expected[ordinal].length;i++)
+                Assert.assertEquals(expected[ordinal][i], typeState.findElement(ordinal, i / COUNTRIES.length, COUNTRIES[i % COUNTRIES.length]));
+        }
+    }
+
+    private static final String[] COUNTRIES = { "US", "CA", "IT", "GB" };
+
+    @SuppressWarnings("unused")
+    private static class TypeWithSet {
+        @HollowTypeName(name="SetByIdAndCountry")
+        @HollowHashKey(fields={"id", "country.value"})
+        Set<Element> setByIdAndCountry = new HashSet<>();
+    }
+
+    @SuppressWarnings("unused")
+    private static class Element {
+        int id;
+        String country;
+
+        Element(int id, String country) {
+            this.id = id;
+            this.country = country;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static class TypeWithMixedSet {
+        @HollowTypeName(name="MixedSet")
+        @HollowHashKey(fields={"l", "d", "f", "b", "bytes", "s"})
+        Set<MixedElement> mixedSet = new HashSet<>();
+    }
+
+    @SuppressWarnings("unused")
+    private static class MixedElement {
+        long l;
+        double d;
+        float f;
+        boolean b;
+        byte[] bytes;
+        @HollowInline
+        String s;
+
+        MixedElement(int i) {
+            this.l = i * 1000000007L;
+            this.d = i + 0.5d;
+            this.f = i == 0 ? 0f : i + 0.25f;
+            this.b = i % 2 == 0;
+            this.bytes = new byte[] { (byte)i, (byte)(i * 7) };
+            this.s = "element " + i;
+        }
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.core.write;
+
+import com.netflix.hollow.core.read.engine.HollowBlobReader;
+import com.netflix.hollow.core.read.engine.HollowReadStateEngine;
+import com.netflix.hollow.core.read.engine.object.HollowObjectTypeReadState;
+import com.netflix.hollow.core.schema.HollowListSchema;
+import com.netflix.hollow.core.schema.HollowObjectSchema;
+import com.netflix.hollow.core.schema.HollowObjectSchema.FieldType;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HollowBlobWriterTest {
+
+    private static final int NUM_TYPES = 4 * Runtime.getRuntime().availableProcessors() + 3;
+
+    @Test
+    public void writesManyTypesInOrder() throws IOException {
+        HollowWriteStateEngine writeEngine = new HollowWriteStateEngine();
+        HollowObjectSchema[] schemas = addTypes(writeEngine);
+        addRecords(writeEngine, schemas, 0, 100);
+
+        HollowReadStateEngine readEngine = new HollowReadStateEngine();
+        HollowBlobReader reader = new HollowBlobReader(readEngine);
+        HollowBlobWriter writer = new HollowBlobWriter(writeEngine);
+
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        writer.writeSnapshot(snapshot);
+        reader.readSnapshot(new ByteArrayInputStream(snapshot.toByteArray()));
+        writeEngine.prepareForNextCycle();
+
+        assertRecords(readEngine, 0, 100);
+
+        addRecords(writeEngine, schemas, 50, 150);
+
+        ByteArrayOutputStream delta = new ByteArrayOutputStream();
+        ByteArrayOutputStream reverseDelta = new ByteArrayOutputStream();
+        writer.writeDelta(delta);
+        writer.writeReverseDelta(reverseDelta);
+        reader.applyDelta(new ByteArrayInputStream(delta.toByteArray()));
+
+        assertRecords(readEngine, 50, 150);
+
+        reader.applyDelta(new ByteArrayInputStream(reverseDelta.toByteArray()));
+
+        assertRecords(readEngine, 0, 100);
+    }
+
+    @Test
+    public void failedCalculationIsPropagated() throws IOException {
+        final AtomicInteger calculated = new AtomicInteger();
+
+        HollowWriteStateEngine writeEngine = new HollowWriteStateEngine();
+        for(int i=0;i<NUM_TYPES;i++) {
+            final boolean fail = i == 1;
+            writeEngine.addTypeState(new HollowObjectTypeWriteState(new HollowObjectSchema("Type" + i, 0)) {
+                @Override
+                public void calculateSnapshot() {
+                    calculated.incrementAndGet();
+                    if(fail)
+                        throw new IllegalStateException("calculation failed");
+                    super.calculateSnapshot();
+                }
+            });
+        }
+
+        try {
+            new HollowBlobWriter(writeEngine).writeSnapshot(new ByteArrayOutputStream());
+            Assert.fail("expected the failed calculation to be thrown");
+        } catch(RuntimeException expected) {
+            Assert.assertTrue(expected.getCause().getCause() instanceof IllegalStateException);
+        }
+
+        Assert.assertTrue(calculated.get() < NUM_TYPES);
+    }
+
+    private HollowObjectSchema[] addTypes(HollowWriteStateEngine writeEngine) {
+        HollowObjectSchema[] schemas = new HollowObjectSchema[NUM_TYPES];
+        for(int i=0;i<NUM_TYPES;i++) {
+            schemas[i] = new HollowObjectSchema("Type" + i, 2);
+            schemas[i].addField("id", FieldType.INT);
+            schemas[i].addField("name", FieldType.STRING);
+            writeEngine.addTypeState(new HollowObjectTypeWriteState(schemas[i]));
+        }
+        writeEngine.addTypeState(new HollowListTypeWriteState(new HollowListSchema("ListOfType0", "Type0")));
+        return schemas;
+    }
+
+    private void addRecords(HollowWriteStateEngine writeEngine, HollowObjectSchema[] schemas, int fromId, int toId) {
+        HollowListWriteRecord list = new HollowListWriteRecord();
+
+        for(int i=0;i<schemas.length;i++) {
+            for(int id=fromId;id<toId;id++) {
+                HollowObjectWriteRecord rec = new HollowObjectWriteRecord(schemas[i]);
+                rec.setInt("id", id);
+                rec.setString("name", schemas[i].getName() + "-" + id);
+                int ordinal = writeEngine.add(schemas[i].getName(), rec);
+                if(i == 0)
+                    list.addElement(ordinal);
+            }
+        }
+
+        writeEngine.add("ListOfType0", list);
+    }
+
+    private void assertRecords(HollowReadStateEngine readEngine, int fromId, int toId) {
+        Assert.assertEquals(NUM_TYPES + 1, readEngine.getTypeStates().size());
+
+        for(int i=0;i<NUM_TYPES;i++) {
+            HollowObjectTypeReadState typeState = (HollowObjectTypeReadState) readEngine.getTypeState("Type" + i);
+            Assert.assertEquals(toId - fromId, typeState.getPopulatedOrdinals().cardinality());
+
+            int ordinal = typeState.getPopulatedOrdinals().nextSetBit(0);
+            while(ordinal != -1) {
+                int id = typeState.readInt(ordinal, 0);
+                Assert.assertTrue(id >= fromId && id < toId);
+                Assert.assertEquals("Type" + i + "-" + id, typeState.readString(ordinal, 1));
+                ordinal = typeState.getPopulatedOrdinals().nextSetBit(ordinal + 1);
+            }
+        }
+
+        Assert.assertEquals(1, readEngine.getTypeState("ListOfType0").getPopulatedOrdinals().cardinality());
+    }
+
+}
@@ -67,4 +67,45 @@ public class HollowObjectWriteRecordTest {
 
     }
 
+    @Test
+    public void positionalSettersMatchNamedSetters() {
+        HollowObjectWriteRecord named = new HollowObjectWriteRecord(schema);
+        named.setInt("FieldA", Integer.MIN_VALUE);
+        named.setLong("FieldB", -98765);
+        named.setBoolean("FieldC", false);
+
+        HollowObjectWriteRecord positional = new HollowObjectWriteRecord(schema);
+        positional.setInt(0, Integer.MIN_VALUE);
+        positional.setLong(1, -98765);
+        positional.setBoolean(2, false);
+
+        ByteDataBuffer namedBuf = new ByteDataBuffer(WastefulRecycler.DEFAULT_INSTANCE);
+        named.writeDataTo(namedBuf);
+        ByteDataBuffer positionalBuf = new ByteDataBuffer(WastefulRecycler.DEFAULT_INSTANCE);
+        positional.writeDataTo(positionalBuf);
+
+        Assert.assertEquals(namedBuf.length(), positionalBuf.length());
+        for(int i=0;i<namedBuf.length();i++)
+            Assert.assertEquals(namedBuf.get(i), positionalBuf.get(i));
+    }
+
+    @Test
+    public void positionalSettersValidateFieldType() {
+        HollowObjectWriteRecord rec = new HollowObjectWriteRecord(schema);
+
+        try {
+            rec.setLong(0, 1);
+            Assert.fail("expected IllegalArgumentException");
+        } catch(IllegalArgumentException expected) {
+            Assert.assertTrue(expected.getMessage().contains("FieldA"));
+        }
+
+        try {
+            rec.setInt(2, Integer.MIN_VALUE);
+            Assert.fail("expected IllegalArgumentException");
+        } catch(IllegalArgumentException expected) {
+            Assert.assertTrue(expected.getMessage().contains("FieldC"));
+        }
+    }
+
 }
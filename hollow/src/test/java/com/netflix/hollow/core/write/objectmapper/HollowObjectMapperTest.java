@@ -21,19 +21,31 @@ import com.netflix.hollow.core.AbstractStateEngineTest;
 import com.netflix.hollow.core.HollowConstants;
 import com.netflix.hollow.core.index.HollowPrimaryKeyIndex;
 import com.netflix.hollow.core.index.key.PrimaryKey;
+import com.netflix.hollow.core.read.engine.HollowReadStateEngine;
 import com.netflix.hollow.core.schema.HollowSchema;
+import com.netflix.hollow.core.util.StateEngineRoundTripper;
+import com.netflix.hollow.core.write.HollowWriteStateEngine;
 import com.netflix.hollow.tools.stringifier.HollowRecordJsonStringifier;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -58,6 +70,80 @@ public class HollowObjectMapperTest extends AbstractStateEngineTest {
         //System.out.println(new HollowRecordJsonStringifier(false, true).stringify(readStateEngine, "TypeA", 1));
     }
 
+    @Test
+    public void testAddAll() throws IOException {
+        HollowObjectMapper mapper = new HollowObjectMapper(writeStateEngine);
+        HollowWriteStateEngine sequentialStateEngine = new HollowWriteStateEngine();
+        HollowObjectMapper sequentialMapper = new HollowObjectMapper(sequentialStateEngine);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            HollowObjectMapper.AddAllMetrics metrics = mapper.addAll(IntStream.range(0, 10000).mapToObj(this::typeA), pool);
+            Assert.assertEquals(10000, metrics.getNumObjects());
+            Assert.assertEquals(4, metrics.getParallelism());
+            Assert.assertTrue(metrics.getNumTasks() > 1);
+        } finally {
+            pool.shutdown();
+        }
+        for (int i = 0; i < 10000; i++)
+            sequentialMapper.add(typeA(i));
+
+        roundTripSnapshot();
+        HollowReadStateEngine sequentialReadStateEngine = new HollowReadStateEngine();
+        StateEngineRoundTripper.roundTripSnapshot(sequentialStateEngine, sequentialReadStateEngine);
+
+        // ordinals are assigned in a different order, so the records are compared rather than the checksums
+        Assert.assertEquals(10000, readStateEngine.getTypeState("TypeA").getPopulatedOrdinals().cardinality());
+        Assert.assertEquals(stringifyAll(sequentialReadStateEngine, "TypeA"), stringifyAll(readStateEngine, "TypeA"));
+    }
+
+    @Test
+    public void testAddAllUsesPoolThreadsForSequentialStreamOfUnknownSize() throws IOException {
+        HollowObjectMapper mapper = new HollowObjectMapper(writeStateEngine);
+        Set<Thread> threads = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Iterator<TypeA> objects = IntStream.range(0, 5000).mapToObj(this::typeA).iterator();
+            Stream<TypeA> stream = StreamSupport.stream(Spliterators.spliteratorUnknownSize(objects, 0), false)
+                    .peek(o -> threads.add(Thread.currentThread()));
+            Assert.assertEquals(5000, mapper.addAll(stream, pool).getNumObjects());
+        } finally {
+            pool.shutdown();
+        }
+
+        for (Thread thread : threads)
+            Assert.assertSame(pool, ((ForkJoinWorkerThread) thread).getPool());
+
+        roundTripSnapshot();
+        Assert.assertEquals(5000, readStateEngine.getTypeState("TypeA").getPopulatedOrdinals().cardinality());
+    }
+
+    private static Set<String> stringifyAll(HollowReadStateEngine readStateEngine, String type) {
+        HollowRecordJsonStringifier stringifier = new HollowRecordJsonStringifier(false, true);
+        BitSet ordinals = readStateEngine.getTypeState(type).getPopulatedOrdinals();
+        Set<String> records = new HashSet<>();
+        for (int i = ordinals.nextSetBit(0); i >= 0; i = ordinals.nextSetBit(i + 1))
+            records.add(stringifier.stringify(readStateEngine, type, i));
+        return records;
+    }
+
+    @Test
+    public void testAddAllPropagatesFailure() {
+        HollowObjectMapper mapper = new HollowObjectMapper(writeStateEngine);
+
+        try {
+            mapper.addAll(Stream.of(new TypeWithList("a", "b"), new TypeWithList("a", null, "c")));
+            Assert.fail("NullPointerException not thrown from List containing null elements");
+        } catch (NullPointerException expected) {
+        }
+    }
+
+    private TypeA typeA(int i) {
+        return new TypeA("a" + (i % 100), i, new TypeB((short) (i % 10), i, i, ("b" + i).toCharArray(), new byte[]{(byte) i}),
+                new HashSet<TypeC>(Arrays.asList(new TypeC((char) ('a' + i % 26), map("c" + (i % 50), i % 7)))));
+    }
+
     @Test
     public void testNullElements() {
         HollowObjectMapper mapper = new HollowObjectMapper(writeStateEngine);
@@ -16,6 +16,8 @@
  */
 package com.netflix.hollow.tools.query;
 
+import com.netflix.hollow.core.index.HollowHashIndex;
+import com.netflix.hollow.core.index.HollowPrimaryKeyIndex;
 import com.netflix.hollow.core.read.engine.HollowReadStateEngine;
 import com.netflix.hollow.core.util.StateEngineRoundTripper;
 import com.netflix.hollow.core.write.HollowWriteStateEngine;
@@ -23,6 +25,7 @@ import com.netflix.hollow.core.write.objectmapper.HollowObjectMapper;
 import java.io.IOException;
 import java.util.BitSet;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -86,6 +89,54 @@ public class HollowFieldMatchQueryTest {
         Assert.assertTrue(matches.get("TypeB").get(3));
     }
 
+    @Test
+    public void matchesRecordsInIndexes() {
+        HollowFieldMatchQuery query = new HollowFieldMatchQuery(stateEngine)
+                .useIndex(new HollowPrimaryKeyIndex(stateEngine, "TypeA", "id"))
+                .useIndex(new HollowPrimaryKeyIndex(stateEngine, "TypeB", "id"))
+                .useIndex(new HollowHashIndex(stateEngine, "TypeA", "", "aValue"));
+
+        HollowFieldMatchQuery scanQuery = new HollowFieldMatchQuery(stateEngine);
+
+        Assert.assertEquals(scanQuery.findMatchingRecords("id", "2"), query.findMatchingRecords("id", "2"));
+        Assert.assertEquals(scanQuery.findMatchingRecords("id", "5"), query.findMatchingRecords("id", "5"));
+        Assert.assertEquals(scanQuery.findMatchingRecords("TypeA", "aValue", "100"), query.findMatchingRecords("TypeA", "aValue", "100"));
+        Assert.assertEquals(scanQuery.findMatchingRecords("bValue", "4.4"), query.findMatchingRecords("bValue", "4.4"));
+
+        Map<String, BitSet> matches = query.findMatchingRecords("aValue", "100");
+        Assert.assertEquals(1, matches.size());
+        Assert.assertEquals(2, matches.get("TypeA").cardinality());
+        Assert.assertTrue(matches.get("TypeA").get(0));
+        Assert.assertTrue(matches.get("TypeA").get(2));
+    }
+
+    @Test
+    public void matchesRecordsInParallel() throws IOException {
+        HollowWriteStateEngine writeEngine = new HollowWriteStateEngine();
+        HollowObjectMapper mapper = new HollowObjectMapper(writeEngine);
+        for(int i=0;i<100000;i++) {
+            mapper.add(new TypeA(i, i % 7));
+            mapper.add(new TypeB(String.valueOf(i % 1000), i % 3));
+        }
+        HollowReadStateEngine largeStateEngine = StateEngineRoundTripper.roundTripSnapshot(writeEngine);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            HollowFieldMatchQuery query = new HollowFieldMatchQuery(largeStateEngine);
+            HollowFieldMatchQuery parallelQuery = new HollowFieldMatchQuery(largeStateEngine, pool);
+
+            Map<String, BitSet> matches = parallelQuery.findMatchingRecords("aValue", "3");
+            Assert.assertEquals(query.findMatchingRecords("aValue", "3"), matches);
+            Assert.assertEquals(14286, matches.get("TypeA").cardinality());
+
+            Assert.assertEquals(query.findMatchingRecords("id", "42"), parallelQuery.findMatchingRecords("id", "42"));
+            Assert.assertEquals(query.findMatchingRecords("bValue", "2"), parallelQuery.findMatchingRecords("bValue", "2"));
+            Assert.assertEquals(3, parallelQuery.findMatchingRecords("TypeB", "id", "42").get("TypeB").cardinality());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     @SuppressWarnings("unused")
     private static class TypeA {
         int id;
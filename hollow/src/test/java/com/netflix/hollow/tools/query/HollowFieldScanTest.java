@@ -0,0 +1,163 @@
+/*
+ *  Copyright 2016-2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.hollow.tools.query;
+
+import com.netflix.hollow.api.objects.generic.GenericHollowObject;
+import com.netflix.hollow.core.read.engine.HollowReadStateEngine;
+import com.netflix.hollow.core.util.StateEngineRoundTripper;
+import com.netflix.hollow.core.write.HollowWriteStateEngine;
+import com.netflix.hollow.core.write.objectmapper.HollowObjectMapper;
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.function.Predicate;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HollowFieldScanTest {
+
+    private static final int NUM_MOVIES = 10000;
+
+    private HollowReadStateEngine stateEngine;
+
+    @Before
+    public void setUp() throws IOException {
+        HollowWriteStateEngine writeEngine = new HollowWriteStateEngine();
+        writeEngine.setTargetMaxTypeShardSize(16384);
+        HollowObjectMapper mapper = new HollowObjectMapper(writeEngine);
+
+        for(int i=0;i<NUM_MOVIES;i++) {
+            Integer sequelOf = i % 11 == 0 ? null : i - 1;
+            mapper.add(new Movie(i, 1990 + i % 30, i % 5, sequelOf, i * 1000L, i / 7f, "studio" + i % 3));
+        }
+
+        stateEngine = StateEngineRoundTripper.roundTripSnapshot(writeEngine);
+        Assert.assertTrue(stateEngine.getTypeState("Movie").numShards() > 1);
+    }
+
+    @Test
+    public void matchesConjunctionOfPredicates() {
+        BitSet matches = new HollowFieldScan(stateEngine, "Movie")
+                .whereInt("releaseYear", year -> year > 2015)
+                .whereInt("rating", rating -> rating >= 4)
+                .matches();
+
+        assertMatches(matches, movie -> movie.getInt("releaseYear") > 2015 && movie.getInt("rating") >= 4);
+        Assert.assertTrue(matches.cardinality() > 0);
+    }
+
+    @Test
+    public void matchesRanges() {
+        BitSet matches = new HollowFieldScan(stateEngine, "Movie")
+                .whereIntBetween("releaseYear", 2000, 2009)
+                .whereLongBetween("revenue", 1000000L, Long.MAX_VALUE)
+                .whereDoubleBetween("score", 200, 1000)
+                .matches();
+
+        assertMatches(matches, movie -> movie.getInt("releaseYear") >= 2000 && movie.getInt("releaseYear") <= 2009
+                && movie.getLong("revenue") >= 1000000L
+                && movie.getFloat("score") >= 200 && movie.getFloat("score") <= 1000);
+        Assert.assertTrue(matches.cardinality() > 0);
+    }
+
+    @Test
+    public void evaluatesSparseBlocksPerRecord() {
+        BitSet matches = new HollowFieldScan(stateEngine, "Movie")
+                .whereInt("id", id -> id % 100 == 0)
+                .whereInt("rating", rating -> rating == 0)
+                .matches();
+
+        assertMatches(matches, movie -> movie.getInt("id") % 100 == 0 && movie.getInt("rating") == 0);
+        Assert.assertEquals(NUM_MOVIES / 100, matches.cardinality());
+    }
+
+    @Test
+    public void matchesLongAndFloatFields() {
+        BitSet matches = new HollowFieldScan(stateEngine, "Movie")
+                .whereLong("revenue", revenue -> revenue % 3000 == 0)
+                .whereDouble("score", score -> score < 1000)
+                .matches();
+
+        assertMatches(matches, movie -> movie.getLong("revenue") % 3000 == 0 && movie.getFloat("score") < 1000);
+    }
+
+    @Test
+    public void matchesReferencesToScannedRecords() {
+        int studioOrdinal = new GenericHollowObject(stateEngine, "Movie", 1).getObject("studio").getOrdinal();
+        BitSet referenced = new BitSet();
+        referenced.set(studioOrdinal);
+
+        BitSet matches = new HollowFieldScan(stateEngine, "Movie")
+                .whereReferenceIn("studio", referenced)
+                .matches();
+
+        assertMatches(matches, movie -> movie.getObject("studio").getString("value").equals("studio1"));
+    }
+
+    @Test
+    public void nullValuesNeverMatch() {
+        BitSet matches = new HollowFieldScan(stateEngine, "Integer")
+                .whereInt("value", value -> true)
+                .matches();
+        Assert.assertEquals(stateEngine.getTypeState("Integer").getPopulatedOrdinals(), matches);
+
+        BitSet sequels = new HollowFieldScan(stateEngine, "Movie")
+                .whereReference("sequelOf", ordinal -> true)
+                .matches();
+        assertMatches(sequels, movie -> !movie.isNull("sequelOf"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsPredicateOfWrongType() {
+        new HollowFieldScan(stateEngine, "Movie").whereLong("releaseYear", year -> true);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsMissingField() {
+        new HollowFieldScan(stateEngine, "Movie").whereInt("budget", budget -> true);
+    }
+
+    private void assertMatches(BitSet matches, Predicate<GenericHollowObject> expected) {
+        BitSet populated = stateEngine.getTypeState("Movie").getPopulatedOrdinals();
+        for(int ordinal = populated.nextSetBit(0); ordinal != -1; ordinal = populated.nextSetBit(ordinal + 1)) {
+            GenericHollowObject movie = new GenericHollowObject(stateEngine, "Movie", ordinal);
+            Assert.assertEquals("ordinal " + ordinal, expected.test(movie), matches.get(ordinal));
+        }
+        Assert.assertTrue(matches.length() <= populated.length());
+    }
+
+    @SuppressWarnings("unused")
+    private static class Movie {
+        int id;
+        int releaseYear;
+        int rating;
+        Integer sequelOf;
+        long revenue;
+        float score;
+        String studio;
+
+        Movie(int id, int releaseYear, int rating, Integer sequelOf, long revenue, float score, String studio) {
+            this.id = id;
+            this.releaseYear = releaseYear;
+            this.rating = rating;
+            this.sequelOf = sequelOf;
+            this.revenue = revenue;
+            this.score = score;
+            this.studio = studio;
+        }
+    }
+}